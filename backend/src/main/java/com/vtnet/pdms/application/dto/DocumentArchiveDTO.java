@@ -0,0 +1,119 @@
+package com.vtnet.pdms.application.dto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Manifest of a ZIP archive export: the archive's file name and its entries in write order.
+ * Files are referenced by document version ID, so the manifest holds no entities.
+ */
+public class DocumentArchiveDTO {
+
+    private String filename;
+    private List<EntryDTO> entries = new ArrayList<>();
+
+    // Constructors
+    public DocumentArchiveDTO() {
+    }
+
+    public DocumentArchiveDTO(String filename) {
+        this.filename = filename;
+    }
+
+    /**
+     * Adds a directory entry.
+     *
+     * @param path The directory path, ending with a slash
+     */
+    public void addDirectory(String path) {
+        entries.add(new EntryDTO(path, null, null, null));
+    }
+
+    /**
+     * Adds a file entry.
+     *
+     * @param path The file path
+     * @param documentVersionId The ID of the document version to write
+     * @param mimeType The MIME type of the document
+     * @param lastModified The creation time of the version
+     */
+    public void addFile(String path, Long documentVersionId, String mimeType, LocalDateTime lastModified) {
+        entries.add(new EntryDTO(path, documentVersionId, mimeType, lastModified));
+    }
+
+    // Getters and Setters
+    public String getFilename() {
+        return filename;
+    }
+
+    public void setFilename(String filename) {
+        this.filename = filename;
+    }
+
+    public List<EntryDTO> getEntries() {
+        return entries;
+    }
+
+    public void setEntries(List<EntryDTO> entries) {
+        this.entries = entries;
+    }
+
+    /**
+     * A single archive entry. Directory entries have no version ID.
+     */
+    public static class EntryDTO {
+        private String path;
+        private Long documentVersionId;
+        private String mimeType;
+        private LocalDateTime lastModified;
+
+        // Constructors
+        public EntryDTO() {
+        }
+
+        public EntryDTO(String path, Long documentVersionId, String mimeType, LocalDateTime lastModified) {
+            this.path = path;
+            this.documentVersionId = documentVersionId;
+            this.mimeType = mimeType;
+            this.lastModified = lastModified;
+        }
+
+        public boolean isDirectory() {
+            return documentVersionId == null;
+        }
+
+        // Getters and Setters
+        public String getPath() {
+            return path;
+        }
+
+        public void setPath(String path) {
+            this.path = path;
+        }
+
+        public Long getDocumentVersionId() {
+            return documentVersionId;
+        }
+
+        public void setDocumentVersionId(Long documentVersionId) {
+            this.documentVersionId = documentVersionId;
+        }
+
+        public String getMimeType() {
+            return mimeType;
+        }
+
+        public void setMimeType(String mimeType) {
+            this.mimeType = mimeType;
+        }
+
+        public LocalDateTime getLastModified() {
+            return lastModified;
+        }
+
+        public void setLastModified(LocalDateTime lastModified) {
+            this.lastModified = lastModified;
+        }
+    }
+}
@@ -21,6 +21,28 @@ public class DocumentDTO {
     public DocumentDTO() {
     }
 
+    /**
+     * Constructor for listing queries, which select the listed columns directly.
+     */
+    public DocumentDTO(Long id, Long folderId, String name, String mimeType, Long size, LocalDateTime createdAt,
+                       Long createdById, String createdByName, String createdByEmail, Integer displayOrder,
+                       Integer latestVersionNumber) {
+        this.id = id;
+        this.folderId = folderId;
+        this.name = name;
+        this.mimeType = mimeType;
+        this.size = size;
+        this.createdAt = createdAt;
+        this.createdBy = new UserResponseDTO();
+        this.createdBy.setId(createdById);
+        this.createdBy.setName(createdByName);
+        this.createdBy.setEmail(createdByEmail);
+        this.displayOrder = displayOrder;
+        // Version numbers have no gaps, so the current version number is also the count
+        this.latestVersionNumber = latestVersionNumber != null ? latestVersionNumber : 0;
+        this.versionCount = this.latestVersionNumber;
+    }
+
     // Getters and Setters
     public Long getId() {
         return id;
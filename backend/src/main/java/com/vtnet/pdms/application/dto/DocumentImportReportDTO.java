@@ -0,0 +1,192 @@
+package com.vtnet.pdms.application.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Data Transfer Object reporting the outcome of a bulk document import.
+ */
+public class DocumentImportReportDTO {
+
+    /**
+     * Entry status constants
+     */
+    public static final String STATUS_IMPORTED = "IMPORTED";
+    public static final String STATUS_SKIPPED = "SKIPPED";
+    public static final String STATUS_FAILED = "FAILED";
+
+    private Long projectId;
+    private Long folderId;
+    private int importedCount;
+    private int skippedCount;
+    private int failedCount;
+    private int foldersCreated;
+    private List<EntryDTO> entries = new ArrayList<>();
+
+    // Constructors
+    public DocumentImportReportDTO() {
+    }
+
+    public DocumentImportReportDTO(Long projectId, Long folderId) {
+        this.projectId = projectId;
+        this.folderId = folderId;
+    }
+
+    /**
+     * Records the outcome of an archive entry.
+     *
+     * @param entry The entry outcome
+     */
+    public void addEntry(EntryDTO entry) {
+        entries.add(entry);
+        switch (entry.getStatus()) {
+            case STATUS_IMPORTED -> importedCount++;
+            case STATUS_SKIPPED -> skippedCount++;
+            default -> failedCount++;
+        }
+    }
+
+    /**
+     * Marks a previously imported entry as failed, for example when its batch was rolled back.
+     *
+     * @param entry The entry outcome
+     * @param message The failure message
+     */
+    public void markFailed(EntryDTO entry, String message) {
+        if (STATUS_IMPORTED.equals(entry.getStatus())) {
+            importedCount--;
+            failedCount++;
+        }
+        entry.setStatus(STATUS_FAILED);
+        entry.setDocumentId(null);
+        entry.setMessage(message);
+    }
+
+    // Getters and Setters
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public void setProjectId(Long projectId) {
+        this.projectId = projectId;
+    }
+
+    public Long getFolderId() {
+        return folderId;
+    }
+
+    public void setFolderId(Long folderId) {
+        this.folderId = folderId;
+    }
+
+    public int getImportedCount() {
+        return importedCount;
+    }
+
+    public void setImportedCount(int importedCount) {
+        this.importedCount = importedCount;
+    }
+
+    public int getSkippedCount() {
+        return skippedCount;
+    }
+
+    public void setSkippedCount(int skippedCount) {
+        this.skippedCount = skippedCount;
+    }
+
+    public int getFailedCount() {
+        return failedCount;
+    }
+
+    public void setFailedCount(int failedCount) {
+        this.failedCount = failedCount;
+    }
+
+    public int getFoldersCreated() {
+        return foldersCreated;
+    }
+
+    public void setFoldersCreated(int foldersCreated) {
+        this.foldersCreated = foldersCreated;
+    }
+
+    public List<EntryDTO> getEntries() {
+        return entries;
+    }
+
+    public void setEntries(List<EntryDTO> entries) {
+        this.entries = entries;
+    }
+
+    /**
+     * Outcome of a single archive entry.
+     */
+    public static class EntryDTO {
+        private String path;
+        private String status;
+        private Long documentId;
+        private Long folderId;
+        private Long size;
+        private String message;
+
+        // Constructors
+        public EntryDTO() {
+        }
+
+        public EntryDTO(String path, String status, String message) {
+            this.path = path;
+            this.status = status;
+            this.message = message;
+        }
+
+        // Getters and Setters
+        public String getPath() {
+            return path;
+        }
+
+        public void setPath(String path) {
+            this.path = path;
+        }
+
+        public String getStatus() {
+            return status;
+        }
+
+        public void setStatus(String status) {
+            this.status = status;
+        }
+
+        public Long getDocumentId() {
+            return documentId;
+        }
+
+        public void setDocumentId(Long documentId) {
+            this.documentId = documentId;
+        }
+
+        public Long getFolderId() {
+            return folderId;
+        }
+
+        public void setFolderId(Long folderId) {
+            this.folderId = folderId;
+        }
+
+        public Long getSize() {
+            return size;
+        }
+
+        public void setSize(Long size) {
+            this.size = size;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        public void setMessage(String message) {
+            this.message = message;
+        }
+    }
+}
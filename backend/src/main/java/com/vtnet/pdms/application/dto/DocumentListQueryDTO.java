@@ -0,0 +1,152 @@
+package com.vtnet.pdms.application.dto;
+
+import com.vtnet.pdms.domain.repository.DocumentListCriteria;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object for the query parameters of a document listing
+ */
+public class DocumentListQueryDTO {
+
+    /**
+     * Only documents in this folder
+     */
+    private Long folderId;
+
+    /**
+     * Include documents in subfolders of the folder; null includes them in project listings only
+     */
+    private Boolean includeSubfolders;
+
+    /**
+     * Only documents of this MIME type
+     */
+    @Size(max = 100, message = "MIME type must be less than 100 characters")
+    private String mimeType;
+
+    /**
+     * Only documents uploaded by this user ID
+     */
+    private Long createdBy;
+
+    /**
+     * Only documents created at or after this time (ISO date-time)
+     */
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime createdFrom;
+
+    /**
+     * Only documents created before this time (ISO date-time)
+     */
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime createdTo;
+
+    /**
+     * Sort column: NAME, CREATED_AT or SIZE
+     */
+    private DocumentListCriteria.Sort sort = DocumentListCriteria.Sort.NAME;
+
+    /**
+     * Sort direction: ASC or DESC
+     */
+    private Sort.Direction direction = Sort.Direction.ASC;
+
+    /**
+     * Cursor of the page, from the nextCursor of the previous page
+     */
+    private String cursor;
+
+    /**
+     * Maximum number of documents in the page
+     */
+    @Min(value = 1, message = "Limit must be at least 1")
+    @Max(value = 500, message = "Limit must be at most 500")
+    private int limit = 50;
+
+    // Getters and Setters
+    public Long getFolderId() {
+        return folderId;
+    }
+
+    public void setFolderId(Long folderId) {
+        this.folderId = folderId;
+    }
+
+    public Boolean getIncludeSubfolders() {
+        return includeSubfolders;
+    }
+
+    public void setIncludeSubfolders(Boolean includeSubfolders) {
+        this.includeSubfolders = includeSubfolders;
+    }
+
+    public String getMimeType() {
+        return mimeType;
+    }
+
+    public void setMimeType(String mimeType) {
+        this.mimeType = mimeType;
+    }
+
+    public Long getCreatedBy() {
+        return createdBy;
+    }
+
+    public void setCreatedBy(Long createdBy) {
+        this.createdBy = createdBy;
+    }
+
+    public LocalDateTime getCreatedFrom() {
+        return createdFrom;
+    }
+
+    public void setCreatedFrom(LocalDateTime createdFrom) {
+        this.createdFrom = createdFrom;
+    }
+
+    public LocalDateTime getCreatedTo() {
+        return createdTo;
+    }
+
+    public void setCreatedTo(LocalDateTime createdTo) {
+        this.createdTo = createdTo;
+    }
+
+    public DocumentListCriteria.Sort getSort() {
+        return sort;
+    }
+
+    public void setSort(DocumentListCriteria.Sort sort) {
+        this.sort = sort;
+    }
+
+    public Sort.Direction getDirection() {
+        return direction;
+    }
+
+    public void setDirection(Sort.Direction direction) {
+        this.direction = direction;
+    }
+
+    public String getCursor() {
+        return cursor;
+    }
+
+    public void setCursor(String cursor) {
+        this.cursor = cursor;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public void setLimit(int limit) {
+        this.limit = limit;
+    }
+}
@@ -0,0 +1,41 @@
+package com.vtnet.pdms.application.dto;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for one page of a document listing.
+ */
+public class DocumentPageDTO {
+    private List<DocumentDTO> documents;
+
+    /**
+     * Opaque cursor of the next page, or null if this is the last page
+     */
+    private String nextCursor;
+
+    // Constructors
+    public DocumentPageDTO() {
+    }
+
+    public DocumentPageDTO(List<DocumentDTO> documents, String nextCursor) {
+        this.documents = documents;
+        this.nextCursor = nextCursor;
+    }
+
+    // Getters and Setters
+    public List<DocumentDTO> getDocuments() {
+        return documents;
+    }
+
+    public void setDocuments(List<DocumentDTO> documents) {
+        this.documents = documents;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
@@ -0,0 +1,40 @@
+package com.vtnet.pdms.application.dto;
+
+import jakarta.validation.constraints.Size;
+
+/**
+ * Data Transfer Object for copying a folder to another parent.
+ */
+public class FolderCopyDTO {
+
+    private Long parentFolderId;
+
+    @Size(max = 255, message = "Folder name cannot exceed 255 characters")
+    private String name;
+
+    // Constructors
+    public FolderCopyDTO() {
+    }
+
+    public FolderCopyDTO(Long parentFolderId, String name) {
+        this.parentFolderId = parentFolderId;
+        this.name = name;
+    }
+
+    // Getters and Setters
+    public Long getParentFolderId() {
+        return parentFolderId;
+    }
+
+    public void setParentFolderId(Long parentFolderId) {
+        this.parentFolderId = parentFolderId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+}
@@ -0,0 +1,26 @@
+package com.vtnet.pdms.application.dto;
+
+/**
+ * Data Transfer Object for moving a folder to another parent.
+ */
+public class FolderMoveDTO {
+
+    private Long parentFolderId;
+
+    // Constructors
+    public FolderMoveDTO() {
+    }
+
+    public FolderMoveDTO(Long parentFolderId) {
+        this.parentFolderId = parentFolderId;
+    }
+
+    // Getters and Setters
+    public Long getParentFolderId() {
+        return parentFolderId;
+    }
+
+    public void setParentFolderId(Long parentFolderId) {
+        this.parentFolderId = parentFolderId;
+    }
+}
@@ -0,0 +1,87 @@
+package com.vtnet.pdms.application.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Data Transfer Object for a folder and its subfolders in a folder tree.
+ */
+public class FolderTreeDTO {
+    private Long id;
+    private Long parentFolderId;
+    private String name;
+    private Integer displayOrder;
+    private Integer depth;
+    private Long documentCount;
+    private Long totalBytes;
+    private List<FolderTreeDTO> children = new ArrayList<>();
+
+    // Constructors
+    public FolderTreeDTO() {
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getParentFolderId() {
+        return parentFolderId;
+    }
+
+    public void setParentFolderId(Long parentFolderId) {
+        this.parentFolderId = parentFolderId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Integer getDisplayOrder() {
+        return displayOrder;
+    }
+
+    public void setDisplayOrder(Integer displayOrder) {
+        this.displayOrder = displayOrder;
+    }
+
+    public Integer getDepth() {
+        return depth;
+    }
+
+    public void setDepth(Integer depth) {
+        this.depth = depth;
+    }
+
+    public Long getDocumentCount() {
+        return documentCount;
+    }
+
+    public void setDocumentCount(Long documentCount) {
+        this.documentCount = documentCount;
+    }
+
+    public Long getTotalBytes() {
+        return totalBytes;
+    }
+
+    public void setTotalBytes(Long totalBytes) {
+        this.totalBytes = totalBytes;
+    }
+
+    public List<FolderTreeDTO> getChildren() {
+        return children;
+    }
+
+    public void setChildren(List<FolderTreeDTO> children) {
+        this.children = children;
+    }
+}
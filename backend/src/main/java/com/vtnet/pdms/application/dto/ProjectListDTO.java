@@ -12,6 +12,8 @@ public class ProjectListDTO {
     private String name;
     private String status;
     private int documentCount;
+    private long totalBytes;
+    private Integer chatRetentionDays;
     private LocalDateTime createdAt;
     
     /**
@@ -64,6 +66,22 @@ public class ProjectListDTO {
         this.documentCount = documentCount;
     }
 
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+
+    public void setTotalBytes(long totalBytes) {
+        this.totalBytes = totalBytes;
+    }
+
+    public Integer getChatRetentionDays() {
+        return chatRetentionDays;
+    }
+
+    public void setChatRetentionDays(Integer chatRetentionDays) {
+        this.chatRetentionDays = chatRetentionDays;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
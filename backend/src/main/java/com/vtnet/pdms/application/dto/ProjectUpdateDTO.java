@@ -1,5 +1,6 @@
 package com.vtnet.pdms.application.dto;
 
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 
@@ -19,6 +20,12 @@ public class ProjectUpdateDTO {
     @Size(max = 50, message = "Status must be less than 50 characters")
     private String status;
 
+    /**
+     * Days chat history is kept, 0 for ever; null uses the default retention
+     */
+    @Min(value = 0, message = "Chat retention days must not be negative")
+    private Integer chatRetentionDays;
+
     // Getters and Setters
     public String getName() {
         return name;
@@ -43,4 +50,12 @@ public class ProjectUpdateDTO {
     public void setStatus(String status) {
         this.status = status;
     }
-} 
\ No newline at end of file
+
+    public Integer getChatRetentionDays() {
+        return chatRetentionDays;
+    }
+
+    public void setChatRetentionDays(Integer chatRetentionDays) {
+        this.chatRetentionDays = chatRetentionDays;
+    }
+}
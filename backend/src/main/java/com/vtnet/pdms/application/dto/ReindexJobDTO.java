@@ -0,0 +1,168 @@
+package com.vtnet.pdms.application.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object for a background re-index job and its progress.
+ */
+public class ReindexJobDTO {
+
+    private Long id;
+    private Long projectId;
+    private String status;
+    private Long lastVersionId;
+    private Long totalVersions;
+    private Long processedVersions;
+    private Long failedVersions;
+    private Long processedTokens;
+    private Double documentsPerSecond;
+    private Long tokensPerMinute;
+    private Double progressPercent;
+    private Long estimatedSecondsRemaining;
+    private String errorMessage;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime finishedAt;
+
+    // Constructors
+    public ReindexJobDTO() {
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public void setProjectId(Long projectId) {
+        this.projectId = projectId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public Long getLastVersionId() {
+        return lastVersionId;
+    }
+
+    public void setLastVersionId(Long lastVersionId) {
+        this.lastVersionId = lastVersionId;
+    }
+
+    public Long getTotalVersions() {
+        return totalVersions;
+    }
+
+    public void setTotalVersions(Long totalVersions) {
+        this.totalVersions = totalVersions;
+    }
+
+    public Long getProcessedVersions() {
+        return processedVersions;
+    }
+
+    public void setProcessedVersions(Long processedVersions) {
+        this.processedVersions = processedVersions;
+    }
+
+    public Long getFailedVersions() {
+        return failedVersions;
+    }
+
+    public void setFailedVersions(Long failedVersions) {
+        this.failedVersions = failedVersions;
+    }
+
+    public Long getProcessedTokens() {
+        return processedTokens;
+    }
+
+    public void setProcessedTokens(Long processedTokens) {
+        this.processedTokens = processedTokens;
+    }
+
+    public Double getDocumentsPerSecond() {
+        return documentsPerSecond;
+    }
+
+    public void setDocumentsPerSecond(Double documentsPerSecond) {
+        this.documentsPerSecond = documentsPerSecond;
+    }
+
+    public Long getTokensPerMinute() {
+        return tokensPerMinute;
+    }
+
+    public void setTokensPerMinute(Long tokensPerMinute) {
+        this.tokensPerMinute = tokensPerMinute;
+    }
+
+    public Double getProgressPercent() {
+        return progressPercent;
+    }
+
+    public void setProgressPercent(Double progressPercent) {
+        this.progressPercent = progressPercent;
+    }
+
+    public Long getEstimatedSecondsRemaining() {
+        return estimatedSecondsRemaining;
+    }
+
+    public void setEstimatedSecondsRemaining(Long estimatedSecondsRemaining) {
+        this.estimatedSecondsRemaining = estimatedSecondsRemaining;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+}
@@ -41,7 +41,8 @@ public interface DocumentMapper {
      */
     @Named("versionCount")
     default Integer versionCount(Document document) {
-        return document.getVersions() != null ? document.getVersions().size() : 0;
+        // Version numbers have no gaps, so the current version number is also the count
+        return latestVersionNumber(document);
     }
 
     /**
@@ -52,10 +53,6 @@ public interface DocumentMapper {
      */
     @Named("latestVersionNumber")
     default Integer latestVersionNumber(Document document) {
-        return document.getVersions() != null && !document.getVersions().isEmpty() ?
-                document.getVersions().stream()
-                        .mapToInt(v -> v.getVersionNumber())
-                        .max()
-                        .orElse(0) : 0;
+        return document.getCurrentVersion() != null ? document.getCurrentVersion().getVersionNumber() : 0;
     }
 } 
\ No newline at end of file
@@ -15,7 +15,7 @@ import java.util.Map;
 public interface ProjectMapper {
 
     /**
-     * Maps a Project entity to a ProjectListDTO.
+     * Maps a Project entity to a ProjectListDTO with the document count kept on the project.
      *
      * @param project The project entity
      * @return The project DTO
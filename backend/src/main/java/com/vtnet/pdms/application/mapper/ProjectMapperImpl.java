@@ -23,7 +23,10 @@ public class ProjectMapperImpl implements ProjectMapper {
      */
     @Override
     public ProjectListDTO toListDto(Project project) {
-        return toListDto(project, 0);
+        if (project == null) {
+            return null;
+        }
+        return toListDto(project, project.getDocumentCount() != null ? project.getDocumentCount().intValue() : 0);
     }
 
     /**
@@ -35,13 +38,16 @@ public class ProjectMapperImpl implements ProjectMapper {
             return null;
         }
 
-        return new ProjectListDTO(
+        ProjectListDTO dto = new ProjectListDTO(
                 project.getId(),
                 project.getName(),
                 project.getStatus(),
                 documentCount,
                 project.getCreatedAt()
         );
+        dto.setTotalBytes(project.getTotalBytes() != null ? project.getTotalBytes() : 0L);
+        dto.setChatRetentionDays(project.getChatRetentionDays());
+        return dto;
     }
 
     /**
@@ -132,6 +138,7 @@ public class ProjectMapperImpl implements ProjectMapper {
         project.setName(projectUpdateDTO.getName());
         project.setDescription(projectUpdateDTO.getDescription());
         project.setStatus(projectUpdateDTO.getStatus());
+        project.setChatRetentionDays(projectUpdateDTO.getChatRetentionDays());
         
         return project;
     }
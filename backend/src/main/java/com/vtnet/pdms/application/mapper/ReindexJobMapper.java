@@ -0,0 +1,70 @@
+package com.vtnet.pdms.application.mapper;
+
+import com.vtnet.pdms.application.dto.ReindexJobDTO;
+import com.vtnet.pdms.domain.model.ReindexJob;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Mapper for converting ReindexJob entities to ReindexJobDTOs, including progress and the
+ * estimated time remaining.
+ */
+@Component
+public class ReindexJobMapper {
+
+    /**
+     * Converts a ReindexJob entity to a ReindexJobDTO.
+     * The estimate is based on the average time per version while the job was running.
+     *
+     * @param job The ReindexJob entity to convert
+     * @return The corresponding ReindexJobDTO
+     */
+    public ReindexJobDTO toDto(ReindexJob job) {
+        if (job == null) {
+            return null;
+        }
+
+        ReindexJobDTO dto = new ReindexJobDTO();
+        dto.setId(job.getId());
+        dto.setProjectId(job.getProjectId());
+        dto.setStatus(job.getStatus());
+        dto.setLastVersionId(job.getLastVersionId());
+        dto.setTotalVersions(job.getTotalVersions());
+        dto.setProcessedVersions(job.getProcessedVersions());
+        dto.setFailedVersions(job.getFailedVersions());
+        dto.setProcessedTokens(job.getProcessedTokens());
+        dto.setDocumentsPerSecond(job.getDocumentsPerSecond());
+        dto.setTokensPerMinute(job.getTokensPerMinute());
+        dto.setErrorMessage(job.getErrorMessage());
+        dto.setCreatedAt(job.getCreatedAt());
+        dto.setStartedAt(job.getStartedAt());
+        dto.setUpdatedAt(job.getUpdatedAt());
+        dto.setFinishedAt(job.getFinishedAt());
+
+        long total = job.getTotalVersions();
+        long processed = job.getProcessedVersions();
+        if (ReindexJob.STATUS_COMPLETED.equals(job.getStatus())) {
+            dto.setProgressPercent(100.0);
+        } else {
+            dto.setProgressPercent(total > 0 ? Math.min(100.0, processed * 100.0 / total) : 0.0);
+        }
+        if (!job.isFinished() && processed > 0) {
+            long remaining = Math.max(0, total - processed);
+            dto.setEstimatedSecondsRemaining(remaining * job.getRunningMillis() / processed / 1000);
+        }
+
+        return dto;
+    }
+
+    /**
+     * Converts a list of ReindexJob entities to a list of ReindexJobDTOs.
+     *
+     * @param jobs The list of ReindexJob entities to convert
+     * @return The corresponding list of ReindexJobDTOs
+     */
+    public List<ReindexJobDTO> toDtoList(List<ReindexJob> jobs) {
+        return jobs.stream().map(this::toDto).collect(Collectors.toList());
+    }
+}
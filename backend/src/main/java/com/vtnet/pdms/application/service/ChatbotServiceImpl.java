@@ -4,14 +4,21 @@ import com.vtnet.pdms.domain.model.*;
 import com.vtnet.pdms.domain.repository.*;
 import com.vtnet.pdms.domain.service.ChatbotService;
 import com.vtnet.pdms.domain.service.OpenAIService;
+import com.vtnet.pdms.infrastructure.chat.ArchivedChatMessage;
+import com.vtnet.pdms.infrastructure.chat.ChatArchiveStore;
+import com.vtnet.pdms.infrastructure.chat.ChatHistoryMaintenance;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -31,9 +38,16 @@ public class ChatbotServiceImpl implements ChatbotService {
     private final ChatMessageRepository chatMessageRepository;
     private final ChatConversationRepository chatConversationRepository;
     private final ChatReferenceRepository chatReferenceRepository;
+    private final ChatArchiveRepository chatArchiveRepository;
+    private final ProjectRepository projectRepository;
+    private final ChatArchiveStore chatArchiveStore;
+    private final ChatHistoryMaintenance chatHistoryMaintenance;
+    private final int recentMonths;
 
     /**
      * Constructor with dependency injection.
+     *
+     * @param recentMonths Number of months, including the current one, read for recent history
      */
     @Autowired
     public ChatbotServiceImpl(
@@ -43,7 +57,12 @@ public class ChatbotServiceImpl implements ChatbotService {
             UserRepository userRepository,
             ChatMessageRepository chatMessageRepository,
             ChatConversationRepository chatConversationRepository,
-            ChatReferenceRepository chatReferenceRepository) {
+            ChatReferenceRepository chatReferenceRepository,
+            ChatArchiveRepository chatArchiveRepository,
+            ProjectRepository projectRepository,
+            ChatArchiveStore chatArchiveStore,
+            ChatHistoryMaintenance chatHistoryMaintenance,
+            @Value("${chat.history.recent-months:3}") int recentMonths) {
         this.openAIService = openAIService;
         this.documentRepository = documentRepository;
         this.documentContentRepository = documentContentRepository;
@@ -51,6 +70,11 @@ public class ChatbotServiceImpl implements ChatbotService {
         this.chatMessageRepository = chatMessageRepository;
         this.chatConversationRepository = chatConversationRepository;
         this.chatReferenceRepository = chatReferenceRepository;
+        this.chatArchiveRepository = chatArchiveRepository;
+        this.projectRepository = projectRepository;
+        this.chatArchiveStore = chatArchiveStore;
+        this.chatHistoryMaintenance = chatHistoryMaintenance;
+        this.recentMonths = Math.max(1, recentMonths);
     }
 
     @Override
@@ -155,22 +179,54 @@ public class ChatbotServiceImpl implements ChatbotService {
         logger.info("Getting conversation history for projectId: {}, userId: {}, limit: {}", projectId, userId, limit);
         
         Pageable pageable = PageRequest.of(0, limit);
-        List<ChatMessage> messages = chatMessageRepository.findByUserIdAndProjectId(userId, projectId, pageable);
+        LocalDateTime since = getRecentSince(findProject(projectId));
+        List<ChatMessage> messages = chatMessageRepository.findRecentByUserIdAndProjectId(userId, projectId, since, pageable);
         
         return convertMessagesToMap(messages);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getConversationHistory(Long projectId, Long userId, int limit, LocalDateTime before,
+                                                            Long beforeId) {
+        logger.info("Getting conversation history for projectId: {}, userId: {}, limit: {}, before: {}, beforeId: {}",
+                projectId, userId, limit, before, beforeId);
+
+        LocalDateTime oldest = chatMessageRepository.findOldestSentAtByUserIdAndProjectId(userId, projectId, before);
+        List<ChatArchive> archives = chatArchiveRepository.findByProjectIdAndMonthLessThanEqualOrderByMonthDesc(
+                projectId, YearMonth.from(before).atDay(1));
+        return getHistoryBefore(findProject(projectId), userId, limit, before, beforeId, oldest, archives,
+                (from, to, toId, pageable) -> chatMessageRepository.findByUserIdAndProjectIdSentBetween(
+                        userId, projectId, from, to, toId, pageable));
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<Map<String, Object>> getGlobalConversationHistory(Long userId, int limit) {
         logger.info("Getting global conversation history for userId: {}, limit: {}", userId, limit);
         
         Pageable pageable = PageRequest.of(0, limit);
-        List<ChatMessage> messages = chatMessageRepository.findByUserIdAndGlobalConversation(userId, pageable);
+        LocalDateTime since = getRecentSince(null);
+        List<ChatMessage> messages = chatMessageRepository.findRecentByUserIdAndGlobalConversation(userId, since, pageable);
         
         return convertMessagesToMap(messages);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getGlobalConversationHistory(Long userId, int limit, LocalDateTime before,
+                                                                  Long beforeId) {
+        logger.info("Getting global conversation history for userId: {}, limit: {}, before: {}, beforeId: {}",
+                userId, limit, before, beforeId);
+
+        LocalDateTime oldest = chatMessageRepository.findOldestSentAtByUserIdAndGlobalConversation(userId, before);
+        List<ChatArchive> archives = chatArchiveRepository.findByProjectIdIsNullAndMonthLessThanEqualOrderByMonthDesc(
+                YearMonth.from(before).atDay(1));
+        return getHistoryBefore(null, userId, limit, before, beforeId, oldest, archives,
+                (from, to, toId, pageable) -> chatMessageRepository.findByUserIdAndGlobalConversationSentBetween(
+                        userId, from, to, toId, pageable));
+    }
+
     @Override
     @Transactional
     public List<Long> saveConversation(String userMessage, String botResponse, Long projectId, Long userId, List<Long> sourceReferences) {
@@ -213,18 +269,143 @@ public class ChatbotServiceImpl implements ChatbotService {
         conversation.setLastMessageAt(botMsg.getSentAt());
         chatConversationRepository.save(conversation);
         
-        // Add references to bot message
-        for (Long documentId : sourceReferences) {
-            Document document = documentRepository.findById(documentId).orElse(null);
-            if (document != null) {
-                ChatReference reference = botMsg.addReference(document, 1.0f);
-                chatReferenceRepository.save(reference);
-            }
+        // Add references to bot message; they are inserted in one batch with the messages
+        List<ChatReference> references = new ArrayList<>();
+        for (Document document : documentRepository.findAllById(sourceReferences)) {
+            references.add(botMsg.addReference(document, 1.0f));
         }
+        chatReferenceRepository.saveAll(references);
         
         return Arrays.asList(userMsg.getId(), botMsg.getId());
     }
 
+    /**
+     * Gets the start of the recent history: the first day of the oldest recent month, or the
+     * retention cutoff if that is later. Bounding the sent time keeps the query to recent partitions.
+     */
+    private LocalDateTime getRecentSince(Project project) {
+        LocalDateTime since = YearMonth.now().minusMonths(recentMonths - 1).atDay(1).atStartOfDay();
+        LocalDateTime cutoff = chatHistoryMaintenance.getRetentionCutoff(project);
+        return cutoff != null && cutoff.isAfter(since) ? cutoff : since;
+    }
+
+    private Project findProject(Long projectId) {
+        return projectRepository.findById(projectId)
+                .orElseThrow(() -> new IllegalArgumentException("Project not found with ID: " + projectId));
+    }
+
+    /**
+     * Reads history before a time one month at a time, newest first, from the database and from
+     * the month's archive, until the limit is reached or the oldest message is passed. Each
+     * database query is bounded to one month, so it reads a single partition.
+     * <p>
+     * Messages are ordered by sent time and then ID, since the messages of one exchange are
+     * usually sent within the same second. Passing the sent time and ID of the oldest message of
+     * a page continues right after it.
+     *
+     * @param project The project, or null for global conversations
+     * @param userId The user ID
+     * @param limit The maximum number of messages
+     * @param before Only messages sent before this time are returned
+     * @param beforeId Messages sent at exactly the time are also returned if their ID is below this, or null
+     * @param oldestInDatabase Sent time of the user's oldest message in the database before the time, or null
+     * @param archives Archives of the project up to the month of the time, newest first
+     * @param messageQuery Query for the user's messages in a time range
+     * @return List of message maps, newest first
+     */
+    private List<Map<String, Object>> getHistoryBefore(Project project, Long userId, int limit, LocalDateTime before,
+                                                       Long beforeId, LocalDateTime oldestInDatabase,
+                                                       List<ChatArchive> archives, MessageRangeQuery messageQuery) {
+        YearMonth oldestMonth = oldestInDatabase != null ? YearMonth.from(oldestInDatabase) : null;
+        Map<YearMonth, ChatArchive> archivesByMonth = new HashMap<>();
+        for (ChatArchive archive : archives) {
+            YearMonth month = YearMonth.from(archive.getMonth());
+            archivesByMonth.put(month, archive);
+            if (oldestMonth == null || month.isBefore(oldestMonth)) {
+                oldestMonth = month;
+            }
+        }
+        List<Map<String, Object>> history = new ArrayList<>();
+        if (oldestMonth == null) {
+            return history;
+        }
+        LocalDateTime cutoff = chatHistoryMaintenance.getRetentionCutoff(project);
+        if (cutoff != null && YearMonth.from(cutoff).isAfter(oldestMonth)) {
+            oldestMonth = YearMonth.from(cutoff);
+        }
+
+        for (YearMonth month = YearMonth.from(before); !month.isBefore(oldestMonth) && history.size() < limit;
+             month = month.minusMonths(1)) {
+            LocalDateTime from = month.atDay(1).atStartOfDay();
+            if (cutoff != null && cutoff.isAfter(from)) {
+                from = cutoff;
+            }
+            LocalDateTime monthEnd = month.plusMonths(1).atDay(1).atStartOfDay();
+            LocalDateTime to = before.isBefore(monthEnd) ? before : monthEnd;
+            // Messages sent at the month end belong to the next month, which has already been read
+            long toId = to.equals(before) && beforeId != null ? beforeId : 0L;
+            int remaining = limit - history.size();
+
+            List<Map<String, Object>> messages = new ArrayList<>(
+                    convertMessagesToMap(messageQuery.find(from, to, toId, PageRequest.of(0, remaining))));
+            ChatArchive archive = archivesByMonth.get(month);
+            if (archive != null) {
+                messages.addAll(readArchive(archive, userId, from, to, toId));
+            }
+
+            // An archive and the database only overlap if archiving was interrupted
+            Map<Object, Map<String, Object>> unique = new LinkedHashMap<>();
+            messages.stream()
+                    .sorted(Comparator.comparing((Map<String, Object> message) -> (LocalDateTime) message.get("sentAt"))
+                            .thenComparing(message -> (Long) message.get("id"))
+                            .reversed())
+                    .forEach(message -> unique.putIfAbsent(message.get("id"), message));
+            unique.values().stream().limit(remaining).forEach(history::add);
+        }
+        return history;
+    }
+
+    private List<Map<String, Object>> readArchive(ChatArchive archive, Long userId, LocalDateTime from, LocalDateTime to,
+                                                  long toId) {
+        List<ArchivedChatMessage> messages;
+        try {
+            messages = chatArchiveStore.read(archive.getStoragePath(), message -> userId.equals(message.userId())
+                    && !message.sentAt().isBefore(from)
+                    && (message.sentAt().isBefore(to) || message.sentAt().equals(to) && message.id() < toId));
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read chat archive " + archive.getStoragePath(), e);
+        }
+        return messages.stream().map(message -> {
+            Map<String, Object> messageMap = new HashMap<>();
+            messageMap.put("id", message.id());
+            messageMap.put("type", message.messageType());
+            messageMap.put("content", message.content());
+            messageMap.put("sentAt", message.sentAt());
+            messageMap.put("archived", true);
+            if (message.references() != null && !message.references().isEmpty()) {
+                List<Map<String, Object>> references = message.references().stream()
+                        .map(ref -> {
+                            Map<String, Object> refMap = new HashMap<>();
+                            refMap.put("documentId", ref.documentId());
+                            refMap.put("documentName", ref.documentName());
+                            refMap.put("relevanceScore", ref.relevanceScore());
+                            return refMap;
+                        })
+                        .collect(Collectors.toList());
+                messageMap.put("references", references);
+            }
+            return messageMap;
+        }).collect(Collectors.toList());
+    }
+
+    /**
+     * Query for a user's messages sent in a time range, newest first.
+     */
+    @FunctionalInterface
+    private interface MessageRangeQuery {
+        List<ChatMessage> find(LocalDateTime from, LocalDateTime to, long toId, Pageable pageable);
+    }
+
     /**
      * Builds context from document content.
      *
@@ -304,9 +485,10 @@ public class ChatbotServiceImpl implements ChatbotService {
             messageMap.put("content", message.getContent());
             messageMap.put("sentAt", message.getSentAt());
             
-            // Add references if any
+            // Add references if any, skipping those whose document has since been deleted
             if (!message.getReferences().isEmpty()) {
                 List<Map<String, Object>> references = message.getReferences().stream()
+                        .filter(ref -> ref.getDocument() != null)
                         .map(ref -> {
                             Map<String, Object> refMap = new HashMap<>();
                             refMap.put("documentId", ref.getDocument().getId());
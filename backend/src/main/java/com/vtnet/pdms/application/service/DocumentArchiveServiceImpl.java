@@ -0,0 +1,286 @@
+package com.vtnet.pdms.application.service;
+
+import com.vtnet.pdms.application.dto.DocumentArchiveDTO;
+import com.vtnet.pdms.application.dto.DocumentArchiveDTO.EntryDTO;
+import com.vtnet.pdms.domain.model.Folder;
+import com.vtnet.pdms.domain.model.Project;
+import com.vtnet.pdms.domain.repository.DocumentVersionRepository;
+import com.vtnet.pdms.domain.repository.DocumentVersionRepository.ArchiveFileView;
+import com.vtnet.pdms.domain.repository.FolderClosureRepository;
+import com.vtnet.pdms.domain.repository.FolderClosureRepository.FolderTreeView;
+import com.vtnet.pdms.domain.service.DocumentArchiveService;
+import com.vtnet.pdms.domain.service.FolderService;
+import com.vtnet.pdms.domain.service.ProjectService;
+import com.vtnet.pdms.infrastructure.storage.DocumentVersionStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Implementation of the DocumentArchiveService interface.
+ * <p>
+ * The manifest is built from two projection queries per export: the folders of the exported tree,
+ * read through the folder closure table, and the latest version of every document in them. The
+ * tree is then walked in memory. Writing happens outside any transaction: each file is looked up
+ * by version ID and copied from storage to the ZIP stream with a fixed buffer, so a slow client
+ * simply blocks the writer.
+ */
+@Service
+public class DocumentArchiveServiceImpl implements DocumentArchiveService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DocumentArchiveServiceImpl.class);
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * MIME types whose content is already compressed and is stored in the archive as is
+     */
+    private static final Set<String> COMPRESSED_MIME_TYPES = Set.of(
+            "application/pdf",
+            "application/zip",
+            "application/gzip",
+            "application/x-7z-compressed",
+            "application/vnd.rar",
+            "application/x-rar-compressed",
+            "image/jpeg",
+            "image/png",
+            "image/gif",
+            "image/webp");
+    private static final List<String> COMPRESSED_MIME_PREFIXES = List.of(
+            "application/vnd.openxmlformats-officedocument.",
+            "application/vnd.oasis.opendocument.",
+            "audio/",
+            "video/");
+
+    private final FolderClosureRepository folderClosureRepository;
+    private final DocumentVersionRepository documentVersionRepository;
+    private final FolderService folderService;
+    private final ProjectService projectService;
+    private final DocumentVersionStore documentVersionStore;
+
+    /**
+     * Constructor with dependency injection.
+     *
+     * @param folderClosureRepository Repository for the folder closure table
+     * @param documentVersionRepository Repository for document version operations
+     * @param folderService Service for folder operations
+     * @param projectService Service for project operations
+     * @param documentVersionStore Store for document version content
+     */
+    @Autowired
+    public DocumentArchiveServiceImpl(
+            FolderClosureRepository folderClosureRepository,
+            DocumentVersionRepository documentVersionRepository,
+            FolderService folderService,
+            ProjectService projectService,
+            DocumentVersionStore documentVersionStore) {
+        this.folderClosureRepository = folderClosureRepository;
+        this.documentVersionRepository = documentVersionRepository;
+        this.folderService = folderService;
+        this.projectService = projectService;
+        this.documentVersionStore = documentVersionStore;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @PreAuthorize("@customPermissionEvaluator.hasFolderAccess(#folderId)")
+    public DocumentArchiveDTO prepareFolderArchive(Long folderId) {
+        Folder folder = folderService.getFolderById(folderId);
+        Long projectId = folder.getProject().getId();
+        List<FolderTreeView> folders = folderClosureRepository.findSubtree(projectId, folderId, Integer.MAX_VALUE);
+        ArchiveBuilder builder = new ArchiveBuilder(folder.getName(), folders,
+                documentVersionRepository.findLatestArchiveFilesBySubtree(folderId));
+        for (FolderTreeView root : folders) {
+            if (root.getId().equals(folderId)) {
+                builder.addFolder(root, "");
+            }
+        }
+        return builder.archive;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @PreAuthorize("@customPermissionEvaluator.hasProjectAccess(#projectId)")
+    public DocumentArchiveDTO prepareProjectArchive(Long projectId) {
+        Project project = projectService.getProjectById(projectId);
+        ArchiveBuilder builder = new ArchiveBuilder(project.getName(),
+                folderClosureRepository.findProjectTree(projectId, Integer.MAX_VALUE),
+                documentVersionRepository.findLatestArchiveFilesByProjectId(projectId));
+        for (FolderTreeView folder : builder.children(null)) {
+            builder.addFolder(folder, "");
+        }
+        return builder.archive;
+    }
+
+    @Override
+    public void writeArchive(DocumentArchiveDTO archive, OutputStream outputStream) throws IOException {
+        ZipOutputStream zip = new ZipOutputStream(new BufferedOutputStream(outputStream, BUFFER_SIZE));
+        byte[] buffer = new byte[BUFFER_SIZE];
+        int written = 0;
+
+        for (EntryDTO entry : archive.getEntries()) {
+            if (entry.isDirectory()) {
+                zip.putNextEntry(new ZipEntry(entry.getPath()));
+                zip.closeEntry();
+                continue;
+            }
+
+            Long versionId = entry.getDocumentVersionId();
+            Path file;
+            try {
+                file = documentVersionStore.getPathById(versionId);
+            } catch (RuntimeException e) {
+                // The response is already committed, so a missing file can only be left out
+                logger.warn("Skipping document version {} in archive {}: {}", versionId,
+                        archive.getFilename(), e.getMessage());
+                continue;
+            }
+            if (!Files.isReadable(file)) {
+                logger.warn("Skipping document version {} in archive {}: file not found", versionId,
+                        archive.getFilename());
+                continue;
+            }
+
+            ZipEntry zipEntry = new ZipEntry(entry.getPath());
+            if (entry.getLastModified() != null) {
+                zipEntry.setTime(entry.getLastModified().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+            }
+            if (isCompressed(entry.getMimeType())) {
+                // STORED entries need their size and CRC up front, which costs a second read of the file
+                long size = Files.size(file);
+                zipEntry.setMethod(ZipEntry.STORED);
+                zipEntry.setSize(size);
+                zipEntry.setCompressedSize(size);
+                zipEntry.setCrc(crc32(file, buffer));
+            }
+            zip.putNextEntry(zipEntry);
+            try (InputStream inputStream = Files.newInputStream(file)) {
+                int read;
+                while ((read = inputStream.read(buffer)) != -1) {
+                    zip.write(buffer, 0, read);
+                }
+            }
+            zip.closeEntry();
+            written++;
+        }
+
+        zip.finish();
+        zip.flush();
+        logger.info("Wrote archive {} with {} files", archive.getFilename(), written);
+    }
+
+    private static long crc32(Path file, byte[] buffer) throws IOException {
+        CRC32 crc = new CRC32();
+        try (InputStream inputStream = Files.newInputStream(file)) {
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                crc.update(buffer, 0, read);
+            }
+        }
+        return crc.getValue();
+    }
+
+    private static boolean isCompressed(String mimeType) {
+        if (mimeType == null) {
+            return false;
+        }
+        int separator = mimeType.indexOf(';');
+        String type = (separator < 0 ? mimeType : mimeType.substring(0, separator)).trim().toLowerCase(Locale.ROOT);
+        if (COMPRESSED_MIME_TYPES.contains(type)) {
+            return true;
+        }
+        for (String prefix : COMPRESSED_MIME_PREFIXES) {
+            if (type.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Replaces characters that are not allowed in an archive path segment.
+     */
+    private static String sanitize(String name) {
+        String sanitized = name == null ? "" : name.replaceAll("[/\\\\\\p{Cntrl}]", "_").trim();
+        if (sanitized.isEmpty() || sanitized.equals(".") || sanitized.equals("..")) {
+            return "unnamed";
+        }
+        return sanitized;
+    }
+
+    /**
+     * Builds the manifest of one export from the exported folders and their latest document versions.
+     */
+    private static class ArchiveBuilder {
+        private final DocumentArchiveDTO archive;
+        private final Map<Long, List<FolderTreeView>> subfolders = new HashMap<>();
+        private final Map<Long, List<ArchiveFileView>> files = new HashMap<>();
+        private final Set<String> usedPaths = new HashSet<>();
+
+        ArchiveBuilder(String name, List<FolderTreeView> folders, List<ArchiveFileView> latestFiles) {
+            this.archive = new DocumentArchiveDTO(sanitize(name) + ".zip");
+            for (FolderTreeView folder : folders) {
+                subfolders.computeIfAbsent(folder.getParentFolderId(), key -> new ArrayList<>()).add(folder);
+            }
+            for (ArchiveFileView file : latestFiles) {
+                files.computeIfAbsent(file.getFolderId(), key -> new ArrayList<>()).add(file);
+            }
+        }
+
+        List<FolderTreeView> children(Long folderId) {
+            List<FolderTreeView> children = new ArrayList<>(subfolders.getOrDefault(folderId, List.of()));
+            children.sort(Comparator.comparing(FolderTreeView::getName, String.CASE_INSENSITIVE_ORDER));
+            return children;
+        }
+
+        void addFolder(FolderTreeView folder, String parentPath) {
+            String path = uniquePath(parentPath, sanitize(folder.getName())) + "/";
+            archive.addDirectory(path);
+
+            List<ArchiveFileView> documents = new ArrayList<>(files.getOrDefault(folder.getId(), List.of()));
+            documents.sort(Comparator.comparing(ArchiveFileView::getName, String.CASE_INSENSITIVE_ORDER));
+            for (ArchiveFileView file : documents) {
+                archive.addFile(uniquePath(path, sanitize(file.getName())), file.getId(), file.getMimeType(),
+                        file.getCreatedAt());
+            }
+            for (FolderTreeView child : children(folder.getId())) {
+                addFolder(child, path);
+            }
+        }
+
+        /**
+         * Returns a path that no other entry uses, numbering duplicates as "name (2).ext".
+         */
+        private String uniquePath(String parentPath, String name) {
+            String path = parentPath + name;
+            int dot = name.lastIndexOf('.');
+            String base = dot > 0 ? name.substring(0, dot) : name;
+            String extension = dot > 0 ? name.substring(dot) : "";
+            for (int i = 2; !usedPaths.add(path.toLowerCase(Locale.ROOT)); i++) {
+                path = parentPath + base + " (" + i + ")" + extension;
+            }
+            return path;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.vtnet.pdms.application.service;
+
+import com.vtnet.pdms.application.dto.DocumentImportReportDTO;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Service interface for bulk document import operations.
+ * Kept in the application layer because its result is the application's import report.
+ */
+public interface DocumentImportService {
+
+    /**
+     * Import the entries of a ZIP archive as documents, mirroring its directory tree as folders.
+     * The archive is read as a stream; nothing is extracted to disk before it is stored.
+     *
+     * @param projectId The project ID
+     * @param folderId The folder to import into (can be null to import into the project root)
+     * @param archive The ZIP archive
+     * @return The per-entry import report
+     * @throws IOException If the archive cannot be read
+     */
+    DocumentImportReportDTO importArchive(Long projectId, Long folderId, InputStream archive) throws IOException;
+}
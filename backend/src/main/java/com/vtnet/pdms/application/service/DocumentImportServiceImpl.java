@@ -0,0 +1,526 @@
+package com.vtnet.pdms.application.service;
+
+import com.vtnet.pdms.application.dto.DocumentImportReportDTO;
+import com.vtnet.pdms.application.dto.DocumentImportReportDTO.EntryDTO;
+import com.vtnet.pdms.domain.model.Document;
+import com.vtnet.pdms.domain.model.DocumentVersion;
+import com.vtnet.pdms.domain.model.Folder;
+import com.vtnet.pdms.domain.model.Project;
+import com.vtnet.pdms.domain.model.User;
+import com.vtnet.pdms.domain.repository.DocumentRepository;
+import com.vtnet.pdms.domain.repository.FolderClosureRepository;
+import com.vtnet.pdms.domain.repository.FolderRepository;
+import com.vtnet.pdms.domain.repository.ProjectRepository;
+import com.vtnet.pdms.domain.repository.UserRepository;
+import com.vtnet.pdms.domain.service.FolderService;
+import com.vtnet.pdms.domain.service.ProjectService;
+import com.vtnet.pdms.infrastructure.security.SecurityUtils;
+import com.vtnet.pdms.infrastructure.storage.StorageService;
+import org.apache.commons.io.input.CloseShieldInputStream;
+import org.apache.tika.Tika;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Implementation of the DocumentImportService interface.
+ * <p>
+ * Entries are streamed from the archive straight into storage and persisted in batches, one
+ * transaction per batch. Each file is stored under a generated name before its document exists,
+ * so every document and its first version are inserted with a single save. Folders created for
+ * the archive's directories are cached by path for the whole import.
+ * <p>
+ * The archive is read from the request body, so the multipart size limits do not apply. Instead
+ * the bytes inflated from each entry and from the whole archive are counted while they are
+ * stored: an entry over the entry limit fails, and the import stops once the total limit is
+ * reached.
+ */
+@Service
+public class DocumentImportServiceImpl implements DocumentImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DocumentImportServiceImpl.class);
+    private static final int MIME_DETECTION_BYTES = 8192;
+
+    private final DocumentRepository documentRepository;
+    private final FolderRepository folderRepository;
+    private final FolderClosureRepository folderClosureRepository;
+    private final ProjectRepository projectRepository;
+    private final UserRepository userRepository;
+    private final FolderService folderService;
+    private final ProjectService projectService;
+    private final StorageService storageService;
+    private final DocumentIndexingQueue documentIndexingQueue;
+    private final SecurityUtils securityUtils;
+    private final TransactionTemplate transactionTemplate;
+    private final Tika tika;
+    private final int batchSize;
+    private final int maxEntries;
+    private final long maxEntrySize;
+    private final long maxTotalSize;
+
+    /**
+     * Constructor with dependency injection.
+     *
+     * @param documentRepository Repository for document operations
+     * @param folderRepository Repository for folder operations
+     * @param folderClosureRepository Repository for the folder hierarchy
+     * @param projectRepository Repository for project operations
+     * @param userRepository Repository for user operations
+     * @param folderService Service for folder operations
+     * @param projectService Service for project operations
+     * @param storageService Service for file storage operations
+     * @param documentIndexingQueue Queue for background indexing
+     * @param securityUtils Security utilities
+     * @param transactionManager Transaction manager used for the import batches
+     * @param batchSize Number of documents persisted per transaction
+     * @param maxEntries Maximum number of entries accepted from one archive
+     * @param maxEntrySize Maximum size of a file extracted from an archive
+     * @param maxTotalSize Maximum total size of the files extracted from one archive
+     */
+    @Autowired
+    public DocumentImportServiceImpl(
+            DocumentRepository documentRepository,
+            FolderRepository folderRepository,
+            FolderClosureRepository folderClosureRepository,
+            ProjectRepository projectRepository,
+            UserRepository userRepository,
+            FolderService folderService,
+            ProjectService projectService,
+            StorageService storageService,
+            DocumentIndexingQueue documentIndexingQueue,
+            SecurityUtils securityUtils,
+            PlatformTransactionManager transactionManager,
+            @Value("${documents.import.batch-size:50}") int batchSize,
+            @Value("${documents.import.max-entries:10000}") int maxEntries,
+            @Value("${documents.import.max-entry-size:${spring.servlet.multipart.max-file-size:50MB}}")
+            DataSize maxEntrySize,
+            @Value("${documents.import.max-total-size:10GB}") DataSize maxTotalSize) {
+        this.documentRepository = documentRepository;
+        this.folderRepository = folderRepository;
+        this.folderClosureRepository = folderClosureRepository;
+        this.projectRepository = projectRepository;
+        this.userRepository = userRepository;
+        this.folderService = folderService;
+        this.projectService = projectService;
+        this.storageService = storageService;
+        this.documentIndexingQueue = documentIndexingQueue;
+        this.securityUtils = securityUtils;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.tika = new Tika();
+        this.batchSize = batchSize;
+        this.maxEntries = maxEntries;
+        this.maxEntrySize = maxEntrySize.toBytes();
+        this.maxTotalSize = maxTotalSize.toBytes();
+    }
+
+    @Override
+    @PreAuthorize("@customPermissionEvaluator.hasProjectAccess(#projectId)")
+    public DocumentImportReportDTO importArchive(Long projectId, Long folderId, InputStream archive) throws IOException {
+        projectService.getProjectById(projectId);
+        if (folderId != null) {
+            Folder folder = folderService.getFolderById(folderId);
+            if (!folder.getProject().getId().equals(projectId)) {
+                throw new IllegalArgumentException("Folder does not belong to the specified project");
+            }
+        }
+
+        ImportContext context = new ImportContext(projectId, folderId, securityUtils.getCurrentUserId());
+        ZipInputStream zip = new ZipInputStream(archive);
+        boolean more = true;
+        while (more) {
+            try {
+                more = Boolean.TRUE.equals(transactionTemplate.execute(status -> importBatch(zip, context)));
+                context.batch.clear();
+                context.foldersCreatedInBatch.clear();
+            } catch (UncheckedIOException e) {
+                rollbackBatch(context, "Batch rolled back: could not read archive");
+                context.report.addEntry(new EntryDTO(null, DocumentImportReportDTO.STATUS_FAILED,
+                        "Could not read archive: " + e.getCause().getMessage()));
+                more = false;
+            } catch (RuntimeException e) {
+                logger.error("Failed to persist import batch for project {}", projectId, e);
+                rollbackBatch(context, "Batch rolled back: " + e.getMessage());
+            }
+        }
+
+        DocumentImportReportDTO report = context.report;
+        logger.info("Imported archive into project {}: {} imported, {} skipped, {} failed, {} folders created",
+                projectId, report.getImportedCount(), report.getSkippedCount(), report.getFailedCount(),
+                report.getFoldersCreated());
+        return report;
+    }
+
+    /**
+     * Imports up to {@code batchSize} files in the current transaction.
+     *
+     * @return true if the archive may have more entries
+     */
+    private boolean importBatch(ZipInputStream zip, ImportContext context) {
+        context.project = projectRepository.getReferenceById(context.projectId);
+        context.user = userRepository.getReferenceById(context.userId);
+
+        try {
+            ZipEntry entry;
+            boolean more = true;
+            while ((entry = zip.getNextEntry()) != null) {
+                if (++context.entryCount > maxEntries) {
+                    context.report.addEntry(new EntryDTO(entry.getName(), DocumentImportReportDTO.STATUS_FAILED,
+                            "Archive has more than " + maxEntries + " entries; the rest was not imported"));
+                    more = false;
+                    break;
+                }
+                if (!importEntry(zip, entry, context)) {
+                    more = false;
+                    break;
+                }
+                if (context.batch.size() >= batchSize) {
+                    break;
+                }
+            }
+
+            List<Long> versionIds = new ArrayList<>();
+            Map<Long, long[]> folderTotals = new HashMap<>();
+            for (ImportedEntry imported : context.batch) {
+                imported.entry.setDocumentId(imported.document.getId());
+                versionIds.add(imported.document.getCurrentVersion().getId());
+                long[] totals = folderTotals.computeIfAbsent(imported.entry.getFolderId(), id -> new long[2]);
+                totals[0]++;
+                totals[1] += imported.entry.getSize();
+            }
+            updateDocumentTotals(folderTotals, context);
+            documentIndexingQueue.enqueue(versionIds);
+            logger.debug("Persisted import batch of {} documents for project {}", context.batch.size(), context.projectId);
+            return more && entry != null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Imports one archive entry into the current batch.
+     *
+     * @return false if the import must stop because the total size limit was reached
+     */
+    private boolean importEntry(ZipInputStream zip, ZipEntry entry, ImportContext context) throws IOException {
+        String path = normalizePath(entry.getName());
+        if (path == null) {
+            context.report.addEntry(new EntryDTO(entry.getName(), DocumentImportReportDTO.STATUS_FAILED,
+                    "Invalid entry path"));
+            return true;
+        }
+        if (isIgnored(path)) {
+            context.report.addEntry(new EntryDTO(path, DocumentImportReportDTO.STATUS_SKIPPED,
+                    "Hidden or system file"));
+            return true;
+        }
+        if (entry.isDirectory()) {
+            ensureFolder(path, context);
+            return true;
+        }
+
+        int slash = path.lastIndexOf('/');
+        String filename = path.substring(slash + 1);
+        Long folderId = ensureFolder(slash < 0 ? "" : path.substring(0, slash), context);
+        if (folderId == null) {
+            context.report.addEntry(new EntryDTO(path, DocumentImportReportDTO.STATUS_SKIPPED,
+                    "Documents must be uploaded to a folder"));
+            return true;
+        }
+        // Documents of the current batch are already inserted, so duplicates within the archive are found too
+        if (documentRepository.existsByFolderIdAndName(folderId, filename)) {
+            context.report.addEntry(new EntryDTO(path, DocumentImportReportDTO.STATUS_SKIPPED,
+                    "A document with this name already exists in the folder"));
+            return true;
+        }
+
+        long remainingTotal = maxTotalSize - context.totalBytes;
+        LimitedInputStream limited = new LimitedInputStream(CloseShieldInputStream.wrap(zip),
+                Math.min(maxEntrySize, remainingTotal));
+        byte[] head;
+        try {
+            head = limited.readNBytes(MIME_DETECTION_BYTES);
+        } catch (IOException e) {
+            if (limited.isLimitExceeded()) {
+                return rejectOversizedEntry(path, limited, remainingTotal, null, context);
+            }
+            throw e;
+        }
+        if (head.length == 0) {
+            context.report.addEntry(new EntryDTO(path, DocumentImportReportDTO.STATUS_SKIPPED, "File is empty"));
+            return true;
+        }
+        String mimeType = tika.detect(head, filename);
+
+        // Format: projects/{projectId}/{folderId}/{uuid}_{filename}
+        String relativePath = "projects/" + context.projectId + "/" + folderId;
+        storageService.createDirectory(relativePath);
+        String target = relativePath + "/" + UUID.randomUUID() + "_" + filename;
+        String storagePath;
+        try (InputStream content = new SequenceInputStream(new ByteArrayInputStream(head), limited)) {
+            storagePath = storageService.store(content, target).toString();
+        } catch (IOException | RuntimeException e) {
+            // Storage services may wrap the error of the stream they read
+            if (limited.isLimitExceeded()) {
+                return rejectOversizedEntry(path, limited, remainingTotal, target, context);
+            }
+            if (e instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            // The rest of the entry is skipped by the next getNextEntry; a corrupt archive fails there
+            logger.warn("Failed to store import entry {}: {}", path, e.getMessage());
+            context.report.addEntry(new EntryDTO(path, DocumentImportReportDTO.STATUS_FAILED,
+                    "Could not store file: " + e.getMessage()));
+            return true;
+        }
+        // The entry has been read to the end, so its size is known even for streamed entries
+        long size = limited.getCount();
+        context.totalBytes += size;
+
+        Document document = new Document(folderRepository.getReferenceById(folderId), filename, mimeType, size,
+                context.user);
+        DocumentVersion version = document.addVersion(storagePath, size, context.user);
+
+        // Recorded before the save so a failing insert is rolled back with the rest of its batch
+        EntryDTO result = new EntryDTO(path, DocumentImportReportDTO.STATUS_IMPORTED, null);
+        result.setFolderId(folderId);
+        result.setSize(size);
+        context.report.addEntry(result);
+        context.batch.add(new ImportedEntry(result, document, version.getStoragePath()));
+        documentRepository.save(document);
+        return true;
+    }
+
+    /**
+     * Reports an entry that went over a size limit and deletes what was stored of it.
+     *
+     * @return false if the total size limit was reached, so the import must stop
+     */
+    private boolean rejectOversizedEntry(String path, LimitedInputStream limited, long remainingTotal, String target,
+                                         ImportContext context) {
+        if (target != null && !storageService.delete(target)) {
+            logger.warn("Failed to delete partial file of oversized import entry: {}", target);
+        }
+        context.totalBytes += limited.getCount();
+        if (remainingTotal <= maxEntrySize) {
+            context.report.addEntry(new EntryDTO(path, DocumentImportReportDTO.STATUS_FAILED,
+                    "Archive extracts to more than " + maxTotalSize + " bytes; the rest was not imported"));
+            return false;
+        }
+        context.report.addEntry(new EntryDTO(path, DocumentImportReportDTO.STATUS_FAILED,
+                "File is larger than " + maxEntrySize + " bytes"));
+        return true;
+    }
+
+    /**
+     * Adds a batch's documents to the totals of their folders and of the project, with one update
+     * per folder rather than per document.
+     */
+    private void updateDocumentTotals(Map<Long, long[]> folderTotals, ImportContext context) {
+        long documents = 0;
+        long bytes = 0;
+        for (Map.Entry<Long, long[]> totals : folderTotals.entrySet()) {
+            folderRepository.adjustDocumentTotals(totals.getKey(), totals.getValue()[0], totals.getValue()[1]);
+            documents += totals.getValue()[0];
+            bytes += totals.getValue()[1];
+        }
+        if (documents > 0) {
+            projectRepository.adjustDocumentTotals(context.projectId, documents, bytes);
+        }
+    }
+
+    /**
+     * Returns the ID of the folder for an archive directory, creating missing folders on the way.
+     *
+     * @return The folder ID, or null for the project root
+     */
+    private Long ensureFolder(String directory, ImportContext context) {
+        if (directory.isEmpty()) {
+            return context.baseFolderId;
+        }
+        Long cached = context.folderIds.get(directory);
+        if (cached != null) {
+            return cached;
+        }
+
+        int slash = directory.lastIndexOf('/');
+        Long parentId = ensureFolder(slash < 0 ? "" : directory.substring(0, slash), context);
+        String name = directory.substring(slash + 1);
+
+        Optional<Folder> existing = parentId == null
+                ? folderRepository.findByProjectIdAndParentFolderIsNullAndName(context.projectId, name)
+                : folderRepository.findByProjectIdAndParentFolderIdAndName(context.projectId, parentId, name);
+        Long folderId;
+        if (existing.isPresent()) {
+            folderId = existing.get().getId();
+        } else {
+            Folder folder = parentId == null
+                    ? new Folder(context.project, name, context.user)
+                    : new Folder(context.project, folderRepository.getReferenceById(parentId), name, context.user);
+            folderId = folderRepository.save(folder).getId();
+            folderClosureRepository.insertFolder(folderId, parentId);
+            context.foldersCreatedInBatch.add(directory);
+            context.report.setFoldersCreated(context.report.getFoldersCreated() + 1);
+        }
+        context.folderIds.put(directory, folderId);
+        return folderId;
+    }
+
+    /**
+     * Undoes the bookkeeping of a batch whose transaction was rolled back and removes its stored files.
+     */
+    private void rollbackBatch(ImportContext context, String message) {
+        for (ImportedEntry imported : context.batch) {
+            context.report.markFailed(imported.entry, message);
+            if (!storageService.delete(imported.storagePath)) {
+                logger.warn("Failed to delete file of rolled back import entry: {}", imported.storagePath);
+            }
+        }
+        for (String directory : context.foldersCreatedInBatch) {
+            context.folderIds.remove(directory);
+        }
+        context.report.setFoldersCreated(context.report.getFoldersCreated() - context.foldersCreatedInBatch.size());
+        context.batch.clear();
+        context.foldersCreatedInBatch.clear();
+    }
+
+    /**
+     * Normalizes an entry name to a relative path, rejecting names that escape the import root.
+     */
+    private static String normalizePath(String name) {
+        String path = name.replace('\\', '/');
+        while (path.startsWith("/")) {
+            path = path.substring(1);
+        }
+        while (path.endsWith("/")) {
+            path = path.substring(0, path.length() - 1);
+        }
+        if (path.isEmpty()) {
+            return null;
+        }
+        for (String segment : path.split("/")) {
+            if (segment.isEmpty() || segment.equals(".") || segment.equals("..") || segment.length() > 255) {
+                return null;
+            }
+        }
+        return path;
+    }
+
+    private static boolean isIgnored(String path) {
+        if (path.startsWith("__MACOSX")) {
+            return true;
+        }
+        for (String segment : path.split("/")) {
+            if (segment.startsWith(".")) {
+                return true;
+            }
+        }
+        String filename = path.substring(path.lastIndexOf('/') + 1);
+        return filename.equalsIgnoreCase("Thumbs.db") || filename.equalsIgnoreCase("desktop.ini");
+    }
+
+    /**
+     * State shared by the batches of one import.
+     */
+    private static class ImportContext {
+        private final Long projectId;
+        private final Long baseFolderId;
+        private final Long userId;
+        private final DocumentImportReportDTO report;
+        private final Map<String, Long> folderIds = new HashMap<>();
+        private final List<String> foldersCreatedInBatch = new ArrayList<>();
+        private final List<ImportedEntry> batch = new ArrayList<>();
+        private Project project;
+        private User user;
+        private int entryCount;
+        private long totalBytes;
+
+        ImportContext(Long projectId, Long baseFolderId, Long userId) {
+            this.projectId = projectId;
+            this.baseFolderId = baseFolderId;
+            this.userId = userId;
+            this.report = new DocumentImportReportDTO(projectId, baseFolderId);
+        }
+    }
+
+    private record ImportedEntry(EntryDTO entry, Document document, String storagePath) {
+    }
+
+    /**
+     * Stream that fails once more than a limited number of bytes have been read from it.
+     */
+    private static class LimitedInputStream extends FilterInputStream {
+        private final long limit;
+        private long count;
+
+        LimitedInputStream(InputStream in, long limit) {
+            super(in);
+            this.limit = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                count(read);
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count(skipped);
+            return skipped;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        long getCount() {
+            return count;
+        }
+
+        boolean isLimitExceeded() {
+            return count > limit;
+        }
+
+        private void count(long bytes) throws IOException {
+            count += bytes;
+            if (count > limit) {
+                throw new IOException("Entry exceeds the size limit of " + limit + " bytes");
+            }
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.vtnet.pdms.application.service;
+
+import com.vtnet.pdms.domain.service.DocumentIndexingService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Queues document versions for indexing on a bounded pool of background workers.
+ * Versions queued inside a transaction are only submitted once it commits, so workers never
+ * look for rows that are not visible yet. When the queue is full the submitting thread indexes
+ * the version itself, which slows producers down instead of dropping work.
+ * <p>
+ * Workers call the indexing service outside any transaction; it opens its own around the writes,
+ * so the extraction of a version does not hold a database connection.
+ */
+@Component
+public class DocumentIndexingQueue {
+
+    private static final Logger logger = LoggerFactory.getLogger(DocumentIndexingQueue.class);
+
+    private final DocumentIndexingService documentIndexingService;
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * Constructor with dependency injection.
+     *
+     * @param documentIndexingService Service for document indexing operations
+     * @param workers Number of indexing worker threads
+     * @param queueCapacity Maximum number of versions waiting for a worker
+     */
+    @Autowired
+    public DocumentIndexingQueue(
+            DocumentIndexingService documentIndexingService,
+            @Value("${indexing.workers:2}") int workers,
+            @Value("${indexing.queue-capacity:10000}") int queueCapacity) {
+        this.documentIndexingService = documentIndexingService;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "indexing-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * Queues document versions for indexing.
+     *
+     * @param documentVersionIds The document version IDs
+     */
+    public void enqueue(Collection<Long> documentVersionIds) {
+        if (documentVersionIds.isEmpty()) {
+            return;
+        }
+        List<Long> ids = new ArrayList<>(documentVersionIds);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    submit(ids);
+                }
+            });
+        } else {
+            submit(ids);
+        }
+    }
+
+    /**
+     * Returns the number of versions waiting for a worker.
+     *
+     * @return The queue length
+     */
+    public int getPendingCount() {
+        return executor.getQueue().size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void submit(List<Long> documentVersionIds) {
+        for (Long documentVersionId : documentVersionIds) {
+            executor.execute(() -> {
+                try {
+                    documentIndexingService.reindexDocumentVersion(documentVersionId);
+                } catch (Exception e) {
+                    logger.error("Failed to index document version {}", documentVersionId, e);
+                }
+            });
+        }
+        logger.debug("Queued {} document versions for indexing", documentVersionIds.size());
+    }
+}
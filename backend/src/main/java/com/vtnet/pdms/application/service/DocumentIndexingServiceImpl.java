@@ -0,0 +1,353 @@
+package com.vtnet.pdms.application.service;
+
+import com.vtnet.pdms.domain.exception.ResourceNotFoundException;
+import com.vtnet.pdms.domain.model.Document;
+import com.vtnet.pdms.domain.model.DocumentChunk;
+import com.vtnet.pdms.domain.model.DocumentContent;
+import com.vtnet.pdms.domain.model.DocumentContentBlob;
+import com.vtnet.pdms.domain.model.DocumentVersion;
+import com.vtnet.pdms.domain.repository.DocumentChunkRepository;
+import com.vtnet.pdms.domain.repository.DocumentChunkRepository.ChunkSummaryView;
+import com.vtnet.pdms.domain.repository.DocumentContentRepository;
+import com.vtnet.pdms.domain.repository.DocumentRepository;
+import com.vtnet.pdms.domain.repository.DocumentVersionRepository;
+import com.vtnet.pdms.domain.service.DocumentIndexingService;
+import com.vtnet.pdms.domain.service.DocumentProcessor;
+import com.vtnet.pdms.infrastructure.ai.ChunkEmbedder;
+import com.vtnet.pdms.infrastructure.document.DocumentProcessorRegistry;
+import com.vtnet.pdms.infrastructure.document.ExtractedTextCache;
+import com.vtnet.pdms.infrastructure.document.TextChunker;
+import org.hibernate.Hibernate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Implementation of the DocumentIndexingService interface.
+ * Extracts text with the DocumentProcessor registered for the document's MIME type,
+ * reusing cached results for content that has been extracted before, and updates the
+ * version's chunks from the new text. Chunks whose text is unchanged from the previous version
+ * keep their embedding, so a minor revision only embeds the chunks it touches.
+ * <p>
+ * Indexing does not run in the caller's transaction. Extraction can take as long as the
+ * extraction worker timeout, so no transaction is open while it runs: the text is chunked as it is
+ * extracted, chunks are written in short transactions of their own, and the compressed text is
+ * written with the content in a last one. On a cache miss the whole text is never held in memory.
+ */
+@Service
+@Transactional
+public class DocumentIndexingServiceImpl implements DocumentIndexingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DocumentIndexingServiceImpl.class);
+
+    private final DocumentContentRepository documentContentRepository;
+    private final DocumentVersionRepository documentVersionRepository;
+    private final DocumentRepository documentRepository;
+    private final DocumentProcessorRegistry documentProcessorRegistry;
+    private final ExtractedTextCache extractedTextCache;
+    private final DocumentChunkRepository documentChunkRepository;
+    private final TextChunker textChunker;
+    private final ChunkEmbedder chunkEmbedder;
+    private final int chunkBatchSize;
+    private final TransactionTemplate readTransaction;
+    private final TransactionTemplate writeTransaction;
+
+    /**
+     * Constructor with dependency injection.
+     *
+     * @param documentContentRepository Repository for document content operations
+     * @param documentVersionRepository Repository for document version operations
+     * @param documentRepository Repository for document operations
+     * @param documentProcessorRegistry Registry of document processors by MIME type
+     * @param extractedTextCache Cache of extracted document text
+     * @param documentChunkRepository Repository for document chunk operations
+     * @param textChunker Splitter of extracted text into chunks
+     * @param chunkEmbedder Embedder of new and modified chunks
+     * @param chunkBatchSize Number of chunks inserted per JDBC batch
+     * @param transactionManager Transaction manager used to read versions and write their index
+     */
+    @Autowired
+    public DocumentIndexingServiceImpl(
+            DocumentContentRepository documentContentRepository,
+            DocumentVersionRepository documentVersionRepository,
+            DocumentRepository documentRepository,
+            DocumentProcessorRegistry documentProcessorRegistry,
+            ExtractedTextCache extractedTextCache,
+            DocumentChunkRepository documentChunkRepository,
+            TextChunker textChunker,
+            ChunkEmbedder chunkEmbedder,
+            @Value("${chunking.batch-size:200}") int chunkBatchSize,
+            PlatformTransactionManager transactionManager) {
+        this.documentContentRepository = documentContentRepository;
+        this.documentVersionRepository = documentVersionRepository;
+        this.documentRepository = documentRepository;
+        this.documentProcessorRegistry = documentProcessorRegistry;
+        this.extractedTextCache = extractedTextCache;
+        this.documentChunkRepository = documentChunkRepository;
+        this.textChunker = textChunker;
+        this.chunkEmbedder = chunkEmbedder;
+        this.chunkBatchSize = Math.max(1, chunkBatchSize);
+        // Both start a new transaction even when called after the commit of the caller's own
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTransaction.setReadOnly(true);
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.writeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public DocumentContent indexDocumentVersion(DocumentVersion documentVersion) {
+        String mimeType = documentVersion.getDocument().getMimeType();
+        DocumentProcessor processor = documentProcessorRegistry.findProcessor(mimeType);
+        if (processor == null) {
+            return recordFailure(documentVersion, "No document processor for MIME type " + mimeType);
+        }
+
+        // The text goes to the chunker and the content blob as it is extracted
+        ChunkWriter chunks = readTransaction.execute(status -> new ChunkWriter(documentVersion));
+        TextChunker.ChunkingSink chunkingSink = textChunker.open(chunks);
+        DocumentContentBlob.TextWriter text = new DocumentContentBlob.TextWriter();
+        try {
+            extractedTextCache.extract(documentVersion, processor, piece -> {
+                text.append(piece);
+                chunkingSink.append(piece);
+            });
+            chunkingSink.finish();
+            chunks.flush();
+        } catch (Exception e) {
+            return recordFailure(documentVersion, e.getMessage());
+        }
+        DocumentContent content = writeTransaction.execute(status -> writeIndex(documentVersion, text, chunks));
+        if (!chunkEmbedder.isEnabled()) {
+            return content;
+        }
+
+        // The embedding API is called with no transaction open
+        long unembedded = chunkEmbedder.embedPendingChunks(documentVersion.getId());
+        String embeddingStatus = unembedded == 0
+                ? DocumentContent.EMBEDDING_STATUS_COMPLETED : DocumentContent.EMBEDDING_STATUS_PENDING;
+        if (unembedded > 0) {
+            logger.warn("{} chunks of document version {} were not embedded", unembedded, documentVersion.getId());
+        }
+        return writeTransaction.execute(status -> {
+            DocumentContent embedded = documentContentRepository.findById(content.getId()).orElse(content);
+            embedded.setEmbeddingStatus(embeddingStatus);
+            return documentContentRepository.save(embedded);
+        });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<DocumentContent> getDocumentContent(Long documentVersionId) {
+        return documentContentRepository.findByDocumentVersionId(documentVersionId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<DocumentContent> getLatestDocumentContent(Long documentId) {
+        return documentContentRepository.findByDocumentIdLatestVersion(documentId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<DocumentContent> getDocumentContentByName(String documentName, Long projectId) {
+        return documentContentRepository.findByDocumentNameAndProjectIdLatestVersion(documentName, projectId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<DocumentContent> getProjectDocumentContents(Long projectId) {
+        return documentContentRepository.findByProjectId(projectId);
+    }
+
+    @Override
+    public void handleIndexingFailure(DocumentVersion documentVersion, String errorMessage) {
+        logger.error("Failed to index document version {}: {}", documentVersion.getId(), errorMessage);
+
+        DocumentContent content = findOrCreateContent(documentVersion);
+        content.setIndexedAt(null);
+        content.setEmbeddingStatus(DocumentContent.EMBEDDING_STATUS_FAILED);
+        documentContentRepository.save(content);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public DocumentContent reindexDocumentVersion(Long documentVersionId) {
+        DocumentVersion documentVersion = readTransaction.execute(status -> {
+            DocumentVersion version = documentVersionRepository.findById(documentVersionId)
+                    .orElseThrow(() -> new ResourceNotFoundException("DocumentVersion", "id", documentVersionId));
+            // The MIME type is read after the version is detached
+            Hibernate.initialize(version.getDocument());
+            return version;
+        });
+        return indexDocumentVersion(documentVersion);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int reindexProjectDocuments(Long projectId) {
+        List<Long> versionIds = readTransaction.execute(status -> documentRepository.findByProjectId(projectId).stream()
+                .filter(document -> document.getCurrentVersion() != null)
+                .map(document -> document.getCurrentVersion().getId())
+                .toList());
+        versionIds.forEach(this::reindexDocumentVersion);
+        return versionIds.size();
+    }
+
+    /**
+     * Writes the extracted text of a version and removes its chunks past the end of the text. The
+     * embedding status is left pending for the chunks to be embedded, or skipped when embedding is
+     * disabled.
+     */
+    private DocumentContent writeIndex(DocumentVersion extracted, DocumentContentBlob.TextWriter text,
+                                       ChunkWriter chunks) {
+        DocumentVersion documentVersion = documentVersionRepository.findById(extracted.getId())
+                .orElseThrow(() -> new ResourceNotFoundException("DocumentVersion", "id", extracted.getId()));
+        if (documentVersion.getContentHash() == null) {
+            // Computed by the cache while the version was detached
+            documentVersion.setContentHash(extracted.getContentHash());
+        }
+
+        DocumentContent content = findOrCreateContent(documentVersion);
+        content.setCompressedContentText(text);
+        content.setIndexedAt(LocalDateTime.now());
+        chunks.deleteRemaining();
+        content.setEmbeddingStatus(chunkEmbedder.isEnabled()
+                ? DocumentContent.EMBEDDING_STATUS_PENDING : DocumentContent.EMBEDDING_STATUS_SKIPPED);
+        content = documentContentRepository.save(content);
+
+        logger.info("Indexed document version {} ({} characters, {} chunks unchanged, {} written, "
+                        + "{} embeddings reused)", documentVersion.getId(), text.getLength(),
+                chunks.unchanged, chunks.written, chunks.carried);
+        return content;
+    }
+
+    private DocumentContent recordFailure(DocumentVersion documentVersion, String errorMessage) {
+        return writeTransaction.execute(status -> {
+            handleIndexingFailure(documentVersion, errorMessage);
+            return documentContentRepository.findByDocumentVersionId(documentVersion.getId()).orElse(null);
+        });
+    }
+
+    private Map<String, byte[]> findReusableEmbeddings(DocumentVersion documentVersion) {
+        Map<String, byte[]> embeddings = new HashMap<>();
+        String model = chunkEmbedder.getEmbeddingModel();
+        Integer versionNumber = documentVersion.getVersionNumber();
+        if (documentVersion.getDocument() != null && versionNumber != null && versionNumber > 1) {
+            documentVersionRepository.findByDocumentIdAndVersionNumber(documentVersion.getDocument().getId(), versionNumber - 1)
+                    .ifPresent(previous -> documentChunkRepository.findEmbeddingsByDocumentVersionId(previous.getId(), model)
+                            .forEach(view -> embeddings.put(view.getContentHash(), view.getEmbedding())));
+        }
+        documentChunkRepository.findEmbeddingsByDocumentVersionId(documentVersion.getId(), model)
+                .forEach(view -> embeddings.put(view.getContentHash(), view.getEmbedding()));
+        return embeddings;
+    }
+
+    private static boolean isSameChunk(ChunkSummaryView stored, TextChunker.TextChunk chunk) {
+        return stored.getContentHash().equals(chunk.hash())
+                && stored.getStartOffset() == chunk.startOffset()
+                && stored.getEndOffset() == chunk.endOffset()
+                && stored.getPageNumber() == chunk.pageNumber();
+    }
+
+    /**
+     * Replaces the chunks of a version with the chunks of its new text as they are produced. Rows
+     * of chunks that are unchanged are kept. New chunks whose text matches a chunk of this or the
+     * previous version take over its embedding, so only added and modified chunks need to be
+     * embedded. Each batch is written in a transaction of its own, so none is open while the text
+     * is extracted; if extraction fails part way, indexing the version again finishes the update.
+     */
+    private final class ChunkWriter implements TextChunker.ChunkConsumer {
+        private final DocumentVersion documentVersion;
+        private final Map<Integer, ChunkSummaryView> existing = new HashMap<>();
+        private final Map<String, byte[]> embeddings;
+        private final List<DocumentChunk> batch = new ArrayList<>(chunkBatchSize);
+        private final List<Long> staleIds = new ArrayList<>();
+        private int unchanged;
+        private int written;
+        private int carried;
+
+        ChunkWriter(DocumentVersion documentVersion) {
+            this.documentVersion = documentVersion;
+            for (ChunkSummaryView summary : documentChunkRepository.findSummariesByDocumentVersionId(documentVersion.getId())) {
+                existing.put(summary.getOrdinal(), summary);
+            }
+            this.embeddings = findReusableEmbeddings(documentVersion);
+        }
+
+        @Override
+        public void accept(TextChunker.TextChunk chunk) {
+            ChunkSummaryView previous = existing.remove(chunk.ordinal());
+            if (previous != null && isSameChunk(previous, chunk)) {
+                unchanged++;
+                return;
+            }
+            if (previous != null) {
+                staleIds.add(previous.getId());
+            }
+
+            DocumentChunk documentChunk = new DocumentChunk(documentVersion, chunk.ordinal(), chunk.startOffset(),
+                    chunk.endOffset(), chunk.pageNumber(), chunk.hash(), chunk.tokenCount(), chunk.text());
+            byte[] embedding = embeddings.get(chunk.hash());
+            if (embedding != null) {
+                documentChunk.setEmbedding(embedding);
+                documentChunk.setEmbeddingModel(chunkEmbedder.getEmbeddingModel());
+                carried++;
+            }
+            batch.add(documentChunk);
+            if (batch.size() >= chunkBatchSize) {
+                flush();
+            }
+        }
+
+        /**
+         * Writes the pending batch in a transaction of its own.
+         */
+        void flush() {
+            if (!batch.isEmpty() || !staleIds.isEmpty()) {
+                writeTransaction.executeWithoutResult(status -> write());
+            }
+        }
+
+        /**
+         * Deletes the chunks past the end of the new text, in the caller's transaction.
+         */
+        void deleteRemaining() {
+            existing.values().forEach(summary -> staleIds.add(summary.getId()));
+            existing.clear();
+            write();
+        }
+
+        private void write() {
+            // Stale rows go first, since a replacement chunk takes over their ordinal
+            if (!staleIds.isEmpty()) {
+                documentChunkRepository.deleteByIdIn(staleIds);
+                staleIds.clear();
+            }
+            if (!batch.isEmpty()) {
+                written += documentChunkRepository.insertAll(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private DocumentContent findOrCreateContent(DocumentVersion documentVersion) {
+        return documentContentRepository.findByDocumentVersionId(documentVersion.getId())
+                .orElseGet(() -> new DocumentContent(documentVersion, null));
+    }
+}
@@ -1,27 +1,46 @@
 package com.vtnet.pdms.application.service;
 
+import com.vtnet.pdms.application.dto.DocumentDTO;
+import com.vtnet.pdms.application.dto.DocumentListQueryDTO;
+import com.vtnet.pdms.application.dto.DocumentPageDTO;
 import com.vtnet.pdms.application.dto.DocumentUploadDTO;
 import com.vtnet.pdms.domain.exception.ResourceNotFoundException;
 import com.vtnet.pdms.domain.model.Document;
 import com.vtnet.pdms.domain.model.DocumentVersion;
 import com.vtnet.pdms.domain.model.Folder;
 import com.vtnet.pdms.domain.model.User;
+import com.vtnet.pdms.domain.repository.ChatReferenceRepository;
+import com.vtnet.pdms.domain.repository.DocumentListCriteria;
 import com.vtnet.pdms.domain.repository.DocumentRepository;
+import com.vtnet.pdms.domain.repository.FolderRepository;
+import com.vtnet.pdms.domain.repository.ProjectRepository;
 import com.vtnet.pdms.domain.service.DocumentService;
 import com.vtnet.pdms.domain.service.FolderService;
 import com.vtnet.pdms.domain.service.ProjectService;
 import com.vtnet.pdms.infrastructure.security.SecurityUtils;
+import com.vtnet.pdms.infrastructure.storage.DocumentVersionStore;
 import com.vtnet.pdms.infrastructure.storage.StorageService;
 import org.apache.tika.Tika;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
+import java.util.regex.Pattern;
 
 /**
  * Implementation of the DocumentService interface.
@@ -30,10 +49,18 @@ import java.util.List;
 @Transactional
 public class DocumentServiceImpl implements DocumentService {
 
+    private static final Logger logger = LoggerFactory.getLogger(DocumentServiceImpl.class);
+
+    private static final String CURSOR_SEPARATOR = "|";
+
     private final DocumentRepository documentRepository;
+    private final FolderRepository folderRepository;
+    private final ProjectRepository projectRepository;
+    private final ChatReferenceRepository chatReferenceRepository;
     private final FolderService folderService;
     private final ProjectService projectService;
     private final StorageService storageService;
+    private final DocumentVersionStore documentVersionStore;
     private final SecurityUtils securityUtils;
     private final Tika tika;
 
@@ -41,22 +68,34 @@ public class DocumentServiceImpl implements DocumentService {
      * Constructor with dependency injection.
      *
      * @param documentRepository Repository for document operations
+     * @param folderRepository Repository for folder operations
+     * @param projectRepository Repository for project operations
+     * @param chatReferenceRepository Repository for chat reference operations
      * @param folderService Service for folder operations
      * @param projectService Service for project operations
      * @param storageService Service for file storage operations
+     * @param documentVersionStore Store for document version content
      * @param securityUtils Security utilities
      */
     @Autowired
     public DocumentServiceImpl(
             DocumentRepository documentRepository,
+            FolderRepository folderRepository,
+            ProjectRepository projectRepository,
+            ChatReferenceRepository chatReferenceRepository,
             FolderService folderService,
             ProjectService projectService,
             StorageService storageService,
+            DocumentVersionStore documentVersionStore,
             SecurityUtils securityUtils) {
         this.documentRepository = documentRepository;
+        this.folderRepository = folderRepository;
+        this.projectRepository = projectRepository;
+        this.chatReferenceRepository = chatReferenceRepository;
         this.folderService = folderService;
         this.projectService = projectService;
         this.storageService = storageService;
+        this.documentVersionStore = documentVersionStore;
         this.securityUtils = securityUtils;
         this.tika = new Tika();
     }
@@ -64,15 +103,22 @@ public class DocumentServiceImpl implements DocumentService {
     @Override
     @Transactional(readOnly = true)
     @PreAuthorize("@customPermissionEvaluator.hasProjectAccess(#projectId)")
-    public List<Document> getProjectDocuments(Long projectId) {
-        return documentRepository.findByProjectId(projectId);
+    public DocumentPageDTO getProjectDocuments(Long projectId, DocumentListQueryDTO query) {
+        DocumentListCriteria criteria = toCriteria(query);
+        criteria.setProjectId(projectId);
+        criteria.setFolderId(query.getFolderId());
+        criteria.setIncludeSubfolders(query.getIncludeSubfolders() == null || query.getIncludeSubfolders());
+        return findPage(criteria);
     }
 
     @Override
     @Transactional(readOnly = true)
     @PreAuthorize("@customPermissionEvaluator.hasFolderAccess(#folderId)")
-    public List<Document> getFolderDocuments(Long folderId) {
-        return documentRepository.findByFolderId(folderId);
+    public DocumentPageDTO getFolderDocuments(Long folderId, DocumentListQueryDTO query) {
+        DocumentListCriteria criteria = toCriteria(query);
+        criteria.setFolderId(folderId);
+        criteria.setIncludeSubfolders(Boolean.TRUE.equals(query.getIncludeSubfolders()));
+        return findPage(criteria);
     }
 
     @Override
@@ -142,11 +188,43 @@ public class DocumentServiceImpl implements DocumentService {
         
         // Add the first version
         document.addVersion(storagePath, file.getSize(), currentUser);
+        adjustDocumentTotals(folder, 1, file.getSize());
         
         // Save the document again with the version
         return documentRepository.save(document);
     }
 
+    @Override
+    @Transactional
+    @PreAuthorize("@customPermissionEvaluator.hasDocumentAccess(#id)")
+    public Document uploadNewVersion(Long id, MultipartFile file) throws IOException {
+        if (file == null || file.isEmpty()) {
+            throw new IllegalArgumentException("File cannot be empty");
+        }
+
+        Document document = getDocumentById(id);
+        User currentUser = securityUtils.getCurrentUser();
+        int versionNumber = document.getNextVersionNumber();
+
+        // Format: projects/{projectId}/{folderId}/{documentId}_v{versionNumber}_{filename}
+        Folder folder = document.getFolder();
+        String relativePath = "projects/" + folder.getProject().getId() + "/" + folder.getId();
+        storageService.createDirectory(relativePath);
+        String storageFilename = relativePath + "/" + document.getId() + "_v" + versionNumber + "_"
+                + file.getOriginalFilename();
+
+        // New versions are stored in full; the version storage job may later re-encode
+        // the superseded version as a delta
+        Path storedFilePath = storageService.store(file, storageFilename);
+
+        document.setMimeType(tika.detect(file.getInputStream()));
+        adjustDocumentTotals(folder, 0, file.getSize() - document.getSize());
+        document.setSize(file.getSize());
+        document.addVersion(storedFilePath.toString(), file.getSize(), currentUser);
+
+        return documentRepository.save(document);
+    }
+
     @Override
     public void validateDocumentUpload(DocumentUploadDTO uploadDTO) {
         if (uploadDTO == null) {
@@ -179,20 +257,116 @@ public class DocumentServiceImpl implements DocumentService {
     @PreAuthorize("@customPermissionEvaluator.hasDocumentAccess(#id)")
     public void deleteDocument(Long id) {
         Document document = getDocumentById(id);
-        
-        // Delete the document file from storage
-        for (DocumentVersion version : document.getVersions()) {
+        List<DocumentVersion> versions = new ArrayList<>(document.getVersions());
+
+        // Delete the document from the database; chat references have no foreign key to cascade
+        chatReferenceRepository.deleteByDocumentId(id);
+        documentRepository.delete(document);
+        adjustDocumentTotals(document.getFolder(), -1, -document.getSize());
+
+        // Delete the files only once the deletion is committed, so a rollback cannot lose them.
+        // Files that cannot be deleted are left to the storage reconciler.
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    deleteVersionFiles(versions);
+                }
+            });
+        } else {
+            deleteVersionFiles(versions);
+        }
+    }
+
+    /**
+     * Copy the filters and sort order of a listing query into criteria, positioned after the
+     * document in its cursor.
+     */
+    private static DocumentListCriteria toCriteria(DocumentListQueryDTO query) {
+        DocumentListCriteria criteria = new DocumentListCriteria();
+        criteria.setMimeType(query.getMimeType() != null && !query.getMimeType().isBlank()
+                ? query.getMimeType().trim() : null);
+        criteria.setCreatedById(query.getCreatedBy());
+        criteria.setCreatedFrom(query.getCreatedFrom());
+        criteria.setCreatedTo(query.getCreatedTo());
+        criteria.setSort(query.getSort() != null ? query.getSort() : DocumentListCriteria.Sort.NAME);
+        criteria.setAscending(query.getDirection() != Sort.Direction.DESC);
+        criteria.setLimit(query.getLimit());
+        if (query.getCursor() != null && !query.getCursor().isBlank()) {
+            decodeCursor(query.getCursor(), criteria);
+        }
+        return criteria;
+    }
+
+    /**
+     * Reads one row more than the limit to tell whether there is a next page.
+     */
+    private DocumentPageDTO findPage(DocumentListCriteria criteria) {
+        int limit = criteria.getLimit();
+        criteria.setLimit(limit + 1);
+        List<DocumentDTO> documents = documentRepository.findListPage(criteria);
+        if (documents.size() <= limit) {
+            return new DocumentPageDTO(documents, null);
+        }
+        documents = new ArrayList<>(documents.subList(0, limit));
+        return new DocumentPageDTO(documents, encodeCursor(criteria, documents.get(limit - 1)));
+    }
+
+    /**
+     * Encodes the sort order and the sort value and ID of the last document of a page. The sort
+     * order is included so a cursor cannot be used with a different one.
+     */
+    private static String encodeCursor(DocumentListCriteria criteria, DocumentDTO last) {
+        Object value = switch (criteria.getSort()) {
+            case NAME -> last.getName();
+            case CREATED_AT -> last.getCreatedAt();
+            case SIZE -> last.getSize();
+        };
+        String cursor = String.join(CURSOR_SEPARATOR, criteria.getSort().name(), criteria.isAscending() ? "ASC" : "DESC",
+                String.valueOf(last.getId()), String.valueOf(value));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void decodeCursor(String cursor, DocumentListCriteria criteria) {
+        try {
+            // The sort value comes last, so names containing the separator are kept whole
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+                    .split(Pattern.quote(CURSOR_SEPARATOR), 4);
+            if (parts.length != 4 || !parts[0].equals(criteria.getSort().name())
+                    || !parts[1].equals(criteria.isAscending() ? "ASC" : "DESC")) {
+                throw new IllegalArgumentException("Cursor does not match the sort order");
+            }
+            Object value = switch (criteria.getSort()) {
+                case NAME -> parts[3];
+                case CREATED_AT -> LocalDateTime.parse(parts[3]);
+                case SIZE -> Long.valueOf(parts[3]);
+            };
+            criteria.setAfter(value, Long.valueOf(parts[2]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid document cursor", e);
+        }
+    }
+
+    /**
+     * Updates the document totals of a folder and its project in the current transaction.
+     */
+    private void adjustDocumentTotals(Folder folder, long documents, long bytes) {
+        if (documents == 0 && bytes == 0) {
+            return;
+        }
+        folderRepository.adjustDocumentTotals(folder.getId(), documents, bytes);
+        projectRepository.adjustDocumentTotals(folder.getProject().getId(), documents, bytes);
+    }
+
+    private void deleteVersionFiles(List<DocumentVersion> versions) {
+        for (DocumentVersion version : versions) {
             try {
-                storageService.delete(version.getStoragePath());
-            } catch (Exception e) {
-                // Log the error but continue with database deletion
-                // This ensures the document is removed from the database even if file deletion fails
-                // In a production environment, you might want to handle this differently
-                System.err.println("Failed to delete document file: " + e.getMessage());
+                if (!documentVersionStore.delete(version)) {
+                    logger.warn("Failed to delete document file: {}", version.getStoragePath());
+                }
+            } catch (RuntimeException e) {
+                logger.warn("Failed to delete document file {}: {}", version.getStoragePath(), e.getMessage());
             }
         }
-        
-        // Delete the document from the database
-        documentRepository.delete(document);
     }
 } 
\ No newline at end of file
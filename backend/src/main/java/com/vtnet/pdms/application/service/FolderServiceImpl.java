@@ -1,14 +1,26 @@
 package com.vtnet.pdms.application.service;
 
+import com.vtnet.pdms.application.dto.FolderTreeDTO;
 import com.vtnet.pdms.domain.exception.ResourceNotFoundException;
 import com.vtnet.pdms.domain.model.Folder;
 import com.vtnet.pdms.domain.model.Project;
 import com.vtnet.pdms.domain.model.User;
+import com.vtnet.pdms.domain.repository.ChatReferenceRepository;
+import com.vtnet.pdms.domain.repository.DocumentChunkRepository;
+import com.vtnet.pdms.domain.repository.DocumentContentRepository;
+import com.vtnet.pdms.domain.repository.DocumentRepository;
+import com.vtnet.pdms.domain.repository.DocumentVersionRepository;
+import com.vtnet.pdms.domain.repository.DocumentVersionRepository.StoragePathView;
+import com.vtnet.pdms.domain.repository.FolderClosureRepository;
 import com.vtnet.pdms.domain.repository.FolderRepository;
+import com.vtnet.pdms.domain.repository.ProjectRepository;
 import com.vtnet.pdms.domain.service.FolderService;
 import com.vtnet.pdms.domain.service.ProjectService;
 import com.vtnet.pdms.infrastructure.security.SecurityUtils;
+import com.vtnet.pdms.infrastructure.storage.StorageCleanupQueue;
 import com.vtnet.pdms.infrastructure.storage.StorageService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
@@ -16,7 +28,12 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 
 /**
  * Implementation of the FolderService interface.
@@ -25,29 +42,67 @@ import java.util.List;
 @Transactional
 public class FolderServiceImpl implements FolderService {
 
+    private static final Logger logger = LoggerFactory.getLogger(FolderServiceImpl.class);
+
     private final FolderRepository folderRepository;
+    private final FolderClosureRepository folderClosureRepository;
+    private final DocumentRepository documentRepository;
+    private final DocumentVersionRepository documentVersionRepository;
+    private final DocumentContentRepository documentContentRepository;
+    private final DocumentChunkRepository documentChunkRepository;
+    private final ChatReferenceRepository chatReferenceRepository;
+    private final ProjectRepository projectRepository;
     private final ProjectService projectService;
     private final SecurityUtils securityUtils;
     private final StorageService storageService;
+    private final StorageCleanupQueue storageCleanupQueue;
+    private final DocumentIndexingQueue documentIndexingQueue;
 
     /**
      * Constructor with dependency injection.
      *
      * @param folderRepository Repository for folder operations
+     * @param folderClosureRepository Repository for the folder hierarchy
+     * @param documentRepository Repository for document operations
+     * @param documentVersionRepository Repository for document version operations
+     * @param documentContentRepository Repository for document content operations
+     * @param documentChunkRepository Repository for document chunk operations
+     * @param chatReferenceRepository Repository for chat reference operations
+     * @param projectRepository Repository for project operations
      * @param projectService Service for project operations
      * @param securityUtils Security utilities
      * @param storageService Service for file storage operations
+     * @param storageCleanupQueue Queue for deleting the files of deleted versions
+     * @param documentIndexingQueue Queue for indexing copied documents
      */
     @Autowired
     public FolderServiceImpl(
             FolderRepository folderRepository,
+            FolderClosureRepository folderClosureRepository,
+            DocumentRepository documentRepository,
+            DocumentVersionRepository documentVersionRepository,
+            DocumentContentRepository documentContentRepository,
+            DocumentChunkRepository documentChunkRepository,
+            ChatReferenceRepository chatReferenceRepository,
+            ProjectRepository projectRepository,
             ProjectService projectService,
             SecurityUtils securityUtils,
-            StorageService storageService) {
+            StorageService storageService,
+            StorageCleanupQueue storageCleanupQueue,
+            DocumentIndexingQueue documentIndexingQueue) {
         this.folderRepository = folderRepository;
+        this.folderClosureRepository = folderClosureRepository;
+        this.documentRepository = documentRepository;
+        this.documentVersionRepository = documentVersionRepository;
+        this.documentContentRepository = documentContentRepository;
+        this.documentChunkRepository = documentChunkRepository;
+        this.chatReferenceRepository = chatReferenceRepository;
+        this.projectRepository = projectRepository;
         this.projectService = projectService;
         this.securityUtils = securityUtils;
         this.storageService = storageService;
+        this.storageCleanupQueue = storageCleanupQueue;
+        this.documentIndexingQueue = documentIndexingQueue;
     }
 
     @Override
@@ -109,6 +164,7 @@ public class FolderServiceImpl implements FolderService {
         
         // Save folder to database
         folder = folderRepository.save(folder);
+        folderClosureRepository.insertFolder(folder.getId(), parentFolderId);
         
         // Create folder in storage system
         try {
@@ -120,6 +176,191 @@ public class FolderServiceImpl implements FolderService {
         return folder;
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    @PreAuthorize("@customPermissionEvaluator.hasProjectAccess(#projectId)")
+    public List<FolderTreeDTO> getFolderTree(Long projectId, Long folderId, Integer maxDepth) {
+        if (maxDepth != null && maxDepth < 0) {
+            throw new IllegalArgumentException("Depth cannot be negative");
+        }
+        int depth = maxDepth != null ? maxDepth : Integer.MAX_VALUE;
+
+        List<FolderClosureRepository.FolderTreeView> folders = folderId == null
+                ? folderClosureRepository.findProjectTree(projectId, depth)
+                : folderClosureRepository.findSubtree(projectId, folderId, depth);
+        if (folderId != null && folders.isEmpty()) {
+            throw new ResourceNotFoundException("Folder", "id", folderId);
+        }
+
+        // Parents come before their subfolders, so every parent is in the map when its children arrive
+        Map<Long, FolderTreeDTO> nodes = new HashMap<>();
+        List<FolderTreeDTO> roots = new ArrayList<>();
+        for (FolderClosureRepository.FolderTreeView folder : folders) {
+            FolderTreeDTO node = new FolderTreeDTO();
+            node.setId(folder.getId());
+            node.setParentFolderId(folder.getParentFolderId());
+            node.setName(folder.getName());
+            node.setDisplayOrder(folder.getDisplayOrder());
+            node.setDepth(folder.getDepth());
+            node.setDocumentCount(folder.getDocumentCount());
+            node.setTotalBytes(folder.getTotalBytes());
+            nodes.put(node.getId(), node);
+
+            FolderTreeDTO parent = folder.getDepth() > 0 ? nodes.get(folder.getParentFolderId()) : null;
+            if (parent != null) {
+                parent.getChildren().add(node);
+            } else {
+                roots.add(node);
+            }
+        }
+        return roots;
+    }
+
+    @Override
+    @Transactional
+    @PreAuthorize("@customPermissionEvaluator.hasFolderAccess(#folderId)")
+    public Folder moveFolder(Long folderId, Long parentFolderId) {
+        Folder folder = getFolderById(folderId);
+        Long currentParentId = folder.getParentFolder() != null ? folder.getParentFolder().getId() : null;
+        if (Objects.equals(currentParentId, parentFolderId)) {
+            return folder;
+        }
+
+        Long projectId = folder.getProject().getId();
+        Folder parentFolder = null;
+        if (parentFolderId != null) {
+            parentFolder = getFolderById(parentFolderId);
+            if (!parentFolder.getProject().getId().equals(projectId)) {
+                throw new IllegalArgumentException("Folders can only be moved within their project");
+            }
+            if (folderClosureRepository.existsPath(folderId, parentFolderId)) {
+                throw new IllegalArgumentException("A folder cannot be moved into itself or one of its subfolders");
+            }
+        }
+        Optional<Folder> sibling = parentFolderId == null
+                ? folderRepository.findByProjectIdAndParentFolderIsNullAndName(projectId, folder.getName())
+                : folderRepository.findByProjectIdAndParentFolderIdAndName(projectId, parentFolderId, folder.getName());
+        if (sibling.isPresent()) {
+            throw new IllegalArgumentException("Folder with name " + folder.getName() + " already exists at this location");
+        }
+
+        // Detach the subtree from its old ancestors and link it below the new parent. Paths
+        // inside the subtree stay as they are, so the statements do not depend on its depth.
+        List<Long> subtreeIds = folderClosureRepository.findSubtreeIds(folderId);
+        List<Long> oldAncestorIds = folderClosureRepository.findAncestorIds(folderId);
+        if (!oldAncestorIds.isEmpty()) {
+            folderClosureRepository.deletePaths(subtreeIds, oldAncestorIds);
+        }
+        if (parentFolderId != null) {
+            folderClosureRepository.insertSubtreePaths(folderId, parentFolderId);
+        }
+
+        folder.setParentFolder(parentFolder);
+        logger.info("Moved folder {} with {} subfolders to parent {}", folderId, subtreeIds.size() - 1, parentFolderId);
+        return folderRepository.save(folder);
+    }
+
+    @Override
+    @Transactional
+    @PreAuthorize("@customPermissionEvaluator.hasFolderAccess(#folderId)")
+    public Folder copyFolder(Long folderId, Long parentFolderId, String name) {
+        Folder source = getFolderById(folderId);
+        Project project = source.getProject();
+        String copyName = name != null && !name.trim().isEmpty() ? name.trim() : source.getName();
+
+        Folder parentFolder = null;
+        if (parentFolderId != null) {
+            parentFolder = getFolderById(parentFolderId);
+            // Copies share stored files, which the storage reconciler only matches within a project
+            if (!parentFolder.getProject().getId().equals(project.getId())) {
+                throw new IllegalArgumentException("Folders can only be copied within their project");
+            }
+            if (folderClosureRepository.existsPath(folderId, parentFolderId)) {
+                throw new IllegalArgumentException("A folder cannot be copied into itself or one of its subfolders");
+            }
+        }
+        Optional<Folder> sibling = parentFolderId == null
+                ? folderRepository.findByProjectIdAndParentFolderIsNullAndName(project.getId(), copyName)
+                : folderRepository.findByProjectIdAndParentFolderIdAndName(project.getId(), parentFolderId, copyName);
+        if (sibling.isPresent()) {
+            throw new IllegalArgumentException("Folder with name " + copyName + " already exists at this location");
+        }
+
+        // Folders are created one by one, parents first, since their IDs are needed for the closure
+        // rows. The documents, versions and chunks of each folder are then copied with one statement
+        // per table, and the versions keep pointing at the original files.
+        User currentUser = securityUtils.getCurrentUser();
+        Map<Long, Folder> copies = new HashMap<>();
+        long documents = 0;
+        long bytes = 0;
+        for (FolderClosureRepository.FolderTreeView view
+                : folderClosureRepository.findSubtree(project.getId(), folderId, Integer.MAX_VALUE)) {
+            boolean root = view.getDepth() == 0;
+            Folder parent = root ? parentFolder : copies.get(view.getParentFolderId());
+            String copyFolderName = root ? copyName : view.getName();
+            Folder copy = parent == null
+                    ? new Folder(project, copyFolderName, currentUser)
+                    : new Folder(project, parent, copyFolderName, currentUser);
+            copy.setDisplayOrder(view.getDisplayOrder());
+            copy = folderRepository.save(copy);
+            folderClosureRepository.insertFolder(copy.getId(), parent != null ? parent.getId() : null);
+            copies.put(view.getId(), copy);
+
+            if (copyDocuments(view.getId(), copy.getId()) > 0) {
+                folderRepository.adjustDocumentTotals(copy.getId(), view.getDocumentCount(), view.getTotalBytes());
+                documents += view.getDocumentCount();
+                bytes += view.getTotalBytes();
+            }
+        }
+        if (documents > 0 || bytes > 0) {
+            projectRepository.adjustDocumentTotals(project.getId(), documents, bytes);
+        }
+
+        // Chunks and embeddings were copied; indexing only adds the content rows of the copies
+        List<Long> copyIds = copies.values().stream().map(Folder::getId).toList();
+        documentIndexingQueue.enqueue(documentVersionRepository.findLatestVersionIdsByFolderIds(copyIds));
+
+        logger.info("Copied folder {} with {} subfolders and {} documents to folder {}",
+                folderId, copies.size() - 1, documents, copies.get(folderId).getId());
+        return copies.get(folderId);
+    }
+
+    @Override
+    @Transactional
+    @PreAuthorize("@customPermissionEvaluator.hasFolderAccess(#folderId)")
+    public void deleteFolderTree(Long folderId) {
+        Folder folder = getFolderById(folderId);
+        Long projectId = folder.getProject().getId();
+        List<Long> subtreeIds = folderClosureRepository.findSubtreeIds(folderId);
+        List<StoragePathView> files = documentVersionRepository.findStoragePathsByFolderIds(subtreeIds);
+        FolderRepository.DocumentTotalsView totals = folderRepository.sumDocumentTotals(subtreeIds);
+
+        // One statement per table for the whole subtree. Self-references are cleared first, so
+        // the rows of a table can be deleted in any order; closure rows go with their folders.
+        documentChunkRepository.deleteByFolderIds(subtreeIds);
+        chatReferenceRepository.deleteByFolderIds(subtreeIds);
+        List<Long> textBlobIds = documentContentRepository.findTextBlobIdsByFolderIds(subtreeIds);
+        documentContentRepository.deleteByFolderIds(subtreeIds);
+        if (!textBlobIds.isEmpty()) {
+            documentContentRepository.deleteTextBlobsByIdIn(textBlobIds);
+        }
+        documentVersionRepository.clearBaseVersionsByFolderIds(subtreeIds);
+        documentVersionRepository.deleteByFolderIds(subtreeIds);
+        documentRepository.deleteByFolderIds(subtreeIds);
+        folderRepository.clearParentFolders(subtreeIds);
+        folderRepository.deleteByIdIn(subtreeIds);
+        if (totals.getDocumentCount() != 0 || totals.getTotalBytes() != 0) {
+            projectRepository.adjustDocumentTotals(projectId, -totals.getDocumentCount(), -totals.getTotalBytes());
+        }
+
+        // Files are deleted in the background once the deletion commits
+        List<String> directories = subtreeIds.stream().map(id -> "projects/" + projectId + "/" + id).toList();
+        storageCleanupQueue.enqueue(files, directories);
+
+        logger.info("Deleted folder {} with {} subfolders and {} documents", folderId, subtreeIds.size() - 1,
+                totals.getDocumentCount());
+    }
+
     @Override
     @Transactional
     @PreAuthorize("@customPermissionEvaluator.hasFolderAccess(#folderId)")
@@ -137,20 +378,42 @@ public class FolderServiceImpl implements FolderService {
             throw new IllegalStateException("Cannot delete folder that contains subfolders");
         }
         
-        // Delete the folder from storage
-        try {
-            String projectPath = "projects/" + folder.getProject().getId();
-            String folderPath = projectPath + "/" + folder.getId();
-            storageService.delete(folderPath);
-        } catch (Exception e) {
-            // Log the error but continue with database deletion
-            System.err.println("Failed to delete folder from storage: " + e.getMessage());
+        // Remove the folder's storage directory if it is empty. A directory that still holds files
+        // no document references is left to the storage reconciler, which quarantines orphans.
+        String folderPath = "projects/" + folder.getProject().getId() + "/" + folder.getId();
+        if (!storageService.delete(folderPath)) {
+            logger.debug("Storage directory of folder {} was not removed: {}", folderId, folderPath);
         }
         
         // Delete the folder from the database
         folderRepository.delete(folder);
     }
     
+    /**
+     * Copies the documents of a folder into a new, empty folder, with all their versions and
+     * chunks. Delta versions are copied after the versions they are based on. Version IDs are
+     * reserved from the pooled generator up front, one block per folder.
+     *
+     * @return Number of copied documents
+     */
+    private int copyDocuments(Long sourceFolderId, Long targetFolderId) {
+        int copied = documentRepository.copyDocuments(sourceFolderId, targetFolderId);
+        if (copied == 0) {
+            return 0;
+        }
+        long versionCount = documentVersionRepository.countByFolderId(sourceFolderId);
+        if (versionCount > 0) {
+            long nextId = documentVersionRepository.reserveIds(Math.toIntExact(versionCount));
+            Integer maxChainDepth = documentVersionRepository.findMaxChainDepthByFolderId(sourceFolderId);
+            for (int chainDepth = 0; maxChainDepth != null && chainDepth <= maxChainDepth; chainDepth++) {
+                nextId += documentVersionRepository.copyVersions(sourceFolderId, targetFolderId, chainDepth, nextId);
+            }
+        }
+        documentRepository.updateCurrentVersionsByFolderId(targetFolderId);
+        documentChunkRepository.copyChunks(sourceFolderId, targetFolderId);
+        return copied;
+    }
+
     /**
      * Creates a folder in the storage system based on the database folder entity.
      * The folder structure follows: uploads/{projectId}/{folderId}
@@ -6,11 +6,13 @@ import com.vtnet.pdms.application.dto.ProjectUpdateDTO;
 import com.vtnet.pdms.application.mapper.ProjectMapper;
 import com.vtnet.pdms.domain.model.Project;
 import com.vtnet.pdms.domain.model.User;
+import com.vtnet.pdms.domain.repository.DocumentContentRepository;
 import com.vtnet.pdms.domain.repository.DocumentRepository;
 import com.vtnet.pdms.domain.repository.ProjectMemberRepository;
 import com.vtnet.pdms.domain.repository.ProjectRepository;
 import com.vtnet.pdms.domain.repository.UserRepository;
 import com.vtnet.pdms.domain.service.ProjectService;
+import com.vtnet.pdms.infrastructure.chat.ChatHistoryMaintenance;
 import com.vtnet.pdms.infrastructure.security.SecurityUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -28,7 +30,6 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 /**
  * Implementation of the ProjectService interface.
@@ -44,6 +45,8 @@ public class ProjectServiceImpl implements ProjectService {
     private final UserRepository userRepository;
     private final ProjectMemberRepository projectMemberRepository;
     private final DocumentRepository documentRepository;
+    private final DocumentContentRepository documentContentRepository;
+    private final ChatHistoryMaintenance chatHistoryMaintenance;
 
     /**
      * Constructor with dependency injection.
@@ -53,18 +56,24 @@ public class ProjectServiceImpl implements ProjectService {
      * @param userRepository    Repository for user operations
      * @param projectMemberRepository Repository for project member operations
      * @param documentRepository Repository for document operations
+     * @param documentContentRepository Repository for document content operations
+     * @param chatHistoryMaintenance Deleter of the project's chat history
      */
     @Autowired
     public ProjectServiceImpl(ProjectRepository projectRepository, 
                              ProjectMapper projectMapper, 
                              UserRepository userRepository,
                              ProjectMemberRepository projectMemberRepository,
-                             DocumentRepository documentRepository) {
+                             DocumentRepository documentRepository,
+                             DocumentContentRepository documentContentRepository,
+                             ChatHistoryMaintenance chatHistoryMaintenance) {
         this.projectRepository = projectRepository;
         this.projectMapper = projectMapper;
         this.userRepository = userRepository;
         this.projectMemberRepository = projectMemberRepository;
         this.documentRepository = documentRepository;
+        this.documentContentRepository = documentContentRepository;
+        this.chatHistoryMaintenance = chatHistoryMaintenance;
     }
 
     /**
@@ -77,13 +86,7 @@ public class ProjectServiceImpl implements ProjectService {
         logger.info("Retrieving all projects with pagination");
         Page<Project> projectPage = projectRepository.findAll(pageable);
         
-        // Get document counts for projects
-        List<Long> projectIds = projectPage.getContent().stream()
-                .map(Project::getId)
-                .collect(Collectors.toList());
-        Map<Long, Integer> documentCounts = getDocumentCountsByProjectIds(projectIds);
-        
-        return projectMapper.toListDtoPage(projectPage, documentCounts);
+        return projectMapper.toListDtoPage(projectPage, documentCountsOf(projectPage.getContent()));
     }
 
     /**
@@ -96,13 +99,7 @@ public class ProjectServiceImpl implements ProjectService {
         logger.info("Retrieving projects with status: {} and pagination", status);
         Page<Project> projectPage = projectRepository.findByStatus(status, pageable);
         
-        // Get document counts for projects
-        List<Long> projectIds = projectPage.getContent().stream()
-                .map(Project::getId)
-                .collect(Collectors.toList());
-        Map<Long, Integer> documentCounts = getDocumentCountsByProjectIds(projectIds);
-        
-        return projectMapper.toListDtoPage(projectPage, documentCounts);
+        return projectMapper.toListDtoPage(projectPage, documentCountsOf(projectPage.getContent()));
     }
 
     /**
@@ -115,13 +112,7 @@ public class ProjectServiceImpl implements ProjectService {
         logger.info("Retrieving projects with name containing: {} and pagination", name);
         Page<Project> projectPage = projectRepository.findByNameContaining(name, pageable);
         
-        // Get document counts for projects
-        List<Long> projectIds = projectPage.getContent().stream()
-                .map(Project::getId)
-                .collect(Collectors.toList());
-        Map<Long, Integer> documentCounts = getDocumentCountsByProjectIds(projectIds);
-        
-        return projectMapper.toListDtoPage(projectPage, documentCounts);
+        return projectMapper.toListDtoPage(projectPage, documentCountsOf(projectPage.getContent()));
     }
 
     /**
@@ -133,14 +124,31 @@ public class ProjectServiceImpl implements ProjectService {
         logger.info("Calculating document counts for {} projects", projectIds.size());
         
         Map<Long, Integer> documentCounts = new HashMap<>();
+        if (projectIds.isEmpty()) {
+            return documentCounts;
+        }
         for (Long projectId : projectIds) {
-            // Get actual document count from repository
-            List<com.vtnet.pdms.domain.model.Document> documents = documentRepository.findByProjectId(projectId);
-            documentCounts.put(projectId, documents.size());
+            documentCounts.put(projectId, 0);
+        }
+        for (DocumentRepository.ProjectDocumentCountView count : documentRepository.countByProjectIds(projectIds)) {
+            documentCounts.put(count.getProjectId(), count.getDocumentCount().intValue());
         }
         
         return documentCounts;
     }
+
+    /**
+     * Reads the document counts that are maintained on the projects themselves, so listing a
+     * page of projects needs no query over their documents.
+     */
+    private Map<Long, Integer> documentCountsOf(List<Project> projects) {
+        Map<Long, Integer> documentCounts = new HashMap<>();
+        for (Project project : projects) {
+            documentCounts.put(project.getId(),
+                    project.getDocumentCount() != null ? project.getDocumentCount().intValue() : 0);
+        }
+        return documentCounts;
+    }
     
     /**
      * {@inheritDoc}
@@ -241,6 +249,17 @@ public class ProjectServiceImpl implements ProjectService {
         // Delete project members first to avoid foreign key constraints
         projectMemberRepository.deleteByProjectId(id);
         
+        // The database cascades the deletion down to the document content, but the text blobs are
+        // referenced by the content rather than the other way round, so they are deleted here
+        List<Long> textBlobIds = documentContentRepository.findTextBlobIdsByProjectId(id);
+        documentContentRepository.deleteByProjectId(id);
+        if (!textBlobIds.isEmpty()) {
+            documentContentRepository.deleteTextBlobsByIdIn(textBlobIds);
+        }
+
+        // The database cascades to the conversations only; their messages and references go first
+        chatHistoryMaintenance.deleteProjectHistory(id);
+
         // Delete the project
         projectRepository.delete(project);
         
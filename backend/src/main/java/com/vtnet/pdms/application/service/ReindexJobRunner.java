@@ -0,0 +1,248 @@
+package com.vtnet.pdms.application.service;
+
+import com.vtnet.pdms.domain.model.DocumentContent;
+import com.vtnet.pdms.domain.model.ReindexJob;
+import com.vtnet.pdms.domain.repository.DocumentChunkRepository;
+import com.vtnet.pdms.domain.repository.DocumentVersionRepository;
+import com.vtnet.pdms.domain.repository.ReindexJobRepository;
+import com.vtnet.pdms.domain.service.DocumentIndexingService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+
+/**
+ * Runs queued re-index jobs one at a time on a background thread.
+ * <p>
+ * Each version is re-indexed in its own transaction, after which the job's checkpoint and counters
+ * are saved. The job's status is read before every version, so pause and cancel requests take
+ * effect after the version being indexed. Jobs that were running when the application stopped
+ * are queued again on startup and continue from their checkpoint.
+ */
+@Component
+public class ReindexJobRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReindexJobRunner.class);
+
+    /**
+     * Longest sleep between status checks while throttled
+     */
+    private static final long MAX_SLEEP_MILLIS = 1000;
+
+    private final ReindexJobRepository reindexJobRepository;
+    private final DocumentVersionRepository documentVersionRepository;
+    private final DocumentChunkRepository documentChunkRepository;
+    private final DocumentIndexingService documentIndexingService;
+    private final int batchSize;
+    private final ExecutorService executor;
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    /**
+     * Constructor with dependency injection.
+     *
+     * @param reindexJobRepository Repository for re-index jobs
+     * @param documentVersionRepository Repository for document version operations
+     * @param documentChunkRepository Repository for document chunk operations
+     * @param documentIndexingService Service for document indexing operations
+     * @param batchSize Number of version IDs loaded at a time
+     */
+    @Autowired
+    public ReindexJobRunner(
+            ReindexJobRepository reindexJobRepository,
+            DocumentVersionRepository documentVersionRepository,
+            DocumentChunkRepository documentChunkRepository,
+            DocumentIndexingService documentIndexingService,
+            @Value("${indexing.reindex.batch-size:100}") int batchSize) {
+        this.reindexJobRepository = reindexJobRepository;
+        this.documentVersionRepository = documentVersionRepository;
+        this.documentChunkRepository = documentChunkRepository;
+        this.documentIndexingService = documentIndexingService;
+        this.batchSize = Math.max(1, batchSize);
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "reindex");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Queues jobs that were running when the application stopped and starts the queued jobs.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedJobs() {
+        List<ReindexJob> interrupted = reindexJobRepository.findByStatusInOrderById(List.of(ReindexJob.STATUS_RUNNING));
+        for (ReindexJob job : interrupted) {
+            reindexJobRepository.updateStatus(job.getId(), List.of(ReindexJob.STATUS_RUNNING),
+                    ReindexJob.STATUS_QUEUED, LocalDateTime.now());
+            logger.info("Re-index job {} will continue after version {}", job.getId(), job.getLastVersionId());
+        }
+        wake();
+    }
+
+    /**
+     * Starts running queued jobs unless a run is already scheduled.
+     */
+    public void wake() {
+        if (scheduled.compareAndSet(false, true)) {
+            executor.execute(this::runQueuedJobs);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        // Interrupted jobs stay RUNNING and are queued again on the next startup
+        executor.shutdownNow();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    void runQueuedJobs() {
+        // Cleared first, so a job queued while this run is busy schedules another run
+        scheduled.set(false);
+        List<ReindexJob> jobs;
+        while (!(jobs = reindexJobRepository.findByStatusInOrderById(List.of(ReindexJob.STATUS_QUEUED))).isEmpty()) {
+            for (ReindexJob job : jobs) {
+                if (Thread.currentThread().isInterrupted()) {
+                    return;
+                }
+                run(job);
+            }
+        }
+    }
+
+    void run(ReindexJob job) {
+        Long jobId = job.getId();
+        if (reindexJobRepository.updateStatus(jobId, List.of(ReindexJob.STATUS_QUEUED),
+                ReindexJob.STATUS_RUNNING, LocalDateTime.now()) == 0) {
+            return;
+        }
+        reindexJobRepository.markStarted(jobId, LocalDateTime.now());
+        logger.info("Running re-index job {} for {} after version {}", jobId,
+                job.getProjectId() != null ? "project " + job.getProjectId() : "all projects", job.getLastVersionId());
+
+        Throttle throttle = new Throttle(job.getDocumentsPerSecond(), job.getTokensPerMinute(), System::nanoTime);
+        long lastVersionId = job.getLastVersionId();
+        long processed = job.getProcessedVersions();
+        long failed = job.getFailedVersions();
+        long tokens = job.getProcessedTokens();
+        long runningMillis = job.getRunningMillis();
+        long runStart = System.nanoTime();
+
+        try {
+            while (true) {
+                List<Long> versionIds = documentVersionRepository.findLatestVersionIdsAfter(
+                        job.getProjectId(), lastVersionId, PageRequest.of(0, batchSize));
+                if (versionIds.isEmpty()) {
+                    reindexJobRepository.finish(jobId, ReindexJob.STATUS_COMPLETED, null, LocalDateTime.now());
+                    logger.info("Re-index job {} completed: {} versions, {} failed", jobId, processed, failed);
+                    return;
+                }
+
+                for (Long versionId : versionIds) {
+                    if (!awaitTurn(jobId, throttle)) {
+                        logger.info("Re-index job {} stopped after version {}", jobId, lastVersionId);
+                        return;
+                    }
+                    throttle.startDocument();
+
+                    long versionTokens = 0;
+                    try {
+                        DocumentContent content = documentIndexingService.reindexDocumentVersion(versionId);
+                        if (content == null || DocumentContent.EMBEDDING_STATUS_FAILED.equals(content.getEmbeddingStatus())) {
+                            failed++;
+                        }
+                        versionTokens = documentChunkRepository.sumTokenCountByDocumentVersionId(versionId);
+                    } catch (Exception e) {
+                        logger.warn("Re-index job {} failed to index document version {}: {}", jobId, versionId, e.getMessage());
+                        failed++;
+                    }
+                    throttle.recordTokens(versionTokens);
+
+                    lastVersionId = versionId;
+                    processed++;
+                    tokens += versionTokens;
+                    long now = System.nanoTime();
+                    runningMillis += TimeUnit.NANOSECONDS.toMillis(now - runStart);
+                    runStart = now;
+                    reindexJobRepository.updateProgress(jobId, lastVersionId, processed, failed, tokens,
+                            runningMillis, LocalDateTime.now());
+                }
+            }
+        } catch (RuntimeException e) {
+            logger.error("Re-index job {} failed after version {}", jobId, lastVersionId, e);
+            String message = e.getMessage() != null ? e.getMessage() : e.getClass().getName();
+            reindexJobRepository.finish(jobId, ReindexJob.STATUS_FAILED,
+                    message.length() > 1000 ? message.substring(0, 1000) : message, LocalDateTime.now());
+        }
+    }
+
+    /**
+     * Waits until the throttle allows the next version, checking the job's status meanwhile.
+     *
+     * @return true if the job may continue, false if it was paused, cancelled or interrupted
+     */
+    private boolean awaitTurn(Long jobId, Throttle throttle) {
+        while (true) {
+            if (!ReindexJob.STATUS_RUNNING.equals(reindexJobRepository.findStatusById(jobId))) {
+                return false;
+            }
+            long delayMillis = TimeUnit.NANOSECONDS.toMillis(throttle.delayNanos());
+            if (delayMillis <= 0) {
+                return true;
+            }
+            try {
+                Thread.sleep(Math.min(delayMillis, MAX_SLEEP_MILLIS));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Paces documents and tokens to the job's limits. Each document may start no earlier than one
+     * document interval after the previous one, and after the time its predecessors' tokens are
+     * worth at the token rate.
+     */
+    static final class Throttle {
+        private final long nanosPerDocument;
+        private final double nanosPerToken;
+        private final LongSupplier clock;
+        private long nextDocumentAt;
+        private long nextTokenAt;
+
+        Throttle(Double documentsPerSecond, Long tokensPerMinute, LongSupplier clock) {
+            this.nanosPerDocument = documentsPerSecond != null && documentsPerSecond > 0
+                    ? (long) (TimeUnit.SECONDS.toNanos(1) / documentsPerSecond) : 0;
+            this.nanosPerToken = tokensPerMinute != null && tokensPerMinute > 0
+                    ? (double) TimeUnit.MINUTES.toNanos(1) / tokensPerMinute : 0;
+            this.clock = clock;
+            this.nextDocumentAt = clock.getAsLong();
+            this.nextTokenAt = nextDocumentAt;
+        }
+
+        long delayNanos() {
+            return Math.max(nextDocumentAt, nextTokenAt) - clock.getAsLong();
+        }
+
+        void startDocument() {
+            nextDocumentAt = Math.max(nextDocumentAt, clock.getAsLong()) + nanosPerDocument;
+        }
+
+        void recordTokens(long tokens) {
+            nextTokenAt = Math.max(nextTokenAt, clock.getAsLong()) + (long) (tokens * nanosPerToken);
+        }
+    }
+}
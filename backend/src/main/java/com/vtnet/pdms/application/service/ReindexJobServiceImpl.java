@@ -0,0 +1,189 @@
+package com.vtnet.pdms.application.service;
+
+import com.vtnet.pdms.application.dto.ReindexJobDTO;
+import com.vtnet.pdms.application.mapper.ReindexJobMapper;
+import com.vtnet.pdms.domain.exception.ResourceNotFoundException;
+import com.vtnet.pdms.domain.model.ReindexJob;
+import com.vtnet.pdms.domain.repository.DocumentVersionRepository;
+import com.vtnet.pdms.domain.repository.ProjectRepository;
+import com.vtnet.pdms.domain.repository.ReindexJobRepository;
+import com.vtnet.pdms.domain.service.ReindexJobService;
+import com.vtnet.pdms.infrastructure.security.SecurityUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Implementation of the ReindexJobService interface.
+ */
+@Service
+@Transactional
+public class ReindexJobServiceImpl implements ReindexJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReindexJobServiceImpl.class);
+
+    private final ReindexJobRepository reindexJobRepository;
+    private final DocumentVersionRepository documentVersionRepository;
+    private final ProjectRepository projectRepository;
+    private final ReindexJobMapper reindexJobMapper;
+    private final ReindexJobRunner reindexJobRunner;
+    private final SecurityUtils securityUtils;
+    private final double defaultDocumentsPerSecond;
+    private final long defaultTokensPerMinute;
+
+    /**
+     * Constructor with dependency injection.
+     *
+     * @param reindexJobRepository Repository for re-index jobs
+     * @param documentVersionRepository Repository for document version operations
+     * @param projectRepository Repository for project operations
+     * @param reindexJobMapper Mapper for re-index job entity-DTO conversion
+     * @param reindexJobRunner Runner executing queued jobs
+     * @param securityUtils Security utilities
+     * @param defaultDocumentsPerSecond Default version rate limit; 0 or less for no limit
+     * @param defaultTokensPerMinute Default token rate limit; 0 or less for no limit
+     */
+    @Autowired
+    public ReindexJobServiceImpl(
+            ReindexJobRepository reindexJobRepository,
+            DocumentVersionRepository documentVersionRepository,
+            ProjectRepository projectRepository,
+            ReindexJobMapper reindexJobMapper,
+            ReindexJobRunner reindexJobRunner,
+            SecurityUtils securityUtils,
+            @Value("${indexing.reindex.documents-per-second:5}") double defaultDocumentsPerSecond,
+            @Value("${indexing.reindex.tokens-per-minute:0}") long defaultTokensPerMinute) {
+        this.reindexJobRepository = reindexJobRepository;
+        this.documentVersionRepository = documentVersionRepository;
+        this.projectRepository = projectRepository;
+        this.reindexJobMapper = reindexJobMapper;
+        this.reindexJobRunner = reindexJobRunner;
+        this.securityUtils = securityUtils;
+        this.defaultDocumentsPerSecond = defaultDocumentsPerSecond;
+        this.defaultTokensPerMinute = defaultTokensPerMinute;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public ReindexJobDTO startReindex(Long projectId, Double documentsPerSecond, Long tokensPerMinute) {
+        if (projectId != null && !projectRepository.existsById(projectId)) {
+            throw new ResourceNotFoundException("Project", "id", projectId);
+        }
+        if (documentsPerSecond != null && documentsPerSecond < 0) {
+            throw new IllegalArgumentException("documentsPerSecond must not be negative");
+        }
+        if (tokensPerMinute != null && tokensPerMinute < 0) {
+            throw new IllegalArgumentException("tokensPerMinute must not be negative");
+        }
+
+        Double docsLimit = documentsPerSecond != null ? documentsPerSecond : defaultDocumentsPerSecond;
+        Long tokensLimit = tokensPerMinute != null ? tokensPerMinute : defaultTokensPerMinute;
+        long total = documentVersionRepository.countLatestVersions(projectId);
+        ReindexJob job = reindexJobRepository.save(new ReindexJob(projectId, total,
+                docsLimit > 0 ? docsLimit : null, tokensLimit > 0 ? tokensLimit : null,
+                securityUtils.getCurrentUserId()));
+
+        logger.info("Queued re-index job {} for {} versions", job.getId(), total);
+        wakeRunnerAfterCommit();
+        return reindexJobMapper.toDto(job);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public ReindexJobDTO pauseJob(Long jobId) {
+        return changeStatus(jobId, List.of(ReindexJob.STATUS_QUEUED, ReindexJob.STATUS_RUNNING),
+                ReindexJob.STATUS_PAUSED);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public ReindexJobDTO resumeJob(Long jobId) {
+        ReindexJobDTO job = changeStatus(jobId, List.of(ReindexJob.STATUS_PAUSED), ReindexJob.STATUS_QUEUED);
+        wakeRunnerAfterCommit();
+        return job;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public ReindexJobDTO cancelJob(Long jobId) {
+        return changeStatus(jobId,
+                List.of(ReindexJob.STATUS_QUEUED, ReindexJob.STATUS_RUNNING, ReindexJob.STATUS_PAUSED),
+                ReindexJob.STATUS_CANCELLED);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    @Transactional(readOnly = true)
+    public ReindexJobDTO getJob(Long jobId) {
+        return reindexJobMapper.toDto(findJob(jobId));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    @Transactional(readOnly = true)
+    public List<ReindexJobDTO> getRecentJobs(int limit) {
+        return reindexJobMapper.toDtoList(reindexJobRepository.findRecent(PageRequest.of(0, Math.max(1, limit))));
+    }
+
+    /**
+     * Changes the status of a job with a conditional update, so a transition the runner made in
+     * the meantime is never overwritten.
+     */
+    private ReindexJobDTO changeStatus(Long jobId, Collection<String> expectedStatuses, String status) {
+        int updated = reindexJobRepository.updateStatus(jobId, expectedStatuses, status, LocalDateTime.now());
+        ReindexJob job = findJob(jobId);
+        if (updated == 0) {
+            throw new IllegalArgumentException("Re-index job " + jobId + " is " + job.getStatus()
+                    + " and cannot be changed to " + status);
+        }
+        logger.info("Re-index job {} changed to {}", jobId, status);
+        return reindexJobMapper.toDto(job);
+    }
+
+    private ReindexJob findJob(Long jobId) {
+        return reindexJobRepository.findById(jobId)
+                .orElseThrow(() -> new ResourceNotFoundException("ReindexJob", "id", jobId));
+    }
+
+    private void wakeRunnerAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    reindexJobRunner.wake();
+                }
+            });
+        } else {
+            reindexJobRunner.wake();
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.vtnet.pdms.application.service;
+
+import com.vtnet.pdms.application.mapper.ReindexJobMapper;
+import com.vtnet.pdms.domain.model.DocumentContent;
+import com.vtnet.pdms.domain.model.ReindexJob;
+import com.vtnet.pdms.domain.repository.DocumentChunkRepository;
+import com.vtnet.pdms.domain.repository.ReindexJobRepository;
+import com.vtnet.pdms.domain.service.SearchIndexService;
+import com.vtnet.pdms.infrastructure.document.DocumentProcessorRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Implementation of the SearchIndexService interface over the document_chunks table.
+ * <p>
+ * Only the latest version of each document is searched. Adding a document queues its version
+ * for indexing, and the index status includes the progress of re-index jobs and the extraction
+ * counters of each document processor. Chunks are matched
+ * with {@code LIKE}, which scans every chunk; this is the search engine unless {@code search.engine}
+ * selects another one.
+ */
+@Service
+@Transactional
+@ConditionalOnProperty(name = "search.engine", havingValue = "chunks", matchIfMissing = true)
+public class SearchIndexServiceImpl implements SearchIndexService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchIndexServiceImpl.class);
+
+    /**
+     * Number of finished jobs included in the index status
+     */
+    private static final int RECENT_JOBS = 5;
+
+    private final DocumentChunkRepository documentChunkRepository;
+    private final ReindexJobRepository reindexJobRepository;
+    private final ReindexJobMapper reindexJobMapper;
+    private final DocumentIndexingQueue documentIndexingQueue;
+    private final DocumentProcessorRegistry documentProcessorRegistry;
+
+    /**
+     * Constructor with dependency injection.
+     *
+     * @param documentChunkRepository Repository for document chunk operations
+     * @param reindexJobRepository Repository for re-index jobs
+     * @param reindexJobMapper Mapper for re-index job entity-DTO conversion
+     * @param documentIndexingQueue Queue of document versions waiting to be indexed
+     * @param documentProcessorRegistry Registry keeping the extraction counters
+     */
+    @Autowired
+    public SearchIndexServiceImpl(
+            DocumentChunkRepository documentChunkRepository,
+            ReindexJobRepository reindexJobRepository,
+            ReindexJobMapper reindexJobMapper,
+            DocumentIndexingQueue documentIndexingQueue,
+            DocumentProcessorRegistry documentProcessorRegistry) {
+        this.documentChunkRepository = documentChunkRepository;
+        this.reindexJobRepository = reindexJobRepository;
+        this.reindexJobMapper = reindexJobMapper;
+        this.documentIndexingQueue = documentIndexingQueue;
+        this.documentProcessorRegistry = documentProcessorRegistry;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean addToIndex(DocumentContent documentContent) {
+        if (documentContent == null || documentContent.getDocumentVersion() == null
+                || documentContent.getDocumentVersion().getId() == null) {
+            return false;
+        }
+        documentIndexingQueue.enqueue(List.of(documentContent.getDocumentVersion().getId()));
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> search(String query, Long projectId, int maxResults) {
+        if (query == null || query.isBlank() || maxResults <= 0) {
+            return List.of();
+        }
+
+        return findMatches(toPattern(query), projectId, PageRequest.of(0, maxResults));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The query is matched as a single phrase; the score is the number of matching chunks.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Page<Map<String, Object>> search(String query, Long projectId, SearchMode mode, Pageable pageable) {
+        if (mode == SearchMode.BOOLEAN) {
+            throw new IllegalArgumentException("Boolean search requires the mysql search engine");
+        }
+        if (query == null || query.isBlank()) {
+            return Page.empty(pageable);
+        }
+        String pattern = toPattern(query);
+        return new PageImpl<>(findMatches(pattern, projectId, pageable), pageable,
+                documentChunkRepository.countLatestChunkMatches(pattern, projectId));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean removeFromIndex(Long documentId) {
+        int deleted = documentChunkRepository.deleteByDocumentId(documentId);
+        logger.info("Removed {} chunks of document {} from the index", deleted, documentId);
+        return deleted > 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int removeProjectFromIndex(Long projectId) {
+        long documents = documentChunkRepository.countIndexedDocumentsByProjectId(projectId);
+        int deleted = documentChunkRepository.deleteByProjectId(projectId);
+        logger.info("Removed {} chunks of {} documents in project {} from the index", deleted, documents, projectId);
+        return (int) documents;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Map<String, Object> getIndexStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("engine", getEngineName());
+        status.put("totalChunks", documentChunkRepository.count());
+        status.put("embeddedChunks", documentChunkRepository.countByEmbeddingIsNotNull());
+        status.put("pendingVersions", documentIndexingQueue.getPendingCount());
+        status.put("activeReindexJobs", reindexJobMapper.toDtoList(reindexJobRepository.findByStatusInOrderById(
+                List.of(ReindexJob.STATUS_QUEUED, ReindexJob.STATUS_RUNNING, ReindexJob.STATUS_PAUSED))));
+        status.put("recentReindexJobs", reindexJobMapper.toDtoList(
+                reindexJobRepository.findRecent(PageRequest.of(0, RECENT_JOBS))));
+        status.put("extraction", getExtractionStatistics());
+        return status;
+    }
+
+    /**
+     * Get the extraction counters of each document processor since the application started.
+     */
+    private Map<String, Object> getExtractionStatistics() {
+        Map<String, Object> extraction = new LinkedHashMap<>();
+        documentProcessorRegistry.getStatistics().forEach((processorId, snapshot) -> {
+            Map<String, Object> counters = new LinkedHashMap<>();
+            counters.put("documents", snapshot.documents());
+            counters.put("failures", snapshot.failures());
+            counters.put("characters", snapshot.characters());
+            counters.put("elapsedMillis", snapshot.elapsedMillis());
+            counters.put("charactersPerSecond", Math.round(snapshot.charactersPerSecond()));
+            extraction.put(processorId, counters);
+        });
+        return extraction;
+    }
+
+    /**
+     * Get the name of the search engine reported in the index status.
+     *
+     * @return The engine name
+     */
+    protected String getEngineName() {
+        return "chunks";
+    }
+
+    private List<Map<String, Object>> findMatches(String pattern, Long projectId, Pageable pageable) {
+        List<Map<String, Object>> results = new ArrayList<>();
+        for (DocumentChunkRepository.ChunkMatchView match
+                : documentChunkRepository.searchLatestChunks(pattern, projectId, pageable)) {
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("documentId", match.getDocumentId());
+            result.put("documentName", match.getDocumentName());
+            result.put("documentVersionId", match.getDocumentVersionId());
+            result.put("score", match.getMatchCount());
+            results.add(result);
+        }
+        return results;
+    }
+
+    private static String toPattern(String query) {
+        return "%" + escapeLike(query.trim().toLowerCase(Locale.ROOT)) + "%";
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
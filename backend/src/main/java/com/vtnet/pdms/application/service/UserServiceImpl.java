@@ -9,6 +9,7 @@ import com.vtnet.pdms.domain.model.User;
 import com.vtnet.pdms.domain.repository.RoleRepository;
 import com.vtnet.pdms.domain.repository.UserRepository;
 import com.vtnet.pdms.domain.service.UserService;
+import com.vtnet.pdms.infrastructure.chat.ChatHistoryMaintenance;
 import jakarta.persistence.EntityNotFoundException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -36,6 +37,7 @@ public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
     private final RoleRepository roleRepository;
     private final UserMapper userMapper;
+    private final ChatHistoryMaintenance chatHistoryMaintenance;
 
     /**
      * Constructor with dependency injection.
@@ -43,12 +45,15 @@ public class UserServiceImpl implements UserService {
      * @param userRepository Repository for user operations
      * @param roleRepository Repository for role operations
      * @param userMapper     Mapper for user entity-DTO conversion
+     * @param chatHistoryMaintenance Deleter of the user's chat history
      */
     @Autowired
-    public UserServiceImpl(UserRepository userRepository, RoleRepository roleRepository, UserMapper userMapper) {
+    public UserServiceImpl(UserRepository userRepository, RoleRepository roleRepository, UserMapper userMapper,
+                           ChatHistoryMaintenance chatHistoryMaintenance) {
         this.userRepository = userRepository;
         this.roleRepository = roleRepository;
         this.userMapper = userMapper;
+        this.chatHistoryMaintenance = chatHistoryMaintenance;
     }
 
     /**
@@ -124,6 +129,9 @@ public class UserServiceImpl implements UserService {
             throw new EntityNotFoundException("User not found with ID: " + id);
         }
 
+        // The database cascades to the conversations only; their messages and references go first
+        chatHistoryMaintenance.deleteUserHistory(id);
+
         // Delete user
         userRepository.deleteById(id);
         logger.info("User deleted with ID: {}", id);
@@ -0,0 +1,143 @@
+package com.vtnet.pdms.domain.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Entity representing one month of archived chat history of a project, stored as a compressed
+ * file. The project ID is null for global conversations, and is kept without a foreign key so the
+ * file can still be found and deleted after the project is gone.
+ */
+@Entity
+@Table(name = "chat_archives")
+public class ChatArchive {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * First day of the archived month
+     */
+    @NotNull
+    @Column(name = "archive_month", nullable = false)
+    private LocalDate month;
+
+    @Column(name = "project_id")
+    private Long projectId;
+
+    @NotNull
+    @Size(max = 255)
+    @Column(name = "storage_path", nullable = false)
+    private String storagePath;
+
+    @NotNull
+    @Column(name = "message_count", nullable = false)
+    private Integer messageCount;
+
+    @NotNull
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+
+    /**
+     * Default constructor required by JPA.
+     */
+    public ChatArchive() {
+    }
+
+    /**
+     * Constructor with required fields.
+     *
+     * @param month First day of the archived month
+     * @param projectId The project ID, or null for global conversations
+     * @param storagePath Path of the archive file in storage
+     * @param messageCount Number of archived messages
+     */
+    public ChatArchive(LocalDate month, Long projectId, String storagePath, Integer messageCount) {
+        this.month = month;
+        this.projectId = projectId;
+        this.storagePath = storagePath;
+        this.messageCount = messageCount;
+        this.archivedAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public LocalDate getMonth() {
+        return month;
+    }
+
+    public void setMonth(LocalDate month) {
+        this.month = month;
+    }
+
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public void setProjectId(Long projectId) {
+        this.projectId = projectId;
+    }
+
+    public String getStoragePath() {
+        return storagePath;
+    }
+
+    public void setStoragePath(String storagePath) {
+        this.storagePath = storagePath;
+    }
+
+    public Integer getMessageCount() {
+        return messageCount;
+    }
+
+    public void setMessageCount(Integer messageCount) {
+        this.messageCount = messageCount;
+    }
+
+    public LocalDateTime getArchivedAt() {
+        return archivedAt;
+    }
+
+    public void setArchivedAt(LocalDateTime archivedAt) {
+        this.archivedAt = archivedAt;
+    }
+
+    // Object methods
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ChatArchive that = (ChatArchive) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    @Override
+    public String toString() {
+        return "ChatArchive{" +
+                "id=" + id +
+                ", month=" + month +
+                ", projectId=" + projectId +
+                ", messageCount=" + messageCount +
+                '}';
+    }
+}
@@ -17,7 +17,10 @@ import java.util.Set;
 public class ChatMessage {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "chat_message_ids")
+    @TableGenerator(name = "chat_message_ids", table = PooledIds.TABLE, pkColumnName = PooledIds.NAME_COLUMN,
+                    valueColumnName = PooledIds.VALUE_COLUMN, pkColumnValue = "chatbot_messages",
+                    allocationSize = PooledIds.ALLOCATION_SIZE)
     private Long id;
 
     @NotNull
@@ -136,7 +139,9 @@ public class ChatMessage {
 
     @PrePersist
     protected void onCreate() {
-        sentAt = LocalDateTime.now();
+        if (sentAt == null) {
+            sentAt = LocalDateTime.now();
+        }
     }
 
     // Object methods
@@ -2,7 +2,10 @@ package com.vtnet.pdms.domain.model;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.NotFound;
+import org.hibernate.annotations.NotFoundAction;
 
+import java.time.LocalDateTime;
 import java.util.Objects;
 
 /**
@@ -13,7 +16,10 @@ import java.util.Objects;
 public class ChatReference {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "chat_reference_ids")
+    @TableGenerator(name = "chat_reference_ids", table = PooledIds.TABLE, pkColumnName = PooledIds.NAME_COLUMN,
+                    valueColumnName = PooledIds.VALUE_COLUMN, pkColumnValue = "chatbot_references",
+                    allocationSize = PooledIds.ALLOCATION_SIZE)
     private Long id;
 
     @NotNull
@@ -21,8 +27,13 @@ public class ChatReference {
     @JoinColumn(name = "message_id", nullable = false)
     private ChatMessage message;
 
+    /**
+     * The referenced document, or null if it has been deleted: without a foreign key the reference
+     * can outlive its document until it is cleaned up
+     */
     @NotNull
     @ManyToOne(fetch = FetchType.LAZY)
+    @NotFound(action = NotFoundAction.IGNORE)
     @JoinColumn(name = "document_id", nullable = false)
     private Document document;
 
@@ -30,6 +41,13 @@ public class ChatReference {
     @Column(name = "relevance_score", nullable = false)
     private Float relevanceScore;
 
+    /**
+     * Time the message was sent, copied from the message; the chat tables are partitioned by it
+     */
+    @NotNull
+    @Column(name = "sent_at", nullable = false)
+    private LocalDateTime sentAt;
+
     /**
      * Default constructor required by JPA.
      */
@@ -47,6 +65,7 @@ public class ChatReference {
         this.message = message;
         this.document = document;
         this.relevanceScore = relevanceScore;
+        this.sentAt = message.getSentAt();
     }
 
     // Getters and Setters
@@ -83,6 +102,23 @@ public class ChatReference {
         this.relevanceScore = relevanceScore;
     }
 
+    public LocalDateTime getSentAt() {
+        return sentAt;
+    }
+
+    public void setSentAt(LocalDateTime sentAt) {
+        this.sentAt = sentAt;
+    }
+
+    // JPA lifecycle methods
+
+    @PrePersist
+    protected void onCreate() {
+        if (message != null && message.getSentAt() != null) {
+            sentAt = message.getSentAt();
+        }
+    }
+
     // Object methods
 
     @Override
@@ -3,6 +3,9 @@ package com.vtnet.pdms.domain.model;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
+import org.hibernate.Hibernate;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
 
 import java.time.LocalDateTime;
 import java.util.HashSet;
@@ -25,6 +28,12 @@ public class Document {
     @JoinColumn(name = "folder_id", nullable = false)
     private Folder folder;
 
+    /**
+     * Project of the folder, copied on insert so project listings can be read from an index
+     */
+    @Column(name = "project_id", nullable = false, updatable = false)
+    private Long projectId;
+
     @NotNull
     @Size(max = 255)
     @Column(name = "name", nullable = false)
@@ -54,6 +63,12 @@ public class Document {
     @OneToMany(mappedBy = "document", cascade = CascadeType.ALL, orphanRemoval = true)
     private Set<DocumentVersion> versions = new HashSet<>();
 
+    // Latest version, set together with the version by addVersion
+    @ManyToOne(fetch = FetchType.LAZY, cascade = {CascadeType.PERSIST, CascadeType.MERGE})
+    @JoinColumn(name = "current_version_id")
+    @OnDelete(action = OnDeleteAction.SET_NULL)
+    private DocumentVersion currentVersion;
+
     /**
      * Default constructor required by JPA.
      */
@@ -96,6 +111,10 @@ public class Document {
         this.folder = folder;
     }
 
+    public Long getProjectId() {
+        return projectId;
+    }
+
     public String getName() {
         return name;
     }
@@ -152,10 +171,25 @@ public class Document {
         this.versions = versions;
     }
 
+    public DocumentVersion getCurrentVersion() {
+        return currentVersion;
+    }
+
+    /**
+     * Returns the number the next version of this document will get.
+     *
+     * @return The next version number
+     */
+    public int getNextVersionNumber() {
+        return currentVersion != null ? currentVersion.getVersionNumber() + 1 : 1;
+    }
+
     // Helper methods
 
     /**
-     * Adds a new version to this document.
+     * Adds a new version to this document and makes it the current version. The version history
+     * is not loaded for this: the version number follows the current version, and the new version
+     * is saved with the document through its current version reference.
      *
      * @param storagePath Path where the document is stored
      * @param size Size of the document in bytes
@@ -163,9 +197,11 @@ public class Document {
      * @return The created document version
      */
     public DocumentVersion addVersion(String storagePath, Long size, User createdBy) {
-        int versionNumber = versions.size() + 1;
-        DocumentVersion version = new DocumentVersion(this, versionNumber, storagePath, size, createdBy);
-        this.versions.add(version);
+        DocumentVersion version = new DocumentVersion(this, getNextVersionNumber(), storagePath, size, createdBy);
+        if (Hibernate.isInitialized(versions)) {
+            this.versions.add(version);
+        }
+        this.currentVersion = version;
         return version;
     }
 
@@ -174,6 +210,9 @@ public class Document {
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
+        if (projectId == null && folder != null) {
+            projectId = folder.getProject().getId();
+        }
     }
 
     // Object methods
@@ -0,0 +1,266 @@
+package com.vtnet.pdms.domain.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Entity representing a chunk of the extracted text of a document version.
+ * Chunks are cut at sentence boundaries, overlap their neighbours on the same page,
+ * and are ordered by their ordinal. The embedding is stored as little-endian float32 values.
+ * <p>
+ * The text of a chunk, overlap included, is stored in plain text next to the compressed text of
+ * the whole document. It is what the full-text index matches, what is embedded and what is quoted
+ * to the chatbot, and reading a chunk must not inflate the document's text. The overlap is at most
+ * the configured number of overlap tokens per chunk, and lets phrases that cross a chunk boundary
+ * still match within a single chunk.
+ */
+@Entity
+@Table(name = "document_chunks")
+public class DocumentChunk {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotNull
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "document_version_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private DocumentVersion documentVersion;
+
+    @NotNull
+    @Column(name = "ordinal", nullable = false)
+    private Integer ordinal;
+
+    @NotNull
+    @Column(name = "start_offset", nullable = false)
+    private Long startOffset;
+
+    @NotNull
+    @Column(name = "end_offset", nullable = false)
+    private Long endOffset;
+
+    @NotNull
+    @Column(name = "page_number", nullable = false)
+    private Integer pageNumber;
+
+    @NotNull
+    @Size(max = 64)
+    @Column(name = "content_hash", nullable = false, length = 64)
+    private String contentHash;
+
+    @NotNull
+    @Column(name = "token_count", nullable = false)
+    private Integer tokenCount;
+
+    @NotNull
+    @Column(name = "content", columnDefinition = "MEDIUMTEXT", nullable = false)
+    private String content;
+
+    @Lob
+    @Column(name = "embedding", columnDefinition = "BLOB")
+    private byte[] embedding;
+
+    @Size(max = 100)
+    @Column(name = "embedding_model", length = 100)
+    private String embeddingModel;
+
+    @NotNull
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * Default constructor required by JPA.
+     */
+    public DocumentChunk() {
+    }
+
+    /**
+     * Constructor with required fields.
+     *
+     * @param documentVersion The document version the chunk belongs to
+     * @param ordinal Position of the chunk in the document, starting at 0
+     * @param startOffset Offset of the first character in the extracted text
+     * @param endOffset Offset after the last character in the extracted text
+     * @param pageNumber Page the chunk is on, starting at 1
+     * @param contentHash SHA-256 of the chunk text, hex encoded
+     * @param tokenCount Approximate number of tokens
+     * @param content The chunk text
+     */
+    public DocumentChunk(DocumentVersion documentVersion, Integer ordinal, Long startOffset, Long endOffset,
+                         Integer pageNumber, String contentHash, Integer tokenCount, String content) {
+        this.documentVersion = documentVersion;
+        this.ordinal = ordinal;
+        this.startOffset = startOffset;
+        this.endOffset = endOffset;
+        this.pageNumber = pageNumber;
+        this.contentHash = contentHash;
+        this.tokenCount = tokenCount;
+        this.content = content;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public DocumentVersion getDocumentVersion() {
+        return documentVersion;
+    }
+
+    public void setDocumentVersion(DocumentVersion documentVersion) {
+        this.documentVersion = documentVersion;
+    }
+
+    public Integer getOrdinal() {
+        return ordinal;
+    }
+
+    public void setOrdinal(Integer ordinal) {
+        this.ordinal = ordinal;
+    }
+
+    public Long getStartOffset() {
+        return startOffset;
+    }
+
+    public void setStartOffset(Long startOffset) {
+        this.startOffset = startOffset;
+    }
+
+    public Long getEndOffset() {
+        return endOffset;
+    }
+
+    public void setEndOffset(Long endOffset) {
+        this.endOffset = endOffset;
+    }
+
+    public Integer getPageNumber() {
+        return pageNumber;
+    }
+
+    public void setPageNumber(Integer pageNumber) {
+        this.pageNumber = pageNumber;
+    }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    public Integer getTokenCount() {
+        return tokenCount;
+    }
+
+    public void setTokenCount(Integer tokenCount) {
+        this.tokenCount = tokenCount;
+    }
+
+    public String getContent() {
+        return content;
+    }
+
+    public void setContent(String content) {
+        this.content = content;
+    }
+
+    public byte[] getEmbedding() {
+        return embedding;
+    }
+
+    public void setEmbedding(byte[] embedding) {
+        this.embedding = embedding;
+    }
+
+    public String getEmbeddingModel() {
+        return embeddingModel;
+    }
+
+    public void setEmbeddingModel(String embeddingModel) {
+        this.embeddingModel = embeddingModel;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    /**
+     * Encodes an embedding vector for storage.
+     *
+     * @param vector The embedding vector
+     * @return The vector as little-endian float32 values
+     */
+    public static byte[] encodeEmbedding(float[] vector) {
+        ByteBuffer buffer = ByteBuffer.allocate(vector.length * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.asFloatBuffer().put(vector);
+        return buffer.array();
+    }
+
+    /**
+     * Decodes a stored embedding.
+     *
+     * @param embedding The stored embedding
+     * @return The embedding vector
+     */
+    public static float[] decodeEmbedding(byte[] embedding) {
+        float[] vector = new float[embedding.length / Float.BYTES];
+        ByteBuffer.wrap(embedding).order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer().get(vector);
+        return vector;
+    }
+
+    // JPA lifecycle methods
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    // Object methods
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        DocumentChunk that = (DocumentChunk) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    @Override
+    public String toString() {
+        return "DocumentChunk{" +
+                "id=" + id +
+                ", ordinal=" + ordinal +
+                ", startOffset=" + startOffset +
+                ", endOffset=" + endOffset +
+                ", pageNumber=" + pageNumber +
+                ", tokenCount=" + tokenCount +
+                '}';
+    }
+}
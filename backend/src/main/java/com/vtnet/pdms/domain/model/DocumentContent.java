@@ -2,12 +2,20 @@ package com.vtnet.pdms.domain.model;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
+import java.util.HexFormat;
 import java.util.Objects;
 
 /**
  * Entity representing document content for search indexing.
+ * <p>
+ * The extracted text is kept compressed in a separate, lazily loaded {@link DocumentContentBlob},
+ * so queries that only need the status or the length of the text do not load it.
  */
 @Entity
 @Table(name = "document_content")
@@ -22,7 +30,18 @@ public class DocumentContent {
     @JoinColumn(name = "document_version_id", nullable = false)
     private DocumentVersion documentVersion;
 
-    @Column(name = "content_text", columnDefinition = "LONGTEXT")
+    @OneToOne(fetch = FetchType.LAZY, cascade = CascadeType.ALL, orphanRemoval = true)
+    @JoinColumn(name = "text_blob_id")
+    private DocumentContentBlob textBlob;
+
+    @Column(name = "text_length")
+    private Long textLength;
+
+    @Size(max = 64)
+    @Column(name = "text_hash", length = 64)
+    private String textHash;
+
+    @Transient
     private String contentText;
 
     @Column(name = "indexed_at")
@@ -38,6 +57,7 @@ public class DocumentContent {
     public static final String EMBEDDING_STATUS_PROCESSING = "PROCESSING";
     public static final String EMBEDDING_STATUS_COMPLETED = "COMPLETED";
     public static final String EMBEDDING_STATUS_FAILED = "FAILED";
+    public static final String EMBEDDING_STATUS_SKIPPED = "SKIPPED";
 
     /**
      * Default constructor required by JPA.
@@ -53,7 +73,7 @@ public class DocumentContent {
      */
     public DocumentContent(DocumentVersion documentVersion, String contentText) {
         this.documentVersion = documentVersion;
-        this.contentText = contentText;
+        setContentText(contentText);
         this.embeddingStatus = EMBEDDING_STATUS_PENDING;
     }
 
@@ -75,12 +95,82 @@ public class DocumentContent {
         this.documentVersion = documentVersion;
     }
 
+    /**
+     * Returns the extracted text, loading and decompressing it on first access.
+     *
+     * @return The extracted text, or null if there is none
+     */
     public String getContentText() {
+        if (contentText == null && textBlob != null) {
+            contentText = textBlob.getText();
+        }
         return contentText;
     }
 
+    /**
+     * Sets the extracted text, compressing it into the text blob and updating its length and hash.
+     *
+     * @param contentText The extracted text, or null to remove it
+     */
     public void setContentText(String contentText) {
         this.contentText = contentText;
+        if (contentText == null) {
+            textBlob = null;
+            textLength = null;
+            textHash = null;
+            return;
+        }
+
+        if (textBlob == null) {
+            textBlob = new DocumentContentBlob(contentText);
+        } else {
+            textBlob.setText(contentText);
+        }
+        textLength = (long) contentText.codePointCount(0, contentText.length());
+        textHash = sha256(contentText);
+    }
+
+    /**
+     * Sets the extracted text from text that was compressed while it was extracted. The text
+     * itself is only decompressed if it is read.
+     *
+     * @param text The finished text
+     */
+    public void setCompressedContentText(DocumentContentBlob.TextWriter text) {
+        byte[] compressed = text.finish();
+        this.contentText = null;
+        if (textBlob == null) {
+            textBlob = new DocumentContentBlob();
+            textBlob.setCreatedAt(LocalDateTime.now());
+        }
+        textBlob.setCompressedText(compressed);
+        textLength = text.getLength();
+        textHash = text.getHash();
+    }
+
+    public DocumentContentBlob getTextBlob() {
+        return textBlob;
+    }
+
+    public void setTextBlob(DocumentContentBlob textBlob) {
+        this.textBlob = textBlob;
+        this.contentText = null;
+    }
+
+    public Long getTextLength() {
+        return textLength;
+    }
+
+    public void setTextLength(Long textLength) {
+        this.textLength = textLength;
+    }
+
+    public String getTextHash() {
+        return textHash;
+    }
+
+    public void setTextHash(String textHash) {
+        this.textHash = textHash;
     }
 
     public LocalDateTime getIndexedAt() {
@@ -114,6 +204,15 @@ public class DocumentContent {
         this.embeddingStatus = EMBEDDING_STATUS_FAILED;
     }
 
+    private static String sha256(String text) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(text.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
     // Object methods
 
     @Override
@@ -134,6 +233,7 @@ public class DocumentContent {
         return "DocumentContent{" +
                 "id=" + id +
                 ", documentVersion=" + (documentVersion != null ? documentVersion.getId() : null) +
+                ", textLength=" + textLength +
                 ", embeddingStatus='" + embeddingStatus + '\'' +
                 ", indexedAt=" + indexedAt +
                 '}';
@@ -0,0 +1,324 @@
+package com.vtnet.pdms.domain.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Objects;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Entity holding the compressed extracted text of a document content.
+ * <p>
+ * The text is stored in the format of MySQL's {@code COMPRESS()}: the length of the UTF-8 bytes
+ * as a 4-byte little-endian integer followed by a zlib stream, so it can be read with
+ * {@code UNCOMPRESS()} when inspecting the database.
+ */
+@Entity
+@Table(name = "document_content_blobs")
+public class DocumentContentBlob {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotNull
+    @Lob
+    @Column(name = "compressed_text", nullable = false, columnDefinition = "LONGBLOB")
+    private byte[] compressedText;
+
+    @NotNull
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * Default constructor required by JPA.
+     */
+    public DocumentContentBlob() {
+    }
+
+    /**
+     * Constructor with required fields.
+     *
+     * @param text The text to store
+     */
+    public DocumentContentBlob(String text) {
+        this.compressedText = compress(text);
+        this.createdAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public byte[] getCompressedText() {
+        return compressedText;
+    }
+
+    public void setCompressedText(byte[] compressedText) {
+        this.compressedText = compressedText;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    /**
+     * Returns the stored text.
+     *
+     * @return The decompressed text
+     */
+    public String getText() {
+        return decompress(compressedText);
+    }
+
+    /**
+     * Replaces the stored text.
+     *
+     * @param text The text to store
+     */
+    public void setText(String text) {
+        this.compressedText = compress(text);
+    }
+
+    /**
+     * Compresses text in the format of MySQL's {@code COMPRESS()}.
+     *
+     * @param text The text to compress
+     * @return The compressed bytes; empty for empty text
+     */
+    public static byte[] compress(String text) {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length == 0) {
+            return new byte[0];
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4 + 16);
+        int length = bytes.length & 0x3FFFFFFF;
+        out.write(length);
+        out.write(length >>> 8);
+        out.write(length >>> 16);
+        out.write(length >>> 24);
+
+        Deflater deflater = new Deflater();
+        try {
+            deflater.setInput(bytes);
+            deflater.finish();
+            byte[] buffer = new byte[BUFFER_SIZE];
+            while (!deflater.finished()) {
+                int count = deflater.deflate(buffer);
+                out.write(buffer, 0, count);
+            }
+        } finally {
+            deflater.end();
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Decompresses bytes written by {@link #compress(String)} or MySQL's {@code COMPRESS()}.
+     *
+     * @param compressed The compressed bytes
+     * @return The text
+     * @throws IllegalStateException If the bytes are not a valid compressed text
+     */
+    public static String decompress(byte[] compressed) {
+        if (compressed == null || compressed.length == 0) {
+            return "";
+        }
+        if (compressed.length < 4) {
+            throw new IllegalStateException("Compressed text is truncated");
+        }
+
+        int length = (compressed[0] & 0xFF)
+                | (compressed[1] & 0xFF) << 8
+                | (compressed[2] & 0xFF) << 16
+                | (compressed[3] & 0x3F) << 24;
+        byte[] bytes = new byte[length];
+        Inflater inflater = new Inflater();
+        try {
+            // MySQL may append a '.' after the zlib stream; the inflater stops before it
+            inflater.setInput(compressed, 4, compressed.length - 4);
+            int offset = 0;
+            while (offset < length && !inflater.finished()) {
+                int count = inflater.inflate(bytes, offset, length - offset);
+                if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                offset += count;
+            }
+            if (offset != length) {
+                throw new IllegalStateException("Compressed text is truncated");
+            }
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Compressed text is corrupt", e);
+        } finally {
+            inflater.end();
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Compresses text appended in pieces into the format of {@link #compress(String)}, so that the
+     * whole text never has to be held in memory. The length and SHA-256 of the text are computed
+     * on the way.
+     */
+    public static final class TextWriter {
+        private final Deflater deflater = new Deflater();
+        private final ByteArrayOutputStream zlib = new ByteArrayOutputStream();
+        private final byte[] buffer = new byte[BUFFER_SIZE];
+        private final MessageDigest digest;
+        private long byteCount;
+        private long codePointCount;
+        private char pendingHighSurrogate;
+        private byte[] compressed;
+
+        public TextWriter() {
+            try {
+                digest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 is not available", e);
+            }
+        }
+
+        /**
+         * Appends the next piece of text.
+         *
+         * @param text The text
+         */
+        public void append(String text) {
+            if (compressed != null) {
+                throw new IllegalStateException("Text is already finished");
+            }
+            if (pendingHighSurrogate != 0) {
+                text = pendingHighSurrogate + text;
+                pendingHighSurrogate = 0;
+            }
+            // A surrogate pair split between pieces is encoded once both halves are known
+            if (!text.isEmpty() && Character.isHighSurrogate(text.charAt(text.length() - 1))) {
+                pendingHighSurrogate = text.charAt(text.length() - 1);
+                text = text.substring(0, text.length() - 1);
+            }
+            write(text);
+        }
+
+        /**
+         * Finishes the text.
+         *
+         * @return The compressed bytes; empty for empty text
+         */
+        public byte[] finish() {
+            if (compressed != null) {
+                return compressed;
+            }
+            if (pendingHighSurrogate != 0) {
+                write(String.valueOf(pendingHighSurrogate));
+                pendingHighSurrogate = 0;
+            }
+            try {
+                if (byteCount == 0) {
+                    compressed = new byte[0];
+                    return compressed;
+                }
+                deflater.finish();
+                while (!deflater.finished()) {
+                    zlib.write(buffer, 0, deflater.deflate(buffer));
+                }
+            } finally {
+                deflater.end();
+            }
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream(zlib.size() + 4);
+            int length = (int) byteCount & 0x3FFFFFFF;
+            out.write(length);
+            out.write(length >>> 8);
+            out.write(length >>> 16);
+            out.write(length >>> 24);
+            out.writeBytes(zlib.toByteArray());
+            compressed = out.toByteArray();
+            return compressed;
+        }
+
+        /**
+         * Returns the length of the text appended so far.
+         *
+         * @return The number of code points
+         */
+        public long getLength() {
+            return codePointCount + (pendingHighSurrogate != 0 ? 1 : 0);
+        }
+
+        /**
+         * Returns the SHA-256 of the UTF-8 encoded text. Only available once the text is finished.
+         *
+         * @return The hex-encoded hash
+         */
+        public String getHash() {
+            if (compressed == null) {
+                throw new IllegalStateException("Text is not finished");
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        }
+
+        private void write(String text) {
+            byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+            byteCount += bytes.length;
+            codePointCount += text.codePointCount(0, text.length());
+            digest.update(bytes);
+            deflater.setInput(bytes);
+            while (!deflater.needsInput()) {
+                zlib.write(buffer, 0, deflater.deflate(buffer));
+            }
+        }
+    }
+
+    // JPA lifecycle methods
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    // Object methods
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        DocumentContentBlob that = (DocumentContentBlob) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    @Override
+    public String toString() {
+        return "DocumentContentBlob{" +
+                "id=" + id +
+                ", compressedSize=" + (compressedText != null ? compressedText.length : 0) +
+                ", createdAt=" + createdAt +
+                '}';
+    }
+}
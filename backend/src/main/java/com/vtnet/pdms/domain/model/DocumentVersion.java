@@ -15,7 +15,10 @@ import java.util.Objects;
 public class DocumentVersion {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "document_version_ids")
+    @TableGenerator(name = "document_version_ids", table = PooledIds.TABLE, pkColumnName = PooledIds.NAME_COLUMN,
+                    valueColumnName = PooledIds.VALUE_COLUMN, pkColumnValue = "document_versions",
+                    allocationSize = PooledIds.ALLOCATION_SIZE)
     private Long id;
 
     @NotNull
@@ -48,6 +51,32 @@ public class DocumentVersion {
     @OneToOne(mappedBy = "documentVersion", cascade = CascadeType.ALL, orphanRemoval = true)
     private DocumentContent documentContent;
 
+    @NotNull
+    @Column(name = "storage_format", nullable = false, length = 10)
+    private String storageFormat = STORAGE_FORMAT_FULL;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "base_version_id")
+    private DocumentVersion baseVersion;
+
+    @NotNull
+    @Column(name = "chain_depth", nullable = false)
+    private Integer chainDepth = 0;
+
+    @Column(name = "compacted_at")
+    private LocalDateTime compactedAt;
+
+    @Size(max = 64)
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    /**
+     * Storage format constants. A FULL version is stored as the complete file; a DELTA version is
+     * stored as a binary delta against its base version.
+     */
+    public static final String STORAGE_FORMAT_FULL = "FULL";
+    public static final String STORAGE_FORMAT_DELTA = "DELTA";
+
     /**
      * Default constructor required by JPA.
      */
@@ -138,6 +167,55 @@ public class DocumentVersion {
         this.documentContent = documentContent;
     }
 
+    public String getStorageFormat() {
+        return storageFormat;
+    }
+
+    public void setStorageFormat(String storageFormat) {
+        this.storageFormat = storageFormat;
+    }
+
+    public DocumentVersion getBaseVersion() {
+        return baseVersion;
+    }
+
+    public void setBaseVersion(DocumentVersion baseVersion) {
+        this.baseVersion = baseVersion;
+    }
+
+    public Integer getChainDepth() {
+        return chainDepth;
+    }
+
+    public void setChainDepth(Integer chainDepth) {
+        this.chainDepth = chainDepth;
+    }
+
+    public LocalDateTime getCompactedAt() {
+        return compactedAt;
+    }
+
+    public void setCompactedAt(LocalDateTime compactedAt) {
+        this.compactedAt = compactedAt;
+    }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    /**
+     * Checks whether this version is stored as a delta against its base version.
+     *
+     * @return true if the version is stored as a delta
+     */
+    public boolean isDelta() {
+        return STORAGE_FORMAT_DELTA.equals(storageFormat);
+    }
+
     // JPA lifecycle methods
 
     @PrePersist
@@ -168,6 +246,8 @@ public class DocumentVersion {
                 ", versionNumber=" + versionNumber +
                 ", storagePath='" + storagePath + '\'' +
                 ", size=" + size +
+                ", storageFormat='" + storageFormat + '\'' +
+                ", chainDepth=" + chainDepth +
                 ", createdAt=" + createdAt +
                 '}';
     }
@@ -0,0 +1,177 @@
+package com.vtnet.pdms.domain.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Entity representing text extracted from a file, keyed by the SHA-256 of the file content and
+ * the processor that produced it. The text is stored gzip-compressed.
+ */
+@Entity
+@Table(name = "extraction_cache")
+public class ExtractionCacheEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotNull
+    @Size(max = 64)
+    @Column(name = "content_hash", nullable = false, length = 64)
+    private String contentHash;
+
+    @NotNull
+    @Size(max = 100)
+    @Column(name = "processor_id", nullable = false, length = 100)
+    private String processorId;
+
+    @NotNull
+    @Column(name = "processor_version", nullable = false)
+    private Integer processorVersion;
+
+    @NotNull
+    @Lob
+    @Column(name = "compressed_text", nullable = false, columnDefinition = "LONGBLOB")
+    private byte[] compressedText;
+
+    @NotNull
+    @Column(name = "text_length", nullable = false)
+    private Long textLength;
+
+    @Column(name = "truncated", nullable = false)
+    private boolean truncated;
+
+    @NotNull
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * Default constructor required by JPA.
+     */
+    public ExtractionCacheEntry() {
+    }
+
+    /**
+     * Constructor with required fields.
+     *
+     * @param contentHash SHA-256 of the file content, hex encoded
+     * @param processorId Identifier of the processor that extracted the text
+     * @param processorVersion Version of the processor that extracted the text
+     * @param compressedText The gzip-compressed text
+     * @param textLength Length of the uncompressed text in characters
+     */
+    public ExtractionCacheEntry(String contentHash, String processorId, Integer processorVersion,
+                                byte[] compressedText, Long textLength) {
+        this.contentHash = contentHash;
+        this.processorId = processorId;
+        this.processorVersion = processorVersion;
+        this.compressedText = compressedText;
+        this.textLength = textLength;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    public String getProcessorId() {
+        return processorId;
+    }
+
+    public void setProcessorId(String processorId) {
+        this.processorId = processorId;
+    }
+
+    public Integer getProcessorVersion() {
+        return processorVersion;
+    }
+
+    public void setProcessorVersion(Integer processorVersion) {
+        this.processorVersion = processorVersion;
+    }
+
+    public byte[] getCompressedText() {
+        return compressedText;
+    }
+
+    public void setCompressedText(byte[] compressedText) {
+        this.compressedText = compressedText;
+    }
+
+    public Long getTextLength() {
+        return textLength;
+    }
+
+    public void setTextLength(Long textLength) {
+        this.textLength = textLength;
+    }
+
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    public void setTruncated(boolean truncated) {
+        this.truncated = truncated;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    // JPA lifecycle methods
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    // Object methods
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ExtractionCacheEntry that = (ExtractionCacheEntry) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    @Override
+    public String toString() {
+        return "ExtractionCacheEntry{" +
+                "id=" + id +
+                ", contentHash='" + contentHash + '\'' +
+                ", processorId='" + processorId + '\'' +
+                ", processorVersion=" + processorVersion +
+                ", textLength=" + textLength +
+                ", truncated=" + truncated +
+                ", createdAt=" + createdAt +
+                '}';
+    }
+}
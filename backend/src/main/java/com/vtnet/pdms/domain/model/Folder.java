@@ -3,6 +3,9 @@ package com.vtnet.pdms.domain.model;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDateTime;
 import java.util.HashSet;
@@ -13,6 +16,8 @@ import java.util.Set;
  * Entity representing a folder in the system.
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "folders")
 @Table(name = "folders")
 public class Folder {
 
@@ -52,6 +57,18 @@ public class Folder {
     @OneToMany(mappedBy = "folder", cascade = CascadeType.ALL)
     private Set<Document> documents = new HashSet<>();
 
+    /**
+     * Number and total size of the documents directly in the folder. Changed only by bulk updates, never
+     * by saving the entity, so concurrent uploads cannot overwrite each other's changes
+     */
+    @ColumnDefault("0")
+    @Column(name = "document_count", nullable = false, insertable = false, updatable = false)
+    private Long documentCount = 0L;
+
+    @ColumnDefault("0")
+    @Column(name = "total_bytes", nullable = false, insertable = false, updatable = false)
+    private Long totalBytes = 0L;
+
     /**
      * Default constructor required by JPA.
      */
@@ -143,6 +160,14 @@ public class Folder {
         this.displayOrder = displayOrder;
     }
 
+    public Long getDocumentCount() {
+        return documentCount;
+    }
+
+    public Long getTotalBytes() {
+        return totalBytes;
+    }
+
     public Set<Folder> getSubfolders() {
         return subfolders;
     }
@@ -0,0 +1,133 @@
+package com.vtnet.pdms.domain.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.util.Objects;
+
+/**
+ * Entity representing a path in the folder hierarchy: one row for every folder and each of its
+ * ancestors, including the folder itself at depth 0. Whole subtrees can then be read, moved and
+ * deleted with single statements instead of walking the tree folder by folder.
+ * <p>
+ * Rows are written by {@link com.vtnet.pdms.domain.repository.FolderClosureRepository} and
+ * removed by the database when either folder is deleted.
+ */
+@Entity
+@Table(name = "folder_closure", indexes = {
+        @Index(name = "idx_folder_closure_descendant", columnList = "descendant_id")
+})
+public class FolderClosure {
+
+    @EmbeddedId
+    private FolderClosurePK id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "ancestor_id", nullable = false, insertable = false, updatable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Folder ancestor;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "descendant_id", nullable = false, insertable = false, updatable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Folder descendant;
+
+    @NotNull
+    @Column(name = "depth", nullable = false)
+    private Integer depth;
+
+    /**
+     * Default constructor required by JPA.
+     */
+    public FolderClosure() {
+    }
+
+    // Getters
+
+    public FolderClosurePK getId() {
+        return id;
+    }
+
+    public Folder getAncestor() {
+        return ancestor;
+    }
+
+    public Folder getDescendant() {
+        return descendant;
+    }
+
+    public Integer getDepth() {
+        return depth;
+    }
+
+    // Object methods
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        FolderClosure that = (FolderClosure) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    @Override
+    public String toString() {
+        return "FolderClosure{" +
+                "ancestorId=" + (id != null ? id.getAncestorId() : null) +
+                ", descendantId=" + (id != null ? id.getDescendantId() : null) +
+                ", depth=" + depth +
+                '}';
+    }
+
+    /**
+     * Composite primary key for FolderClosure.
+     */
+    @Embeddable
+    public static class FolderClosurePK implements java.io.Serializable {
+
+        @Column(name = "ancestor_id", nullable = false)
+        private Long ancestorId;
+
+        @Column(name = "descendant_id", nullable = false)
+        private Long descendantId;
+
+        /**
+         * Default constructor required by JPA.
+         */
+        public FolderClosurePK() {
+        }
+
+        // Getters
+
+        public Long getAncestorId() {
+            return ancestorId;
+        }
+
+        public Long getDescendantId() {
+            return descendantId;
+        }
+
+        // Object methods
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            FolderClosurePK that = (FolderClosurePK) o;
+            return Objects.equals(ancestorId, that.ancestorId) &&
+                   Objects.equals(descendantId, that.descendantId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(ancestorId, descendantId);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.vtnet.pdms.domain.model;
+
+/**
+ * Settings of the pooled table generator used by high-volume entities instead of IDENTITY
+ * columns. Ids are handed out in blocks, so new rows get their ids without a round trip each
+ * and Hibernate can batch their inserts.
+ * <p>
+ * A row of {@link #TABLE} holds the highest id of the next block to hand out for one table.
+ * Statements inserting rows directly must reserve their ids through the same row.
+ */
+public final class PooledIds {
+
+    public static final String TABLE = "id_generators";
+    public static final String NAME_COLUMN = "name";
+    public static final String VALUE_COLUMN = "next_val";
+
+    /**
+     * Number of ids fetched per round trip; matches hibernate.jdbc.batch_size
+     */
+    public static final int ALLOCATION_SIZE = 50;
+
+    private PooledIds() {
+    }
+}
@@ -3,6 +3,9 @@ package com.vtnet.pdms.domain.model;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDateTime;
 import java.util.HashSet;
@@ -13,6 +16,8 @@ import java.util.Set;
  * Entity representing a project in the system.
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "projects")
 @Table(name = "projects")
 public class Project {
 
@@ -48,6 +53,24 @@ public class Project {
     @OneToMany(mappedBy = "id.project", cascade = CascadeType.ALL, orphanRemoval = true)
     private Set<ProjectMember> members = new HashSet<>();
 
+    /**
+     * Number and total size of the documents in the project. Changed only by bulk updates, never
+     * by saving the entity, so concurrent uploads cannot overwrite each other's changes
+     */
+    @ColumnDefault("0")
+    @Column(name = "document_count", nullable = false, insertable = false, updatable = false)
+    private Long documentCount = 0L;
+
+    @ColumnDefault("0")
+    @Column(name = "total_bytes", nullable = false, insertable = false, updatable = false)
+    private Long totalBytes = 0L;
+
+    /**
+     * Days chat history of the project is kept; null uses the default retention
+     */
+    @Column(name = "chat_retention_days")
+    private Integer chatRetentionDays;
+
     /**
      * Project status constants
      */
@@ -134,6 +157,22 @@ public class Project {
         this.createdBy = createdBy;
     }
 
+    public Long getDocumentCount() {
+        return documentCount;
+    }
+
+    public Long getTotalBytes() {
+        return totalBytes;
+    }
+
+    public Integer getChatRetentionDays() {
+        return chatRetentionDays;
+    }
+
+    public void setChatRetentionDays(Integer chatRetentionDays) {
+        this.chatRetentionDays = chatRetentionDays;
+    }
+
     public Set<ProjectMember> getMembers() {
         return members;
     }
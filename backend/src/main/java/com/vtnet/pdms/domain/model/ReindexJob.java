@@ -0,0 +1,299 @@
+package com.vtnet.pdms.domain.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Entity representing a background re-index of the latest document versions of a project, or of
+ * all projects. Versions are processed in ID order and the last processed ID is kept as a
+ * checkpoint, so the job can be paused, resumed and continued after a restart.
+ */
+@Entity
+@Table(name = "reindex_jobs")
+public class ReindexJob {
+
+    /**
+     * Job status constants
+     */
+    public static final String STATUS_QUEUED = "QUEUED";
+    public static final String STATUS_RUNNING = "RUNNING";
+    public static final String STATUS_PAUSED = "PAUSED";
+    public static final String STATUS_CANCELLED = "CANCELLED";
+    public static final String STATUS_COMPLETED = "COMPLETED";
+    public static final String STATUS_FAILED = "FAILED";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "project_id")
+    private Long projectId;
+
+    @NotNull
+    @Size(max = 20)
+    @Column(name = "status", nullable = false, length = 20)
+    private String status;
+
+    @NotNull
+    @Column(name = "last_version_id", nullable = false)
+    private Long lastVersionId = 0L;
+
+    @NotNull
+    @Column(name = "total_versions", nullable = false)
+    private Long totalVersions;
+
+    @NotNull
+    @Column(name = "processed_versions", nullable = false)
+    private Long processedVersions = 0L;
+
+    @NotNull
+    @Column(name = "failed_versions", nullable = false)
+    private Long failedVersions = 0L;
+
+    @NotNull
+    @Column(name = "processed_tokens", nullable = false)
+    private Long processedTokens = 0L;
+
+    @NotNull
+    @Column(name = "running_millis", nullable = false)
+    private Long runningMillis = 0L;
+
+    @Column(name = "documents_per_second")
+    private Double documentsPerSecond;
+
+    @Column(name = "tokens_per_minute")
+    private Long tokensPerMinute;
+
+    @Size(max = 1000)
+    @Column(name = "error_message", length = 1000)
+    private String errorMessage;
+
+    @Column(name = "created_by")
+    private Long createdBy;
+
+    @NotNull
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    /**
+     * Default constructor required by JPA.
+     */
+    public ReindexJob() {
+    }
+
+    /**
+     * Constructor with required fields.
+     *
+     * @param projectId The project to re-index, or null for all projects
+     * @param totalVersions Number of versions to re-index when the job is created
+     * @param documentsPerSecond Maximum number of versions re-indexed per second, or null for no limit
+     * @param tokensPerMinute Maximum number of chunk tokens indexed per minute, or null for no limit
+     * @param createdBy ID of the user who started the job
+     */
+    public ReindexJob(Long projectId, Long totalVersions, Double documentsPerSecond, Long tokensPerMinute,
+                      Long createdBy) {
+        this.projectId = projectId;
+        this.status = STATUS_QUEUED;
+        this.totalVersions = totalVersions;
+        this.documentsPerSecond = documentsPerSecond;
+        this.tokensPerMinute = tokensPerMinute;
+        this.createdBy = createdBy;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public void setProjectId(Long projectId) {
+        this.projectId = projectId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public Long getLastVersionId() {
+        return lastVersionId;
+    }
+
+    public void setLastVersionId(Long lastVersionId) {
+        this.lastVersionId = lastVersionId;
+    }
+
+    public Long getTotalVersions() {
+        return totalVersions;
+    }
+
+    public void setTotalVersions(Long totalVersions) {
+        this.totalVersions = totalVersions;
+    }
+
+    public Long getProcessedVersions() {
+        return processedVersions;
+    }
+
+    public void setProcessedVersions(Long processedVersions) {
+        this.processedVersions = processedVersions;
+    }
+
+    public Long getFailedVersions() {
+        return failedVersions;
+    }
+
+    public void setFailedVersions(Long failedVersions) {
+        this.failedVersions = failedVersions;
+    }
+
+    public Long getProcessedTokens() {
+        return processedTokens;
+    }
+
+    public void setProcessedTokens(Long processedTokens) {
+        this.processedTokens = processedTokens;
+    }
+
+    public Long getRunningMillis() {
+        return runningMillis;
+    }
+
+    public void setRunningMillis(Long runningMillis) {
+        this.runningMillis = runningMillis;
+    }
+
+    public Double getDocumentsPerSecond() {
+        return documentsPerSecond;
+    }
+
+    public void setDocumentsPerSecond(Double documentsPerSecond) {
+        this.documentsPerSecond = documentsPerSecond;
+    }
+
+    public Long getTokensPerMinute() {
+        return tokensPerMinute;
+    }
+
+    public void setTokensPerMinute(Long tokensPerMinute) {
+        this.tokensPerMinute = tokensPerMinute;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+
+    public Long getCreatedBy() {
+        return createdBy;
+    }
+
+    public void setCreatedBy(Long createdBy) {
+        this.createdBy = createdBy;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    /**
+     * Checks if the job has ended and can no longer be resumed.
+     *
+     * @return true if the job is cancelled, completed or failed
+     */
+    public boolean isFinished() {
+        return STATUS_CANCELLED.equals(status) || STATUS_COMPLETED.equals(status) || STATUS_FAILED.equals(status);
+    }
+
+    // JPA lifecycle methods
+
+    @PrePersist
+    protected void onCreate() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+    }
+
+    // Object methods
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ReindexJob that = (ReindexJob) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    @Override
+    public String toString() {
+        return "ReindexJob{" +
+                "id=" + id +
+                ", projectId=" + projectId +
+                ", status='" + status + '\'' +
+                ", lastVersionId=" + lastVersionId +
+                ", processedVersions=" + processedVersions +
+                ", totalVersions=" + totalVersions +
+                '}';
+    }
+}
@@ -0,0 +1,77 @@
+package com.vtnet.pdms.domain.repository;
+
+import com.vtnet.pdms.domain.model.ChatArchive;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for ChatArchive entity.
+ */
+@Repository
+public interface ChatArchiveRepository extends JpaRepository<ChatArchive, Long> {
+
+    /**
+     * Find the archive of a project's chat history in a month.
+     *
+     * @param month First day of the month
+     * @param projectId The project ID
+     * @return Optional chat archive
+     */
+    Optional<ChatArchive> findByMonthAndProjectId(LocalDate month, Long projectId);
+
+    /**
+     * Find the archive of the global chat history in a month.
+     *
+     * @param month First day of the month
+     * @return Optional chat archive
+     */
+    Optional<ChatArchive> findByMonthAndProjectIdIsNull(LocalDate month);
+
+    /**
+     * Find the archives of a project from a month back, newest first.
+     *
+     * @param projectId The project ID
+     * @param month First day of the newest month to include
+     * @return List of chat archives
+     */
+    List<ChatArchive> findByProjectIdAndMonthLessThanEqualOrderByMonthDesc(Long projectId, LocalDate month);
+
+    /**
+     * Find the archives of the global chat history from a month back, newest first.
+     *
+     * @param month First day of the newest month to include
+     * @return List of chat archives
+     */
+    List<ChatArchive> findByProjectIdIsNullAndMonthLessThanEqualOrderByMonthDesc(LocalDate month);
+
+    /**
+     * Find the archives of a project for months before a date.
+     *
+     * @param projectId The project ID
+     * @param month First day of the first month to exclude
+     * @return List of chat archives
+     */
+    List<ChatArchive> findByProjectIdAndMonthBefore(Long projectId, LocalDate month);
+
+    /**
+     * Find the archives of the global chat history for months before a date.
+     *
+     * @param month First day of the first month to exclude
+     * @return List of chat archives
+     */
+    List<ChatArchive> findByProjectIdIsNullAndMonthBefore(LocalDate month);
+
+    /**
+     * Find the archives of projects that have been deleted.
+     *
+     * @return List of chat archives
+     */
+    @Query("SELECT a FROM ChatArchive a WHERE a.projectId IS NOT NULL "
+            + "AND NOT EXISTS (SELECT p FROM Project p WHERE p.id = a.projectId)")
+    List<ChatArchive> findOfDeletedProjects();
+}
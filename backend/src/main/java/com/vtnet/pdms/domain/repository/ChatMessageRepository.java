@@ -3,10 +3,12 @@ package com.vtnet.pdms.domain.repository;
 import com.vtnet.pdms.domain.model.ChatMessage;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -71,4 +73,210 @@ public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long>
      */
     @Query("SELECT m FROM ChatMessage m JOIN m.conversation c WHERE c.user.id = :userId AND c.project IS NULL ORDER BY m.sentAt DESC")
     List<ChatMessage> findByUserIdAndGlobalConversation(@Param("userId") Long userId, Pageable pageable);
-} 
\ No newline at end of file
+
+    /**
+     * Find messages by user ID and project ID sent since a time. The bound on the sent time keeps
+     * the query to the recent partitions.
+     *
+     * @param userId The user ID
+     * @param projectId The project ID
+     * @param since Earliest sent time to include
+     * @param pageable Pagination information
+     * @return List of chat messages, newest first
+     */
+    @Query("SELECT m FROM ChatMessage m JOIN m.conversation c WHERE c.user.id = :userId AND c.project.id = :projectId "
+            + "AND m.sentAt >= :since ORDER BY m.sentAt DESC, m.id DESC")
+    List<ChatMessage> findRecentByUserIdAndProjectId(@Param("userId") Long userId, @Param("projectId") Long projectId,
+                                                     @Param("since") LocalDateTime since, Pageable pageable);
+
+    /**
+     * Find messages by user ID for global conversations sent since a time.
+     *
+     * @param userId The user ID
+     * @param since Earliest sent time to include
+     * @param pageable Pagination information
+     * @return List of chat messages, newest first
+     */
+    @Query("SELECT m FROM ChatMessage m JOIN m.conversation c WHERE c.user.id = :userId AND c.project IS NULL "
+            + "AND m.sentAt >= :since ORDER BY m.sentAt DESC, m.id DESC")
+    List<ChatMessage> findRecentByUserIdAndGlobalConversation(@Param("userId") Long userId,
+                                                              @Param("since") LocalDateTime since, Pageable pageable);
+
+    /**
+     * Find messages by user ID and project ID sent in a time range, ordered by sent time and ID.
+     *
+     * @param userId The user ID
+     * @param projectId The project ID
+     * @param from Earliest sent time to include
+     * @param to Sent time to stop before
+     * @param toId Messages sent at exactly the end time are included if their ID is below this
+     * @param pageable Pagination information
+     * @return List of chat messages, newest first
+     */
+    @Query("SELECT m FROM ChatMessage m JOIN m.conversation c WHERE c.user.id = :userId AND c.project.id = :projectId "
+            + "AND m.sentAt >= :from AND (m.sentAt < :to OR (m.sentAt = :to AND m.id < :toId)) "
+            + "ORDER BY m.sentAt DESC, m.id DESC")
+    List<ChatMessage> findByUserIdAndProjectIdSentBetween(@Param("userId") Long userId, @Param("projectId") Long projectId,
+                                                          @Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                                                          @Param("toId") long toId, Pageable pageable);
+
+    /**
+     * Find messages by user ID for global conversations sent in a time range, ordered by sent
+     * time and ID.
+     *
+     * @param userId The user ID
+     * @param from Earliest sent time to include
+     * @param to Sent time to stop before
+     * @param toId Messages sent at exactly the end time are included if their ID is below this
+     * @param pageable Pagination information
+     * @return List of chat messages, newest first
+     */
+    @Query("SELECT m FROM ChatMessage m JOIN m.conversation c WHERE c.user.id = :userId AND c.project IS NULL "
+            + "AND m.sentAt >= :from AND (m.sentAt < :to OR (m.sentAt = :to AND m.id < :toId)) "
+            + "ORDER BY m.sentAt DESC, m.id DESC")
+    List<ChatMessage> findByUserIdAndGlobalConversationSentBetween(@Param("userId") Long userId,
+                                                                   @Param("from") LocalDateTime from,
+                                                                   @Param("to") LocalDateTime to,
+                                                                   @Param("toId") long toId, Pageable pageable);
+
+    /**
+     * Find the sent time of the oldest message of a user in a project sent at or before a time.
+     *
+     * @param userId The user ID
+     * @param projectId The project ID
+     * @param before Latest sent time to include
+     * @return The sent time, or null if there is no such message
+     */
+    @Query("SELECT MIN(m.sentAt) FROM ChatMessage m JOIN m.conversation c WHERE c.user.id = :userId "
+            + "AND c.project.id = :projectId AND m.sentAt <= :before")
+    LocalDateTime findOldestSentAtByUserIdAndProjectId(@Param("userId") Long userId, @Param("projectId") Long projectId,
+                                                       @Param("before") LocalDateTime before);
+
+    /**
+     * Find the sent time of the oldest message of a user in global conversations sent at or
+     * before a time.
+     *
+     * @param userId The user ID
+     * @param before Latest sent time to include
+     * @return The sent time, or null if there is no such message
+     */
+    @Query("SELECT MIN(m.sentAt) FROM ChatMessage m JOIN m.conversation c WHERE c.user.id = :userId "
+            + "AND c.project IS NULL AND m.sentAt <= :before")
+    LocalDateTime findOldestSentAtByUserIdAndGlobalConversation(@Param("userId") Long userId,
+                                                                @Param("before") LocalDateTime before);
+
+    /**
+     * Find the sent time of the oldest message before a time.
+     *
+     * @param before Sent time to stop before
+     * @return The sent time, or null if there is no such message
+     */
+    @Query("SELECT MIN(m.sentAt) FROM ChatMessage m WHERE m.sentAt < :before")
+    LocalDateTime findOldestSentAtBefore(@Param("before") LocalDateTime before);
+
+    /**
+     * Find the IDs of the projects with messages sent in a time range, with null for global
+     * conversations. Messages of deleted conversations are not included.
+     *
+     * @param from Earliest sent time to include
+     * @param to Sent time to stop before
+     * @return List of project IDs
+     */
+    @Query("SELECT DISTINCT p.id FROM ChatMessage m JOIN m.conversation c LEFT JOIN c.project p "
+            + "WHERE m.sentAt >= :from AND m.sentAt < :to")
+    List<Long> findProjectIdsSentBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    /**
+     * Find a batch of a project's messages sent in a time range, in ID order, for archiving.
+     *
+     * @param projectId The project ID
+     * @param from Earliest sent time to include
+     * @param to Sent time to stop before
+     * @param afterId Only messages with a greater ID are returned
+     * @param pageable Batch size
+     * @return List of message views
+     */
+    @Query("SELECT m.id AS id, c.id AS conversationId, c.user.id AS userId, m.messageType AS messageType, "
+            + "m.content AS content, m.sentAt AS sentAt FROM ChatMessage m JOIN m.conversation c "
+            + "WHERE c.project.id = :projectId AND m.sentAt >= :from AND m.sentAt < :to AND m.id > :afterId ORDER BY m.id")
+    List<ArchiveMessageView> findArchiveBatchByProjectId(@Param("projectId") Long projectId,
+                                                         @Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                                                         @Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Find a batch of global messages sent in a time range, in ID order, for archiving.
+     *
+     * @param from Earliest sent time to include
+     * @param to Sent time to stop before
+     * @param afterId Only messages with a greater ID are returned
+     * @param pageable Batch size
+     * @return List of message views
+     */
+    @Query("SELECT m.id AS id, c.id AS conversationId, c.user.id AS userId, m.messageType AS messageType, "
+            + "m.content AS content, m.sentAt AS sentAt FROM ChatMessage m JOIN m.conversation c "
+            + "WHERE c.project IS NULL AND m.sentAt >= :from AND m.sentAt < :to AND m.id > :afterId ORDER BY m.id")
+    List<ArchiveMessageView> findGlobalArchiveBatch(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                                                    @Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Delete the messages of a project's conversations. Their references must be deleted first.
+     *
+     * @param projectId The project ID
+     * @return Number of deleted messages
+     */
+    @Modifying
+    @Query("DELETE FROM ChatMessage m "
+            + "WHERE m.conversation.id IN (SELECT c.id FROM ChatConversation c WHERE c.project.id = :projectId)")
+    int deleteByProjectId(@Param("projectId") Long projectId);
+
+    /**
+     * Delete the messages of a user's conversations. Their references must be deleted first.
+     *
+     * @param userId The user ID
+     * @return Number of deleted messages
+     */
+    @Modifying
+    @Query("DELETE FROM ChatMessage m "
+            + "WHERE m.conversation.id IN (SELECT c.id FROM ChatConversation c WHERE c.user.id = :userId)")
+    int deleteByUserId(@Param("userId") Long userId);
+
+    /**
+     * Delete the messages of a project sent before a time. Their references must be deleted first.
+     *
+     * @param projectId The project ID
+     * @param cutoff Sent time to stop before
+     * @return Number of deleted messages
+     */
+    @Modifying
+    @Query("DELETE FROM ChatMessage m WHERE m.sentAt < :cutoff "
+            + "AND m.conversation.id IN (SELECT c.id FROM ChatConversation c WHERE c.project.id = :projectId)")
+    int deleteByProjectIdSentBefore(@Param("projectId") Long projectId, @Param("cutoff") LocalDateTime cutoff);
+
+    /**
+     * Delete the global messages sent before a time. Their references must be deleted first.
+     *
+     * @param cutoff Sent time to stop before
+     * @return Number of deleted messages
+     */
+    @Modifying
+    @Query("DELETE FROM ChatMessage m WHERE m.sentAt < :cutoff "
+            + "AND m.conversation.id IN (SELECT c.id FROM ChatConversation c WHERE c.project IS NULL)")
+    int deleteGlobalSentBefore(@Param("cutoff") LocalDateTime cutoff);
+
+    /**
+     * Projection of a message with its conversation and user, as written to archives.
+     */
+    interface ArchiveMessageView {
+        Long getId();
+
+        Long getConversationId();
+
+        Long getUserId();
+
+        String getMessageType();
+
+        String getContent();
+
+        LocalDateTime getSentAt();
+    }
+}
@@ -2,10 +2,13 @@ package com.vtnet.pdms.domain.repository;
 
 import com.vtnet.pdms.domain.model.ChatReference;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -66,9 +69,100 @@ public interface ChatReferenceRepository extends JpaRepository<ChatReference, Lo
     void deleteByMessageId(Long messageId);
     
     /**
-     * Delete references by document ID.
+     * Delete references by document ID. The chat tables have no foreign keys, so references are
+     * deleted along with their document.
      *
      * @param documentId The document ID
+     * @return Number of deleted references
      */
-    void deleteByDocumentId(Long documentId);
+    @Modifying
+    @Query("DELETE FROM ChatReference r WHERE r.document.id = :documentId")
+    int deleteByDocumentId(@Param("documentId") Long documentId);
+
+    /**
+     * Delete the references to the documents of several folders.
+     *
+     * @param folderIds The folder IDs
+     * @return Number of deleted references
+     */
+    @Modifying
+    @Query("DELETE FROM ChatReference r WHERE r.document.id IN "
+            + "(SELECT d.id FROM Document d WHERE d.folder.id IN :folderIds)")
+    int deleteByFolderIds(@Param("folderIds") Collection<Long> folderIds);
+
+    /**
+     * Delete the references of a project's messages, and the references of other conversations to
+     * the project's documents.
+     *
+     * @param projectId The project ID
+     * @return Number of deleted references
+     */
+    @Modifying
+    @Query("DELETE FROM ChatReference r WHERE r.message.id IN "
+            + "(SELECT m.id FROM ChatMessage m JOIN m.conversation c WHERE c.project.id = :projectId) "
+            + "OR r.document.id IN (SELECT d.id FROM Document d WHERE d.folder.project.id = :projectId)")
+    int deleteByProjectId(@Param("projectId") Long projectId);
+
+    /**
+     * Delete the references of a user's messages.
+     *
+     * @param userId The user ID
+     * @return Number of deleted references
+     */
+    @Modifying
+    @Query("DELETE FROM ChatReference r WHERE r.message.id IN "
+            + "(SELECT m.id FROM ChatMessage m JOIN m.conversation c WHERE c.user.id = :userId)")
+    int deleteByUserId(@Param("userId") Long userId);
+
+    /**
+     * Delete the references of a project's messages sent before a time.
+     *
+     * @param projectId The project ID
+     * @param cutoff Sent time to stop before
+     * @return Number of deleted references
+     */
+    @Modifying
+    @Query("DELETE FROM ChatReference r WHERE r.sentAt < :cutoff AND r.message.id IN "
+            + "(SELECT m.id FROM ChatMessage m JOIN m.conversation c WHERE c.project.id = :projectId AND m.sentAt < :cutoff)")
+    int deleteByProjectIdSentBefore(@Param("projectId") Long projectId, @Param("cutoff") LocalDateTime cutoff);
+
+    /**
+     * Delete the references of global messages sent before a time.
+     *
+     * @param cutoff Sent time to stop before
+     * @return Number of deleted references
+     */
+    @Modifying
+    @Query("DELETE FROM ChatReference r WHERE r.sentAt < :cutoff AND r.message.id IN "
+            + "(SELECT m.id FROM ChatMessage m JOIN m.conversation c WHERE c.project IS NULL AND m.sentAt < :cutoff)")
+    int deleteGlobalSentBefore(@Param("cutoff") LocalDateTime cutoff);
+
+    /**
+     * Find the references of messages sent in a time range, with the names of their documents,
+     * for archiving.
+     *
+     * @param messageIds The message IDs
+     * @param from Earliest sent time of the messages
+     * @param to Sent time the messages stop before
+     * @return List of reference views
+     */
+    @Query("SELECT r.message.id AS messageId, d.id AS documentId, d.name AS documentName, "
+            + "r.relevanceScore AS relevanceScore FROM ChatReference r JOIN r.document d "
+            + "WHERE r.message.id IN :messageIds AND r.sentAt >= :from AND r.sentAt < :to")
+    List<ArchiveReferenceView> findArchiveViewsByMessageIds(@Param("messageIds") Collection<Long> messageIds,
+                                                            @Param("from") LocalDateTime from,
+                                                            @Param("to") LocalDateTime to);
+
+    /**
+     * Projection of a reference with the name of its document, as written to archives.
+     */
+    interface ArchiveReferenceView {
+        Long getMessageId();
+
+        Long getDocumentId();
+
+        String getDocumentName();
+
+        Float getRelevanceScore();
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,347 @@
+package com.vtnet.pdms.domain.repository;
+
+import com.vtnet.pdms.domain.model.DocumentChunk;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository interface for DocumentChunk entity.
+ */
+@Repository
+public interface DocumentChunkRepository extends JpaRepository<DocumentChunk, Long>, DocumentChunkRepositoryCustom {
+
+    /**
+     * Find the chunks of a document version in document order.
+     *
+     * @param documentVersionId The document version ID
+     * @return List of chunks
+     */
+    List<DocumentChunk> findByDocumentVersionIdOrderByOrdinal(Long documentVersionId);
+
+    /**
+     * Count the chunks of a document version.
+     *
+     * @param documentVersionId The document version ID
+     * @return Number of chunks
+     */
+    long countByDocumentVersionId(Long documentVersionId);
+
+    /**
+     * Sum the token counts of the chunks of a document version.
+     *
+     * @param documentVersionId The document version ID
+     * @return Number of tokens
+     */
+    @Query("SELECT COALESCE(SUM(c.tokenCount), 0) FROM DocumentChunk c WHERE c.documentVersion.id = :documentVersionId")
+    long sumTokenCountByDocumentVersionId(@Param("documentVersionId") Long documentVersionId);
+
+    /**
+     * Count chunks that have an embedding.
+     *
+     * @return Number of embedded chunks
+     */
+    long countByEmbeddingIsNotNull();
+
+    /**
+     * Find the position and hash of the chunks of a document version, without loading their text
+     * or embeddings.
+     *
+     * @param documentVersionId The document version ID
+     * @return List of chunk summaries
+     */
+    @Query("SELECT c.id AS id, c.ordinal AS ordinal, c.startOffset AS startOffset, c.endOffset AS endOffset, " +
+           "c.pageNumber AS pageNumber, c.contentHash AS contentHash " +
+           "FROM DocumentChunk c WHERE c.documentVersion.id = :documentVersionId")
+    List<ChunkSummaryView> findSummariesByDocumentVersionId(@Param("documentVersionId") Long documentVersionId);
+
+    /**
+     * Find the embeddings of the chunks of a document version that were produced by a model.
+     *
+     * @param documentVersionId The document version ID
+     * @param embeddingModel The embedding model
+     * @return List of chunk hashes and embeddings
+     */
+    @Query("SELECT c.contentHash AS contentHash, c.embedding AS embedding FROM DocumentChunk c " +
+           "WHERE c.documentVersion.id = :documentVersionId AND c.embeddingModel = :embeddingModel " +
+           "AND c.embedding IS NOT NULL")
+    List<ChunkEmbeddingView> findEmbeddingsByDocumentVersionId(@Param("documentVersionId") Long documentVersionId,
+                                                               @Param("embeddingModel") String embeddingModel);
+
+    /**
+     * Set the embedding of a chunk.
+     *
+     * @param id The chunk ID
+     * @param embedding The encoded embedding
+     * @param embeddingModel The model that created it
+     * @return Number of updated chunks
+     */
+    @Modifying
+    @Query("UPDATE DocumentChunk c SET c.embedding = :embedding, c.embeddingModel = :embeddingModel WHERE c.id = :id")
+    int updateEmbedding(@Param("id") Long id, @Param("embedding") byte[] embedding,
+                        @Param("embeddingModel") String embeddingModel);
+
+    /**
+     * Find chunks of a document version without an embedding from a model, after the given ordinal.
+     *
+     * @param documentVersionId The document version ID
+     * @param embeddingModel The embedding model
+     * @param afterOrdinal Only chunks with a greater ordinal are returned
+     * @param pageable Pagination information
+     * @return List of chunks in ordinal order
+     */
+    @Query("SELECT c FROM DocumentChunk c WHERE c.documentVersion.id = :documentVersionId " +
+           "AND (c.embedding IS NULL OR c.embeddingModel IS NULL OR c.embeddingModel <> :embeddingModel) " +
+           "AND c.ordinal > :afterOrdinal ORDER BY c.ordinal")
+    List<DocumentChunk> findUnembedded(@Param("documentVersionId") Long documentVersionId,
+                                       @Param("embeddingModel") String embeddingModel,
+                                       @Param("afterOrdinal") int afterOrdinal,
+                                       Pageable pageable);
+
+    /**
+     * Count chunks of a document version without an embedding from a model.
+     *
+     * @param documentVersionId The document version ID
+     * @param embeddingModel The embedding model
+     * @return Number of chunks
+     */
+    @Query("SELECT COUNT(c) FROM DocumentChunk c WHERE c.documentVersion.id = :documentVersionId " +
+           "AND (c.embedding IS NULL OR c.embeddingModel IS NULL OR c.embeddingModel <> :embeddingModel)")
+    long countUnembedded(@Param("documentVersionId") Long documentVersionId,
+                         @Param("embeddingModel") String embeddingModel);
+
+    /**
+     * Delete chunks by ID in a single statement.
+     *
+     * @param ids The chunk IDs
+     * @return Number of deleted chunks
+     */
+    @Modifying
+    @Query("DELETE FROM DocumentChunk c WHERE c.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Delete the chunks of a document version in a single statement.
+     *
+     * @param documentVersionId The document version ID
+     * @return Number of deleted chunks
+     */
+    @Modifying
+    @Query("DELETE FROM DocumentChunk c WHERE c.documentVersion.id = :documentVersionId")
+    int deleteByDocumentVersionId(@Param("documentVersionId") Long documentVersionId);
+
+    /**
+     * Find the documents whose latest version has chunks containing a phrase, ranked by the
+     * number of matching chunks.
+     *
+     * @param pattern Lower-case LIKE pattern
+     * @param projectId The project ID, or null for all projects
+     * @param pageable Pagination information
+     * @return List of document matches, best first
+     */
+    @Query("SELECT d.id AS documentId, d.name AS documentName, v.id AS documentVersionId, COUNT(c) AS matchCount " +
+           "FROM DocumentChunk c JOIN c.documentVersion v JOIN v.document d JOIN d.folder f " +
+           "WHERE LOWER(c.content) LIKE :pattern ESCAPE '\\' AND (:projectId IS NULL OR f.project.id = :projectId) " +
+           "AND d.currentVersion = v " +
+           "GROUP BY d.id, d.name, v.id ORDER BY COUNT(c) DESC, d.id")
+    List<ChunkMatchView> searchLatestChunks(@Param("pattern") String pattern,
+                                            @Param("projectId") Long projectId,
+                                            Pageable pageable);
+
+    /**
+     * Count the documents whose latest version has chunks containing a phrase.
+     *
+     * @param pattern Lower-case LIKE pattern
+     * @param projectId The project ID, or null for all projects
+     * @return Number of documents
+     */
+    @Query("SELECT COUNT(DISTINCT d.id) FROM DocumentChunk c JOIN c.documentVersion v JOIN v.document d " +
+           "JOIN d.folder f WHERE LOWER(c.content) LIKE :pattern ESCAPE '\\' " +
+           "AND (:projectId IS NULL OR f.project.id = :projectId) AND d.currentVersion = v")
+    long countLatestChunkMatches(@Param("pattern") String pattern, @Param("projectId") Long projectId);
+
+    /**
+     * Find the documents whose latest version has chunks matching a natural language query in the
+     * MySQL full-text index, ranked by the relevance of their best chunk. Requires MySQL.
+     *
+     * @param query The query
+     * @param projectId The project ID, or null for all projects
+     * @param pageable Pagination information
+     * @return Page of document matches, best first
+     */
+    @Query(value = "SELECT d.id AS documentId, d.name AS documentName, c.document_version_id AS documentVersionId, " +
+                   "MAX(MATCH(c.content) AGAINST (:query IN NATURAL LANGUAGE MODE)) AS score, " +
+                   "COUNT(*) AS matchCount " +
+                   "FROM document_chunks c JOIN documents d ON d.current_version_id = c.document_version_id " +
+                   "JOIN folders f ON f.id = d.folder_id " +
+                   "WHERE MATCH(c.content) AGAINST (:query IN NATURAL LANGUAGE MODE) " +
+                   "AND (:projectId IS NULL OR f.project_id = :projectId) " +
+                   "GROUP BY d.id, d.name, c.document_version_id " +
+                   "ORDER BY score DESC, matchCount DESC, d.id",
+           countQuery = "SELECT COUNT(DISTINCT c.document_version_id) " +
+                        "FROM document_chunks c JOIN documents d ON d.current_version_id = c.document_version_id " +
+                        "JOIN folders f ON f.id = d.folder_id " +
+                        "WHERE MATCH(c.content) AGAINST (:query IN NATURAL LANGUAGE MODE) " +
+                        "AND (:projectId IS NULL OR f.project_id = :projectId)",
+           nativeQuery = true)
+    Page<FullTextMatchView> searchFullTextNaturalLanguage(@Param("query") String query,
+                                                          @Param("projectId") Long projectId,
+                                                          Pageable pageable);
+
+    /**
+     * Find the documents whose latest version has chunks matching a boolean query in the MySQL
+     * full-text index, ranked by the relevance of their best chunk. Requires MySQL.
+     *
+     * @param query The query in MySQL boolean syntax
+     * @param projectId The project ID, or null for all projects
+     * @param pageable Pagination information
+     * @return Page of document matches, best first
+     */
+    @Query(value = "SELECT d.id AS documentId, d.name AS documentName, c.document_version_id AS documentVersionId, " +
+                   "MAX(MATCH(c.content) AGAINST (:query IN BOOLEAN MODE)) AS score, " +
+                   "COUNT(*) AS matchCount " +
+                   "FROM document_chunks c JOIN documents d ON d.current_version_id = c.document_version_id " +
+                   "JOIN folders f ON f.id = d.folder_id " +
+                   "WHERE MATCH(c.content) AGAINST (:query IN BOOLEAN MODE) " +
+                   "AND (:projectId IS NULL OR f.project_id = :projectId) " +
+                   "GROUP BY d.id, d.name, c.document_version_id " +
+                   "ORDER BY score DESC, matchCount DESC, d.id",
+           countQuery = "SELECT COUNT(DISTINCT c.document_version_id) " +
+                        "FROM document_chunks c JOIN documents d ON d.current_version_id = c.document_version_id " +
+                        "JOIN folders f ON f.id = d.folder_id " +
+                        "WHERE MATCH(c.content) AGAINST (:query IN BOOLEAN MODE) " +
+                        "AND (:projectId IS NULL OR f.project_id = :projectId)",
+           nativeQuery = true)
+    Page<FullTextMatchView> searchFullTextBoolean(@Param("query") String query,
+                                                  @Param("projectId") Long projectId,
+                                                  Pageable pageable);
+
+    /**
+     * Delete the chunks of every version of a document in a single statement.
+     *
+     * @param documentId The document ID
+     * @return Number of deleted chunks
+     */
+    @Modifying
+    @Query("DELETE FROM DocumentChunk c WHERE c.documentVersion.id IN " +
+           "(SELECT v.id FROM DocumentVersion v WHERE v.document.id = :documentId)")
+    int deleteByDocumentId(@Param("documentId") Long documentId);
+
+    /**
+     * Count the documents in a project that have chunks.
+     *
+     * @param projectId The project ID
+     * @return Number of documents
+     */
+    @Query("SELECT COUNT(DISTINCT d.id) FROM DocumentChunk c JOIN c.documentVersion v JOIN v.document d " +
+           "JOIN d.folder f WHERE f.project.id = :projectId")
+    long countIndexedDocumentsByProjectId(@Param("projectId") Long projectId);
+
+    /**
+     * Delete the chunks of every document version in a project in a single statement.
+     *
+     * @param projectId The project ID
+     * @return Number of deleted chunks
+     */
+    @Modifying
+    @Query("DELETE FROM DocumentChunk c WHERE c.documentVersion.id IN " +
+           "(SELECT v.id FROM DocumentVersion v JOIN v.document d JOIN d.folder f WHERE f.project.id = :projectId)")
+    int deleteByProjectId(@Param("projectId") Long projectId);
+
+    /**
+     * Copy the chunks and embeddings of the versions of the documents in a folder to the copies of
+     * those versions in another folder, matched by document name and version number.
+     *
+     * @param sourceFolderId The folder the documents were copied from
+     * @param targetFolderId The folder holding the copied documents
+     * @return Number of copied chunks
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "document_chunks"))
+    @Query(value = "INSERT INTO document_chunks (document_version_id, ordinal, start_offset, end_offset, page_number, " +
+                   "content_hash, token_count, content, embedding, embedding_model, created_at) " +
+                   "SELECT nv.id, c.ordinal, c.start_offset, c.end_offset, c.page_number, c.content_hash, " +
+                   "c.token_count, c.content, c.embedding, c.embedding_model, c.created_at " +
+                   "FROM document_chunks c JOIN document_versions v ON v.id = c.document_version_id " +
+                   "JOIN documents d ON d.id = v.document_id " +
+                   "JOIN documents nd ON nd.folder_id = :targetFolderId AND nd.name = d.name " +
+                   "JOIN document_versions nv ON nv.document_id = nd.id AND nv.version_number = v.version_number " +
+                   "WHERE d.folder_id = :sourceFolderId",
+           nativeQuery = true)
+    int copyChunks(@Param("sourceFolderId") Long sourceFolderId, @Param("targetFolderId") Long targetFolderId);
+
+    /**
+     * Delete the chunks of the documents in several folders in a single statement.
+     *
+     * @param folderIds The folder IDs
+     * @return Number of deleted chunks
+     */
+    @Modifying
+    @Query("DELETE FROM DocumentChunk c WHERE c.documentVersion.id IN " +
+           "(SELECT v.id FROM DocumentVersion v JOIN v.document d WHERE d.folder.id IN :folderIds)")
+    int deleteByFolderIds(@Param("folderIds") Collection<Long> folderIds);
+
+    /**
+     * Projection of a chunk's position and hash.
+     */
+    interface ChunkSummaryView {
+        Long getId();
+
+        Integer getOrdinal();
+
+        Long getStartOffset();
+
+        Long getEndOffset();
+
+        Integer getPageNumber();
+
+        String getContentHash();
+    }
+
+    /**
+     * Projection of a chunk's hash and embedding.
+     */
+    interface ChunkEmbeddingView {
+        String getContentHash();
+
+        byte[] getEmbedding();
+    }
+
+    /**
+     * Projection of a document whose chunks match a search.
+     */
+    interface ChunkMatchView {
+        Long getDocumentId();
+
+        String getDocumentName();
+
+        Long getDocumentVersionId();
+
+        Long getMatchCount();
+    }
+
+    /**
+     * Projection of a document whose chunks match a full-text search.
+     */
+    interface FullTextMatchView {
+        Long getDocumentId();
+
+        String getDocumentName();
+
+        Long getDocumentVersionId();
+
+        Double getScore();
+
+        Long getMatchCount();
+    }
+}
@@ -0,0 +1,20 @@
+package com.vtnet.pdms.domain.repository;
+
+import com.vtnet.pdms.domain.model.DocumentChunk;
+
+import java.util.List;
+
+/**
+ * Bulk operations on document chunks that bypass the persistence context.
+ */
+public interface DocumentChunkRepositoryCustom {
+
+    /**
+     * Insert chunks with JDBC batch statements. The chunks are not attached to the persistence
+     * context and their IDs are not set.
+     *
+     * @param chunks The chunks to insert
+     * @return Number of inserted chunks
+     */
+    int insertAll(List<DocumentChunk> chunks);
+}
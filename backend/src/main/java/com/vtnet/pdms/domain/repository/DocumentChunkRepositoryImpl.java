@@ -0,0 +1,58 @@
+package com.vtnet.pdms.domain.repository;
+
+import com.vtnet.pdms.domain.model.DocumentChunk;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * JDBC implementation of the bulk chunk operations.
+ * <p>
+ * Hibernate does not batch inserts of entities with IDENTITY keys, since it needs each generated
+ * key before the next insert. A document has hundreds of chunks, so they are written with JDBC
+ * batches instead, in the transaction of the caller.
+ */
+public class DocumentChunkRepositoryImpl implements DocumentChunkRepositoryCustom {
+
+    private static final String INSERT_SQL = "INSERT INTO document_chunks "
+            + "(document_version_id, ordinal, start_offset, end_offset, page_number, content_hash, token_count, "
+            + "content, embedding, embedding_model, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Constructor with dependency injection.
+     *
+     * @param jdbcTemplate JDBC template sharing the JPA transaction's connection
+     */
+    @Autowired
+    public DocumentChunkRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public int insertAll(List<DocumentChunk> chunks) {
+        if (chunks.isEmpty()) {
+            return 0;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, chunks, chunks.size(), (statement, chunk) -> {
+            statement.setLong(1, chunk.getDocumentVersion().getId());
+            statement.setInt(2, chunk.getOrdinal());
+            statement.setLong(3, chunk.getStartOffset());
+            statement.setLong(4, chunk.getEndOffset());
+            statement.setInt(5, chunk.getPageNumber());
+            statement.setString(6, chunk.getContentHash());
+            statement.setInt(7, chunk.getTokenCount());
+            statement.setString(8, chunk.getContent());
+            statement.setBytes(9, chunk.getEmbedding());
+            statement.setString(10, chunk.getEmbeddingModel());
+            statement.setTimestamp(11, chunk.getCreatedAt() != null ? Timestamp.valueOf(chunk.getCreatedAt()) : now);
+        });
+        return chunks.size();
+    }
+}
@@ -3,10 +3,12 @@ package com.vtnet.pdms.domain.repository;
 import com.vtnet.pdms.domain.model.DocumentContent;
 import com.vtnet.pdms.domain.model.DocumentVersion;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -49,6 +51,16 @@ public interface DocumentContentRepository extends JpaRepository<DocumentContent
     @Query("SELECT dc FROM DocumentContent dc JOIN dc.documentVersion dv WHERE dv.document.id = :documentId")
     List<DocumentContent> findByDocumentId(@Param("documentId") Long documentId);
 
+    /**
+     * Find the content of the current version of a document.
+     *
+     * @param documentId The document ID
+     * @return Optional document content
+     */
+    @Query("SELECT dc FROM DocumentContent dc JOIN dc.documentVersion dv JOIN dv.document d " +
+           "WHERE d.id = :documentId AND d.currentVersion = dv")
+    Optional<DocumentContent> findByDocumentIdLatestVersion(@Param("documentId") Long documentId);
+
     /**
      * Find document contents by project ID.
      *
@@ -65,8 +77,7 @@ public interface DocumentContentRepository extends JpaRepository<DocumentContent
      * @return Optional document content
      */
     @Query("SELECT dc FROM DocumentContent dc JOIN dc.documentVersion dv JOIN dv.document d " +
-           "WHERE d.name = :documentName AND dv.versionNumber = " +
-           "(SELECT MAX(dv2.versionNumber) FROM DocumentVersion dv2 WHERE dv2.document = d)")
+           "WHERE d.name = :documentName AND d.currentVersion = dv")
     Optional<DocumentContent> findByDocumentNameLatestVersion(@Param("documentName") String documentName);
 
     /**
@@ -77,9 +88,62 @@ public interface DocumentContentRepository extends JpaRepository<DocumentContent
      * @return Optional document content
      */
     @Query("SELECT dc FROM DocumentContent dc JOIN dc.documentVersion dv JOIN dv.document d JOIN d.folder f " +
-           "WHERE d.name = :documentName AND f.project.id = :projectId AND dv.versionNumber = " +
-           "(SELECT MAX(dv2.versionNumber) FROM DocumentVersion dv2 WHERE dv2.document = d)")
+           "WHERE d.name = :documentName AND f.project.id = :projectId AND d.currentVersion = dv")
     Optional<DocumentContent> findByDocumentNameAndProjectIdLatestVersion(
             @Param("documentName") String documentName, 
             @Param("projectId") Long projectId);
-} 
\ No newline at end of file
+
+    /**
+     * Find the IDs of the text blobs of the documents in several folders.
+     *
+     * @param folderIds The folder IDs
+     * @return List of text blob IDs
+     */
+    @Query("SELECT dc.textBlob.id FROM DocumentContent dc JOIN dc.documentVersion dv JOIN dv.document d " +
+           "WHERE d.folder.id IN :folderIds AND dc.textBlob IS NOT NULL")
+    List<Long> findTextBlobIdsByFolderIds(@Param("folderIds") Collection<Long> folderIds);
+
+    /**
+     * Find the IDs of the text blobs of the documents in a project.
+     *
+     * @param projectId The project ID
+     * @return List of text blob IDs
+     */
+    @Query("SELECT dc.textBlob.id FROM DocumentContent dc JOIN dc.documentVersion dv JOIN dv.document d " +
+           "WHERE d.folder.project.id = :projectId AND dc.textBlob IS NOT NULL")
+    List<Long> findTextBlobIdsByProjectId(@Param("projectId") Long projectId);
+
+    /**
+     * Delete the content of the documents in a project in a single statement. Their text blobs
+     * are deleted separately.
+     *
+     * @param projectId The project ID
+     * @return Number of deleted content rows
+     */
+    @Modifying
+    @Query("DELETE FROM DocumentContent dc WHERE dc.documentVersion.id IN " +
+           "(SELECT dv.id FROM DocumentVersion dv JOIN dv.document d WHERE d.folder.project.id = :projectId)")
+    int deleteByProjectId(@Param("projectId") Long projectId);
+
+    /**
+     * Delete the content of the documents in several folders in a single statement. Their text
+     * blobs are deleted separately.
+     *
+     * @param folderIds The folder IDs
+     * @return Number of deleted content rows
+     */
+    @Modifying
+    @Query("DELETE FROM DocumentContent dc WHERE dc.documentVersion.id IN " +
+           "(SELECT dv.id FROM DocumentVersion dv JOIN dv.document d WHERE d.folder.id IN :folderIds)")
+    int deleteByFolderIds(@Param("folderIds") Collection<Long> folderIds);
+
+    /**
+     * Delete text blobs in a single statement.
+     *
+     * @param ids The text blob IDs
+     * @return Number of deleted blobs
+     */
+    @Modifying
+    @Query("DELETE FROM DocumentContentBlob b WHERE b.id IN :ids")
+    int deleteTextBlobsByIdIn(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,146 @@
+package com.vtnet.pdms.domain.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Filters, sort order and position of one page of a document listing.
+ * <p>
+ * Pages are read by keyset: the next page starts after the sort value and ID of the last document
+ * of the previous page, so no rows before it are read and skipped. A page of one folder or of a
+ * whole project is read in order from an index; a page of a folder with its subfolders is sorted
+ * from all matching documents of those folders.
+ */
+public class DocumentListCriteria {
+
+    /**
+     * Column a document listing is sorted by; ties are broken by document ID
+     */
+    public enum Sort {
+        NAME("name"),
+        CREATED_AT("createdAt"),
+        SIZE("size");
+
+        private final String attribute;
+
+        Sort(String attribute) {
+            this.attribute = attribute;
+        }
+
+        public String getAttribute() {
+            return attribute;
+        }
+    }
+
+    private Long projectId;
+    private Long folderId;
+    private boolean includeSubfolders;
+    private String mimeType;
+    private Long createdById;
+    private LocalDateTime createdFrom;
+    private LocalDateTime createdTo;
+    private Sort sort = Sort.NAME;
+    private boolean ascending = true;
+    private Object afterValue;
+    private Long afterId;
+    private int limit;
+
+    // Getters and Setters
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public void setProjectId(Long projectId) {
+        this.projectId = projectId;
+    }
+
+    public Long getFolderId() {
+        return folderId;
+    }
+
+    public void setFolderId(Long folderId) {
+        this.folderId = folderId;
+    }
+
+    public boolean isIncludeSubfolders() {
+        return includeSubfolders;
+    }
+
+    public void setIncludeSubfolders(boolean includeSubfolders) {
+        this.includeSubfolders = includeSubfolders;
+    }
+
+    public String getMimeType() {
+        return mimeType;
+    }
+
+    public void setMimeType(String mimeType) {
+        this.mimeType = mimeType;
+    }
+
+    public Long getCreatedById() {
+        return createdById;
+    }
+
+    public void setCreatedById(Long createdById) {
+        this.createdById = createdById;
+    }
+
+    public LocalDateTime getCreatedFrom() {
+        return createdFrom;
+    }
+
+    public void setCreatedFrom(LocalDateTime createdFrom) {
+        this.createdFrom = createdFrom;
+    }
+
+    public LocalDateTime getCreatedTo() {
+        return createdTo;
+    }
+
+    public void setCreatedTo(LocalDateTime createdTo) {
+        this.createdTo = createdTo;
+    }
+
+    public Sort getSort() {
+        return sort;
+    }
+
+    public void setSort(Sort sort) {
+        this.sort = sort;
+    }
+
+    public boolean isAscending() {
+        return ascending;
+    }
+
+    public void setAscending(boolean ascending) {
+        this.ascending = ascending;
+    }
+
+    public Object getAfterValue() {
+        return afterValue;
+    }
+
+    public Long getAfterId() {
+        return afterId;
+    }
+
+    /**
+     * Start the page after a document.
+     *
+     * @param afterValue The sort value of the document
+     * @param afterId The document ID
+     */
+    public void setAfter(Object afterValue, Long afterId) {
+        this.afterValue = afterValue;
+        this.afterId = afterId;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public void setLimit(int limit) {
+        this.limit = limit;
+    }
+}
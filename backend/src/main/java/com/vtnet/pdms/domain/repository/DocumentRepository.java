@@ -1,11 +1,16 @@
 package com.vtnet.pdms.domain.repository;
 
 import com.vtnet.pdms.domain.model.Document;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,7 +18,7 @@ import java.util.Optional;
  * Repository interface for Document entity.
  */
 @Repository
-public interface DocumentRepository extends JpaRepository<Document, Long> {
+public interface DocumentRepository extends JpaRepository<Document, Long>, DocumentRepositoryCustom {
 
     /**
      * Find documents by folder ID.
@@ -40,6 +45,15 @@ public interface DocumentRepository extends JpaRepository<Document, Long> {
      */
     Optional<Document> findByFolderIdAndName(Long folderId, String name);
 
+    /**
+     * Check whether a folder has a document with a name.
+     *
+     * @param folderId The folder ID
+     * @param name The document name
+     * @return true if such a document exists
+     */
+    boolean existsByFolderIdAndName(Long folderId, String name);
+
     /**
      * Find documents by project ID.
      *
@@ -58,4 +72,66 @@ public interface DocumentRepository extends JpaRepository<Document, Long> {
      */
     @Query("SELECT d FROM Document d JOIN d.folder f WHERE f.project.id = :projectId AND LOWER(d.name) LIKE LOWER(CONCAT('%', :name, '%'))")
     List<Document> findByProjectIdAndNameContainingIgnoreCase(@Param("projectId") Long projectId, @Param("name") String name);
-} 
\ No newline at end of file
+
+    /**
+     * Count the documents of several projects in a single grouped query. Projects without
+     * documents are not returned.
+     *
+     * @param projectIds The project IDs
+     * @return List of project IDs with their document counts
+     */
+    @Query("SELECT f.project.id AS projectId, COUNT(d) AS documentCount FROM Document d JOIN d.folder f " +
+           "WHERE f.project.id IN :projectIds GROUP BY f.project.id")
+    List<ProjectDocumentCountView> countByProjectIds(@Param("projectIds") Collection<Long> projectIds);
+
+    /**
+     * Copy the documents of a folder into another folder in a single statement. The copies are
+     * created by the target folder's creator; their versions are copied separately.
+     *
+     * @param sourceFolderId The folder to copy from
+     * @param targetFolderId The folder to copy into, which must not contain documents of the same name
+     * @return Number of copied documents
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "documents"))
+    @Query(value = "INSERT INTO documents (folder_id, project_id, name, mime_type, size, created_at, created_by, " +
+                   "display_order) " +
+                   "SELECT t.id, t.project_id, d.name, d.mime_type, d.size, CURRENT_TIMESTAMP, t.created_by, " +
+                   "d.display_order " +
+                   "FROM documents d JOIN folders t ON t.id = :targetFolderId WHERE d.folder_id = :sourceFolderId",
+           nativeQuery = true)
+    int copyDocuments(@Param("sourceFolderId") Long sourceFolderId, @Param("targetFolderId") Long targetFolderId);
+
+    /**
+     * Point the documents of a folder at their latest version. Used after copying documents and
+     * their versions with statements that bypass {@link Document#addVersion}.
+     *
+     * @param folderId The folder ID
+     * @return Number of updated documents
+     */
+    @Modifying
+    @Query("UPDATE Document d SET d.currentVersion = (SELECT v FROM DocumentVersion v WHERE v.document = d " +
+           "AND v.versionNumber = (SELECT MAX(v2.versionNumber) FROM DocumentVersion v2 WHERE v2.document = d)) " +
+           "WHERE d.folder.id = :folderId")
+    int updateCurrentVersionsByFolderId(@Param("folderId") Long folderId);
+
+    /**
+     * Delete the documents of several folders in a single statement. Their versions must be
+     * deleted first.
+     *
+     * @param folderIds The folder IDs
+     * @return Number of deleted documents
+     */
+    @Modifying
+    @Query("DELETE FROM Document d WHERE d.folder.id IN :folderIds")
+    int deleteByFolderIds(@Param("folderIds") Collection<Long> folderIds);
+
+    /**
+     * Projection of a project's document count.
+     */
+    interface ProjectDocumentCountView {
+        Long getProjectId();
+
+        Long getDocumentCount();
+    }
+}
@@ -0,0 +1,20 @@
+package com.vtnet.pdms.domain.repository;
+
+import com.vtnet.pdms.application.dto.DocumentDTO;
+
+import java.util.List;
+
+/**
+ * Document queries whose filters are only known at run time.
+ */
+public interface DocumentRepositoryCustom {
+
+    /**
+     * Find one page of a document listing, read directly into DTOs in a single query without
+     * loading the documents, their folders, creators or versions.
+     *
+     * @param criteria The filters, sort order and position of the page
+     * @return Up to the criteria's limit of documents, in sort order
+     */
+    List<DocumentDTO> findListPage(DocumentListCriteria criteria);
+}
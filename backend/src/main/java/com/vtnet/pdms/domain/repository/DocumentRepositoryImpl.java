@@ -0,0 +1,99 @@
+package com.vtnet.pdms.domain.repository;
+
+import com.vtnet.pdms.application.dto.DocumentDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JPQL implementation of the document listing.
+ * <p>
+ * The query selects the listed columns into {@link DocumentDTO} with a constructor expression, so
+ * each page is one query regardless of how many folders and creators it spans. Filters are added
+ * only when set, and the keyset condition and order always end with the document ID, which makes
+ * the order total even when sort values repeat.
+ * <p>
+ * A listing of one folder, or of a whole project, is filtered on the folder or project column of
+ * the document itself, so MySQL reads the page in order from the matching index and stops after
+ * the limit. A listing of a folder with its subfolders spans several folders and is sorted for
+ * each page, so its cost grows with the number of matching documents rather than the page size.
+ */
+public class DocumentRepositoryImpl implements DocumentRepositoryCustom {
+
+    private static final String SELECT_JPQL = "SELECT new com.vtnet.pdms.application.dto.DocumentDTO("
+            + "d.id, f.id, d.name, d.mimeType, d.size, d.createdAt, u.id, u.name, u.email, d.displayOrder, "
+            + "v.versionNumber) "
+            + "FROM Document d JOIN d.folder f JOIN d.createdBy u LEFT JOIN d.currentVersion v";
+
+    private final EntityManager entityManager;
+
+    /**
+     * Constructor with dependency injection.
+     *
+     * @param entityManager Entity manager of the caller's transaction
+     */
+    @Autowired
+    public DocumentRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<DocumentDTO> findListPage(DocumentListCriteria criteria) {
+        List<String> conditions = new ArrayList<>();
+        Map<String, Object> parameters = new LinkedHashMap<>();
+
+        if (criteria.getProjectId() != null) {
+            // Without a folder the project column of the document selects the index
+            conditions.add(criteria.getFolderId() == null ? "d.projectId = :projectId" : "f.project.id = :projectId");
+            parameters.put("projectId", criteria.getProjectId());
+        }
+        if (criteria.getFolderId() != null) {
+            conditions.add(criteria.isIncludeSubfolders()
+                    ? "d.folder.id IN (SELECT c.id.descendantId FROM FolderClosure c WHERE c.id.ancestorId = :folderId)"
+                    : "d.folder.id = :folderId");
+            parameters.put("folderId", criteria.getFolderId());
+        }
+        if (criteria.getMimeType() != null) {
+            conditions.add("d.mimeType = :mimeType");
+            parameters.put("mimeType", criteria.getMimeType());
+        }
+        if (criteria.getCreatedById() != null) {
+            conditions.add("u.id = :createdById");
+            parameters.put("createdById", criteria.getCreatedById());
+        }
+        if (criteria.getCreatedFrom() != null) {
+            conditions.add("d.createdAt >= :createdFrom");
+            parameters.put("createdFrom", criteria.getCreatedFrom());
+        }
+        if (criteria.getCreatedTo() != null) {
+            conditions.add("d.createdAt < :createdTo");
+            parameters.put("createdTo", criteria.getCreatedTo());
+        }
+
+        String column = "d." + criteria.getSort().getAttribute();
+        String direction = criteria.isAscending() ? "ASC" : "DESC";
+        if (criteria.getAfterId() != null) {
+            String comparison = criteria.isAscending() ? ">" : "<";
+            conditions.add("(" + column + " " + comparison + " :afterValue OR (" + column + " = :afterValue AND d.id "
+                    + comparison + " :afterId))");
+            parameters.put("afterValue", criteria.getAfterValue());
+            parameters.put("afterId", criteria.getAfterId());
+        }
+
+        StringBuilder jpql = new StringBuilder(SELECT_JPQL);
+        if (!conditions.isEmpty()) {
+            jpql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+        jpql.append(" ORDER BY ").append(column).append(' ').append(direction)
+                .append(", d.id ").append(direction);
+
+        TypedQuery<DocumentDTO> query = entityManager.createQuery(jpql.toString(), DocumentDTO.class);
+        parameters.forEach(query::setParameter);
+        return query.setMaxResults(criteria.getLimit()).getResultList();
+    }
+}
@@ -0,0 +1,267 @@
+package com.vtnet.pdms.domain.repository;
+
+import com.vtnet.pdms.domain.model.DocumentVersion;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for DocumentVersion entity.
+ */
+@Repository
+public interface DocumentVersionRepository extends JpaRepository<DocumentVersion, Long>, DocumentVersionRepositoryCustom {
+
+    /**
+     * Find a version of a document by its version number.
+     *
+     * @param documentId The document ID
+     * @param versionNumber The version number
+     * @return Optional document version
+     */
+    Optional<DocumentVersion> findByDocumentIdAndVersionNumber(Long documentId, Integer versionNumber);
+
+    /**
+     * Find the versions stored as deltas against the given base version.
+     *
+     * @param baseVersionId The base version ID
+     * @return List of document versions
+     */
+    List<DocumentVersion> findByBaseVersionId(Long baseVersionId);
+
+    /**
+     * Find full versions that have been superseded by a newer version and not yet considered for
+     * delta compaction, oldest first within each document.
+     *
+     * @param storageFormat The full storage format
+     * @param pageable Pagination information
+     * @return List of document version IDs
+     */
+    @Query("SELECT v.id FROM DocumentVersion v JOIN v.document d WHERE v.storageFormat = :storageFormat " +
+           "AND v.compactedAt IS NULL AND d.currentVersion.id <> v.id " +
+           "ORDER BY d.id, v.versionNumber")
+    List<Long> findCompactionCandidateIds(@Param("storageFormat") String storageFormat, Pageable pageable);
+
+    /**
+     * Find delta versions whose chain is longer than the given depth, shallowest first.
+     *
+     * @param storageFormat The delta storage format
+     * @param chainDepth The maximum allowed chain depth
+     * @param pageable Pagination information
+     * @return List of document version IDs
+     */
+    @Query("SELECT v.id FROM DocumentVersion v WHERE v.storageFormat = :storageFormat " +
+           "AND v.chainDepth > :chainDepth ORDER BY v.chainDepth, v.id")
+    List<Long> findRebaseCandidateIds(@Param("storageFormat") String storageFormat,
+                                      @Param("chainDepth") int chainDepth,
+                                      Pageable pageable);
+
+    /**
+     * Find the latest version of every document in a project, as archive entries.
+     *
+     * @param projectId The project ID
+     * @return List of version IDs with their document's folder, name and MIME type
+     */
+    @Query("SELECT v.id AS id, f.id AS folderId, d.name AS name, d.mimeType AS mimeType, v.createdAt AS createdAt " +
+           "FROM DocumentVersion v JOIN v.document d JOIN d.folder f WHERE f.project.id = :projectId " +
+           "AND d.currentVersion = v")
+    List<ArchiveFileView> findLatestArchiveFilesByProjectId(@Param("projectId") Long projectId);
+
+    /**
+     * Find the latest version of every document in a folder and the folders below it, as archive entries.
+     *
+     * @param folderId The root folder of the subtree
+     * @return List of version IDs with their document's folder, name and MIME type
+     */
+    @Query("SELECT v.id AS id, d.folder.id AS folderId, d.name AS name, d.mimeType AS mimeType, v.createdAt AS createdAt " +
+           "FROM DocumentVersion v JOIN v.document d WHERE d.currentVersion = v AND d.folder.id IN " +
+           "(SELECT c.id.descendantId FROM FolderClosure c WHERE c.id.ancestorId = :folderId)")
+    List<ArchiveFileView> findLatestArchiveFilesBySubtree(@Param("folderId") Long folderId);
+
+    /**
+     * Find the IDs of the latest version of every document, in a project or in all projects, in ID
+     * order after the given ID.
+     *
+     * @param projectId The project ID, or null for all projects
+     * @param afterId Only versions with a greater ID are returned
+     * @param pageable Pagination information
+     * @return List of document version IDs
+     */
+    @Query("SELECT d.currentVersion.id FROM Document d JOIN d.folder f " +
+           "WHERE (:projectId IS NULL OR f.project.id = :projectId) AND d.currentVersion.id > :afterId " +
+           "ORDER BY d.currentVersion.id")
+    List<Long> findLatestVersionIdsAfter(@Param("projectId") Long projectId,
+                                         @Param("afterId") Long afterId,
+                                         Pageable pageable);
+
+    /**
+     * Count the documents with at least one version, in a project or in all projects.
+     *
+     * @param projectId The project ID, or null for all projects
+     * @return Number of latest versions
+     */
+    @Query("SELECT COUNT(d) FROM Document d JOIN d.folder f " +
+           "WHERE d.currentVersion IS NOT NULL AND (:projectId IS NULL OR f.project.id = :projectId)")
+    long countLatestVersions(@Param("projectId") Long projectId);
+
+    /**
+     * Find the distinct storage paths starting with a prefix, in path order after the given path.
+     * The prefix is matched with LIKE, so its wildcards must be escaped with '!'.
+     *
+     * @param prefix The escaped path prefix, ending with '%'
+     * @param afterPath Only paths ordered after this one are returned
+     * @param pageable Pagination information
+     * @return List of storage paths
+     */
+    @Query("SELECT DISTINCT v.storagePath FROM DocumentVersion v WHERE v.storagePath LIKE :prefix ESCAPE '!' " +
+           "AND v.storagePath > :afterPath ORDER BY v.storagePath")
+    List<String> findStoragePathsAfter(@Param("prefix") String prefix,
+                                       @Param("afterPath") String afterPath,
+                                       Pageable pageable);
+
+    /**
+     * Find the storage paths of the versions of the documents in several folders.
+     *
+     * @param folderIds The folder IDs
+     * @return List of version IDs and storage paths
+     */
+    @Query("SELECT v.id AS id, v.storagePath AS storagePath FROM DocumentVersion v JOIN v.document d " +
+           "WHERE d.folder.id IN :folderIds")
+    List<StoragePathView> findStoragePathsByFolderIds(@Param("folderIds") Collection<Long> folderIds);
+
+    /**
+     * Find which of the given storage paths are referenced by a version. Versions of copied
+     * documents share the stored files of the originals.
+     *
+     * @param storagePaths The storage paths
+     * @return The referenced storage paths
+     */
+    @Query("SELECT DISTINCT v.storagePath FROM DocumentVersion v WHERE v.storagePath IN :storagePaths")
+    List<String> findReferencedStoragePaths(@Param("storagePaths") Collection<String> storagePaths);
+
+    /**
+     * Check whether a version references a storage path.
+     *
+     * @param storagePath The storage path
+     * @return true if the path is referenced
+     */
+    boolean existsByStoragePath(String storagePath);
+
+    /**
+     * Find the IDs of the latest version of every document in several folders.
+     *
+     * @param folderIds The folder IDs
+     * @return List of document version IDs
+     */
+    @Query("SELECT d.currentVersion.id FROM Document d WHERE d.folder.id IN :folderIds AND d.currentVersion IS NOT NULL")
+    List<Long> findLatestVersionIdsByFolderIds(@Param("folderIds") Collection<Long> folderIds);
+
+    /**
+     * Find the longest delta chain among the versions of the documents in a folder.
+     *
+     * @param folderId The folder ID
+     * @return The maximum chain depth, or null if the folder has no versions
+     */
+    @Query("SELECT MAX(v.chainDepth) FROM DocumentVersion v JOIN v.document d WHERE d.folder.id = :folderId")
+    Integer findMaxChainDepthByFolderId(@Param("folderId") Long folderId);
+
+    /**
+     * Count the versions of the documents in a folder.
+     *
+     * @param folderId The folder ID
+     * @return Number of versions
+     */
+    @Query("SELECT COUNT(v) FROM DocumentVersion v JOIN v.document d WHERE d.folder.id = :folderId")
+    long countByFolderId(@Param("folderId") Long folderId);
+
+    /**
+     * Copy the versions at one chain depth of the documents in a folder to the copies of those
+     * documents in another folder, matched by name. The copies point at the same stored files.
+     * Delta versions are linked to the copy of their base version, so the versions of the
+     * previous chain depth must be copied first.
+     * <p>
+     * The copies are numbered from {@code firstId} in the order of the original versions' IDs,
+     * so the IDs must have been reserved with {@link #reserveIds(int)}.
+     *
+     * @param sourceFolderId The folder the documents were copied from
+     * @param targetFolderId The folder holding the copied documents
+     * @param chainDepth The chain depth of the versions to copy
+     * @param firstId The ID of the first copy
+     * @return Number of copied versions
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "document_versions"))
+    @Query(value = "INSERT INTO document_versions (id, document_id, version_number, storage_path, size, created_at, " +
+                   "created_by, storage_format, base_version_id, chain_depth, compacted_at, content_hash) " +
+                   "SELECT ROW_NUMBER() OVER (ORDER BY v.id) + :firstId - 1, nd.id, v.version_number, v.storage_path, v.size, v.created_at, v.created_by, " +
+                   "v.storage_format, (SELECT nb.id FROM document_versions nb " +
+                   "WHERE nb.document_id = nd.id AND nb.version_number = b.version_number), " +
+                   "v.chain_depth, v.compacted_at, v.content_hash " +
+                   "FROM document_versions v JOIN documents d ON d.id = v.document_id " +
+                   "JOIN documents nd ON nd.folder_id = :targetFolderId AND nd.name = d.name " +
+                   "LEFT JOIN document_versions b ON b.id = v.base_version_id " +
+                   "WHERE d.folder_id = :sourceFolderId AND v.chain_depth = :chainDepth",
+           nativeQuery = true)
+    int copyVersions(@Param("sourceFolderId") Long sourceFolderId,
+                     @Param("targetFolderId") Long targetFolderId,
+                     @Param("chainDepth") int chainDepth,
+                     @Param("firstId") long firstId);
+
+    /**
+     * Unlink the delta versions of the documents in several folders from their base versions, so
+     * that the versions can be deleted in a single statement.
+     *
+     * @param folderIds The folder IDs
+     * @return Number of updated versions
+     */
+    @Modifying
+    @Query("UPDATE DocumentVersion v SET v.baseVersion = NULL WHERE v.baseVersion IS NOT NULL AND v.document.id IN " +
+           "(SELECT d.id FROM Document d WHERE d.folder.id IN :folderIds)")
+    int clearBaseVersionsByFolderIds(@Param("folderIds") Collection<Long> folderIds);
+
+    /**
+     * Delete the versions of the documents in several folders in a single statement. Their
+     * content and chunks must be deleted first.
+     *
+     * @param folderIds The folder IDs
+     * @return Number of deleted versions
+     */
+    @Modifying
+    @Query("DELETE FROM DocumentVersion v WHERE v.document.id IN " +
+           "(SELECT d.id FROM Document d WHERE d.folder.id IN :folderIds)")
+    int deleteByFolderIds(@Param("folderIds") Collection<Long> folderIds);
+
+    /**
+     * Projection of the latest version of a document as an archive entry.
+     */
+    interface ArchiveFileView {
+        Long getId();
+
+        Long getFolderId();
+
+        String getName();
+
+        String getMimeType();
+
+        LocalDateTime getCreatedAt();
+    }
+
+    /**
+     * Projection of a version's ID and storage path.
+     */
+    interface StoragePathView {
+        Long getId();
+
+        String getStoragePath();
+    }
+}
@@ -0,0 +1,17 @@
+package com.vtnet.pdms.domain.repository;
+
+/**
+ * Operations on document versions that bypass the persistence context.
+ */
+public interface DocumentVersionRepositoryCustom {
+
+    /**
+     * Reserve a contiguous range of version IDs from the pooled generator, for statements that
+     * insert versions directly. The reservation is committed at once, so it does not hold up
+     * other inserts until the caller's transaction ends.
+     *
+     * @param count The number of IDs to reserve
+     * @return The first reserved ID; the range ends at the first ID plus count minus one
+     */
+    long reserveIds(int count);
+}
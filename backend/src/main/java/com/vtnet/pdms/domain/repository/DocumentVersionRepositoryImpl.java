@@ -0,0 +1,59 @@
+package com.vtnet.pdms.domain.repository;
+
+import com.vtnet.pdms.domain.model.PooledIds;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * JDBC implementation of the document version operations that bypass the persistence context.
+ * <p>
+ * Version IDs come from Hibernate's pooled table generator: a stored value of {@code n} means
+ * that its next block is {@code n - ALLOCATION_SIZE + 1} to {@code n}, and everything below that
+ * has been handed out. A reservation takes the IDs from the start of that block and moves the
+ * stored value up by the same amount, so the generator's next block starts after them.
+ */
+public class DocumentVersionRepositoryImpl implements DocumentVersionRepositoryCustom {
+
+    private static final String GENERATOR_NAME = "document_versions";
+
+    private static final String SELECT_SQL = "SELECT " + PooledIds.VALUE_COLUMN + " FROM " + PooledIds.TABLE
+            + " WHERE " + PooledIds.NAME_COLUMN + " = ? FOR UPDATE";
+    private static final String UPDATE_SQL = "UPDATE " + PooledIds.TABLE + " SET " + PooledIds.VALUE_COLUMN
+            + " = ? WHERE " + PooledIds.NAME_COLUMN + " = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate reserveTransaction;
+
+    /**
+     * Constructor with dependency injection.
+     *
+     * @param jdbcTemplate JDBC template for the generator table
+     * @param transactionManager Transaction manager for the separate reservation transaction
+     */
+    @Autowired
+    public DocumentVersionRepositoryImpl(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.reserveTransaction = new TransactionTemplate(transactionManager);
+        this.reserveTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public long reserveIds(int count) {
+        if (count < 1) {
+            throw new IllegalArgumentException("At least one ID must be reserved");
+        }
+        Long firstId = reserveTransaction.execute(status -> {
+            Long stored = jdbcTemplate.queryForObject(SELECT_SQL, Long.class, GENERATOR_NAME);
+            if (stored == null) {
+                throw new IllegalStateException("Missing id generator row: " + GENERATOR_NAME);
+            }
+            long first = Math.max(1, stored - PooledIds.ALLOCATION_SIZE + 1);
+            jdbcTemplate.update(UPDATE_SQL, first + count + PooledIds.ALLOCATION_SIZE - 1, GENERATOR_NAME);
+            return first;
+        });
+        return firstId;
+    }
+}
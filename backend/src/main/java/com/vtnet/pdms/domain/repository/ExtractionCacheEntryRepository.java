@@ -0,0 +1,25 @@
+package com.vtnet.pdms.domain.repository;
+
+import com.vtnet.pdms.domain.model.ExtractionCacheEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Repository interface for ExtractionCacheEntry entity.
+ */
+@Repository
+public interface ExtractionCacheEntryRepository extends JpaRepository<ExtractionCacheEntry, Long> {
+
+    /**
+     * Find the cached extraction of a file content by a processor version.
+     *
+     * @param contentHash SHA-256 of the file content
+     * @param processorId The processor identifier
+     * @param processorVersion The processor version
+     * @return Optional cache entry
+     */
+    Optional<ExtractionCacheEntry> findByContentHashAndProcessorIdAndProcessorVersion(
+            String contentHash, String processorId, Integer processorVersion);
+}
@@ -0,0 +1,148 @@
+package com.vtnet.pdms.domain.repository;
+
+import com.vtnet.pdms.domain.model.FolderClosure;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository interface for the folder closure table.
+ * <p>
+ * Rows are added when a folder is created and relinked when a folder is moved. Deleting a folder
+ * removes its rows through the foreign keys.
+ */
+@Repository
+public interface FolderClosureRepository extends JpaRepository<FolderClosure, FolderClosure.FolderClosurePK> {
+
+    /**
+     * Add the paths of a new folder: one to itself and one to each ancestor of its parent.
+     *
+     * @param folderId The new folder's ID
+     * @param parentFolderId The parent folder ID, or null for a root folder
+     * @return Number of inserted rows
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "folder_closure"))
+    @Query(value = "INSERT INTO folder_closure (ancestor_id, descendant_id, depth) " +
+                   "SELECT c.ancestor_id, f.id, c.depth + 1 FROM folder_closure c JOIN folders f ON f.id = :folderId " +
+                   "WHERE c.descendant_id = :parentFolderId " +
+                   "UNION ALL SELECT f.id, f.id, 0 FROM folders f WHERE f.id = :folderId",
+           nativeQuery = true)
+    int insertFolder(@Param("folderId") Long folderId, @Param("parentFolderId") Long parentFolderId);
+
+    /**
+     * Find the IDs of a folder and all folders below it.
+     *
+     * @param folderId The folder ID
+     * @return List of folder IDs
+     */
+    @Query("SELECT c.id.descendantId FROM FolderClosure c WHERE c.id.ancestorId = :folderId")
+    List<Long> findSubtreeIds(@Param("folderId") Long folderId);
+
+    /**
+     * Find the IDs of the folders above a folder.
+     *
+     * @param folderId The folder ID
+     * @return List of ancestor IDs, excluding the folder itself
+     */
+    @Query("SELECT c.id.ancestorId FROM FolderClosure c WHERE c.id.descendantId = :folderId AND c.depth > 0")
+    List<Long> findAncestorIds(@Param("folderId") Long folderId);
+
+    /**
+     * Check whether a folder is the same as or below another folder.
+     *
+     * @param ancestorId The possible ancestor
+     * @param descendantId The possible descendant
+     * @return true if the path exists
+     */
+    @Query("SELECT COUNT(c) > 0 FROM FolderClosure c WHERE c.id.ancestorId = :ancestorId AND c.id.descendantId = :descendantId")
+    boolean existsPath(@Param("ancestorId") Long ancestorId, @Param("descendantId") Long descendantId);
+
+    /**
+     * Delete the paths between a set of descendants and a set of ancestors. Used to detach a
+     * subtree from its old ancestors before a move.
+     *
+     * @param descendantIds The folders of the subtree
+     * @param ancestorIds The ancestors the subtree is detached from
+     * @return Number of deleted rows
+     */
+    @Modifying
+    @Query("DELETE FROM FolderClosure c WHERE c.id.descendantId IN :descendantIds AND c.id.ancestorId IN :ancestorIds")
+    int deletePaths(@Param("descendantIds") Collection<Long> descendantIds,
+                    @Param("ancestorIds") Collection<Long> ancestorIds);
+
+    /**
+     * Link a detached subtree below a new parent: every ancestor of the parent, including the
+     * parent, becomes an ancestor of every folder in the subtree.
+     *
+     * @param folderId The root of the subtree
+     * @param parentFolderId The new parent folder ID
+     * @return Number of inserted rows
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "folder_closure"))
+    @Query(value = "INSERT INTO folder_closure (ancestor_id, descendant_id, depth) " +
+                   "SELECT p.ancestor_id, s.descendant_id, p.depth + s.depth + 1 " +
+                   "FROM folder_closure p JOIN folder_closure s ON s.ancestor_id = :folderId " +
+                   "WHERE p.descendant_id = :parentFolderId",
+           nativeQuery = true)
+    int insertSubtreePaths(@Param("folderId") Long folderId, @Param("parentFolderId") Long parentFolderId);
+
+    /**
+     * Find every folder of a project with its depth below its root folder, up to a maximum depth.
+     *
+     * @param projectId The project ID
+     * @param maxDepth The maximum depth; 0 returns only root folders
+     * @return List of folders, parents before their subfolders
+     */
+    @Query("SELECT f.id AS id, f.parentFolder.id AS parentFolderId, f.name AS name, f.displayOrder AS displayOrder, " +
+           "c.depth AS depth, f.documentCount AS documentCount, f.totalBytes AS totalBytes " +
+           "FROM FolderClosure c JOIN c.descendant f JOIN c.ancestor a " +
+           "WHERE f.project.id = :projectId AND a.parentFolder IS NULL AND c.depth <= :maxDepth " +
+           "ORDER BY c.depth, f.displayOrder, f.name")
+    List<FolderTreeView> findProjectTree(@Param("projectId") Long projectId, @Param("maxDepth") int maxDepth);
+
+    /**
+     * Find a folder and the folders below it with their depth below it, up to a maximum depth.
+     *
+     * @param projectId The project ID the folder must belong to
+     * @param folderId The root of the subtree
+     * @param maxDepth The maximum depth; 0 returns only the folder itself
+     * @return List of folders, parents before their subfolders
+     */
+    @Query("SELECT f.id AS id, f.parentFolder.id AS parentFolderId, f.name AS name, f.displayOrder AS displayOrder, " +
+           "c.depth AS depth, f.documentCount AS documentCount, f.totalBytes AS totalBytes " +
+           "FROM FolderClosure c JOIN c.descendant f " +
+           "WHERE c.id.ancestorId = :folderId AND f.project.id = :projectId AND c.depth <= :maxDepth " +
+           "ORDER BY c.depth, f.displayOrder, f.name")
+    List<FolderTreeView> findSubtree(@Param("projectId") Long projectId,
+                                     @Param("folderId") Long folderId,
+                                     @Param("maxDepth") int maxDepth);
+
+    /**
+     * Projection of a folder in a tree, with its document totals.
+     */
+    interface FolderTreeView {
+        Long getId();
+
+        Long getParentFolderId();
+
+        String getName();
+
+        Integer getDisplayOrder();
+
+        Integer getDepth();
+
+        Long getDocumentCount();
+
+        Long getTotalBytes();
+    }
+}
@@ -2,8 +2,12 @@ package com.vtnet.pdms.domain.repository;
 
 import com.vtnet.pdms.domain.model.Folder;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -55,4 +59,58 @@ public interface FolderRepository extends JpaRepository<Folder, Long> {
      * @return Optional folder
      */
     Optional<Folder> findByProjectIdAndParentFolderIdAndName(Long projectId, Long parentFolderId, String name);
-} 
\ No newline at end of file
+
+    /**
+     * Add to the document count and total size of a folder in a single statement.
+     *
+     * @param folderId The folder ID
+     * @param documents Change in the number of documents
+     * @param bytes Change in the total size in bytes
+     * @return Number of updated folders
+     */
+    @Modifying
+    @Query("UPDATE Folder f SET f.documentCount = f.documentCount + :documents, " +
+           "f.totalBytes = f.totalBytes + :bytes WHERE f.id = :folderId")
+    int adjustDocumentTotals(@Param("folderId") Long folderId,
+                             @Param("documents") long documents,
+                             @Param("bytes") long bytes);
+
+    /**
+     * Sum the document counts and total sizes of several folders.
+     *
+     * @param folderIds The folder IDs
+     * @return The summed totals
+     */
+    @Query("SELECT COALESCE(SUM(f.documentCount), 0) AS documentCount, COALESCE(SUM(f.totalBytes), 0) AS totalBytes " +
+           "FROM Folder f WHERE f.id IN :folderIds")
+    DocumentTotalsView sumDocumentTotals(@Param("folderIds") Collection<Long> folderIds);
+
+    /**
+     * Unlink several folders from their parents, so that they can be deleted in a single statement.
+     *
+     * @param folderIds The folder IDs
+     * @return Number of updated folders
+     */
+    @Modifying
+    @Query("UPDATE Folder f SET f.parentFolder = NULL WHERE f.id IN :folderIds")
+    int clearParentFolders(@Param("folderIds") Collection<Long> folderIds);
+
+    /**
+     * Delete several folders in a single statement. Their documents must be deleted first.
+     *
+     * @param folderIds The folder IDs
+     * @return Number of deleted folders
+     */
+    @Modifying
+    @Query("DELETE FROM Folder f WHERE f.id IN :folderIds")
+    int deleteByIdIn(@Param("folderIds") Collection<Long> folderIds);
+
+    /**
+     * Projection of summed document totals.
+     */
+    interface DocumentTotalsView {
+        Long getDocumentCount();
+
+        Long getTotalBytes();
+    }
+}
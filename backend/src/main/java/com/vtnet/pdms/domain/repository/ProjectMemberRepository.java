@@ -14,6 +14,9 @@ import java.util.Optional;
 
 /**
  * Repository interface for ProjectMember entity operations.
+ * <p>
+ * The membership lookups behind permission checks are not cached: the second-level cache is kept
+ * per node, so a removed member could keep access on other nodes until an entry expired.
  */
 @Repository
 public interface ProjectMemberRepository extends JpaRepository<ProjectMember, ProjectMemberPK> {
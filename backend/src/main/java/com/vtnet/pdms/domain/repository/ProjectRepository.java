@@ -4,6 +4,9 @@ import com.vtnet.pdms.domain.model.Project;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -39,4 +42,20 @@ public interface ProjectRepository extends JpaRepository<Project, Long> {
      * @return Page of projects matching the search criteria
      */
     Page<Project> findByNameContaining(String name, Pageable pageable);
+
+    /**
+     * Add to the document count and total size of a project in a single statement.
+     * updatedAt is assigned to itself so the column's ON UPDATE timestamp is not triggered.
+     *
+     * @param projectId The project ID
+     * @param documents Change in the number of documents
+     * @param bytes Change in the total size in bytes
+     * @return Number of updated projects
+     */
+    @Modifying
+    @Query("UPDATE Project p SET p.documentCount = p.documentCount + :documents, " +
+           "p.totalBytes = p.totalBytes + :bytes, p.updatedAt = p.updatedAt WHERE p.id = :projectId")
+    int adjustDocumentTotals(@Param("projectId") Long projectId,
+                             @Param("documents") long documents,
+                             @Param("bytes") long bytes);
 } 
\ No newline at end of file
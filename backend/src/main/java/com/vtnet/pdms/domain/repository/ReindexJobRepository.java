@@ -0,0 +1,123 @@
+package com.vtnet.pdms.domain.repository;
+
+import com.vtnet.pdms.domain.model.ReindexJob;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository interface for ReindexJob entity.
+ * <p>
+ * Status changes and progress updates are single-statement updates, so a pause or cancel request
+ * is never overwritten by the worker saving its progress.
+ */
+@Repository
+public interface ReindexJobRepository extends JpaRepository<ReindexJob, Long> {
+
+    /**
+     * Find jobs in any of the given statuses, oldest first.
+     *
+     * @param statuses The statuses
+     * @return List of jobs
+     */
+    List<ReindexJob> findByStatusInOrderById(Collection<String> statuses);
+
+    /**
+     * Find the most recent jobs.
+     *
+     * @param pageable Pagination information
+     * @return List of jobs, newest first
+     */
+    @Query("SELECT j FROM ReindexJob j ORDER BY j.id DESC")
+    List<ReindexJob> findRecent(Pageable pageable);
+
+    /**
+     * Find the status of a job.
+     *
+     * @param id The job ID
+     * @return The status, or null if the job does not exist
+     */
+    @Query("SELECT j.status FROM ReindexJob j WHERE j.id = :id")
+    String findStatusById(@Param("id") Long id);
+
+    /**
+     * Change the status of a job if it is in one of the expected statuses.
+     *
+     * @param id The job ID
+     * @param expectedStatuses Statuses the job may be in
+     * @param status The new status
+     * @param updatedAt Time of the change
+     * @return 1 if the status was changed, 0 otherwise
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE ReindexJob j SET j.status = :status, j.updatedAt = :updatedAt " +
+           "WHERE j.id = :id AND j.status IN :expectedStatuses")
+    int updateStatus(@Param("id") Long id,
+                     @Param("expectedStatuses") Collection<String> expectedStatuses,
+                     @Param("status") String status,
+                     @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Record the start of a run of a job.
+     *
+     * @param id The job ID
+     * @param startedAt Time the job first started; kept if the job already started
+     * @return Number of updated jobs
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE ReindexJob j SET j.startedAt = COALESCE(j.startedAt, :startedAt) WHERE j.id = :id")
+    int markStarted(@Param("id") Long id, @Param("startedAt") LocalDateTime startedAt);
+
+    /**
+     * Save the checkpoint and counters of a running job.
+     *
+     * @param id The job ID
+     * @param lastVersionId ID of the last processed version
+     * @param processedVersions Number of processed versions
+     * @param failedVersions Number of versions that failed to index
+     * @param processedTokens Number of chunk tokens indexed
+     * @param runningMillis Time spent running
+     * @param updatedAt Time of the update
+     * @return Number of updated jobs
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE ReindexJob j SET j.lastVersionId = :lastVersionId, j.processedVersions = :processedVersions, " +
+           "j.failedVersions = :failedVersions, j.processedTokens = :processedTokens, " +
+           "j.runningMillis = :runningMillis, j.updatedAt = :updatedAt WHERE j.id = :id")
+    int updateProgress(@Param("id") Long id,
+                       @Param("lastVersionId") Long lastVersionId,
+                       @Param("processedVersions") Long processedVersions,
+                       @Param("failedVersions") Long failedVersions,
+                       @Param("processedTokens") Long processedTokens,
+                       @Param("runningMillis") Long runningMillis,
+                       @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * End a running job.
+     *
+     * @param id The job ID
+     * @param status The final status
+     * @param errorMessage The error that ended the job, if any
+     * @param finishedAt Time the job ended
+     * @return 1 if the job was running and has been ended, 0 otherwise
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE ReindexJob j SET j.status = :status, j.errorMessage = :errorMessage, " +
+           "j.finishedAt = :finishedAt, j.updatedAt = :finishedAt WHERE j.id = :id AND j.status = 'RUNNING'")
+    int finish(@Param("id") Long id,
+               @Param("status") String status,
+               @Param("errorMessage") String errorMessage,
+               @Param("finishedAt") LocalDateTime finishedAt);
+}
@@ -1,7 +1,10 @@
 package com.vtnet.pdms.domain.repository;
 
 import com.vtnet.pdms.domain.model.Role;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.Collection;
@@ -20,6 +23,10 @@ public interface RoleRepository extends JpaRepository<Role, Long> {
      * @param name The role name to search for
      * @return An Optional containing the role if found, or empty if not found
      */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "role-queries")
+    })
     Optional<Role> findByName(String name);
 
     /**
@@ -28,6 +35,10 @@ public interface RoleRepository extends JpaRepository<Role, Long> {
      * @param names Collection of role names to search for
      * @return List of roles with matching names
      */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "role-queries")
+    })
     List<Role> findByNameIn(Collection<String> names);
 
     /**
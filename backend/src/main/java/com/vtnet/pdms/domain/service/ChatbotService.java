@@ -1,5 +1,6 @@
 package com.vtnet.pdms.domain.service;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
@@ -39,23 +40,51 @@ public interface ChatbotService {
     Map<String, Object> processGlobalQuestion(String question, Long userId);
     
     /**
-     * Retrieves conversation history for a user in a project.
+     * Retrieves recent conversation history for a user in a project. Only the messages of the
+     * recent months are read; older ones are returned by
+     * {@link #getConversationHistory(Long, Long, int, LocalDateTime, Long)}.
      *
      * @param projectId The project ID
      * @param userId The user ID
      * @param limit The maximum number of messages to retrieve
-     * @return List of conversation messages
+     * @return List of conversation messages, newest first
      */
     List<Map<String, Object>> getConversationHistory(Long projectId, Long userId, int limit);
+
+    /**
+     * Retrieves conversation history for a user in a project sent before a message, including
+     * archived months. Messages are ordered by sent time and then ID.
+     *
+     * @param projectId The project ID
+     * @param userId The user ID
+     * @param limit The maximum number of messages to retrieve
+     * @param before Only messages sent before this time are retrieved
+     * @param beforeId Messages sent at exactly the time are also retrieved if their ID is below this (optional)
+     * @return List of conversation messages, newest first
+     */
+    List<Map<String, Object>> getConversationHistory(Long projectId, Long userId, int limit, LocalDateTime before,
+                                                     Long beforeId);
     
     /**
-     * Retrieves global conversation history for a user.
+     * Retrieves recent global conversation history for a user.
      *
      * @param userId The user ID
      * @param limit The maximum number of messages to retrieve
-     * @return List of conversation messages
+     * @return List of conversation messages, newest first
      */
     List<Map<String, Object>> getGlobalConversationHistory(Long userId, int limit);
+
+    /**
+     * Retrieves global conversation history for a user sent before a message, including archived
+     * months. Messages are ordered by sent time and then ID.
+     *
+     * @param userId The user ID
+     * @param limit The maximum number of messages to retrieve
+     * @param before Only messages sent before this time are retrieved
+     * @param beforeId Messages sent at exactly the time are also retrieved if their ID is below this (optional)
+     * @return List of conversation messages, newest first
+     */
+    List<Map<String, Object>> getGlobalConversationHistory(Long userId, int limit, LocalDateTime before, Long beforeId);
     
     /**
      * Saves a user message and bot response to the conversation history.
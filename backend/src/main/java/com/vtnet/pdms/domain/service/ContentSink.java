@@ -0,0 +1,18 @@
+package com.vtnet.pdms.domain.service;
+
+import java.io.IOException;
+
+/**
+ * Receives the text of a document piece by piece, in document order, as it is extracted.
+ */
+@FunctionalInterface
+public interface ContentSink {
+
+    /**
+     * Appends the next piece of extracted text.
+     *
+     * @param text The text
+     * @throws IOException If the text cannot be consumed
+     */
+    void append(String text) throws IOException;
+}
@@ -0,0 +1,38 @@
+package com.vtnet.pdms.domain.service;
+
+import com.vtnet.pdms.application.dto.DocumentArchiveDTO;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Service interface for exporting folders and projects as ZIP archives.
+ */
+public interface DocumentArchiveService {
+
+    /**
+     * Prepare the archive of a folder and all its subfolders, using the latest version of every document.
+     *
+     * @param folderId The folder ID
+     * @return The archive manifest
+     */
+    DocumentArchiveDTO prepareFolderArchive(Long folderId);
+
+    /**
+     * Prepare the archive of all folders of a project, using the latest version of every document.
+     *
+     * @param projectId The project ID
+     * @return The archive manifest
+     */
+    DocumentArchiveDTO prepareProjectArchive(Long projectId);
+
+    /**
+     * Write a prepared archive as a ZIP stream. Files are copied one buffer at a time, so memory
+     * use does not depend on the size of the archive. The output stream is not closed.
+     *
+     * @param archive The archive manifest
+     * @param outputStream The stream to write to
+     * @throws IOException If an I/O error occurs
+     */
+    void writeArchive(DocumentArchiveDTO archive, OutputStream outputStream) throws IOException;
+}
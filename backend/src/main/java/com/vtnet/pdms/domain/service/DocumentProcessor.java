@@ -3,6 +3,7 @@ package com.vtnet.pdms.domain.service;
 import com.vtnet.pdms.domain.model.DocumentVersion;
 
 import java.io.IOException;
+import java.util.Set;
 
 /**
  * Interface for document content extraction.
@@ -17,6 +18,35 @@ public interface DocumentProcessor {
      */
     boolean canProcess(String mimeType);
 
+    /**
+     * Returns the MIME types this processor is registered for. Processors that return an empty set
+     * are only consulted through {@link #canProcess(String)} when no registered processor matches.
+     *
+     * @return The supported MIME types, in lower case
+     */
+    default Set<String> getSupportedMimeTypes() {
+        return Set.of();
+    }
+
+    /**
+     * Returns the identifier of this processor, used as part of the extraction cache key.
+     *
+     * @return The processor identifier
+     */
+    default String getProcessorId() {
+        return getClass().getSimpleName();
+    }
+
+    /**
+     * Returns the version of this processor's output. Increase it whenever a change to the
+     * processor alters the extracted text, so that cached results of the old version are not reused.
+     *
+     * @return The processor version
+     */
+    default int getProcessorVersion() {
+        return 1;
+    }
+
     /**
      * Extracts text content from a document.
      *
@@ -25,4 +55,17 @@ public interface DocumentProcessor {
      * @throws IOException If an I/O error occurs
      */
     String extractContent(DocumentVersion documentVersion) throws IOException;
-} 
\ No newline at end of file
+
+    /**
+     * Extracts text content from a document and hands it to a sink in document order.
+     * Processors that can extract a document in parts override this to avoid building the whole
+     * text in memory; the default passes the complete text in one piece.
+     *
+     * @param documentVersion The document version to process
+     * @param sink The sink receiving the text
+     * @throws IOException If an I/O error occurs
+     */
+    default void extractContent(DocumentVersion documentVersion, ContentSink sink) throws IOException {
+        sink.append(extractContent(documentVersion));
+    }
+}
@@ -1,11 +1,12 @@
 package com.vtnet.pdms.domain.service;
 
+import com.vtnet.pdms.application.dto.DocumentListQueryDTO;
+import com.vtnet.pdms.application.dto.DocumentPageDTO;
 import com.vtnet.pdms.application.dto.DocumentUploadDTO;
 import com.vtnet.pdms.domain.model.Document;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.util.List;
 
 /**
  * Service interface for document operations.
@@ -13,20 +14,24 @@ import java.util.List;
 public interface DocumentService {
 
     /**
-     * Get documents for a project.
+     * Get one page of the documents of a project.
      *
      * @param projectId The project ID
-     * @return List of documents
+     * @param query The filters, sort order and page of the listing
+     * @return Page of documents with the cursor of the next page
+     * @throws IllegalArgumentException If the cursor is not valid for the sort order
      */
-    List<Document> getProjectDocuments(Long projectId);
+    DocumentPageDTO getProjectDocuments(Long projectId, DocumentListQueryDTO query);
 
     /**
-     * Get documents for a folder.
+     * Get one page of the documents of a folder.
      *
      * @param folderId The folder ID
-     * @return List of documents
+     * @param query The filters, sort order and page of the listing; its folder ID is ignored
+     * @return Page of documents with the cursor of the next page
+     * @throws IllegalArgumentException If the cursor is not valid for the sort order
      */
-    List<Document> getFolderDocuments(Long folderId);
+    DocumentPageDTO getFolderDocuments(Long folderId, DocumentListQueryDTO query);
 
     /**
      * Get a document by ID.
@@ -45,6 +50,16 @@ public interface DocumentService {
      */
     Document uploadDocument(DocumentUploadDTO uploadDTO) throws IOException;
 
+    /**
+     * Upload a new version of an existing document.
+     *
+     * @param id The document ID
+     * @param file The file content of the new version
+     * @return The updated document
+     * @throws IOException If an I/O error occurs
+     */
+    Document uploadNewVersion(Long id, MultipartFile file) throws IOException;
+
     /**
      * Validate document upload data.
      *
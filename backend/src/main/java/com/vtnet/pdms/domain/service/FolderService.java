@@ -1,5 +1,6 @@
 package com.vtnet.pdms.domain.service;
 
+import com.vtnet.pdms.application.dto.FolderTreeDTO;
 import com.vtnet.pdms.domain.model.Folder;
 
 import java.util.List;
@@ -52,6 +53,49 @@ public interface FolderService {
      */
     Folder createFolder(Long projectId, Long parentFolderId, String name);
 
+    /**
+     * Get the folder tree of a project, or the subtree below a folder, with the document totals
+     * of each folder. The tree is read with a single query.
+     *
+     * @param projectId The project ID
+     * @param folderId The root of the subtree, or null for the whole project
+     * @param maxDepth The number of levels below the root to include, or null for all levels
+     * @return The root folders of the tree with their subfolders
+     */
+    List<FolderTreeDTO> getFolderTree(Long projectId, Long folderId, Integer maxDepth);
+
+    /**
+     * Move a folder, with everything below it, to another parent folder in the same project.
+     *
+     * @param folderId The folder ID
+     * @param parentFolderId The new parent folder ID (can be null to make it a root folder)
+     * @return The moved folder
+     * @throws IllegalArgumentException if the folder would be moved into itself or its subtree,
+     *         to another project, or next to a folder with the same name
+     */
+    Folder moveFolder(Long folderId, Long parentFolderId);
+
+    /**
+     * Copy a folder, with everything below it, to another parent folder in the same project. The
+     * copied documents share the stored files of the originals.
+     *
+     * @param folderId The folder ID
+     * @param parentFolderId The parent folder of the copy (can be null to copy to the project root)
+     * @param name The name of the copy, or null to keep the folder's name
+     * @return The copy of the folder
+     * @throws IllegalArgumentException if the folder would be copied into itself or its subtree,
+     *         to another project, or next to a folder with the same name
+     */
+    Folder copyFolder(Long folderId, Long parentFolderId, String name);
+
+    /**
+     * Delete a folder with all its subfolders and documents. Stored files are deleted in the
+     * background once the deletion is committed.
+     *
+     * @param folderId The folder ID
+     */
+    void deleteFolderTree(Long folderId);
+
     /**
      * Delete a folder.
      *
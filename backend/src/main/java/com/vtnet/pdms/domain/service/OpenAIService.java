@@ -34,6 +34,15 @@ public interface OpenAIService {
      * @return The embedding vector as a float array
      */
     float[] createEmbedding(String text);
+
+    /**
+     * Creates embedding vectors for several texts in a single request.
+     *
+     * @param texts The texts to create embeddings for
+     * @return One embedding per text, in the same order; empty arrays for texts whose embedding
+     *         could not be created
+     */
+    List<float[]> createEmbeddings(List<String> texts);
     
     /**
      * Extracts document title from a user query.
@@ -0,0 +1,62 @@
+package com.vtnet.pdms.domain.service;
+
+import com.vtnet.pdms.application.dto.ReindexJobDTO;
+
+import java.util.List;
+
+/**
+ * Service interface for background re-index jobs.
+ */
+public interface ReindexJobService {
+
+    /**
+     * Start re-indexing the latest version of every document in a project, or in all projects.
+     * The job runs in the background after the current transaction commits.
+     *
+     * @param projectId The project ID, or null for all projects
+     * @param documentsPerSecond Maximum number of versions re-indexed per second, or null for the configured default
+     * @param tokensPerMinute Maximum number of chunk tokens indexed per minute, or null for the configured default
+     * @return The queued job
+     */
+    ReindexJobDTO startReindex(Long projectId, Double documentsPerSecond, Long tokensPerMinute);
+
+    /**
+     * Pause a queued or running job. A running job stops after the version it is indexing.
+     *
+     * @param jobId The job ID
+     * @return The job
+     */
+    ReindexJobDTO pauseJob(Long jobId);
+
+    /**
+     * Resume a paused job from its checkpoint.
+     *
+     * @param jobId The job ID
+     * @return The job
+     */
+    ReindexJobDTO resumeJob(Long jobId);
+
+    /**
+     * Cancel a job that has not finished.
+     *
+     * @param jobId The job ID
+     * @return The job
+     */
+    ReindexJobDTO cancelJob(Long jobId);
+
+    /**
+     * Get a job with its progress.
+     *
+     * @param jobId The job ID
+     * @return The job
+     */
+    ReindexJobDTO getJob(Long jobId);
+
+    /**
+     * Get the most recent jobs.
+     *
+     * @param limit Maximum number of jobs
+     * @return List of jobs, newest first
+     */
+    List<ReindexJobDTO> getRecentJobs(int limit);
+}
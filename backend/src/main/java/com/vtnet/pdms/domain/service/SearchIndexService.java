@@ -1,6 +1,8 @@
 package com.vtnet.pdms.domain.service;
 
 import com.vtnet.pdms.domain.model.DocumentContent;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 
 import java.util.List;
 import java.util.Map;
@@ -27,6 +29,18 @@ public interface SearchIndexService {
      * @return List of document IDs with their relevance scores
      */
     List<Map<String, Object>> search(String query, Long projectId, int maxResults);
+
+    /**
+     * Searches the latest version of each document for a query, best matches first.
+     *
+     * @param query The search query
+     * @param projectId The project ID (optional, can be null to search across all projects)
+     * @param mode How the query is interpreted
+     * @param pageable Pagination information
+     * @return Page of documents with their relevance scores
+     * @throws IllegalArgumentException If the query is not valid in the mode, or the mode is not supported
+     */
+    Page<Map<String, Object>> search(String query, Long projectId, SearchMode mode, Pageable pageable);
     
     /**
      * Removes a document from the search index.
@@ -50,4 +64,19 @@ public interface SearchIndexService {
      * @return Map containing index status information
      */
     Map<String, Object> getIndexStatus();
-} 
\ No newline at end of file
+
+    /**
+     * How a search query is interpreted.
+     */
+    enum SearchMode {
+        /**
+         * Free text, ranked by relevance
+         */
+        NATURAL_LANGUAGE,
+
+        /**
+         * Boolean syntax: +required, -excluded and "quoted phrases"
+         */
+        BOOLEAN
+    }
+}
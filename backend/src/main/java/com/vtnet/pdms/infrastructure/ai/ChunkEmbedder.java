@@ -0,0 +1,136 @@
+package com.vtnet.pdms.infrastructure.ai;
+
+import com.vtnet.pdms.domain.model.DocumentChunk;
+import com.vtnet.pdms.domain.repository.DocumentChunkRepository;
+import com.vtnet.pdms.domain.service.OpenAIService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Creates embeddings for the chunks of a document version that do not have one from the current
+ * embedding model.
+ * <p>
+ * Chunks carried over unchanged from an earlier version already have their embedding, so only
+ * added and modified chunks are sent to the embedding API. Embedding is off unless enabled, since
+ * it needs an API key.
+ * <p>
+ * Each batch of chunks is embedded with a single request. Requests are made outside any
+ * transaction; the embeddings of a batch are written in a short transaction of their own.
+ */
+@Component
+public class ChunkEmbedder {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChunkEmbedder.class);
+
+    private final DocumentChunkRepository documentChunkRepository;
+    private final OpenAIService openAIService;
+    private final boolean enabled;
+    private final String embeddingModel;
+    private final int batchSize;
+    private final TransactionTemplate writeTransaction;
+
+    /**
+     * Constructor with dependency injection.
+     *
+     * @param documentChunkRepository Repository for document chunk operations
+     * @param openAIService Service creating the embeddings
+     * @param enabled Whether chunks are embedded while indexing
+     * @param embeddingModel Name of the embedding model
+     * @param batchSize Number of chunks embedded per request
+     * @param transactionManager Transaction manager used to write the embeddings
+     */
+    @Autowired
+    public ChunkEmbedder(
+            DocumentChunkRepository documentChunkRepository,
+            OpenAIService openAIService,
+            @Value("${embedding.enabled:false}") boolean enabled,
+            @Value("${openai.model.embedding:text-embedding-ada-002}") String embeddingModel,
+            @Value("${embedding.batch-size:32}") int batchSize,
+            PlatformTransactionManager transactionManager) {
+        this.documentChunkRepository = documentChunkRepository;
+        this.openAIService = openAIService;
+        this.enabled = enabled;
+        this.embeddingModel = embeddingModel;
+        this.batchSize = Math.max(1, batchSize);
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.writeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Returns whether chunks are embedded while indexing.
+     *
+     * @return true if embedding is enabled
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns the name of the model embeddings are created with. Embeddings from other models are
+     * not reused.
+     *
+     * @return The embedding model
+     */
+    public String getEmbeddingModel() {
+        return embeddingModel;
+    }
+
+    /**
+     * Embeds the chunks of a document version that have no embedding from the current model.
+     * Should be called outside a transaction, since it waits for the embedding API.
+     *
+     * @param documentVersionId The document version ID
+     * @return Number of chunks still without an embedding, because embedding is disabled or failed
+     */
+    public long embedPendingChunks(Long documentVersionId) {
+        if (!enabled) {
+            return documentChunkRepository.countUnembedded(documentVersionId, embeddingModel);
+        }
+
+        int embedded = 0;
+        int failed = 0;
+        int lastOrdinal = -1;
+        List<DocumentChunk> chunks;
+        do {
+            chunks = documentChunkRepository.findUnembedded(
+                    documentVersionId, embeddingModel, lastOrdinal, PageRequest.of(0, batchSize));
+            if (chunks.isEmpty()) {
+                break;
+            }
+            lastOrdinal = chunks.get(chunks.size() - 1).getOrdinal();
+
+            List<float[]> vectors = openAIService.createEmbeddings(
+                    chunks.stream().map(DocumentChunk::getContent).toList());
+            List<DocumentChunk> batch = new ArrayList<>(chunks.size());
+            for (int i = 0; i < chunks.size(); i++) {
+                float[] vector = i < vectors.size() ? vectors.get(i) : null;
+                if (vector == null || vector.length == 0) {
+                    failed++;
+                    continue;
+                }
+                DocumentChunk chunk = chunks.get(i);
+                chunk.setEmbedding(DocumentChunk.encodeEmbedding(vector));
+                chunk.setEmbeddingModel(embeddingModel);
+                batch.add(chunk);
+            }
+            if (!batch.isEmpty()) {
+                writeTransaction.executeWithoutResult(status -> batch.forEach(chunk ->
+                        documentChunkRepository.updateEmbedding(chunk.getId(), chunk.getEmbedding(), embeddingModel)));
+                embedded += batch.size();
+            }
+        } while (chunks.size() == batchSize);
+
+        logger.info("Embedded {} chunks of document version {} ({} failed)", embedded, documentVersionId, failed);
+        return failed;
+    }
+}
@@ -245,6 +245,55 @@ public class OpenAIServiceImpl implements OpenAIService {
         }
     }
 
+    @Override
+    public List<float[]> createEmbeddings(List<String> texts) {
+        logger.info("Creating embeddings for {} texts", texts.size());
+        List<float[]> results = new ArrayList<>(Collections.nCopies(texts.size(), new float[0]));
+        if (texts.isEmpty()) {
+            return results;
+        }
+
+        Map<String, Object> requestBody = new HashMap<>();
+        requestBody.put("model", embeddingModel);
+        requestBody.put("input", texts);
+
+        HttpHeaders headers = createHeaders();
+        HttpEntity<Map<String, Object>> requestEntity = new HttpEntity<>(requestBody, headers);
+
+        try {
+            ResponseEntity<Map> responseEntity = restTemplate.postForEntity(
+                    OPENAI_API_URL + EMBEDDINGS_ENDPOINT,
+                    requestEntity,
+                    Map.class
+            );
+
+            Map<String, Object> responseBody = responseEntity.getBody();
+            List<Map<String, Object>> data = responseBody != null
+                    ? (List<Map<String, Object>>) responseBody.get("data") : null;
+            if (data == null) {
+                logger.error("Failed to parse embeddings from OpenAI API: {}", responseBody);
+                return results;
+            }
+            // Each embedding carries the index of its input
+            for (Map<String, Object> embedding : data) {
+                Number index = (Number) embedding.get("index");
+                List<Double> embeddingValues = (List<Double>) embedding.get("embedding");
+                if (index == null || index.intValue() < 0 || index.intValue() >= texts.size() || embeddingValues == null) {
+                    continue;
+                }
+                float[] result = new float[embeddingValues.size()];
+                for (int i = 0; i < embeddingValues.size(); i++) {
+                    result[i] = embeddingValues.get(i).floatValue();
+                }
+                results.set(index.intValue(), result);
+            }
+            return results;
+        } catch (Exception e) {
+            logger.error("Error calling OpenAI API for embeddings: {}", e.getMessage(), e);
+            return results;
+        }
+    }
+
     @Override
     public String extractDocumentTitle(String query) {
         logger.info("Extracting document title from query: {}", query);
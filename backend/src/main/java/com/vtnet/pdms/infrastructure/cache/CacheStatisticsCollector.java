@@ -0,0 +1,91 @@
+package com.vtnet.pdms.infrastructure.cache;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Reads the second-level and query cache counters Hibernate keeps when
+ * {@code hibernate.generate_statistics} is enabled.
+ */
+@Component
+public class CacheStatisticsCollector {
+
+    private final SessionFactoryImplementor sessionFactory;
+
+    /**
+     * Constructor with dependency injection.
+     *
+     * @param entityManagerFactory Factory of the application's entity managers
+     */
+    @Autowired
+    public CacheStatisticsCollector(EntityManagerFactory entityManagerFactory) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+    }
+
+    /**
+     * Collect the cache counters since the last reset, per region.
+     *
+     * @return The cache statistics
+     * @throws IllegalStateException If statistics are disabled
+     */
+    public CacheStatisticsReport collect() {
+        Statistics statistics = getStatistics();
+        CacheStatisticsReport report = new CacheStatisticsReport(
+                LocalDateTime.ofInstant(statistics.getStart(), ZoneId.systemDefault()),
+                statistics.getSecondLevelCacheHitCount(),
+                statistics.getSecondLevelCacheMissCount(),
+                statistics.getSecondLevelCachePutCount(),
+                statistics.getQueryCacheHitCount(),
+                statistics.getQueryCacheMissCount(),
+                statistics.getQueryCachePutCount());
+
+        Map<String, Integer> entryCounts = getEntryCounts();
+        TreeSet<String> regionNames = new TreeSet<>(Arrays.asList(statistics.getSecondLevelCacheRegionNames()));
+        regionNames.addAll(entryCounts.keySet());
+        for (String regionName : regionNames) {
+            CacheRegionStatistics region = statistics.getCacheRegionStatistics(regionName);
+            if (region != null) {
+                report.addRegion(new CacheStatisticsReport.RegionStatistics(regionName, region.getHitCount(),
+                        region.getMissCount(), region.getPutCount(), entryCounts.getOrDefault(regionName, 0)));
+            }
+        }
+        return report;
+    }
+
+    /**
+     * Reset the counters, for example before a load test.
+     *
+     * @throws IllegalStateException If statistics are disabled
+     */
+    public void reset() {
+        getStatistics().clear();
+    }
+
+    private Statistics getStatistics() {
+        Statistics statistics = sessionFactory.getStatistics();
+        if (!statistics.isStatisticsEnabled()) {
+            throw new IllegalStateException("Hibernate statistics are disabled");
+        }
+        return statistics;
+    }
+
+    private Map<String, Integer> getEntryCounts() {
+        RegionFactory regionFactory = sessionFactory.getCache().getRegionFactory();
+        if (regionFactory instanceof ExpiringRegionFactory expiringRegionFactory) {
+            return expiringRegionFactory.getEntryCounts();
+        }
+        return Collections.emptyMap();
+    }
+}
@@ -0,0 +1,129 @@
+package com.vtnet.pdms.infrastructure.cache;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hit and miss counts of the second-level and query caches since the statistics were last reset.
+ */
+public class CacheStatisticsReport {
+
+    private final LocalDateTime collectedAt = LocalDateTime.now();
+    private final LocalDateTime since;
+    private final long hitCount;
+    private final long missCount;
+    private final long putCount;
+    private final long queryHitCount;
+    private final long queryMissCount;
+    private final long queryPutCount;
+    private final List<RegionStatistics> regions = new ArrayList<>();
+
+    public CacheStatisticsReport(LocalDateTime since, long hitCount, long missCount, long putCount,
+                                 long queryHitCount, long queryMissCount, long queryPutCount) {
+        this.since = since;
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.putCount = putCount;
+        this.queryHitCount = queryHitCount;
+        this.queryMissCount = queryMissCount;
+        this.queryPutCount = queryPutCount;
+    }
+
+    void addRegion(RegionStatistics region) {
+        regions.add(region);
+    }
+
+    static double hitRatio(long hits, long misses) {
+        return hits + misses == 0 ? 0.0 : (double) hits / (hits + misses);
+    }
+
+    // Getters
+    public LocalDateTime getCollectedAt() {
+        return collectedAt;
+    }
+
+    public LocalDateTime getSince() {
+        return since;
+    }
+
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    public long getMissCount() {
+        return missCount;
+    }
+
+    public long getPutCount() {
+        return putCount;
+    }
+
+    public double getHitRatio() {
+        return hitRatio(hitCount, missCount);
+    }
+
+    public long getQueryHitCount() {
+        return queryHitCount;
+    }
+
+    public long getQueryMissCount() {
+        return queryMissCount;
+    }
+
+    public long getQueryPutCount() {
+        return queryPutCount;
+    }
+
+    public double getQueryHitRatio() {
+        return hitRatio(queryHitCount, queryMissCount);
+    }
+
+    public List<RegionStatistics> getRegions() {
+        return new ArrayList<>(regions);
+    }
+
+    /**
+     * Counts of one cache region.
+     */
+    public static class RegionStatistics {
+
+        private final String name;
+        private final long hitCount;
+        private final long missCount;
+        private final long putCount;
+        private final int entryCount;
+
+        public RegionStatistics(String name, long hitCount, long missCount, long putCount, int entryCount) {
+            this.name = name;
+            this.hitCount = hitCount;
+            this.missCount = missCount;
+            this.putCount = putCount;
+            this.entryCount = entryCount;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getHitCount() {
+            return hitCount;
+        }
+
+        public long getMissCount() {
+            return missCount;
+        }
+
+        public long getPutCount() {
+            return putCount;
+        }
+
+        public double getHitRatio() {
+            return hitRatio(hitCount, missCount);
+        }
+
+        public int getEntryCount() {
+            return entryCount;
+        }
+    }
+}
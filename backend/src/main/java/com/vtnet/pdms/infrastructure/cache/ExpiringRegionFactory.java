@@ -0,0 +1,110 @@
+package com.vtnet.pdms.infrastructure.cache;
+
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.cfg.spi.DomainDataRegionBuildingContext;
+import org.hibernate.cache.cfg.spi.DomainDataRegionConfig;
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.cache.spi.support.RegionFactoryTemplate;
+import org.hibernate.cache.spi.support.StorageAccess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hibernate second-level cache regions kept in the memory of this node, with a time to live and a
+ * maximum size per region.
+ * <p>
+ * Regions are configured through JPA properties, in seconds and entries:
+ * <pre>
+ * pdms.cache.default.ttl-seconds / pdms.cache.default.max-entries
+ * pdms.cache.regions.&lt;region&gt;.ttl-seconds / pdms.cache.regions.&lt;region&gt;.max-entries
+ * </pre>
+ * The update timestamps region never expires: a query result is only trusted while the
+ * timestamps of its tables are known. Each node caches on its own, so the TTLs bound how long
+ * another node's writes can stay invisible.
+ */
+public class ExpiringRegionFactory extends RegionFactoryTemplate {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExpiringRegionFactory.class);
+
+    public static final String SETTINGS_PREFIX = "pdms.cache.";
+
+    private static final long DEFAULT_TTL_SECONDS = 600;
+    private static final int DEFAULT_MAX_ENTRIES = 10000;
+
+    private final Map<String, ExpiringStorageAccess> storages = new ConcurrentHashMap<>();
+    private Map<String, Object> settings = Collections.emptyMap();
+
+    @Override
+    protected void prepareForUse(SessionFactoryOptions settings, Map<String, Object> configValues) {
+        Map<String, Object> cacheSettings = new HashMap<>();
+        configValues.forEach((key, value) -> {
+            if (key.startsWith(SETTINGS_PREFIX) && value != null) {
+                cacheSettings.put(key.substring(SETTINGS_PREFIX.length()), value);
+            }
+        });
+        this.settings = cacheSettings;
+    }
+
+    @Override
+    protected void releaseFromUse() {
+        storages.values().forEach(ExpiringStorageAccess::release);
+        storages.clear();
+    }
+
+    @Override
+    protected DomainDataStorageAccess createDomainDataStorageAccess(
+            DomainDataRegionConfig regionConfig,
+            DomainDataRegionBuildingContext buildingContext) {
+        return createStorage(regionConfig.getRegionName());
+    }
+
+    @Override
+    protected StorageAccess createQueryResultsRegionStorageAccess(String regionName, SessionFactoryImplementor sessionFactory) {
+        return createStorage(regionName);
+    }
+
+    @Override
+    protected StorageAccess createTimestampsRegionStorageAccess(String regionName, SessionFactoryImplementor sessionFactory) {
+        ExpiringStorageAccess storage = new ExpiringStorageAccess(0, 0);
+        storages.put(regionName, storage);
+        return storage;
+    }
+
+    /**
+     * Get the number of entries of each region, including expired ones not yet dropped.
+     *
+     * @return Map of region name to entry count
+     */
+    public Map<String, Integer> getEntryCounts() {
+        Map<String, Integer> counts = new HashMap<>();
+        storages.forEach((name, storage) -> counts.put(name, storage.size()));
+        return counts;
+    }
+
+    private ExpiringStorageAccess createStorage(String regionName) {
+        long ttlSeconds = getLong("regions." + regionName + ".ttl-seconds", getLong("default.ttl-seconds", DEFAULT_TTL_SECONDS));
+        int maxEntries = (int) getLong("regions." + regionName + ".max-entries", getLong("default.max-entries", DEFAULT_MAX_ENTRIES));
+        logger.info("Cache region {}: ttl {}s, max {} entries", regionName, ttlSeconds, maxEntries);
+        ExpiringStorageAccess storage = new ExpiringStorageAccess(Math.max(0, ttlSeconds) * 1000, Math.max(0, maxEntries));
+        storages.put(regionName, storage);
+        return storage;
+    }
+
+    private long getLong(String key, long defaultValue) {
+        Object value = settings.get(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value.toString().trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cache setting " + SETTINGS_PREFIX + key + ": " + value, e);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.vtnet.pdms.infrastructure.cache;
+
+import org.hibernate.cache.spi.access.SoftLock;
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * In-memory storage of one cache region. Entries expire a fixed time after they were put, and
+ * once the region is full the expired entries are dropped first, then arbitrary ones, until a
+ * tenth of the region is free again.
+ * <p>
+ * Soft locks put by read-write regions while an entity is being updated are never expired or
+ * evicted: without its lock an entry could be reloaded with the old state before the update
+ * commits. Hibernate replaces a lock with the new state on commit, or overwrites it once it has
+ * timed out.
+ */
+class ExpiringStorageAccess implements DomainDataStorageAccess {
+
+    private final ConcurrentMap<Object, Entry> entries = new ConcurrentHashMap<>();
+    private final long ttlMillis;
+    private final int maxEntries;
+
+    /**
+     * @param ttlMillis Time an entry is kept, or 0 to keep entries until they are evicted
+     * @param maxEntries Maximum number of entries, or 0 for no limit
+     */
+    ExpiringStorageAccess(long ttlMillis, int maxEntries) {
+        this.ttlMillis = ttlMillis;
+        this.maxEntries = maxEntries;
+    }
+
+    @Override
+    public Object getFromCache(Object key, SharedSessionContractImplementor session) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.isExpired(System.currentTimeMillis())) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.value;
+    }
+
+    @Override
+    public void putIntoCache(Object key, Object value, SharedSessionContractImplementor session) {
+        if (maxEntries > 0 && entries.size() >= maxEntries && !entries.containsKey(key)) {
+            makeRoom();
+        }
+        long expiresAt = ttlMillis > 0 && !(value instanceof SoftLock)
+                ? System.currentTimeMillis() + ttlMillis : Long.MAX_VALUE;
+        entries.put(key, new Entry(value, expiresAt));
+    }
+
+    @Override
+    public boolean contains(Object key) {
+        return getFromCache(key, null) != null;
+    }
+
+    @Override
+    public void evictData() {
+        entries.clear();
+    }
+
+    @Override
+    public void evictData(Object key) {
+        entries.remove(key);
+    }
+
+    @Override
+    public void release() {
+        entries.clear();
+    }
+
+    /**
+     * @return The number of entries, including expired ones not yet dropped
+     */
+    int size() {
+        return entries.size();
+    }
+
+    long getTtlMillis() {
+        return ttlMillis;
+    }
+
+    int getMaxEntries() {
+        return maxEntries;
+    }
+
+    private void makeRoom() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(entry -> entry.isExpired(now));
+        int target = maxEntries - Math.max(1, maxEntries / 10);
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (entries.size() > target && iterator.hasNext()) {
+            if (!iterator.next().isLock()) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private static final class Entry {
+
+        private final Object value;
+        private final long expiresAt;
+
+        private Entry(Object value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+
+        private boolean isLock() {
+            return value instanceof SoftLock;
+        }
+    }
+}
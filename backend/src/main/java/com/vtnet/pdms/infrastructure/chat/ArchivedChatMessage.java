@@ -0,0 +1,30 @@
+package com.vtnet.pdms.infrastructure.chat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * A chat message as written to an archive file, with the names of the documents it referenced at
+ * the time it was archived.
+ *
+ * @param id The message ID
+ * @param conversationId The conversation ID
+ * @param userId The ID of the user the conversation belongs to
+ * @param messageType The message type (USER or BOT)
+ * @param content The message content
+ * @param sentAt The time the message was sent
+ * @param references The documents the message referenced
+ */
+public record ArchivedChatMessage(Long id, Long conversationId, Long userId, String messageType, String content,
+                                  LocalDateTime sentAt, List<Reference> references) {
+
+    /**
+     * A document referenced by an archived message.
+     *
+     * @param documentId The document ID
+     * @param documentName The document name
+     * @param relevanceScore The relevance score
+     */
+    public record Reference(Long documentId, String documentName, Float relevanceScore) {
+    }
+}
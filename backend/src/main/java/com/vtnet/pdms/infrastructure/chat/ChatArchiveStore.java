@@ -0,0 +1,176 @@
+package com.vtnet.pdms.infrastructure.chat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.vtnet.pdms.infrastructure.storage.StorageService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Reads and writes archive files of chat history: one message per line as JSON, gzip-compressed,
+ * one file per month and project under {@code chat-archive/}.
+ * <p>
+ * Files are written to a temporary file first and stored in one piece, so a failed archive run
+ * never leaves a partial file in storage.
+ */
+@Component
+public class ChatArchiveStore {
+
+    static final String ARCHIVE_PREFIX = "chat-archive";
+
+    private static final ObjectMapper MAPPER = JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    private static final ObjectWriter WRITER = MAPPER.writerFor(ArchivedChatMessage.class);
+    private static final ObjectReader READER = MAPPER.readerFor(ArchivedChatMessage.class);
+
+    private final StorageService storageService;
+
+    /**
+     * Constructor with dependency injection.
+     *
+     * @param storageService Service for file storage operations
+     */
+    @Autowired
+    public ChatArchiveStore(StorageService storageService) {
+        this.storageService = storageService;
+    }
+
+    /**
+     * Get the storage path of the archive of a month and project.
+     *
+     * @param month The month
+     * @param projectId The project ID, or null for global conversations
+     * @return The path relative to the storage root
+     */
+    public String getPath(YearMonth month, Long projectId) {
+        return ARCHIVE_PREFIX + "/" + month + "/" + (projectId != null ? "project-" + projectId : "global") + ".jsonl.gz";
+    }
+
+    /**
+     * Start writing an archive. Nothing is stored until {@link ArchiveWriter#store()} is called.
+     *
+     * @param path The storage path of the archive
+     * @return The writer; must be closed
+     * @throws IOException If the temporary file cannot be created
+     */
+    public ArchiveWriter open(String path) throws IOException {
+        return new ArchiveWriter(path);
+    }
+
+    /**
+     * Read the messages of an archive that match a filter.
+     *
+     * @param path The storage path of the archive
+     * @param filter The messages to return
+     * @return The matching messages, in the order they were written
+     * @throws IOException If the archive cannot be read
+     */
+    public List<ArchivedChatMessage> read(String path, Predicate<ArchivedChatMessage> filter) throws IOException {
+        List<ArchivedChatMessage> messages = new ArrayList<>();
+        try (InputStream inputStream = storageService.loadAsResource(path).getInputStream();
+             BufferedReader reader = new BufferedReader(new InputStreamReader(
+                     new GZIPInputStream(inputStream), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isEmpty()) {
+                    ArchivedChatMessage message = READER.readValue(line);
+                    if (filter.test(message)) {
+                        messages.add(message);
+                    }
+                }
+            }
+        }
+        return messages;
+    }
+
+    /**
+     * Delete an archive.
+     *
+     * @param path The storage path of the archive
+     * @return true if the archive was deleted
+     */
+    public boolean delete(String path) {
+        return storageService.delete(path);
+    }
+
+    /**
+     * Writes the messages of one archive to a temporary file and then stores it.
+     */
+    public class ArchiveWriter implements Closeable {
+
+        private final String path;
+        private final Path tempFile;
+        private final Writer writer;
+        private int messageCount;
+
+        private ArchiveWriter(String path) throws IOException {
+            this.path = path;
+            this.tempFile = Files.createTempFile("chat-archive-", ".jsonl.gz");
+            this.writer = new BufferedWriter(new OutputStreamWriter(
+                    new GZIPOutputStream(Files.newOutputStream(tempFile)), StandardCharsets.UTF_8));
+        }
+
+        /**
+         * Append a message.
+         *
+         * @param message The message
+         * @throws IOException If the message cannot be written
+         */
+        public void append(ArchivedChatMessage message) throws IOException {
+            writer.write(WRITER.writeValueAsString(message));
+            writer.write('\n');
+            messageCount++;
+        }
+
+        public int getMessageCount() {
+            return messageCount;
+        }
+
+        /**
+         * Finish the archive and store it, replacing any archive already stored under its path.
+         *
+         * @return The storage path of the archive
+         * @throws IOException If the archive cannot be stored
+         */
+        public String store() throws IOException {
+            writer.close();
+            try (InputStream inputStream = Files.newInputStream(tempFile)) {
+                storageService.store(inputStream, path);
+            }
+            return path;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                writer.close();
+            } finally {
+                Files.deleteIfExists(tempFile);
+            }
+        }
+    }
+}
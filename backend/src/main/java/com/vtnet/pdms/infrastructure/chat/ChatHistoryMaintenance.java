@@ -0,0 +1,291 @@
+package com.vtnet.pdms.infrastructure.chat;
+
+import com.vtnet.pdms.domain.model.ChatArchive;
+import com.vtnet.pdms.domain.model.Project;
+import com.vtnet.pdms.domain.repository.ChatArchiveRepository;
+import com.vtnet.pdms.domain.repository.ChatMessageRepository;
+import com.vtnet.pdms.domain.repository.ChatMessageRepository.ArchiveMessageView;
+import com.vtnet.pdms.domain.repository.ChatReferenceRepository;
+import com.vtnet.pdms.domain.repository.ChatReferenceRepository.ArchiveReferenceView;
+import com.vtnet.pdms.domain.repository.ProjectRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Applies the retention policy to chat history and archives cold months.
+ * <p>
+ * Each project keeps its chat history for its own number of days, or the default retention if it
+ * has none; 0 keeps it forever. Months older than the archive age are written to one compressed
+ * file per project in storage and then removed from the database, by dropping their partitions
+ * where the tables are partitioned. Archived messages stay readable through the history API;
+ * archives are deleted once their whole month is past retention, or when their project is gone.
+ */
+@Service
+public class ChatHistoryMaintenance {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChatHistoryMaintenance.class);
+
+    private final ChatMessageRepository chatMessageRepository;
+    private final ChatReferenceRepository chatReferenceRepository;
+    private final ChatArchiveRepository chatArchiveRepository;
+    private final ProjectRepository projectRepository;
+    private final ChatArchiveStore chatArchiveStore;
+    private final ChatPartitionManager chatPartitionManager;
+    private final TransactionTemplate transactionTemplate;
+    private final int defaultRetentionDays;
+    private final int archiveAfterMonths;
+    private final int partitionsAhead;
+    private final int batchSize;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    /**
+     * Constructor with dependency injection.
+     *
+     * @param chatMessageRepository Repository for chat message operations
+     * @param chatReferenceRepository Repository for chat reference operations
+     * @param chatArchiveRepository Repository for chat archive operations
+     * @param projectRepository Repository for project operations
+     * @param chatArchiveStore Store for chat archive files
+     * @param chatPartitionManager Manager of the chat table partitions
+     * @param transactionManager Transaction manager for retention deletes
+     * @param defaultRetentionDays Days chat history is kept for projects without their own retention, 0 for ever
+     * @param archiveAfterMonths Number of months, including the current one, kept in the database
+     * @param partitionsAhead Number of months after the current one that get partitions in advance
+     * @param batchSize Number of messages read from the database per query while archiving
+     */
+    @Autowired
+    public ChatHistoryMaintenance(
+            ChatMessageRepository chatMessageRepository,
+            ChatReferenceRepository chatReferenceRepository,
+            ChatArchiveRepository chatArchiveRepository,
+            ProjectRepository projectRepository,
+            ChatArchiveStore chatArchiveStore,
+            ChatPartitionManager chatPartitionManager,
+            PlatformTransactionManager transactionManager,
+            @Value("${chat.retention.default-days:0}") int defaultRetentionDays,
+            @Value("${chat.archive.after-months:6}") int archiveAfterMonths,
+            @Value("${chat.partitions.months-ahead:2}") int partitionsAhead,
+            @Value("${chat.archive.batch-size:1000}") int batchSize) {
+        this.chatMessageRepository = chatMessageRepository;
+        this.chatReferenceRepository = chatReferenceRepository;
+        this.chatArchiveRepository = chatArchiveRepository;
+        this.projectRepository = projectRepository;
+        this.chatArchiveStore = chatArchiveStore;
+        this.chatPartitionManager = chatPartitionManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.defaultRetentionDays = defaultRetentionDays;
+        this.archiveAfterMonths = Math.max(1, archiveAfterMonths);
+        this.partitionsAhead = partitionsAhead;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * Get the time before which a project's chat history has expired.
+     *
+     * @param project The project, or null for global conversations
+     * @return The cutoff, or null if the history is kept forever
+     */
+    public LocalDateTime getRetentionCutoff(Project project) {
+        int days = project != null && project.getChatRetentionDays() != null
+                ? project.getChatRetentionDays() : defaultRetentionDays;
+        return days > 0 ? LocalDateTime.now().minusDays(days) : null;
+    }
+
+    /**
+     * Delete the messages and references of a project's conversations, and the references of
+     * other conversations to its documents, in the caller's transaction. The chat tables have no
+     * foreign keys, so deleting the project would leave them behind. The project's archives are
+     * deleted by the next maintenance run.
+     *
+     * @param projectId The project ID
+     * @return Number of deleted messages
+     */
+    public int deleteProjectHistory(Long projectId) {
+        chatReferenceRepository.deleteByProjectId(projectId);
+        return chatMessageRepository.deleteByProjectId(projectId);
+    }
+
+    /**
+     * Delete the messages and references of a user's conversations in the caller's transaction.
+     * The chat tables have no foreign keys, so deleting the user would leave them behind.
+     *
+     * @param userId The user ID
+     * @return Number of deleted messages
+     */
+    public int deleteUserHistory(Long userId) {
+        chatReferenceRepository.deleteByUserId(userId);
+        return chatMessageRepository.deleteByUserId(userId);
+    }
+
+    /**
+     * Create upcoming partitions, apply retention and archive cold months.
+     *
+     * @throws IOException If an archive cannot be written
+     * @throws IllegalStateException If maintenance is already running
+     */
+    public void run() throws IOException {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("Chat history maintenance is already running");
+        }
+        try {
+            chatPartitionManager.createPartitionsThrough(YearMonth.now().plusMonths(partitionsAhead));
+            applyRetention();
+            archive(YearMonth.now().minusMonths(archiveAfterMonths - 1));
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Delete the chat history that is past the retention of its project, in the database and in
+     * archives, and the archives of deleted projects.
+     */
+    public void applyRetention() {
+        for (Project project : projectRepository.findAll()) {
+            LocalDateTime cutoff = getRetentionCutoff(project);
+            if (cutoff == null) {
+                continue;
+            }
+            int deleted = transactionTemplate.execute(status -> {
+                chatReferenceRepository.deleteByProjectIdSentBefore(project.getId(), cutoff);
+                return chatMessageRepository.deleteByProjectIdSentBefore(project.getId(), cutoff);
+            });
+            int archives = deleteArchives(chatArchiveRepository.findByProjectIdAndMonthBefore(
+                    project.getId(), YearMonth.from(cutoff).atDay(1)));
+            if (deleted > 0 || archives > 0) {
+                logger.info("Deleted {} chat messages and {} archives of project {} sent before {}",
+                        deleted, archives, project.getId(), cutoff);
+            }
+        }
+
+        LocalDateTime globalCutoff = getRetentionCutoff(null);
+        if (globalCutoff != null) {
+            int deleted = transactionTemplate.execute(status -> {
+                chatReferenceRepository.deleteGlobalSentBefore(globalCutoff);
+                return chatMessageRepository.deleteGlobalSentBefore(globalCutoff);
+            });
+            int archives = deleteArchives(chatArchiveRepository.findByProjectIdIsNullAndMonthBefore(
+                    YearMonth.from(globalCutoff).atDay(1)));
+            if (deleted > 0 || archives > 0) {
+                logger.info("Deleted {} global chat messages and {} archives sent before {}",
+                        deleted, archives, globalCutoff);
+            }
+        }
+
+        int orphaned = deleteArchives(chatArchiveRepository.findOfDeletedProjects());
+        if (orphaned > 0) {
+            logger.info("Deleted {} chat archives of deleted projects", orphaned);
+        }
+    }
+
+    /**
+     * Archive every month before a month and remove it from the database.
+     *
+     * @param before The first month to keep in the database
+     * @return Number of archived months
+     * @throws IOException If an archive cannot be written
+     */
+    public int archive(YearMonth before) throws IOException {
+        LocalDateTime oldest = chatMessageRepository.findOldestSentAtBefore(before.atDay(1).atStartOfDay());
+        int months = 0;
+        if (oldest != null) {
+            for (YearMonth month = YearMonth.from(oldest); month.isBefore(before); month = month.plusMonths(1)) {
+                archiveMonth(month);
+                chatPartitionManager.removeMonth(month);
+                months++;
+            }
+        }
+        chatPartitionManager.dropPartitionsBefore(before);
+        return months;
+    }
+
+    /**
+     * Writes the archives of one month, one per project with messages in it. Archives written by
+     * an earlier run that failed before the month was removed are replaced.
+     */
+    private void archiveMonth(YearMonth month) throws IOException {
+        LocalDateTime from = month.atDay(1).atStartOfDay();
+        LocalDateTime to = month.plusMonths(1).atDay(1).atStartOfDay();
+        int messages = 0;
+        List<Long> projectIds = chatMessageRepository.findProjectIdsSentBetween(from, to);
+        for (Long projectId : projectIds) {
+            String path = chatArchiveStore.getPath(month, projectId);
+            try (ChatArchiveStore.ArchiveWriter writer = chatArchiveStore.open(path)) {
+                long afterId = 0;
+                List<ArchiveMessageView> batch;
+                do {
+                    PageRequest page = PageRequest.of(0, batchSize);
+                    batch = projectId != null
+                            ? chatMessageRepository.findArchiveBatchByProjectId(projectId, from, to, afterId, page)
+                            : chatMessageRepository.findGlobalArchiveBatch(from, to, afterId, page);
+                    if (batch.isEmpty()) {
+                        break;
+                    }
+                    Map<Long, List<ArchivedChatMessage.Reference>> references = loadReferences(batch, from, to);
+                    for (ArchiveMessageView message : batch) {
+                        writer.append(new ArchivedChatMessage(message.getId(), message.getConversationId(),
+                                message.getUserId(), message.getMessageType(), message.getContent(),
+                                message.getSentAt(), references.getOrDefault(message.getId(), List.of())));
+                    }
+                    afterId = batch.get(batch.size() - 1).getId();
+                } while (batch.size() == batchSize);
+
+                writer.store();
+                saveArchive(month, projectId, path, writer.getMessageCount());
+                messages += writer.getMessageCount();
+            }
+        }
+        logger.info("Archived {} chat messages of {} in {} archives", messages, month, projectIds.size());
+    }
+
+    private Map<Long, List<ArchivedChatMessage.Reference>> loadReferences(
+            List<ArchiveMessageView> batch, LocalDateTime from, LocalDateTime to) {
+        List<Long> messageIds = batch.stream().map(ArchiveMessageView::getId).collect(Collectors.toList());
+        Map<Long, List<ArchivedChatMessage.Reference>> references = new HashMap<>();
+        for (ArchiveReferenceView reference : chatReferenceRepository.findArchiveViewsByMessageIds(messageIds, from, to)) {
+            references.computeIfAbsent(reference.getMessageId(), id -> new ArrayList<>())
+                    .add(new ArchivedChatMessage.Reference(reference.getDocumentId(), reference.getDocumentName(),
+                            reference.getRelevanceScore()));
+        }
+        return references;
+    }
+
+    private void saveArchive(YearMonth month, Long projectId, String path, int messageCount) {
+        ChatArchive archive = (projectId != null
+                ? chatArchiveRepository.findByMonthAndProjectId(month.atDay(1), projectId)
+                : chatArchiveRepository.findByMonthAndProjectIdIsNull(month.atDay(1)))
+                .orElseGet(() -> new ChatArchive(month.atDay(1), projectId, path, messageCount));
+        archive.setStoragePath(path);
+        archive.setMessageCount(messageCount);
+        archive.setArchivedAt(LocalDateTime.now());
+        chatArchiveRepository.save(archive);
+    }
+
+    private int deleteArchives(List<ChatArchive> archives) {
+        int deleted = 0;
+        for (ChatArchive archive : archives) {
+            if (!chatArchiveStore.delete(archive.getStoragePath())) {
+                logger.warn("Chat archive file was already gone: {}", archive.getStoragePath());
+            }
+            chatArchiveRepository.delete(archive);
+            deleted++;
+        }
+        return deleted;
+    }
+}
@@ -0,0 +1,41 @@
+package com.vtnet.pdms.infrastructure.chat;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Background job that periodically creates chat partitions, applies chat retention and archives
+ * cold months of chat history.
+ */
+@Component
+@ConditionalOnProperty(name = "chat.maintenance.enabled", havingValue = "true")
+public class ChatMaintenanceJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChatMaintenanceJob.class);
+
+    private final ChatHistoryMaintenance chatHistoryMaintenance;
+
+    /**
+     * Constructor with dependency injection.
+     *
+     * @param chatHistoryMaintenance Retention and archival of chat history
+     */
+    @Autowired
+    public ChatMaintenanceJob(ChatHistoryMaintenance chatHistoryMaintenance) {
+        this.chatHistoryMaintenance = chatHistoryMaintenance;
+    }
+
+    @Scheduled(fixedDelayString = "${chat.maintenance.interval:PT24H}",
+               initialDelayString = "${chat.maintenance.initial-delay:PT1M}")
+    public void run() {
+        try {
+            chatHistoryMaintenance.run();
+        } catch (Exception e) {
+            logger.error("Chat history maintenance failed", e);
+        }
+    }
+}
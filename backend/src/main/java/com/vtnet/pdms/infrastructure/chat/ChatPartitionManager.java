@@ -0,0 +1,178 @@
+package com.vtnet.pdms.infrastructure.chat;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+/**
+ * Maintains the monthly range partitions of the chat tables (see migration V12).
+ * <p>
+ * Months are split off the {@code pmax} partition ahead of time, while it is still empty, so new
+ * messages always land in a monthly partition. Archived months are removed by dropping their
+ * partitions, which frees the space at once instead of deleting row by row. On databases without
+ * partitioning the same operations fall back to deleting rows by sent time.
+ */
+@Component
+public class ChatPartitionManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChatPartitionManager.class);
+
+    static final String MESSAGES_TABLE = "chatbot_messages";
+    static final String REFERENCES_TABLE = "chatbot_references";
+
+    private static final String MAX_PARTITION = "pmax";
+    private static final DateTimeFormatter PARTITION_NAME = DateTimeFormatter.ofPattern("'p'yyyyMM");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private volatile Boolean partitioned;
+
+    /**
+     * Constructor with dependency injection.
+     *
+     * @param jdbcTemplate JDBC template
+     * @param transactionManager Transaction manager for row deletes
+     */
+    @Autowired
+    public ChatPartitionManager(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Check whether the chat tables are partitioned, which requires MySQL.
+     *
+     * @return true if the chat tables are partitioned
+     */
+    public boolean isPartitioned() {
+        if (partitioned == null) {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName());
+            partitioned = "MySQL".equalsIgnoreCase(product) && !getPartitions(MESSAGES_TABLE).isEmpty();
+        }
+        return partitioned;
+    }
+
+    /**
+     * Create the monthly partitions up to and including a month, on both chat tables.
+     *
+     * @param through The last month that must have a partition
+     * @return Number of partitions created per table
+     */
+    public int createPartitionsThrough(YearMonth through) {
+        if (!isPartitioned()) {
+            return 0;
+        }
+        int created = 0;
+        for (String table : List.of(MESSAGES_TABLE, REFERENCES_TABLE)) {
+            NavigableSet<YearMonth> existing = getPartitions(table);
+            YearMonth next = existing.isEmpty() ? YearMonth.now() : existing.last().plusMonths(1);
+            List<String> definitions = new ArrayList<>();
+            for (YearMonth month = next; !month.isAfter(through); month = month.plusMonths(1)) {
+                definitions.add("PARTITION " + month.format(PARTITION_NAME) + " VALUES LESS THAN ('"
+                        + month.plusMonths(1).atDay(1) + "')");
+            }
+            if (!definitions.isEmpty()) {
+                definitions.add("PARTITION " + MAX_PARTITION + " VALUES LESS THAN (MAXVALUE)");
+                jdbcTemplate.execute("ALTER TABLE " + table + " REORGANIZE PARTITION " + MAX_PARTITION
+                        + " INTO (" + String.join(", ", definitions) + ")");
+                logger.info("Created {} chat partitions of {} through {}", definitions.size() - 1, table, through);
+                created = definitions.size() - 1;
+            }
+        }
+        return created;
+    }
+
+    /**
+     * Remove the messages and references sent in a month. The partitions of the month are dropped
+     * if they exist; otherwise the rows are deleted.
+     *
+     * @param month The month
+     */
+    public void removeMonth(YearMonth month) {
+        if (isPartitioned()) {
+            // Messages first: if the second drop fails, only references without messages are left,
+            // and those are dropped with the empty partitions
+            for (String table : List.of(MESSAGES_TABLE, REFERENCES_TABLE)) {
+                if (getPartitions(table).contains(month)) {
+                    dropPartition(table, month);
+                } else {
+                    deleteRows(table, month);
+                }
+            }
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            deleteRows(REFERENCES_TABLE, month);
+            deleteRows(MESSAGES_TABLE, month);
+        });
+    }
+
+    /**
+     * Drop the partitions of months before a month. They must already be archived or empty.
+     *
+     * @param month The first month to keep
+     * @return Number of partitions dropped
+     */
+    public int dropPartitionsBefore(YearMonth month) {
+        if (!isPartitioned()) {
+            return 0;
+        }
+        int dropped = 0;
+        for (String table : List.of(MESSAGES_TABLE, REFERENCES_TABLE)) {
+            for (YearMonth partition : getPartitions(table)) {
+                if (partition.isBefore(month)) {
+                    dropPartition(table, partition);
+                    dropped++;
+                }
+            }
+        }
+        return dropped;
+    }
+
+    private void dropPartition(String table, YearMonth month) {
+        jdbcTemplate.execute("ALTER TABLE " + table + " DROP PARTITION " + month.format(PARTITION_NAME));
+        logger.info("Dropped chat partition {} of {}", month, table);
+    }
+
+    private void deleteRows(String table, YearMonth month) {
+        jdbcTemplate.update("DELETE FROM " + table + " WHERE sent_at >= ? AND sent_at < ?",
+                Timestamp.valueOf(month.atDay(1).atStartOfDay()),
+                Timestamp.valueOf(month.plusMonths(1).atDay(1).atStartOfDay()));
+    }
+
+    /**
+     * Reads the months of a table's monthly partitions from the information schema.
+     */
+    private NavigableSet<YearMonth> getPartitions(String table) {
+        List<String> names = jdbcTemplate.queryForList(
+                "SELECT PARTITION_NAME FROM information_schema.PARTITIONS "
+                        + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND PARTITION_NAME IS NOT NULL",
+                String.class, table);
+        NavigableSet<YearMonth> months = new TreeSet<>();
+        for (String name : names) {
+            if (!MAX_PARTITION.equals(name)) {
+                try {
+                    months.add(YearMonth.parse(name, PARTITION_NAME));
+                } catch (DateTimeParseException e) {
+                    logger.warn("Ignoring chat partition {} of {} with unexpected name", name, table);
+                }
+            }
+        }
+        return months;
+    }
+}
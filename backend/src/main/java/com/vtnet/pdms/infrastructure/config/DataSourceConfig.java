@@ -0,0 +1,133 @@
+package com.vtnet.pdms.infrastructure.config;
+
+import com.vtnet.pdms.infrastructure.datasource.ReadWriteRoutingDataSource;
+import com.vtnet.pdms.infrastructure.datasource.ReplicaDataSource;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration for routing read-only transactions to MySQL read replicas.
+ * Active when {@code datasource.replicas.enabled} is true; otherwise Spring Boot configures a
+ * single data source from {@code spring.datasource}.
+ * <p>
+ * The primary uses {@code spring.datasource} and {@code spring.datasource.hikari}. Each replica
+ * URL gets its own pool with the primary's settings and credentials unless replica ones are set.
+ * Replicas start out unhealthy and only receive reads after their first successful health check.
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.replicas.enabled", havingValue = "true")
+public class DataSourceConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(DataSourceConfig.class);
+
+    @Value("${datasource.replicas.urls}")
+    private String[] replicaUrls;
+
+    @Value("${datasource.replicas.username:}")
+    private String replicaUsername;
+
+    @Value("${datasource.replicas.password:}")
+    private String replicaPassword;
+
+    @Value("${datasource.replicas.maximum-pool-size:0}")
+    private int replicaMaximumPoolSize;
+
+    @Value("${datasource.replicas.read-your-writes-window:PT5S}")
+    private Duration readYourWritesWindow;
+
+    @Value("${datasource.replicas.lag-query:}")
+    private String lagQuery;
+
+    @Value("${datasource.replicas.max-lag:PT10S}")
+    private Duration maxLag;
+
+    @Value("${datasource.replicas.health-check-timeout:PT2S}")
+    private Duration healthCheckTimeout;
+
+    /**
+     * Creates the connection pool of the primary database.
+     *
+     * @param properties The spring.datasource properties
+     * @return The primary pool
+     */
+    @Bean(destroyMethod = "close")
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName(ReadWriteRoutingDataSource.PRIMARY);
+        return dataSource;
+    }
+
+    /**
+     * Creates a pool for each replica and the data source routing between them and the primary.
+     *
+     * @param primaryDataSource The primary pool
+     * @return The routing data source
+     */
+    @Bean
+    public ReadWriteRoutingDataSource routingDataSource(HikariDataSource primaryDataSource) {
+        List<ReplicaDataSource> replicas = new ArrayList<>();
+        for (String url : replicaUrls) {
+            if (StringUtils.hasText(url)) {
+                String name = "replica-" + (replicas.size() + 1);
+                replicas.add(new ReplicaDataSource(name, createReplicaPool(primaryDataSource, name, url.trim())));
+            }
+        }
+        if (replicas.isEmpty()) {
+            throw new IllegalStateException("datasource.replicas.urls must list at least one replica URL");
+        }
+
+        ReadWriteRoutingDataSource routingDataSource =
+                new ReadWriteRoutingDataSource(primaryDataSource, replicas, readYourWritesWindow);
+        int healthy = routingDataSource.checkReplicas(lagQuery, maxLag, healthCheckTimeout);
+        logger.info("Routing read-only transactions to {} read replicas, {} healthy", replicas.size(), healthy);
+        return routingDataSource;
+    }
+
+    /**
+     * Creates the application data source. Connections are only fetched when first used, by
+     * which time the transaction's read-only flag is known.
+     *
+     * @param routingDataSource The routing data source
+     * @return The application data source
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    private HikariDataSource createReplicaPool(HikariDataSource primaryDataSource, String name, String url) {
+        HikariConfig config = new HikariConfig();
+        primaryDataSource.copyStateTo(config);
+        config.setPoolName(name);
+        config.setJdbcUrl(url);
+        config.setReadOnly(true);
+        // A replica that is down at startup must not stop the application
+        config.setInitializationFailTimeout(-1);
+        if (StringUtils.hasText(replicaUsername)) {
+            config.setUsername(replicaUsername);
+            config.setPassword(replicaPassword);
+        }
+        if (replicaMaximumPoolSize > 0) {
+            config.setMaximumPoolSize(replicaMaximumPoolSize);
+        }
+        return new HikariDataSource(config);
+    }
+}
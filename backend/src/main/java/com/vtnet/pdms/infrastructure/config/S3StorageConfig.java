@@ -0,0 +1,98 @@
+package com.vtnet.pdms.infrastructure.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3ClientBuilder;
+import software.amazon.awssdk.services.s3.S3Configuration;
+import software.amazon.awssdk.services.s3.model.CreateBucketRequest;
+import software.amazon.awssdk.services.s3.model.HeadBucketRequest;
+import software.amazon.awssdk.services.s3.model.NoSuchBucketException;
+
+import java.net.URI;
+
+/**
+ * Configuration for S3-compatible object storage.
+ * Active when {@code storage.type} is set to {@code s3}; works with AWS S3, MinIO and other compatible stores.
+ */
+@Configuration
+@ConditionalOnProperty(name = "storage.type", havingValue = "s3")
+public class S3StorageConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(S3StorageConfig.class);
+
+    @Value("${storage.s3.endpoint:}")
+    private String endpoint;
+
+    @Value("${storage.s3.region:us-east-1}")
+    private String region;
+
+    @Value("${storage.s3.access-key:}")
+    private String accessKey;
+
+    @Value("${storage.s3.secret-key:}")
+    private String secretKey;
+
+    @Value("${storage.s3.path-style-access:true}")
+    private boolean pathStyleAccess;
+
+    @Value("${storage.s3.bucket}")
+    private String bucket;
+
+    @Value("${storage.s3.create-bucket:false}")
+    private boolean createBucket;
+
+    @Value("${storage.s3.max-connections:50}")
+    private int maxConnections;
+
+    /**
+     * Creates the S3 client and makes sure the document bucket exists.
+     *
+     * @return The S3 client
+     */
+    @Bean(destroyMethod = "close")
+    public S3Client s3Client() {
+        S3ClientBuilder builder = S3Client.builder()
+                .region(Region.of(region))
+                .httpClientBuilder(ApacheHttpClient.builder().maxConnections(maxConnections))
+                .serviceConfiguration(S3Configuration.builder()
+                        .pathStyleAccessEnabled(pathStyleAccess)
+                        .build());
+
+        if (StringUtils.hasText(endpoint)) {
+            builder.endpointOverride(URI.create(endpoint));
+        }
+
+        if (StringUtils.hasText(accessKey)) {
+            builder.credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create(accessKey, secretKey)));
+        } else {
+            builder.credentialsProvider(DefaultCredentialsProvider.create());
+        }
+
+        S3Client client = builder.build();
+        ensureBucket(client);
+        return client;
+    }
+
+    private void ensureBucket(S3Client client) {
+        try {
+            client.headBucket(HeadBucketRequest.builder().bucket(bucket).build());
+        } catch (NoSuchBucketException e) {
+            if (!createBucket) {
+                throw new IllegalStateException("Storage bucket does not exist: " + bucket, e);
+            }
+            logger.info("Creating storage bucket: {}", bucket);
+            client.createBucket(CreateBucketRequest.builder().bucket(bucket).build());
+        }
+    }
+}
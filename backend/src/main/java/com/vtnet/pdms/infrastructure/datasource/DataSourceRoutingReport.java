@@ -0,0 +1,132 @@
+package com.vtnet.pdms.infrastructure.datasource;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Routing counters and connection pool state of the primary and read replica data sources.
+ */
+public class DataSourceRoutingReport {
+
+    public static final String ROLE_PRIMARY = "PRIMARY";
+    public static final String ROLE_REPLICA = "REPLICA";
+
+    private final LocalDateTime collectedAt = LocalDateTime.now();
+    private final long readYourWritesReads;
+    private final long failoverReads;
+    private final int recentWriters;
+    private final List<PoolStatistics> pools = new ArrayList<>();
+
+    public DataSourceRoutingReport(long readYourWritesReads, long failoverReads, int recentWriters) {
+        this.readYourWritesReads = readYourWritesReads;
+        this.failoverReads = failoverReads;
+        this.recentWriters = recentWriters;
+    }
+
+    void addPool(PoolStatistics pool) {
+        pools.add(pool);
+    }
+
+    // Getters
+    public LocalDateTime getCollectedAt() {
+        return collectedAt;
+    }
+
+    /**
+     * @return Read-only connections sent to the primary because the user wrote recently
+     */
+    public long getReadYourWritesReads() {
+        return readYourWritesReads;
+    }
+
+    /**
+     * @return Read-only connections sent to the primary because no replica was healthy
+     */
+    public long getFailoverReads() {
+        return failoverReads;
+    }
+
+    /**
+     * @return Users whose reads currently go to the primary
+     */
+    public int getRecentWriters() {
+        return recentWriters;
+    }
+
+    public List<PoolStatistics> getPools() {
+        return new ArrayList<>(pools);
+    }
+
+    /**
+     * State of one connection pool. Connection counts are -1 if the pool does not report them.
+     */
+    public static class PoolStatistics {
+
+        private final String name;
+        private final String role;
+        private final boolean healthy;
+        private final long lagSeconds;
+        private final long routedConnections;
+        private final int activeConnections;
+        private final int idleConnections;
+        private final int totalConnections;
+        private final int threadsAwaitingConnection;
+        private final String lastError;
+
+        public PoolStatistics(String name, String role, boolean healthy, long lagSeconds, long routedConnections,
+                              int activeConnections, int idleConnections, int totalConnections,
+                              int threadsAwaitingConnection, String lastError) {
+            this.name = name;
+            this.role = role;
+            this.healthy = healthy;
+            this.lagSeconds = lagSeconds;
+            this.routedConnections = routedConnections;
+            this.activeConnections = activeConnections;
+            this.idleConnections = idleConnections;
+            this.totalConnections = totalConnections;
+            this.threadsAwaitingConnection = threadsAwaitingConnection;
+            this.lastError = lastError;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getRole() {
+            return role;
+        }
+
+        public boolean isHealthy() {
+            return healthy;
+        }
+
+        public long getLagSeconds() {
+            return lagSeconds;
+        }
+
+        public long getRoutedConnections() {
+            return routedConnections;
+        }
+
+        public int getActiveConnections() {
+            return activeConnections;
+        }
+
+        public int getIdleConnections() {
+            return idleConnections;
+        }
+
+        public int getTotalConnections() {
+            return totalConnections;
+        }
+
+        public int getThreadsAwaitingConnection() {
+            return threadsAwaitingConnection;
+        }
+
+        public String getLastError() {
+            return lastError;
+        }
+    }
+}
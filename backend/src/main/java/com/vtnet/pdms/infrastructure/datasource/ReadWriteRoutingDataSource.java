@@ -0,0 +1,215 @@
+package com.vtnet.pdms.infrastructure.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Routes connections of read-only transactions to healthy read replicas, round robin, and all
+ * other connections to the primary.
+ * <p>
+ * The routing decision is made when a connection is requested, so this data source must be
+ * wrapped in a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}; otherwise
+ * the transaction manager takes the connection before the transaction is marked read-only.
+ * <p>
+ * Reads of a user who ran a read-write transaction within the read-your-writes window go to the
+ * primary, so they see their own changes even while the replicas lag behind. The window is
+ * counted from the commit of the transaction, however long the transaction ran.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    public static final String PRIMARY = "primary";
+
+    private final DataSource primary;
+    private final List<ReplicaDataSource> replicas;
+    private final long readYourWritesWindowNanos;
+    private final ConcurrentMap<String, Long> recentWriters = new ConcurrentHashMap<>();
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final AtomicLong primaryConnections = new AtomicLong();
+    private final AtomicLong readYourWritesReads = new AtomicLong();
+    private final AtomicLong failoverReads = new AtomicLong();
+
+    /**
+     * @param primary The primary data source
+     * @param replicas The read replicas; none is used before its first successful health check
+     * @param readYourWritesWindow Time after a read-write transaction during which the user's reads go to the primary
+     */
+    public ReadWriteRoutingDataSource(DataSource primary, List<ReplicaDataSource> replicas, Duration readYourWritesWindow) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.readYourWritesWindowNanos = readYourWritesWindow.toNanos();
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (ReplicaDataSource replica : this.replicas) {
+            targets.put(replica.getName(), replica.getDataSource());
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                recordWrite();
+            }
+            primaryConnections.incrementAndGet();
+            return PRIMARY;
+        }
+
+        String user = currentUser();
+        if (user != null && hasRecentWrite(user)) {
+            readYourWritesReads.incrementAndGet();
+            primaryConnections.incrementAndGet();
+            return PRIMARY;
+        }
+
+        ReplicaDataSource replica = nextHealthyReplica();
+        if (replica == null) {
+            failoverReads.incrementAndGet();
+            primaryConnections.incrementAndGet();
+            return PRIMARY;
+        }
+        replica.connectionRouted();
+        return replica.getName();
+    }
+
+    /**
+     * Run a health check on every replica.
+     *
+     * @param lagQuery Query returning the replication lag in seconds, or empty to skip the lag check
+     * @param maxLag Maximum replication lag of a healthy replica
+     * @param timeout Timeout of each check
+     * @return Number of healthy replicas
+     */
+    public int checkReplicas(String lagQuery, Duration maxLag, Duration timeout) {
+        int healthy = 0;
+        for (ReplicaDataSource replica : replicas) {
+            if (replica.checkHealth(lagQuery, maxLag, timeout)) {
+                healthy++;
+            }
+        }
+        pruneRecentWriters();
+        return healthy;
+    }
+
+    /**
+     * Get the routing counters and the connection counts of each pool.
+     *
+     * @return The routing statistics
+     */
+    public DataSourceRoutingReport getStatistics() {
+        DataSourceRoutingReport report = new DataSourceRoutingReport(
+                readYourWritesReads.get(), failoverReads.get(), recentWriters.size());
+        report.addPool(poolStatistics(PRIMARY, DataSourceRoutingReport.ROLE_PRIMARY, primary, true, 0,
+                primaryConnections.get(), null));
+        for (ReplicaDataSource replica : replicas) {
+            report.addPool(poolStatistics(replica.getName(), DataSourceRoutingReport.ROLE_REPLICA,
+                    replica.getDataSource(), replica.isHealthy(), replica.getLagSeconds(),
+                    replica.getRoutedConnections(), replica.getLastError()));
+        }
+        return report;
+    }
+
+    @Override
+    public void destroy() {
+        for (ReplicaDataSource replica : replicas) {
+            if (replica.getDataSource() instanceof HikariDataSource hikariDataSource) {
+                hikariDataSource.close();
+            }
+        }
+    }
+
+    private ReplicaDataSource nextHealthyReplica() {
+        int count = replicas.size();
+        if (count == 0) {
+            return null;
+        }
+        int start = Math.floorMod(nextReplica.getAndIncrement(), count);
+        for (int i = 0; i < count; i++) {
+            ReplicaDataSource replica = replicas.get((start + i) % count);
+            if (replica.isHealthy()) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    private void recordWrite() {
+        String user = currentUser();
+        if (user == null || readYourWritesWindowNanos <= 0) {
+            return;
+        }
+        refreshRecentWrite(user);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Start the window again once the changes are visible to other transactions
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    refreshRecentWrite(user);
+                }
+            });
+        }
+    }
+
+    private void refreshRecentWrite(String user) {
+        recentWriters.put(user, System.nanoTime() + readYourWritesWindowNanos);
+    }
+
+    private boolean hasRecentWrite(String user) {
+        Long until = recentWriters.get(user);
+        return until != null && System.nanoTime() - until < 0;
+    }
+
+    private void pruneRecentWriters() {
+        long now = System.nanoTime();
+        recentWriters.values().removeIf(until -> now - until >= 0);
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+
+    private static DataSourceRoutingReport.PoolStatistics poolStatistics(
+            String name, String role, DataSource dataSource, boolean healthy, long lagSeconds,
+            long routedConnections, String lastError) {
+        int active = -1;
+        int idle = -1;
+        int total = -1;
+        int waiting = -1;
+        if (dataSource instanceof HikariDataSource hikariDataSource) {
+            HikariPoolMXBean pool = hikariDataSource.getHikariPoolMXBean();
+            if (pool != null) {
+                active = pool.getActiveConnections();
+                idle = pool.getIdleConnections();
+                total = pool.getTotalConnections();
+                waiting = pool.getThreadsAwaitingConnection();
+            }
+        }
+        return new DataSourceRoutingReport.PoolStatistics(name, role, healthy, lagSeconds, routedConnections,
+                active, idle, total, waiting, lastError);
+    }
+}
@@ -0,0 +1,140 @@
+package com.vtnet.pdms.infrastructure.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A read replica behind the routing data source, with the outcome of its last health check.
+ * <p>
+ * A replica is used for reads only while its last check succeeded. Without a lag query the check
+ * only validates a connection. With one, the query must return the replication lag in seconds in
+ * its {@code Seconds_Behind_Source} column (as MySQL's {@code SHOW REPLICA STATUS} does) or in its
+ * first column; no row or a null lag, such as with replication stopped, counts as unhealthy.
+ */
+public class ReplicaDataSource {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaDataSource.class);
+
+    private static final String LAG_COLUMN = "Seconds_Behind_Source";
+
+    private final String name;
+    private final DataSource dataSource;
+    private final AtomicLong routedConnections = new AtomicLong();
+    private volatile boolean healthy;
+    private volatile long lagSeconds = -1;
+    private volatile String lastError;
+
+    public ReplicaDataSource(String name, DataSource dataSource) {
+        this.name = name;
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * Check that the replica can be reached and is not lagging more than allowed.
+     *
+     * @param lagQuery Query returning the replication lag in seconds, or empty to skip the lag check
+     * @param maxLag Maximum replication lag
+     * @param timeout Timeout of the check
+     * @return true if the replica is healthy
+     */
+    public boolean checkHealth(String lagQuery, Duration maxLag, Duration timeout) {
+        int timeoutSeconds = (int) Math.max(1, timeout.toSeconds());
+        boolean nowHealthy;
+        String error = null;
+        try (Connection connection = dataSource.getConnection()) {
+            if (!StringUtils.hasText(lagQuery)) {
+                nowHealthy = connection.isValid(timeoutSeconds);
+                lagSeconds = nowHealthy ? 0 : -1;
+                if (!nowHealthy) {
+                    error = "Connection is not valid";
+                }
+            } else {
+                Long lag = queryLag(connection, lagQuery, timeoutSeconds);
+                lagSeconds = lag != null ? lag : -1;
+                nowHealthy = lag != null && lag <= maxLag.toSeconds();
+                if (lag == null) {
+                    error = "Replication lag is unknown";
+                } else if (!nowHealthy) {
+                    error = "Replication lag of " + lag + "s exceeds " + maxLag.toSeconds() + "s";
+                }
+            }
+        } catch (SQLException | RuntimeException e) {
+            nowHealthy = false;
+            lagSeconds = -1;
+            error = e.getMessage();
+        }
+
+        if (healthy && !nowHealthy) {
+            logger.warn("Read replica {} is unhealthy, reads go to the primary: {}", name, error);
+        } else if (!healthy && nowHealthy) {
+            logger.info("Read replica {} is healthy", name);
+        }
+        lastError = error;
+        healthy = nowHealthy;
+        return nowHealthy;
+    }
+
+    void connectionRouted() {
+        routedConnections.incrementAndGet();
+    }
+
+    private Long queryLag(Connection connection, String lagQuery, int timeoutSeconds) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(timeoutSeconds);
+            try (ResultSet resultSet = statement.executeQuery(lagQuery)) {
+                if (!resultSet.next()) {
+                    return null;
+                }
+                Object lag = resultSet.getObject(lagColumn(resultSet.getMetaData()));
+                if (lag == null) {
+                    return null;
+                }
+                return lag instanceof Number number ? number.longValue() : Long.valueOf(lag.toString().trim());
+            }
+        }
+    }
+
+    private static int lagColumn(ResultSetMetaData metaData) throws SQLException {
+        for (int column = 1; column <= metaData.getColumnCount(); column++) {
+            if (LAG_COLUMN.equalsIgnoreCase(metaData.getColumnLabel(column))) {
+                return column;
+            }
+        }
+        return 1;
+    }
+
+    // Getters
+    public String getName() {
+        return name;
+    }
+
+    public DataSource getDataSource() {
+        return dataSource;
+    }
+
+    public boolean isHealthy() {
+        return healthy;
+    }
+
+    public long getLagSeconds() {
+        return lagSeconds;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public long getRoutedConnections() {
+        return routedConnections.get();
+    }
+}
@@ -0,0 +1,51 @@
+package com.vtnet.pdms.infrastructure.datasource;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Background job that checks the read replicas, so that reads fail over to the primary while a
+ * replica is down or lagging and return once it has caught up.
+ */
+@Component
+@ConditionalOnProperty(name = "datasource.replicas.enabled", havingValue = "true")
+public class ReplicaHealthCheckJob {
+
+    private final ReadWriteRoutingDataSource routingDataSource;
+    private final String lagQuery;
+    private final Duration maxLag;
+    private final Duration timeout;
+
+    /**
+     * Constructor with dependency injection.
+     *
+     * @param routingDataSource Data source routing between the primary and the replicas
+     * @param lagQuery Query returning a replica's replication lag in seconds, or empty to skip the lag check
+     * @param maxLag Maximum replication lag of a healthy replica
+     * @param timeout Timeout of each check
+     */
+    @Autowired
+    public ReplicaHealthCheckJob(
+            ReadWriteRoutingDataSource routingDataSource,
+            @Value("${datasource.replicas.lag-query:}") String lagQuery,
+            @Value("${datasource.replicas.max-lag:PT10S}") Duration maxLag,
+            @Value("${datasource.replicas.health-check-timeout:PT2S}") Duration timeout) {
+        this.routingDataSource = routingDataSource;
+        this.lagQuery = lagQuery;
+        this.maxLag = maxLag;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Checks every replica.
+     */
+    @Scheduled(fixedDelayString = "${datasource.replicas.health-check-interval:PT5S}")
+    public void run() {
+        routingDataSource.checkReplicas(lagQuery, maxLag, timeout);
+    }
+}
@@ -0,0 +1,170 @@
+package com.vtnet.pdms.infrastructure.document;
+
+import com.vtnet.pdms.domain.service.DocumentProcessor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Looks up the DocumentProcessor for a MIME type.
+ * <p>
+ * Processors that declare their MIME types are indexed by type, so the lookup does not depend on
+ * the number of processors. Processors without declared types, such as the Tika processor, are
+ * fallbacks asked in turn through {@code canProcess} when no indexed processor matches.
+ * The registry also keeps extraction counters per processor.
+ */
+@Component
+public class DocumentProcessorRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(DocumentProcessorRegistry.class);
+
+    private final Map<String, DocumentProcessor> processorsByMimeType = new HashMap<>();
+    private final List<DocumentProcessor> fallbackProcessors = new ArrayList<>();
+    private final Map<String, DocumentProcessor> resolvedFallbacks = new ConcurrentHashMap<>();
+    private final Map<String, ProcessorStatistics> statistics = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor with dependency injection.
+     *
+     * @param documentProcessors Available document processors
+     */
+    @Autowired
+    public DocumentProcessorRegistry(List<DocumentProcessor> documentProcessors) {
+        for (DocumentProcessor processor : documentProcessors) {
+            if (processor.getSupportedMimeTypes().isEmpty()) {
+                fallbackProcessors.add(processor);
+            }
+            for (String mimeType : processor.getSupportedMimeTypes()) {
+                DocumentProcessor previous = processorsByMimeType.putIfAbsent(normalize(mimeType), processor);
+                if (previous != null) {
+                    logger.warn("MIME type {} is handled by {}; ignoring {}",
+                            mimeType, previous.getProcessorId(), processor.getProcessorId());
+                }
+            }
+            statistics.put(processor.getProcessorId(), new ProcessorStatistics());
+        }
+        logger.info("Registered document processors for {} MIME types with {} fallback processors",
+                processorsByMimeType.size(), fallbackProcessors.size());
+    }
+
+    /**
+     * Returns the processor for a MIME type.
+     *
+     * @param mimeType The MIME type, possibly with parameters
+     * @return The processor, or null if no processor supports the type
+     */
+    public DocumentProcessor findProcessor(String mimeType) {
+        if (mimeType == null) {
+            return null;
+        }
+
+        String normalized = normalize(mimeType);
+        DocumentProcessor processor = processorsByMimeType.get(normalized);
+        if (processor != null) {
+            return processor;
+        }
+
+        processor = resolvedFallbacks.get(normalized);
+        if (processor != null) {
+            return processor;
+        }
+        for (DocumentProcessor fallback : fallbackProcessors) {
+            if (fallback.canProcess(normalized)) {
+                resolvedFallbacks.put(normalized, fallback);
+                return fallback;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Records a successful extraction.
+     *
+     * @param processor The processor that extracted the text
+     * @param characters Number of characters extracted
+     * @param elapsedNanos Time taken in nanoseconds
+     */
+    public void recordSuccess(DocumentProcessor processor, long characters, long elapsedNanos) {
+        ProcessorStatistics processorStatistics = statisticsFor(processor);
+        processorStatistics.documents.incrementAndGet();
+        processorStatistics.characters.addAndGet(characters);
+        processorStatistics.elapsedNanos.addAndGet(elapsedNanos);
+    }
+
+    /**
+     * Records a failed extraction.
+     *
+     * @param processor The processor that failed
+     * @param elapsedNanos Time taken in nanoseconds
+     */
+    public void recordFailure(DocumentProcessor processor, long elapsedNanos) {
+        ProcessorStatistics processorStatistics = statisticsFor(processor);
+        processorStatistics.failures.incrementAndGet();
+        processorStatistics.elapsedNanos.addAndGet(elapsedNanos);
+    }
+
+    /**
+     * Returns a snapshot of the extraction counters per processor ID.
+     *
+     * @return Map of processor ID to counters
+     */
+    public Map<String, ProcessorStatistics.Snapshot> getStatistics() {
+        Map<String, ProcessorStatistics.Snapshot> snapshot = new LinkedHashMap<>();
+        statistics.forEach((processorId, counters) -> snapshot.put(processorId, counters.snapshot()));
+        return snapshot;
+    }
+
+    private ProcessorStatistics statisticsFor(DocumentProcessor processor) {
+        return statistics.computeIfAbsent(processor.getProcessorId(), id -> new ProcessorStatistics());
+    }
+
+    private static String normalize(String mimeType) {
+        int parameters = mimeType.indexOf(';');
+        String baseType = parameters >= 0 ? mimeType.substring(0, parameters) : mimeType;
+        return baseType.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Extraction counters of one processor.
+     */
+    public static final class ProcessorStatistics {
+        private final AtomicLong documents = new AtomicLong();
+        private final AtomicLong failures = new AtomicLong();
+        private final AtomicLong characters = new AtomicLong();
+        private final AtomicLong elapsedNanos = new AtomicLong();
+
+        Snapshot snapshot() {
+            return new Snapshot(documents.get(), failures.get(), characters.get(), elapsedNanos.get() / 1_000_000);
+        }
+
+        /**
+         * Point-in-time copy of the counters.
+         *
+         * @param documents Number of documents extracted
+         * @param failures Number of failed extractions
+         * @param characters Number of characters extracted
+         * @param elapsedMillis Total extraction time in milliseconds
+         */
+        public record Snapshot(long documents, long failures, long characters, long elapsedMillis) {
+
+            /**
+             * Returns the extraction throughput.
+             *
+             * @return Characters extracted per second, or 0 if nothing was extracted
+             */
+            public double charactersPerSecond() {
+                return elapsedMillis > 0 ? characters * 1000.0 / elapsedMillis : 0;
+            }
+        }
+    }
+}
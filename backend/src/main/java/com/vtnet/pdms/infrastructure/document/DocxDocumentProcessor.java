@@ -1,21 +1,29 @@
 package com.vtnet.pdms.infrastructure.document;
 
 import com.vtnet.pdms.domain.model.DocumentVersion;
+import com.vtnet.pdms.domain.service.ContentSink;
 import com.vtnet.pdms.domain.service.DocumentProcessor;
-import com.vtnet.pdms.infrastructure.storage.StorageService;
-import org.apache.poi.xwpf.extractor.XWPFWordExtractor;
-import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import com.vtnet.pdms.infrastructure.document.OoxmlStreaming.TextBuffer;
+import com.vtnet.pdms.infrastructure.storage.DocumentVersionStore;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackagePart;
+import org.apache.poi.xwpf.usermodel.XWPFRelation;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Component;
+import org.xml.sax.Attributes;
+import org.xml.sax.helpers.DefaultHandler;
 
 import java.io.IOException;
-import java.io.InputStream;
+import java.util.Set;
 
 /**
  * Implementation of DocumentProcessor for DOCX documents.
+ * <p>
+ * The document part is read with SAX rather than as an {@code XWPFDocument}, so memory use does
+ * not depend on the size of the document. Headers are emitted before the body and footers after
+ * it, as the POI word extractor does.
  */
 @Component
 public class DocxDocumentProcessor implements DocumentProcessor {
@@ -24,17 +32,18 @@ public class DocxDocumentProcessor implements DocumentProcessor {
     private static final String[] SUPPORTED_MIME_TYPES = {
             "application/vnd.openxmlformats-officedocument.wordprocessingml.document"
     };
-    
-    private final StorageService storageService;
-    
+    private static final String WORDPROCESSINGML_NS = "http://schemas.openxmlformats.org/wordprocessingml/2006/main";
+
+    private final DocumentVersionStore documentVersionStore;
+
     /**
      * Constructor with dependency injection.
      *
-     * @param storageService Service for file storage operations
+     * @param documentVersionStore Store for document version content
      */
     @Autowired
-    public DocxDocumentProcessor(StorageService storageService) {
-        this.storageService = storageService;
+    public DocxDocumentProcessor(DocumentVersionStore documentVersionStore) {
+        this.documentVersionStore = documentVersionStore;
     }
 
     @Override
@@ -42,38 +51,124 @@ public class DocxDocumentProcessor implements DocumentProcessor {
         if (mimeType == null) {
             return false;
         }
-        
+
         for (String supportedType : SUPPORTED_MIME_TYPES) {
             if (supportedType.equalsIgnoreCase(mimeType)) {
                 return true;
             }
         }
-        
+
         return false;
     }
 
+    @Override
+    public Set<String> getSupportedMimeTypes() {
+        return Set.of(SUPPORTED_MIME_TYPES);
+    }
+
     @Override
     public String extractContent(DocumentVersion documentVersion) throws IOException {
+        StringBuilder text = new StringBuilder();
+        extractContent(documentVersion, text::append);
+        return text.toString();
+    }
+
+    @Override
+    public void extractContent(DocumentVersion documentVersion, ContentSink sink) throws IOException {
         if (documentVersion == null || documentVersion.getStoragePath() == null) {
             throw new IllegalArgumentException("Document version or storage path is null");
         }
-        
+
         logger.info("Extracting content from DOCX document: {}", documentVersion.getStoragePath());
-        
-        Resource resource = storageService.loadAsResource(documentVersion.getStoragePath());
-        
-        try (InputStream inputStream = resource.getInputStream();
-             XWPFDocument document = new XWPFDocument(inputStream);
-             XWPFWordExtractor extractor = new XWPFWordExtractor(document)) {
-            
-            String text = extractor.getText();
-            
-            logger.debug("Extracted {} characters from DOCX document", text.length());
-            
-            return text;
+
+        try {
+            OPCPackage pkg = OoxmlStreaming.open(documentVersionStore.getPath(documentVersion));
+            try {
+                long length = extractText(pkg, sink);
+                logger.debug("Extracted {} characters from DOCX document", length);
+            } finally {
+                // Read-only packages are released with revert; close would try to save them
+                pkg.revert();
+            }
         } catch (IOException e) {
             logger.error("Failed to extract content from DOCX document: {}", documentVersion.getStoragePath(), e);
             throw e;
         }
     }
-} 
\ No newline at end of file
+
+    private static long extractText(OPCPackage pkg, ContentSink sink) throws IOException {
+        PackagePart document = OoxmlStreaming.mainPart(pkg);
+        TextBuffer text = new TextBuffer(sink);
+        WordTextHandler handler = new WordTextHandler(text);
+
+        for (PackagePart header : OoxmlStreaming.relatedParts(document, XWPFRelation.HEADER.getRelation())) {
+            OoxmlStreaming.parse(header, handler);
+        }
+        OoxmlStreaming.parse(document, handler);
+        for (PackagePart footer : OoxmlStreaming.relatedParts(document, XWPFRelation.FOOTER.getRelation())) {
+            OoxmlStreaming.parse(footer, handler);
+        }
+        text.flush();
+        return text.length();
+    }
+
+    /**
+     * Emits the text runs of a WordprocessingML part: paragraphs and table rows end a line,
+     * table cells are separated by tabs.
+     */
+    private static final class WordTextHandler extends DefaultHandler {
+        private final TextBuffer text;
+        private boolean inRun;
+        private boolean inText;
+
+        WordTextHandler(TextBuffer text) {
+            this.text = text;
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) {
+            if (!WORDPROCESSINGML_NS.equals(uri)) {
+                return;
+            }
+            switch (localName) {
+                case "r" -> inRun = true;
+                case "t" -> inText = true;
+                // Tab stops in paragraph properties are "tab" elements too, so only those in runs count
+                case "tab" -> {
+                    if (inRun) {
+                        text.append('\t');
+                    }
+                }
+                case "br", "cr" -> {
+                    if (inRun) {
+                        text.append('\n');
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) {
+            if (!WORDPROCESSINGML_NS.equals(uri)) {
+                return;
+            }
+            switch (localName) {
+                case "r" -> inRun = false;
+                case "t" -> inText = false;
+                case "p", "tr" -> text.endLine();
+                case "tc" -> text.append('\t');
+                default -> {
+                }
+            }
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) {
+            if (inText) {
+                text.append(ch, start, length);
+            }
+        }
+    }
+}
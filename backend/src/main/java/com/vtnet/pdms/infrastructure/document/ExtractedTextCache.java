@@ -0,0 +1,313 @@
+package com.vtnet.pdms.infrastructure.document;
+
+import com.vtnet.pdms.domain.model.DocumentVersion;
+import com.vtnet.pdms.domain.model.ExtractionCacheEntry;
+import com.vtnet.pdms.domain.repository.ExtractionCacheEntryRepository;
+import com.vtnet.pdms.domain.service.ContentSink;
+import com.vtnet.pdms.domain.service.DocumentProcessor;
+import com.vtnet.pdms.infrastructure.storage.DocumentVersionStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cache of extracted document text, keyed by the SHA-256 of the file content and the identifier
+ * and version of the processor that extracted it.
+ * <p>
+ * Re-indexing a version, or uploading a file whose bytes are already stored, reuses the earlier
+ * result instead of parsing the file again. Results are persisted gzip-compressed in the
+ * {@code extraction_cache} table, with a size-bounded, least-recently-used tier in memory on top.
+ * <p>
+ * Text that the worker pool cut off at its maximum length is cached with a marker. It is reused
+ * while the limit stays the same, since extracting again would only cut it off at the same place,
+ * and extracted again once the limit is raised past its length.
+ */
+@Component
+public class ExtractedTextCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExtractedTextCache.class);
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Approximate memory used by an in-memory entry besides its characters
+     */
+    private static final long ENTRY_OVERHEAD_BYTES = 128;
+
+    private final ExtractionCacheEntryRepository extractionCacheEntryRepository;
+    private final DocumentVersionStore documentVersionStore;
+    private final ExtractionWorkerPool extractionWorkerPool;
+    private final DocumentProcessorRegistry documentProcessorRegistry;
+    private final TransactionTemplate writeTransaction;
+    private final boolean enabled;
+    private final long memoryMaxBytes;
+    private final LinkedHashMap<String, String> memoryEntries = new LinkedHashMap<>(16, 0.75f, true);
+    private long memoryBytes;
+
+    /**
+     * Constructor with dependency injection.
+     *
+     * @param extractionCacheEntryRepository Repository for persisted extraction results
+     * @param documentVersionStore Store for document version content
+     * @param extractionWorkerPool Pool running the processors on a cache miss
+     * @param documentProcessorRegistry Registry keeping the extraction counters
+     * @param transactionManager Transaction manager used to persist new results
+     * @param enabled Whether extraction results are cached
+     * @param memoryMaxSize Maximum size of the in-memory tier
+     */
+    @Autowired
+    public ExtractedTextCache(
+            ExtractionCacheEntryRepository extractionCacheEntryRepository,
+            DocumentVersionStore documentVersionStore,
+            ExtractionWorkerPool extractionWorkerPool,
+            DocumentProcessorRegistry documentProcessorRegistry,
+            PlatformTransactionManager transactionManager,
+            @Value("${extraction.cache.enabled:true}") boolean enabled,
+            @Value("${extraction.cache.memory-max-size:64MB}") DataSize memoryMaxSize) {
+        this.extractionCacheEntryRepository = extractionCacheEntryRepository;
+        this.documentVersionStore = documentVersionStore;
+        this.extractionWorkerPool = extractionWorkerPool;
+        this.documentProcessorRegistry = documentProcessorRegistry;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        // A result is kept even if the surrounding indexing transaction rolls back
+        this.writeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.enabled = enabled;
+        this.memoryMaxBytes = memoryMaxSize.toBytes();
+    }
+
+    /**
+     * Hands the text of a document version, as extracted by the given processor, to a sink. A
+     * cached result for the same content and processor version is passed on in one piece;
+     * otherwise the processor runs and its text is passed on as it is extracted and compressed
+     * into the cache at the same time. The content hash of the version is computed and set on it
+     * if it is missing.
+     *
+     * @param documentVersion The document version
+     * @param processor The processor for the document's MIME type
+     * @param sink The sink receiving the text
+     * @throws IOException If the content cannot be read, extraction fails or the sink fails
+     */
+    public void extract(DocumentVersion documentVersion, DocumentProcessor processor, ContentSink sink)
+            throws IOException {
+        if (!enabled) {
+            runProcessor(documentVersion, processor, sink);
+            return;
+        }
+
+        String contentHash = contentHash(documentVersion);
+        String key = contentHash + ":" + processor.getProcessorId() + ":" + processor.getProcessorVersion();
+
+        String text = getFromMemory(key);
+        if (text != null) {
+            logger.debug("Extraction cache hit in memory for document version {}", documentVersion.getId());
+            sink.append(text);
+            return;
+        }
+
+        Optional<ExtractionCacheEntry> entry = extractionCacheEntryRepository
+                .findByContentHashAndProcessorIdAndProcessorVersion(
+                        contentHash, processor.getProcessorId(), processor.getProcessorVersion());
+        if (entry.isPresent() && !isCutOffBelowLimit(entry.get())) {
+            text = decompress(entry.get().getCompressedText());
+            putInMemory(key, text);
+            logger.debug("Extraction cache hit for document version {}", documentVersion.getId());
+            sink.append(text);
+            return;
+        }
+
+        CachingSink caching = new CachingSink(sink, (memoryMaxBytes - ENTRY_OVERHEAD_BYTES) / 2);
+        boolean truncated = runProcessor(documentVersion, processor, caching);
+        persist(contentHash, processor, caching.finish(), caching.length, truncated, entry.orElse(null));
+        if (caching.copy != null) {
+            putInMemory(key, caching.copy.toString());
+        }
+    }
+
+    /**
+     * Returns the SHA-256 of a version's content, computing it from the stored file if the
+     * version does not have one yet.
+     *
+     * @param documentVersion The document version
+     * @return The hex-encoded content hash
+     * @throws IOException If the content cannot be read
+     */
+    public String contentHash(DocumentVersion documentVersion) throws IOException {
+        if (documentVersion.getContentHash() == null) {
+            documentVersion.setContentHash(sha256(documentVersionStore.getPath(documentVersion)));
+        }
+        return documentVersion.getContentHash();
+    }
+
+    /**
+     * Returns the size of the in-memory tier.
+     *
+     * @return The approximate size in bytes
+     */
+    public synchronized long getMemoryBytes() {
+        return memoryBytes;
+    }
+
+    private boolean runProcessor(DocumentVersion documentVersion, DocumentProcessor processor, ContentSink sink)
+            throws IOException {
+        long start = System.nanoTime();
+        long[] characters = new long[1];
+        try {
+            boolean truncated = extractionWorkerPool.extract(documentVersion, processor, text -> {
+                characters[0] += text.length();
+                sink.append(text);
+            });
+            documentProcessorRegistry.recordSuccess(processor, characters[0], System.nanoTime() - start);
+            return truncated;
+        } catch (IOException | RuntimeException e) {
+            documentProcessorRegistry.recordFailure(processor, System.nanoTime() - start);
+            throw e;
+        }
+    }
+
+    /**
+     * Whether a cached text was cut off at a lower limit than the current one.
+     */
+    private boolean isCutOffBelowLimit(ExtractionCacheEntry entry) {
+        return entry.isTruncated() && entry.getTextLength() < extractionWorkerPool.getMaxOutputChars();
+    }
+
+    /**
+     * Persists a new result, replacing the given entry if the text was extracted again.
+     */
+    private void persist(String contentHash, DocumentProcessor processor, byte[] compressed, long textLength,
+                         boolean truncated, ExtractionCacheEntry replaced) {
+        try {
+            writeTransaction.executeWithoutResult(status -> {
+                ExtractionCacheEntry entry = replaced;
+                if (entry == null) {
+                    entry = new ExtractionCacheEntry(contentHash, processor.getProcessorId(),
+                            processor.getProcessorVersion(), compressed, textLength);
+                } else {
+                    entry.setCompressedText(compressed);
+                    entry.setTextLength(textLength);
+                }
+                entry.setTruncated(truncated);
+                extractionCacheEntryRepository.save(entry);
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Another worker extracted the same content concurrently
+            logger.debug("Extraction result for {} was already cached", contentHash);
+        } catch (RuntimeException e) {
+            logger.warn("Failed to cache extraction result for {}: {}", contentHash, e.getMessage());
+        }
+    }
+
+    private synchronized String getFromMemory(String key) {
+        return memoryEntries.get(key);
+    }
+
+    private synchronized void putInMemory(String key, String text) {
+        long weight = weight(text);
+        if (weight > memoryMaxBytes) {
+            return;
+        }
+
+        String previous = memoryEntries.put(key, text);
+        memoryBytes += weight - (previous != null ? weight(previous) : 0L);
+        Iterator<Map.Entry<String, String>> iterator = memoryEntries.entrySet().iterator();
+        while (memoryBytes > memoryMaxBytes && iterator.hasNext()) {
+            Map.Entry<String, String> eldest = iterator.next();
+            if (eldest.getKey().equals(key)) {
+                continue;
+            }
+            iterator.remove();
+            memoryBytes -= weight(eldest.getValue());
+        }
+    }
+
+    private static long weight(String text) {
+        return ENTRY_OVERHEAD_BYTES + 2L * text.length();
+    }
+
+    private static String sha256(Path file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+
+        byte[] buffer = new byte[BUFFER_SIZE];
+        try (InputStream inputStream = Files.newInputStream(file)) {
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Passes text on to the caller's sink while gzip-compressing it for the cache. A copy is kept
+     * for the in-memory tier only while the text could still fit in it.
+     */
+    private static final class CachingSink implements ContentSink {
+        private final ContentSink sink;
+        private final long maxCopyChars;
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final Writer gzip;
+        private StringBuilder copy = new StringBuilder();
+        private long length;
+
+        CachingSink(ContentSink sink, long maxCopyChars) throws IOException {
+            this.sink = sink;
+            this.maxCopyChars = maxCopyChars;
+            this.gzip = new OutputStreamWriter(new GZIPOutputStream(bytes, BUFFER_SIZE), StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public void append(String text) throws IOException {
+            sink.append(text);
+            gzip.write(text);
+            length += text.length();
+            if (copy != null) {
+                if (length > maxCopyChars) {
+                    copy = null;
+                } else {
+                    copy.append(text);
+                }
+            }
+        }
+
+        byte[] finish() throws IOException {
+            gzip.close();
+            return bytes.toByteArray();
+        }
+    }
+
+    private static String decompress(byte[] compressed) throws IOException {
+        try (InputStream gzip = new GZIPInputStream(new ByteArrayInputStream(compressed), BUFFER_SIZE)) {
+            return new String(gzip.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.vtnet.pdms.infrastructure.document;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import com.vtnet.pdms.domain.model.DocumentVersion;
+import com.vtnet.pdms.domain.service.ContentSink;
+import com.vtnet.pdms.domain.service.DocumentProcessor;
+import com.vtnet.pdms.infrastructure.storage.DocumentVersionStore;
+import com.vtnet.pdms.infrastructure.storage.FileSystemStorageService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.unit.DataSize;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Entry point of an extraction worker JVM started by {@link ExtractionWorkerPool}.
+ * <p>
+ * The worker reads jobs from standard input, each a processor ID and the path of a local file,
+ * and writes the extracted text back on standard output in the framing described by
+ * {@link ExtractionWorkerPool}. Everything the worker logs goes to standard error.
+ */
+public final class ExtractionWorkerMain {
+
+    static final byte FRAME_TEXT = 'T';
+    static final byte FRAME_DONE = 'D';
+    static final byte FRAME_ERROR = 'E';
+
+    /**
+     * Characters per text frame; three UTF-8 bytes per character stay within the modified UTF-8 limit
+     */
+    static final int FRAME_CHARS = 16 * 1024;
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private ExtractionWorkerMain() {
+    }
+
+    /**
+     * Runs jobs until standard input is closed.
+     *
+     * @param args The maximum number of characters returned per job
+     * @throws IOException If the connection to the parent process fails
+     */
+    public static void main(String[] args) throws IOException {
+        // Standard output carries the protocol, so nothing else may write to it
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(FileDescriptor.out)));
+        System.setOut(System.err);
+        if (LoggerFactory.getILoggerFactory() instanceof LoggerContext loggerContext) {
+            loggerContext.getLogger(Logger.ROOT_LOGGER_NAME).setLevel(Level.WARN);
+        }
+        Logger logger = LoggerFactory.getLogger(ExtractionWorkerMain.class);
+
+        long maxOutputChars = Long.parseLong(args[0]);
+        // Processors may produce one character more than the limit, so the sink sees the text is cut off
+        Map<String, DocumentProcessor> processors = createProcessors((int) Math.min(maxOutputChars + 1, Integer.MAX_VALUE));
+        DataInputStream in = new DataInputStream(new BufferedInputStream(System.in));
+
+        while (true) {
+            String processorId;
+            String path;
+            try {
+                processorId = in.readUTF();
+                path = in.readUTF();
+            } catch (EOFException e) {
+                return;
+            }
+
+            DocumentProcessor processor = processors.get(processorId);
+            if (processor == null) {
+                writeError(out, "Unknown document processor " + processorId);
+                continue;
+            }
+
+            FrameSink sink = new FrameSink(out, maxOutputChars);
+            try {
+                processor.extractContent(new DocumentVersion(null, 1, path, 0L, null), sink);
+                sink.flush();
+                out.writeByte(FRAME_DONE);
+                out.writeBoolean(false);
+            } catch (Exception e) {
+                if (sink.limitReached) {
+                    // The sink stopped the processor at the output limit; the text written so far is the result
+                    out.writeByte(FRAME_DONE);
+                    out.writeBoolean(true);
+                    out.flush();
+                    continue;
+                }
+                logger.warn("Extraction of {} failed", path, e);
+                writeError(out, e.getMessage() != null ? e.getMessage() : e.getClass().getName());
+            }
+            out.flush();
+        }
+    }
+
+    /**
+     * Creates the processors with a store that reads the absolute paths sent by the parent.
+     */
+    private static Map<String, DocumentProcessor> createProcessors(int maxChars) throws IOException {
+        Path cacheDirectory = Files.createTempDirectory("pdms-extraction-worker");
+        cacheDirectory.toFile().deleteOnExit();
+        DocumentVersionStore store = new DocumentVersionStore(
+                new FileSystemStorageService(Path.of("").toAbsolutePath()), null, 0,
+                DataSize.ofKilobytes(2), 0.5, cacheDirectory.toString(), DataSize.ofBytes(0));
+
+        Map<String, DocumentProcessor> processors = new HashMap<>();
+        // A worker extracts one document at a time on a single thread
+        for (DocumentProcessor processor : List.of(
+                new TxtDocumentProcessor(store, maxChars),
+                new PdfDocumentProcessor(store, 1, 16),
+                new DocxDocumentProcessor(store),
+                new XlsxDocumentProcessor(store),
+                new PptxDocumentProcessor(store),
+                new TikaDocumentProcessor(store, maxChars))) {
+            processors.put(processor.getProcessorId(), processor);
+        }
+        return processors;
+    }
+
+    private static void writeError(DataOutputStream out, String message) throws IOException {
+        out.writeByte(FRAME_ERROR);
+        out.writeUTF(message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message);
+        out.flush();
+    }
+
+    /**
+     * Writes text to the parent in frames, up to the output limit.
+     */
+    private static final class FrameSink implements ContentSink {
+        private final DataOutputStream out;
+        private final long maxChars;
+        private final StringBuilder pending = new StringBuilder();
+        private long written;
+        private boolean limitReached;
+
+        FrameSink(DataOutputStream out, long maxChars) {
+            this.out = out;
+            this.maxChars = maxChars;
+        }
+
+        @Override
+        public void append(String text) throws IOException {
+            long remaining = maxChars - written - pending.length();
+            if (text.length() > remaining) {
+                pending.append(text, 0, (int) remaining);
+                flush();
+                limitReached = true;
+                // Stops the processor
+                throw new IOException("Extracted text exceeds " + maxChars + " characters");
+            }
+            pending.append(text);
+            while (pending.length() >= FRAME_CHARS) {
+                writeFrame(pending.substring(0, FRAME_CHARS));
+                pending.delete(0, FRAME_CHARS);
+            }
+        }
+
+        void flush() throws IOException {
+            if (pending.length() > 0) {
+                writeFrame(pending.toString());
+                pending.setLength(0);
+            }
+        }
+
+        private void writeFrame(String text) throws IOException {
+            out.writeByte(FRAME_TEXT);
+            out.writeUTF(text);
+            written += text.length();
+        }
+    }
+}
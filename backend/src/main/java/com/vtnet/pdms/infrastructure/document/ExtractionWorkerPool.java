@@ -0,0 +1,325 @@
+package com.vtnet.pdms.infrastructure.document;
+
+import com.vtnet.pdms.domain.model.DocumentVersion;
+import com.vtnet.pdms.domain.service.ContentSink;
+import com.vtnet.pdms.domain.service.DocumentProcessor;
+import com.vtnet.pdms.infrastructure.storage.DocumentVersionStore;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.jar.JarFile;
+
+/**
+ * Runs document processors in separate worker JVMs, so that a malformed or malicious file cannot
+ * exhaust the heap or pin the CPU of the application.
+ * <p>
+ * Each worker has its own maximum heap and handles one document at a time. A job that runs longer
+ * than the timeout has its worker killed; a worker that crashes or runs out of memory exits. Either
+ * way the job fails with an {@link IOException} and the worker is replaced on the next job. Workers
+ * are also recycled after a fixed number of jobs. Extracted text is cut off at a maximum length,
+ * which is reported to the caller so that a cut-off text is not mistaken for the whole document.
+ * <p>
+ * A job is a processor ID and the path of a local file, both written with
+ * {@link DataOutputStream#writeUTF}. The worker answers with text frames ({@code 'T'} and a string),
+ * followed by either {@code 'D'} and a flag telling whether the text was cut off, or {@code 'E'}
+ * and an error message. When isolation is disabled processors run in the application.
+ */
+@Component
+public class ExtractionWorkerPool {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExtractionWorkerPool.class);
+    private static final String PROPERTIES_LAUNCHER = "org.springframework.boot.loader.launch.PropertiesLauncher";
+
+    private final DocumentVersionStore documentVersionStore;
+    private final boolean enabled;
+    private final Duration timeout;
+    private final long maxHeapBytes;
+    private final long maxOutputChars;
+    private final int maxJobsPerWorker;
+    private final Semaphore permits;
+    private final BlockingDeque<Worker> idleWorkers = new LinkedBlockingDeque<>();
+    private final List<Worker> allWorkers = new ArrayList<>();
+    private final ScheduledExecutorService watchdog;
+    private volatile boolean shutdown;
+
+    /**
+     * Constructor with dependency injection.
+     *
+     * @param documentVersionStore Store for document version content
+     * @param enabled Whether processors run in worker JVMs
+     * @param workers Maximum number of worker JVMs
+     * @param timeout Maximum time a single document may take
+     * @param maxHeap Maximum heap of each worker JVM
+     * @param maxOutputChars Maximum number of characters extracted from a document
+     * @param maxJobsPerWorker Number of documents after which a worker is replaced
+     */
+    @Autowired
+    public ExtractionWorkerPool(
+            DocumentVersionStore documentVersionStore,
+            @Value("${extraction.isolation.enabled:false}") boolean enabled,
+            @Value("${extraction.isolation.workers:2}") int workers,
+            @Value("${extraction.isolation.timeout:PT2M}") Duration timeout,
+            @Value("${extraction.isolation.max-heap:512MB}") DataSize maxHeap,
+            @Value("${extraction.isolation.max-output-chars:20000000}") long maxOutputChars,
+            @Value("${extraction.isolation.max-jobs-per-worker:200}") int maxJobsPerWorker) {
+        this.documentVersionStore = documentVersionStore;
+        this.enabled = enabled;
+        this.timeout = timeout;
+        this.maxHeapBytes = maxHeap.toBytes();
+        this.maxOutputChars = maxOutputChars;
+        this.maxJobsPerWorker = maxJobsPerWorker;
+        this.permits = new Semaphore(Math.max(1, workers));
+        this.watchdog = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "extraction-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Extracts the text of a document version with the given processor, handing it to a sink in
+     * document order as the worker produces it.
+     *
+     * @param documentVersion The document version
+     * @param processor The processor for the document's MIME type
+     * @param sink The sink receiving the text
+     * @return true if the text was cut off at the maximum length
+     * @throws IOException If extraction fails, times out, the worker crashes or the sink fails
+     */
+    public boolean extract(DocumentVersion documentVersion, DocumentProcessor processor, ContentSink sink)
+            throws IOException {
+        if (!enabled) {
+            processor.extractContent(documentVersion, sink);
+            return false;
+        }
+
+        Path file = documentVersionStore.getPath(documentVersion);
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for an extraction worker", e);
+        }
+        try {
+            Worker worker = borrowWorker();
+            try {
+                return runJob(worker, processor.getProcessorId(), file.toAbsolutePath().toString(), sink);
+            } finally {
+                returnWorker(worker);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Returns the number of characters at which extracted text is cut off.
+     *
+     * @return The maximum length, or {@link Long#MAX_VALUE} when processors run in the application
+     */
+    public long getMaxOutputChars() {
+        return enabled ? maxOutputChars : Long.MAX_VALUE;
+    }
+
+    /**
+     * Stops all worker JVMs.
+     */
+    @PreDestroy
+    public void shutdown() {
+        shutdown = true;
+        watchdog.shutdownNow();
+        List<Worker> workers;
+        synchronized (allWorkers) {
+            workers = new ArrayList<>(allWorkers);
+            allWorkers.clear();
+        }
+        workers.forEach(Worker::destroy);
+        idleWorkers.clear();
+    }
+
+    private boolean runJob(Worker worker, String processorId, String path, ContentSink sink) throws IOException {
+        AtomicBoolean timedOut = new AtomicBoolean();
+        ScheduledFuture<?> deadline = watchdog.schedule(() -> {
+            timedOut.set(true);
+            worker.process.destroyForcibly();
+        }, timeout.toMillis(), TimeUnit.MILLISECONDS);
+
+        try {
+            worker.jobs++;
+            worker.out.writeUTF(processorId);
+            worker.out.writeUTF(path);
+            worker.out.flush();
+
+            while (true) {
+                byte frame = worker.in.readByte();
+                if (frame == ExtractionWorkerMain.FRAME_TEXT) {
+                    String text = worker.in.readUTF();
+                    try {
+                        sink.append(text);
+                    } catch (IOException | RuntimeException e) {
+                        throw new SinkException(e);
+                    }
+                } else if (frame == ExtractionWorkerMain.FRAME_DONE) {
+                    boolean truncated = worker.in.readBoolean();
+                    if (truncated) {
+                        logger.warn("Extracted text of {} was cut off at {} characters", path, maxOutputChars);
+                    }
+                    return truncated;
+                } else if (frame == ExtractionWorkerMain.FRAME_ERROR) {
+                    throw new WorkerJobException(worker.in.readUTF());
+                } else {
+                    throw new IOException("Unexpected response from extraction worker");
+                }
+            }
+        } catch (WorkerJobException e) {
+            throw new IOException(e.getMessage(), e);
+        } catch (SinkException e) {
+            // The rest of the job's frames are never read
+            worker.broken = true;
+            if (e.getCause() instanceof IOException cause) {
+                throw cause;
+            }
+            throw (RuntimeException) e.getCause();
+        } catch (IOException e) {
+            // The worker is unusable after a broken exchange
+            worker.broken = true;
+            if (timedOut.get()) {
+                throw new IOException("Extraction timed out after " + timeout.toSeconds() + " seconds", e);
+            }
+            throw new IOException("Extraction worker exited unexpectedly"
+                    + (worker.process.isAlive() ? "" : " with code " + worker.process.exitValue()), e);
+        } finally {
+            if (!deadline.cancel(false)) {
+                // The watchdog fired after the job completed and may be killing the worker
+                worker.broken = true;
+            }
+        }
+    }
+
+    private Worker borrowWorker() throws IOException {
+        Worker worker = idleWorkers.pollFirst();
+        if (worker != null && worker.process.isAlive()) {
+            return worker;
+        }
+        if (worker != null) {
+            discard(worker);
+        }
+        return startWorker();
+    }
+
+    private void returnWorker(Worker worker) {
+        if (!worker.broken && !shutdown && worker.jobs < maxJobsPerWorker && worker.process.isAlive()) {
+            idleWorkers.offerFirst(worker);
+        } else {
+            discard(worker);
+        }
+    }
+
+    private void discard(Worker worker) {
+        synchronized (allWorkers) {
+            allWorkers.remove(worker);
+        }
+        worker.destroy();
+    }
+
+    private Worker startWorker() throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.add("-Xmx" + Math.max(1, maxHeapBytes / (1024 * 1024)) + "m");
+        command.add("-XX:+ExitOnOutOfMemoryError");
+        command.add("-Djava.awt.headless=true");
+        command.addAll(launchArguments());
+        command.add(Long.toString(maxOutputChars));
+
+        Process process = new ProcessBuilder(command)
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+        Worker worker = new Worker(process);
+        synchronized (allWorkers) {
+            allWorkers.add(worker);
+        }
+        logger.debug("Started extraction worker {}", process.pid());
+        return worker;
+    }
+
+    /**
+     * Returns the class path and main class arguments. In a packaged application the classes are
+     * nested in the executable jar and are loaded through the Spring Boot launcher.
+     */
+    private static List<String> launchArguments() throws IOException {
+        String classPath = System.getProperty("java.class.path");
+        if (StringUtils.hasText(classPath) && !classPath.contains(File.pathSeparator) && classPath.endsWith(".jar")) {
+            try (JarFile jar = new JarFile(classPath)) {
+                if (jar.getEntry("BOOT-INF/classes/") != null) {
+                    return List.of("-cp", classPath,
+                            "-Dloader.main=" + ExtractionWorkerMain.class.getName(), PROPERTIES_LAUNCHER);
+                }
+            }
+        }
+        return List.of("-cp", classPath, ExtractionWorkerMain.class.getName());
+    }
+
+    /**
+     * Failure reported by the worker for a single job; the worker itself is still usable.
+     */
+    private static final class WorkerJobException extends Exception {
+        WorkerJobException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * Failure of the caller's sink while a job is running.
+     */
+    private static final class SinkException extends Exception {
+        SinkException(Exception cause) {
+            super(cause);
+        }
+    }
+
+    /**
+     * A worker JVM and its connection.
+     */
+    private static final class Worker {
+        private final Process process;
+        private final DataOutputStream out;
+        private final DataInputStream in;
+        private int jobs;
+        private boolean broken;
+
+        Worker(Process process) {
+            this.process = process;
+            this.out = new DataOutputStream(new BufferedOutputStream(process.getOutputStream()));
+            this.in = new DataInputStream(new BufferedInputStream(process.getInputStream()));
+        }
+
+        void destroy() {
+            process.destroyForcibly();
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.vtnet.pdms.infrastructure.document;
+
+import com.vtnet.pdms.domain.service.ContentSink;
+import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
+import org.apache.poi.openxml4j.exceptions.InvalidOperationException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.openxml4j.opc.PackagePart;
+import org.apache.poi.openxml4j.opc.PackageRelationship;
+import org.apache.poi.openxml4j.opc.PackageRelationshipTypes;
+import org.apache.poi.util.XMLHelper;
+import org.xml.sax.ContentHandler;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Shared plumbing for the streaming Office Open XML processors.
+ * <p>
+ * Packages are opened from a file, so only the ZIP central directory is held in memory, and parts
+ * are read with SAX instead of being loaded as a DOM. Text is collected in a bounded buffer that is
+ * handed to the sink whenever it fills up.
+ */
+final class OoxmlStreaming {
+
+    /**
+     * Number of characters buffered before they are handed to the sink
+     */
+    static final int FLUSH_THRESHOLD = 64 * 1024;
+
+    private OoxmlStreaming() {
+    }
+
+    /**
+     * Opens a package read-only.
+     */
+    static OPCPackage open(Path file) throws IOException {
+        try {
+            return OPCPackage.open(file.toFile(), PackageAccess.READ);
+        } catch (InvalidFormatException | InvalidOperationException e) {
+            throw new IOException("Not a valid Office Open XML file: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Returns the main document part of a package.
+     */
+    static PackagePart mainPart(OPCPackage pkg) throws IOException {
+        List<PackagePart> parts = new ArrayList<>();
+        for (PackageRelationship relationship : pkg.getRelationshipsByType(PackageRelationshipTypes.CORE_DOCUMENT)) {
+            parts.add(pkg.getPart(relationship));
+        }
+        if (parts.isEmpty() || parts.get(0) == null) {
+            throw new IOException("Office Open XML file has no main document part");
+        }
+        return parts.get(0);
+    }
+
+    /**
+     * Returns the parts a part refers to with the given relationship type, in relationship order.
+     */
+    static List<PackagePart> relatedParts(PackagePart part, String relationshipType) throws IOException {
+        List<PackagePart> parts = new ArrayList<>();
+        try {
+            for (PackageRelationship relationship : part.getRelationshipsByType(relationshipType)) {
+                PackagePart related = part.getRelatedPart(relationship);
+                if (related != null) {
+                    parts.add(related);
+                }
+            }
+        } catch (InvalidFormatException e) {
+            throw new IOException("Invalid relationship in " + part.getPartName(), e);
+        }
+        return parts;
+    }
+
+    /**
+     * Parses a part with a SAX handler.
+     */
+    static void parse(PackagePart part, ContentHandler handler) throws IOException {
+        try (InputStream inputStream = part.getInputStream()) {
+            parse(inputStream, handler);
+        }
+    }
+
+    /**
+     * Parses an XML stream with a SAX handler. Sink failures raised inside the handler as
+     * {@link UncheckedIOException} are rethrown as the original {@link IOException}.
+     */
+    static void parse(InputStream inputStream, ContentHandler handler) throws IOException {
+        try {
+            XMLReader reader = XMLHelper.newXMLReader();
+            reader.setContentHandler(handler);
+            reader.parse(new InputSource(inputStream));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } catch (SAXException | ParserConfigurationException e) {
+            throw new IOException("Failed to parse Office Open XML part: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Collects text and hands it to a sink in pieces of about {@link #FLUSH_THRESHOLD} characters.
+     * Appending is called from SAX callbacks, so sink failures are thrown as {@link UncheckedIOException}.
+     */
+    static final class TextBuffer {
+        private final ContentSink sink;
+        private final StringBuilder buffer = new StringBuilder();
+        private long length;
+        private char lastChar;
+
+        TextBuffer(ContentSink sink) {
+            this.sink = sink;
+        }
+
+        void append(String text) {
+            if (text == null || text.isEmpty()) {
+                return;
+            }
+            buffer.append(text);
+            lastChar = text.charAt(text.length() - 1);
+            flushIfFull();
+        }
+
+        void append(char[] text, int start, int count) {
+            if (count == 0) {
+                return;
+            }
+            buffer.append(text, start, count);
+            lastChar = text[start + count - 1];
+            flushIfFull();
+        }
+
+        void append(char c) {
+            buffer.append(c);
+            lastChar = c;
+            flushIfFull();
+        }
+
+        /**
+         * Appends a line break unless the text written so far already ends with one.
+         */
+        void endLine() {
+            if (length() > 0 && lastChar != '\n') {
+                append('\n');
+            }
+        }
+
+        /**
+         * Hands any buffered text to the sink.
+         */
+        void flush() throws IOException {
+            if (buffer.length() > 0) {
+                length += buffer.length();
+                String text = buffer.toString();
+                buffer.setLength(0);
+                sink.append(text);
+            }
+        }
+
+        long length() {
+            return length + buffer.length();
+        }
+
+        private void flushIfFull() {
+            if (buffer.length() >= FLUSH_THRESHOLD) {
+                try {
+                    flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+    }
+}
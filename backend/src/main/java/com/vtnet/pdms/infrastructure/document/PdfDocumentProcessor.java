@@ -1,23 +1,46 @@
 package com.vtnet.pdms.infrastructure.document;
 
 import com.vtnet.pdms.domain.model.DocumentVersion;
+import com.vtnet.pdms.domain.service.ContentSink;
 import com.vtnet.pdms.domain.service.DocumentProcessor;
-import com.vtnet.pdms.infrastructure.storage.StorageService;
-import org.apache.commons.io.IOUtils;
+import com.vtnet.pdms.infrastructure.storage.DocumentVersionStore;
+import jakarta.annotation.PreDestroy;
 import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.io.RandomAccessReadBufferedFile;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.text.PDFTextStripper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.Resource;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
-import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.StringWriter;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
  * Implementation of DocumentProcessor for PDF documents.
+ * <p>
+ * The PDF is read from a local file through a buffered random-access reader instead of being
+ * loaded into memory. Documents with more than one page range are extracted in parallel: each
+ * worker opens its own document handle, since PDFBox documents are not thread-safe, and takes the
+ * next unclaimed page range. Ranges are handed to the sink in page order, and at most two ranges
+ * per worker are extracted ahead of the sink. A worker that fails for any reason fails every
+ * range still pending, and waiting for a range is bounded by a timeout, so a stuck or dead worker
+ * cannot block the caller. Each page ends with a form feed, so text chunks can be mapped to pages.
  */
 @Component
 public class PdfDocumentProcessor implements DocumentProcessor {
@@ -26,17 +49,44 @@ public class PdfDocumentProcessor implements DocumentProcessor {
     private static final String[] SUPPORTED_MIME_TYPES = {
             "application/pdf"
     };
-    
-    private final StorageService storageService;
-    
+    private static final Duration DEFAULT_RANGE_TIMEOUT = Duration.ofMinutes(2);
+
+    private final DocumentVersionStore documentVersionStore;
+    private final int parallelism;
+    private final int pagesPerTask;
+    private final Duration rangeTimeout;
+    private final ForkJoinPool extractionPool;
+
     /**
      * Constructor with dependency injection.
      *
-     * @param storageService Service for file storage operations
+     * @param documentVersionStore Store for document version content
+     * @param parallelism Number of threads extracting page ranges, 0 for half the available processors
+     * @param pagesPerTask Number of pages in each page range
+     * @param rangeTimeout Maximum time to wait for the next page range
      */
     @Autowired
-    public PdfDocumentProcessor(StorageService storageService) {
-        this.storageService = storageService;
+    public PdfDocumentProcessor(
+            DocumentVersionStore documentVersionStore,
+            @Value("${extraction.pdf.parallelism:0}") int parallelism,
+            @Value("${extraction.pdf.pages-per-task:16}") int pagesPerTask,
+            @Value("${extraction.pdf.range-timeout:PT2M}") Duration rangeTimeout) {
+        this.documentVersionStore = documentVersionStore;
+        this.parallelism = parallelism > 0 ? parallelism : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        this.pagesPerTask = Math.max(1, pagesPerTask);
+        this.rangeTimeout = rangeTimeout;
+        this.extractionPool = new ForkJoinPool(this.parallelism);
+    }
+
+    /**
+     * Creates a processor with the default page range timeout.
+     *
+     * @param documentVersionStore Store for document version content
+     * @param parallelism Number of threads extracting page ranges, 0 for half the available processors
+     * @param pagesPerTask Number of pages in each page range
+     */
+    public PdfDocumentProcessor(DocumentVersionStore documentVersionStore, int parallelism, int pagesPerTask) {
+        this(documentVersionStore, parallelism, pagesPerTask, DEFAULT_RANGE_TIMEOUT);
     }
 
     @Override
@@ -44,41 +94,168 @@ public class PdfDocumentProcessor implements DocumentProcessor {
         if (mimeType == null) {
             return false;
         }
-        
+
         for (String supportedType : SUPPORTED_MIME_TYPES) {
             if (supportedType.equalsIgnoreCase(mimeType)) {
                 return true;
             }
         }
-        
+
         return false;
     }
 
+    @Override
+    public Set<String> getSupportedMimeTypes() {
+        return Set.of(SUPPORTED_MIME_TYPES);
+    }
+
+    /**
+     * Version 2 ends each page with a form feed.
+     */
+    @Override
+    public int getProcessorVersion() {
+        return 2;
+    }
+
     @Override
     public String extractContent(DocumentVersion documentVersion) throws IOException {
+        StringBuilder text = new StringBuilder();
+        extractContent(documentVersion, text::append);
+        logger.debug("Extracted {} characters from PDF document", text.length());
+        return text.toString();
+    }
+
+    @Override
+    public void extractContent(DocumentVersion documentVersion, ContentSink sink) throws IOException {
         if (documentVersion == null || documentVersion.getStoragePath() == null) {
             throw new IllegalArgumentException("Document version or storage path is null");
         }
-        
+
         logger.info("Extracting content from PDF document: {}", documentVersion.getStoragePath());
-        
-        Resource resource = storageService.loadAsResource(documentVersion.getStoragePath());
-        
-        try (InputStream inputStream = resource.getInputStream()) {
-            // Convert InputStream to byte array for PDFBox 3.0.1
-            byte[] pdfBytes = IOUtils.toByteArray(inputStream);
-            
-            try (PDDocument document = Loader.loadPDF(pdfBytes)) {
-                PDFTextStripper textStripper = new PDFTextStripper();
-                String text = textStripper.getText(document);
-                
-                logger.debug("Extracted {} characters from PDF document", text.length());
-                
-                return text;
+
+        try {
+            Path file = documentVersionStore.getPath(documentVersion);
+            int pageCount;
+            try (PDDocument document = load(file)) {
+                pageCount = document.getNumberOfPages();
+                if (pageCount <= pagesPerTask || parallelism == 1) {
+                    sink.append(extractPages(newStripper(), document, 1, pageCount));
+                    return;
+                }
             }
+            extractInParallel(file, pageCount, sink);
         } catch (IOException e) {
             logger.error("Failed to extract content from PDF document: {}", documentVersion.getStoragePath(), e);
             throw e;
         }
     }
-} 
\ No newline at end of file
+
+    @PreDestroy
+    public void shutdown() {
+        extractionPool.shutdownNow();
+    }
+
+    private void extractInParallel(Path file, int pageCount, ContentSink sink) throws IOException {
+        int rangeCount = (pageCount + pagesPerTask - 1) / pagesPerTask;
+        int workers = Math.min(parallelism, rangeCount);
+        int window = workers * 2;
+
+        // Entries are cleared once handed to the sink, so emitted text can be collected
+        AtomicReferenceArray<CompletableFuture<String>> ranges = new AtomicReferenceArray<>(rangeCount);
+        for (int i = 0; i < rangeCount; i++) {
+            ranges.set(i, new CompletableFuture<>());
+        }
+        AtomicInteger nextRange = new AtomicInteger();
+        AtomicBoolean cancelled = new AtomicBoolean();
+        Semaphore permits = new Semaphore(window);
+
+        for (int i = 0; i < workers; i++) {
+            extractionPool.execute(() -> {
+                try (PDDocument document = load(file)) {
+                    PDFTextStripper stripper = newStripper();
+                    while (!cancelled.get()) {
+                        permits.acquire();
+                        int range = nextRange.getAndIncrement();
+                        if (cancelled.get() || range >= rangeCount) {
+                            permits.release();
+                            break;
+                        }
+                        int startPage = range * pagesPerTask + 1;
+                        int endPage = Math.min(startPage + pagesPerTask - 1, pageCount);
+                        try {
+                            ranges.get(range).complete(extractPages(stripper, document, startPage, endPage));
+                        } catch (IOException | RuntimeException e) {
+                            ranges.get(range).completeExceptionally(e);
+                        }
+                    }
+                } catch (Throwable e) {
+                    if (e instanceof InterruptedException) {
+                        Thread.currentThread().interrupt();
+                    }
+                    // Without this worker its claimed and unclaimed ranges may never be extracted
+                    cancelled.set(true);
+                    for (int range = 0; range < rangeCount; range++) {
+                        CompletableFuture<String> pending = ranges.get(range);
+                        if (pending != null) {
+                            pending.completeExceptionally(e);
+                        }
+                    }
+                }
+            });
+        }
+
+        try {
+            for (int i = 0; i < rangeCount; i++) {
+                String text = await(ranges.get(i), rangeTimeout);
+                ranges.set(i, null);
+                permits.release();
+                sink.append(text);
+            }
+        } finally {
+            cancelled.set(true);
+            // Wake up workers waiting for a permit so they can see the cancellation
+            permits.release(window);
+        }
+        logger.debug("Extracted {} pages in {} ranges on {} workers", pageCount, rangeCount, workers);
+    }
+
+    /**
+     * Creates a text stripper that ends each page with a form feed.
+     *
+     * @return The text stripper
+     */
+    static PDFTextStripper newStripper() {
+        PDFTextStripper stripper = new PDFTextStripper();
+        stripper.setPageEnd(stripper.getPageEnd() + "\f");
+        return stripper;
+    }
+
+    private static String extractPages(PDFTextStripper stripper, PDDocument document, int startPage, int endPage)
+            throws IOException {
+        stripper.setStartPage(startPage);
+        stripper.setEndPage(endPage);
+        StringWriter writer = new StringWriter();
+        stripper.writeText(document, writer);
+        return writer.toString();
+    }
+
+    private static PDDocument load(Path file) throws IOException {
+        return Loader.loadPDF(new RandomAccessReadBufferedFile(file.toFile()));
+    }
+
+    private static String await(CompletableFuture<String> range, Duration timeout) throws IOException {
+        try {
+            return range.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while extracting PDF content");
+        } catch (TimeoutException e) {
+            throw new IOException("Timed out after " + timeout + " waiting for a PDF page range");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException ioException) {
+                throw ioException;
+            }
+            throw new IOException("Failed to extract PDF page range", e.getCause());
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.vtnet.pdms.infrastructure.document;
+
+import com.vtnet.pdms.domain.model.DocumentVersion;
+import com.vtnet.pdms.domain.service.ContentSink;
+import com.vtnet.pdms.domain.service.DocumentProcessor;
+import com.vtnet.pdms.infrastructure.document.OoxmlStreaming.TextBuffer;
+import com.vtnet.pdms.infrastructure.storage.DocumentVersionStore;
+import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackagePart;
+import org.apache.poi.openxml4j.opc.PackageRelationship;
+import org.apache.poi.xslf.usermodel.XSLFRelation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.xml.sax.Attributes;
+import org.xml.sax.helpers.DefaultHandler;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Implementation of DocumentProcessor for PPTX presentations.
+ * <p>
+ * Slides are read with SAX in presentation order, each followed by its speaker notes. Only the
+ * list of slide relationship IDs is held in memory.
+ */
+@Component
+public class PptxDocumentProcessor implements DocumentProcessor {
+
+    private static final Logger logger = LoggerFactory.getLogger(PptxDocumentProcessor.class);
+    private static final String[] SUPPORTED_MIME_TYPES = {
+            "application/vnd.openxmlformats-officedocument.presentationml.presentation",
+            "application/vnd.ms-powerpoint.presentation.macroenabled.12"
+    };
+    private static final String PRESENTATIONML_NS = "http://schemas.openxmlformats.org/presentationml/2006/main";
+    private static final String DRAWINGML_NS = "http://schemas.openxmlformats.org/drawingml/2006/main";
+    private static final String RELATIONSHIPS_NS = "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+
+    private final DocumentVersionStore documentVersionStore;
+
+    /**
+     * Constructor with dependency injection.
+     *
+     * @param documentVersionStore Store for document version content
+     */
+    @Autowired
+    public PptxDocumentProcessor(DocumentVersionStore documentVersionStore) {
+        this.documentVersionStore = documentVersionStore;
+    }
+
+    @Override
+    public boolean canProcess(String mimeType) {
+        if (mimeType == null) {
+            return false;
+        }
+
+        for (String supportedType : SUPPORTED_MIME_TYPES) {
+            if (supportedType.equalsIgnoreCase(mimeType)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    @Override
+    public Set<String> getSupportedMimeTypes() {
+        return Set.of(SUPPORTED_MIME_TYPES);
+    }
+
+    @Override
+    public String extractContent(DocumentVersion documentVersion) throws IOException {
+        StringBuilder text = new StringBuilder();
+        extractContent(documentVersion, text::append);
+        return text.toString();
+    }
+
+    @Override
+    public void extractContent(DocumentVersion documentVersion, ContentSink sink) throws IOException {
+        if (documentVersion == null || documentVersion.getStoragePath() == null) {
+            throw new IllegalArgumentException("Document version or storage path is null");
+        }
+
+        logger.info("Extracting content from PPTX document: {}", documentVersion.getStoragePath());
+
+        try {
+            OPCPackage pkg = OoxmlStreaming.open(documentVersionStore.getPath(documentVersion));
+            try {
+                long length = extractText(pkg, sink);
+                logger.debug("Extracted {} characters from PPTX document", length);
+            } finally {
+                // Read-only packages are released with revert; close would try to save them
+                pkg.revert();
+            }
+        } catch (IOException e) {
+            logger.error("Failed to extract content from PPTX document: {}", documentVersion.getStoragePath(), e);
+            throw e;
+        }
+    }
+
+    private static long extractText(OPCPackage pkg, ContentSink sink) throws IOException {
+        PackagePart presentation = OoxmlStreaming.mainPart(pkg);
+        SlideListHandler slideList = new SlideListHandler();
+        OoxmlStreaming.parse(presentation, slideList);
+
+        TextBuffer text = new TextBuffer(sink);
+        DrawingTextHandler handler = new DrawingTextHandler(text);
+        for (String relationshipId : slideList.relationshipIds) {
+            PackageRelationship relationship = presentation.getRelationship(relationshipId);
+            if (relationship == null) {
+                continue;
+            }
+            PackagePart slide;
+            try {
+                slide = presentation.getRelatedPart(relationship);
+            } catch (InvalidFormatException e) {
+                throw new IOException("Invalid slide relationship " + relationshipId, e);
+            }
+            if (slide == null) {
+                continue;
+            }
+
+            OoxmlStreaming.parse(slide, handler);
+            for (PackagePart notes : OoxmlStreaming.relatedParts(slide, XSLFRelation.NOTES.getRelation())) {
+                OoxmlStreaming.parse(notes, handler);
+            }
+            text.endLine();
+        }
+        text.flush();
+        return text.length();
+    }
+
+    /**
+     * Collects the relationship IDs of the slides listed in the presentation part, in order.
+     */
+    private static final class SlideListHandler extends DefaultHandler {
+        private final List<String> relationshipIds = new ArrayList<>();
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) {
+            if (PRESENTATIONML_NS.equals(uri) && "sldId".equals(localName)) {
+                String relationshipId = attributes.getValue(RELATIONSHIPS_NS, "id");
+                if (relationshipId != null) {
+                    relationshipIds.add(relationshipId);
+                }
+            }
+        }
+    }
+
+    /**
+     * Emits the text of DrawingML paragraphs, one line per paragraph.
+     */
+    private static final class DrawingTextHandler extends DefaultHandler {
+        private final TextBuffer text;
+        private boolean inText;
+
+        DrawingTextHandler(TextBuffer text) {
+            this.text = text;
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) {
+            if (DRAWINGML_NS.equals(uri)) {
+                if ("t".equals(localName)) {
+                    inText = true;
+                } else if ("br".equals(localName)) {
+                    text.append('\n');
+                }
+            }
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) {
+            if (DRAWINGML_NS.equals(uri)) {
+                if ("t".equals(localName)) {
+                    inText = false;
+                } else if ("p".equals(localName)) {
+                    text.endLine();
+                }
+            }
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) {
+            if (inText) {
+                text.append(ch, start, length);
+            }
+        }
+    }
+}
@@ -0,0 +1,386 @@
+package com.vtnet.pdms.infrastructure.document;
+
+import com.vtnet.pdms.domain.service.ContentSink;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.BreakIterator;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Splits extracted text into chunks of a bounded number of tokens for retrieval and citation.
+ * <p>
+ * Text is cut at sentence boundaries, found with a {@link BreakIterator}, and at paragraph breaks.
+ * A chunk never spans a page break (a form feed, as written by the PDF processor). Consecutive
+ * chunks on the same page overlap by whole sentences of up to the configured number of tokens.
+ * A sentence longer than a chunk is split between words.
+ * <p>
+ * Tokens are approximated as runs of letters and digits plus single punctuation characters, which is
+ * close to the number of words and syllables in both English and Vietnamese text.
+ * Text can be fed in pieces through {@link #open(ChunkConsumer)}; only the text of the chunk being
+ * built and the current sentence is held in memory.
+ */
+@Component
+public class TextChunker {
+
+    /**
+     * Number of unscanned characters collected before sentences are split off
+     */
+    private static final int SCAN_THRESHOLD = 16 * 1024;
+
+    private static final char PAGE_BREAK = '\f';
+    private static final Locale LOCALE = Locale.forLanguageTag("vi");
+
+    private final int maxTokens;
+    private final int overlapTokens;
+
+    /**
+     * Callback receiving chunks in document order.
+     */
+    @FunctionalInterface
+    public interface ChunkConsumer {
+
+        /**
+         * Receives a chunk.
+         *
+         * @param chunk The chunk
+         * @throws IOException If the chunk cannot be handled
+         */
+        void accept(TextChunk chunk) throws IOException;
+    }
+
+    /**
+     * A chunk of text.
+     *
+     * @param ordinal Position of the chunk in the document, starting at 0
+     * @param startOffset Offset of the first character in the extracted text
+     * @param endOffset Offset after the last character in the extracted text
+     * @param pageNumber Page the chunk is on, starting at 1
+     * @param text The text of the chunk
+     * @param tokenCount Approximate number of tokens
+     * @param hash SHA-256 of the text, hex encoded
+     */
+    public record TextChunk(int ordinal, long startOffset, long endOffset, int pageNumber,
+                            String text, int tokenCount, String hash) {
+    }
+
+    /**
+     * Constructor with dependency injection.
+     *
+     * @param maxTokens Maximum number of tokens per chunk
+     * @param overlapTokens Maximum number of tokens repeated from the previous chunk
+     */
+    @Autowired
+    public TextChunker(
+            @Value("${chunking.max-tokens:512}") int maxTokens,
+            @Value("${chunking.overlap-tokens:64}") int overlapTokens) {
+        if (maxTokens < 1 || overlapTokens < 0 || overlapTokens >= maxTokens) {
+            throw new IllegalArgumentException("Chunk overlap must be smaller than the chunk size");
+        }
+        this.maxTokens = maxTokens;
+        this.overlapTokens = overlapTokens;
+    }
+
+    /**
+     * Splits a text into chunks.
+     *
+     * @param text The text
+     * @return The chunks in document order
+     */
+    public List<TextChunk> chunk(String text) {
+        List<TextChunk> chunks = new ArrayList<>();
+        try {
+            ChunkingSink sink = open(chunks::add);
+            sink.append(text);
+            sink.finish();
+        } catch (IOException e) {
+            // Collecting into a list does not fail
+            throw new IllegalStateException(e);
+        }
+        return chunks;
+    }
+
+    /**
+     * Starts chunking a text that is passed in pieces.
+     *
+     * @param consumer Receiver of the chunks
+     * @return A sink for the text; {@link ChunkingSink#finish()} must be called after the last piece
+     */
+    public ChunkingSink open(ChunkConsumer consumer) {
+        return new ChunkingSink(consumer);
+    }
+
+    /**
+     * Counts the approximate number of tokens in part of a text.
+     *
+     * @param text The text
+     * @param start Start of the part
+     * @param end End of the part
+     * @return The number of tokens
+     */
+    static int countTokens(CharSequence text, int start, int end) {
+        int tokens = 0;
+        boolean inWord = false;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (isWordChar(c)) {
+                if (!inWord) {
+                    tokens++;
+                    inWord = true;
+                }
+            } else {
+                inWord = false;
+                if (!Character.isWhitespace(c) && !Character.isSpaceChar(c)) {
+                    tokens++;
+                }
+            }
+        }
+        return tokens;
+    }
+
+    private static boolean isWordChar(char c) {
+        return Character.isLetterOrDigit(c) || Character.getType(c) == Character.NON_SPACING_MARK;
+    }
+
+    /**
+     * A sentence or part of one, with absolute offsets in the text.
+     */
+    private record Piece(long start, long end, int page, int tokens, boolean startsPage) {
+    }
+
+    /**
+     * Sink that turns the text passed to it into chunks.
+     */
+    public final class ChunkingSink implements ContentSink {
+        private final ChunkConsumer consumer;
+        private final StringBuilder pending = new StringBuilder();
+        private final List<Piece> current = new ArrayList<>();
+        private long pendingStart;
+        private long scanned;
+        private int page = 1;
+        private int currentTokens;
+        private int unemitted;
+        private int ordinal;
+        private boolean pageBreakPending;
+
+        private ChunkingSink(ChunkConsumer consumer) {
+            this.consumer = consumer;
+        }
+
+        @Override
+        public void append(String text) throws IOException {
+            pending.append(text);
+            if (pending.length() - (scanned - pendingStart) >= SCAN_THRESHOLD) {
+                scan(false);
+            }
+        }
+
+        /**
+         * Chunks the remaining text.
+         *
+         * @throws IOException If the consumer fails
+         */
+        public void finish() throws IOException {
+            scan(true);
+            emit();
+        }
+
+        /**
+         * Splits the unscanned text into pieces. Unless this is the end of the text, the last
+         * sentence is left for the next scan because it may continue in the next piece of text.
+         */
+        private void scan(boolean last) throws IOException {
+            int from = (int) (scanned - pendingStart);
+            String text = pending.substring(from);
+            List<int[]> boundaries = sentenceBoundaries(text);
+            int keep = boundaries.size();
+            if (!last && keep > 0) {
+                int[] lastSpan = boundaries.get(keep - 1);
+                // A sentence this long is split between words anyway, so it is not held back
+                if (lastSpan[1] - lastSpan[0] < SCAN_THRESHOLD) {
+                    keep--;
+                }
+            }
+
+            for (int i = 0; i < keep; i++) {
+                int start = boundaries.get(i)[0];
+                int end = boundaries.get(i)[1];
+                addSentence(text, start, end, scanned);
+            }
+            if (keep > 0) {
+                scanned += boundaries.get(keep - 1)[1];
+            }
+            if (last) {
+                scanned = pendingStart + pending.length();
+            }
+            trim();
+        }
+
+        /**
+         * Returns the sentence spans of a text, each ending after its trailing whitespace. Page and
+         * paragraph breaks always end a sentence.
+         */
+        private List<int[]> sentenceBoundaries(String text) {
+            List<int[]> spans = new ArrayList<>();
+            int blockStart = 0;
+            for (int i = 0; i <= text.length(); i++) {
+                boolean end = i == text.length();
+                boolean hardBreak = !end && (text.charAt(i) == PAGE_BREAK || isParagraphBreak(text, i));
+                if (!end && !hardBreak) {
+                    continue;
+                }
+                int blockEnd = end ? i : skipWhitespace(text, i);
+                if (blockEnd > blockStart) {
+                    BreakIterator sentences = BreakIterator.getSentenceInstance(LOCALE);
+                    sentences.setText(text.substring(blockStart, blockEnd));
+                    int start = sentences.first();
+                    for (int next = sentences.next(); next != BreakIterator.DONE; start = next, next = sentences.next()) {
+                        spans.add(new int[] {blockStart + start, blockStart + next});
+                    }
+                }
+                blockStart = blockEnd;
+                i = Math.max(i, blockEnd - 1);
+            }
+            return spans;
+        }
+
+        private void addSentence(String text, int start, int end, long base) throws IOException {
+            boolean startsPage = pageBreakPending;
+            pageBreakPending = false;
+            int tokens = countTokens(text, start, end);
+
+            if (tokens <= maxTokens) {
+                addPiece(new Piece(base + start, base + end, page, tokens, startsPage));
+            } else {
+                // Split an overlong sentence between words, or inside a word if it has no spaces
+                int partStart = start;
+                int partTokens = 0;
+                int lastSpace = -1;
+                for (int i = start; i < end; i++) {
+                    if (Character.isWhitespace(text.charAt(i))) {
+                        lastSpace = i + 1;
+                        continue;
+                    }
+                    boolean startsToken = !isWordChar(text.charAt(i)) || i == partStart || !isWordChar(text.charAt(i - 1));
+                    if (startsToken && partTokens == maxTokens) {
+                        int cut = lastSpace > partStart ? lastSpace : i;
+                        addPiece(new Piece(base + partStart, base + cut, page,
+                                countTokens(text, partStart, cut), startsPage));
+                        startsPage = false;
+                        partStart = cut;
+                        partTokens = countTokens(text, partStart, i);
+                    }
+                    if (startsToken) {
+                        partTokens++;
+                    }
+                }
+                if (partStart < end) {
+                    addPiece(new Piece(base + partStart, base + end, page, countTokens(text, partStart, end), startsPage));
+                }
+            }
+
+            for (int i = start; i < end; i++) {
+                if (text.charAt(i) == PAGE_BREAK) {
+                    page++;
+                    pageBreakPending = true;
+                }
+            }
+        }
+
+        private void addPiece(Piece piece) throws IOException {
+            if (piece.startsPage()) {
+                // Chunks do not span pages and do not overlap across them
+                emit();
+                current.clear();
+                currentTokens = 0;
+            }
+            if (piece.tokens() == 0 && current.isEmpty()) {
+                return;
+            }
+            if (currentTokens + piece.tokens() > maxTokens && unemitted > 0) {
+                emit();
+                while (!current.isEmpty()
+                        && (currentTokens > overlapTokens || currentTokens + piece.tokens() > maxTokens)) {
+                    currentTokens -= current.remove(0).tokens();
+                }
+            }
+            current.add(piece);
+            currentTokens += piece.tokens();
+            if (piece.tokens() > 0) {
+                unemitted++;
+            }
+        }
+
+        private void emit() throws IOException {
+            if (unemitted == 0 || current.isEmpty()) {
+                return;
+            }
+
+            int start = (int) (current.get(0).start() - pendingStart);
+            int end = (int) (current.get(current.size() - 1).end() - pendingStart);
+            while (start < end && Character.isWhitespace(pending.charAt(start))) {
+                start++;
+            }
+            while (end > start && (Character.isWhitespace(pending.charAt(end - 1)) || pending.charAt(end - 1) == PAGE_BREAK)) {
+                end--;
+            }
+            String text = pending.substring(start, end);
+            consumer.accept(new TextChunk(ordinal++, pendingStart + start, pendingStart + end,
+                    current.get(0).page(), text, currentTokens, sha256(text)));
+            unemitted = 0;
+        }
+
+        /**
+         * Drops text that is neither part of the chunk being built nor unscanned.
+         */
+        private void trim() {
+            long keepFrom = current.isEmpty() ? scanned : Math.min(current.get(0).start(), scanned);
+            int drop = (int) (keepFrom - pendingStart);
+            if (drop > 0) {
+                pending.delete(0, drop);
+                pendingStart = keepFrom;
+            }
+        }
+    }
+
+    private static boolean isParagraphBreak(String text, int index) {
+        if (text.charAt(index) != '\n') {
+            return false;
+        }
+        for (int i = index + 1; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '\n') {
+                return true;
+            }
+            if (!Character.isWhitespace(c)) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    private static int skipWhitespace(String text, int index) {
+        int i = index;
+        while (i < text.length() && (Character.isWhitespace(text.charAt(i)) || text.charAt(i) == PAGE_BREAK)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static String sha256(String text) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(text.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
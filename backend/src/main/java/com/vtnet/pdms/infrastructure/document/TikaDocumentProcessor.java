@@ -0,0 +1,172 @@
+package com.vtnet.pdms.infrastructure.document;
+
+import com.vtnet.pdms.domain.model.DocumentVersion;
+import com.vtnet.pdms.domain.service.ContentSink;
+import com.vtnet.pdms.domain.service.DocumentProcessor;
+import com.vtnet.pdms.infrastructure.storage.DocumentVersionStore;
+import org.apache.tika.exception.TikaException;
+import org.apache.tika.exception.WriteLimitReachedException;
+import org.apache.tika.io.TikaInputStream;
+import org.apache.tika.metadata.Metadata;
+import org.apache.tika.mime.MediaType;
+import org.apache.tika.parser.AutoDetectParser;
+import org.apache.tika.parser.ParseContext;
+import org.apache.tika.parser.Parser;
+import org.apache.tika.sax.BodyContentHandler;
+import org.apache.tika.sax.WriteOutContentHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.xml.sax.SAXException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.Set;
+
+/**
+ * Fallback DocumentProcessor for every format Apache Tika can parse, such as ODF, RTF, HTML,
+ * e-mail and legacy Office files.
+ * <p>
+ * It is not registered for any MIME type; the processor registry uses it when no specific processor
+ * matches. The body text is streamed to the sink as it is parsed, and parsing stops once the
+ * configured number of characters has been written.
+ */
+@Component
+public class TikaDocumentProcessor implements DocumentProcessor {
+
+    private static final Logger logger = LoggerFactory.getLogger(TikaDocumentProcessor.class);
+
+    /**
+     * Number of characters buffered before they are handed to the sink
+     */
+    private static final int FLUSH_THRESHOLD = 64 * 1024;
+
+    private final DocumentVersionStore documentVersionStore;
+    private final Parser parser;
+    private final Set<MediaType> supportedTypes;
+    private final int maxChars;
+
+    /**
+     * Constructor with dependency injection.
+     *
+     * @param documentVersionStore Store for document version content
+     * @param maxChars Maximum number of characters extracted from a document
+     */
+    @Autowired
+    public TikaDocumentProcessor(
+            DocumentVersionStore documentVersionStore,
+            @Value("${extraction.tika.max-chars:10000000}") int maxChars) {
+        this.documentVersionStore = documentVersionStore;
+        this.parser = new AutoDetectParser();
+        this.supportedTypes = parser.getSupportedTypes(new ParseContext());
+        this.maxChars = maxChars;
+    }
+
+    @Override
+    public boolean canProcess(String mimeType) {
+        if (mimeType == null) {
+            return false;
+        }
+
+        MediaType mediaType = MediaType.parse(mimeType);
+        return mediaType != null && supportedTypes.contains(mediaType.getBaseType());
+    }
+
+    @Override
+    public String extractContent(DocumentVersion documentVersion) throws IOException {
+        StringBuilder text = new StringBuilder();
+        extractContent(documentVersion, text::append);
+        return text.toString();
+    }
+
+    @Override
+    public void extractContent(DocumentVersion documentVersion, ContentSink sink) throws IOException {
+        if (documentVersion == null || documentVersion.getStoragePath() == null) {
+            throw new IllegalArgumentException("Document version or storage path is null");
+        }
+
+        logger.info("Extracting content with Tika from document: {}", documentVersion.getStoragePath());
+
+        SinkWriter writer = new SinkWriter(sink);
+        BodyContentHandler handler = new BodyContentHandler(new WriteOutContentHandler(writer, maxChars));
+        Metadata metadata = new Metadata();
+        try (TikaInputStream inputStream = TikaInputStream.get(documentVersionStore.getPath(documentVersion), metadata)) {
+            parser.parse(inputStream, handler, metadata, new ParseContext());
+            writer.flush();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } catch (SAXException e) {
+            if (!WriteLimitReachedException.isWriteLimitReached(e)) {
+                throw failure(documentVersion, e);
+            }
+            logger.warn("Extracted text of {} was cut off at {} characters", documentVersion.getStoragePath(), maxChars);
+            flushRemaining(writer);
+        } catch (TikaException e) {
+            // Tika wraps runtime exceptions from the content handler, including sink failures
+            for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+                if (cause instanceof UncheckedIOException sinkFailure) {
+                    throw sinkFailure.getCause();
+                }
+            }
+            throw failure(documentVersion, e);
+        }
+        logger.debug("Extracted {} characters with Tika", writer.length);
+    }
+
+    private static void flushRemaining(SinkWriter writer) throws IOException {
+        try {
+            writer.flush();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static IOException failure(DocumentVersion documentVersion, Exception e) {
+        logger.error("Failed to extract content with Tika from document: {}", documentVersion.getStoragePath(), e);
+        return new IOException("Failed to parse document: " + e.getMessage(), e);
+    }
+
+    /**
+     * Writer that hands text to a sink in pieces of about {@link #FLUSH_THRESHOLD} characters.
+     * Sink failures are thrown as {@link UncheckedIOException} and unwrapped by the processor.
+     */
+    private static final class SinkWriter extends Writer {
+        private final ContentSink sink;
+        private final StringBuilder buffer = new StringBuilder();
+        private long length;
+
+        SinkWriter(ContentSink sink) {
+            this.sink = sink;
+        }
+
+        @Override
+        public void write(char[] chars, int offset, int count) {
+            buffer.append(chars, offset, count);
+            if (buffer.length() >= FLUSH_THRESHOLD) {
+                flush();
+            }
+        }
+
+        @Override
+        public void flush() {
+            if (buffer.length() > 0) {
+                length += buffer.length();
+                String text = buffer.toString();
+                buffer.setLength(0);
+                try {
+                    sink.append(text);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+
+        @Override
+        public void close() {
+            flush();
+        }
+    }
+}
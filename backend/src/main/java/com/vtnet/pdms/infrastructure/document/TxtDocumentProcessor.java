@@ -1,23 +1,37 @@
 package com.vtnet.pdms.infrastructure.document;
 
 import com.vtnet.pdms.domain.model.DocumentVersion;
+import com.vtnet.pdms.domain.service.ContentSink;
 import com.vtnet.pdms.domain.service.DocumentProcessor;
-import com.vtnet.pdms.infrastructure.storage.StorageService;
+import com.vtnet.pdms.infrastructure.storage.DocumentVersionStore;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.Resource;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
 import java.nio.charset.StandardCharsets;
-import java.util.stream.Collectors;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Set;
 
 /**
  * Implementation of DocumentProcessor for plain text documents.
+ * <p>
+ * The file is memory-mapped in windows and decoded window by window, so memory use does not depend
+ * on the file size. The charset is taken from a byte order mark, or else detected from a sample at
+ * the start of the file: valid UTF-8, UTF-16 by its pattern of zero bytes, and otherwise
+ * Windows-1258, the Vietnamese code page. Extraction stops at a fixed number of characters.
  */
 @Component
 public class TxtDocumentProcessor implements DocumentProcessor {
@@ -26,21 +40,39 @@ public class TxtDocumentProcessor implements DocumentProcessor {
     private static final String[] SUPPORTED_MIME_TYPES = {
             "text/plain",
             "text/csv",
-            "text/html",
             "text/xml",
             "application/json"
     };
-    
-    private final StorageService storageService;
-    
+
+    /**
+     * Bytes mapped at a time
+     */
+    static final int WINDOW_SIZE = 32 * 1024 * 1024;
+
+    /**
+     * Characters decoded before they are handed to the sink
+     */
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    private static final int SAMPLE_SIZE = 64 * 1024;
+    private static final Charset WINDOWS_1258 = Charset.isSupported("windows-1258")
+            ? Charset.forName("windows-1258") : StandardCharsets.ISO_8859_1;
+
+    private final DocumentVersionStore documentVersionStore;
+    private final long maxChars;
+
     /**
      * Constructor with dependency injection.
      *
-     * @param storageService Service for file storage operations
+     * @param documentVersionStore Store for document version content
+     * @param maxChars Maximum number of characters extracted from a document
      */
     @Autowired
-    public TxtDocumentProcessor(StorageService storageService) {
-        this.storageService = storageService;
+    public TxtDocumentProcessor(
+            DocumentVersionStore documentVersionStore,
+            @Value("${extraction.text.max-chars:20000000}") long maxChars) {
+        this.documentVersionStore = documentVersionStore;
+        this.maxChars = maxChars;
     }
 
     @Override
@@ -48,37 +80,184 @@ public class TxtDocumentProcessor implements DocumentProcessor {
         if (mimeType == null) {
             return false;
         }
-        
+
         for (String supportedType : SUPPORTED_MIME_TYPES) {
             if (supportedType.equalsIgnoreCase(mimeType)) {
                 return true;
             }
         }
-        
+
         return false;
     }
 
+    @Override
+    public Set<String> getSupportedMimeTypes() {
+        return Set.of(SUPPORTED_MIME_TYPES);
+    }
+
+    /**
+     * Version 2 keeps the text as stored instead of joining its lines, and detects the charset.
+     */
+    @Override
+    public int getProcessorVersion() {
+        return 2;
+    }
+
     @Override
     public String extractContent(DocumentVersion documentVersion) throws IOException {
+        StringBuilder text = new StringBuilder();
+        extractContent(documentVersion, text::append);
+        return text.toString();
+    }
+
+    @Override
+    public void extractContent(DocumentVersion documentVersion, ContentSink sink) throws IOException {
         if (documentVersion == null || documentVersion.getStoragePath() == null) {
             throw new IllegalArgumentException("Document version or storage path is null");
         }
-        
+
         logger.info("Extracting content from text document: {}", documentVersion.getStoragePath());
-        
-        Resource resource = storageService.loadAsResource(documentVersion.getStoragePath());
-        
-        try (InputStream inputStream = resource.getInputStream();
-             BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
-            
-            String text = reader.lines().collect(Collectors.joining("\n"));
-            
-            logger.debug("Extracted {} characters from text document", text.length());
-            
-            return text;
+
+        try {
+            long length = extractText(documentVersionStore.getPath(documentVersion), sink);
+            logger.debug("Extracted {} characters from text document", length);
         } catch (IOException e) {
             logger.error("Failed to extract content from text document: {}", documentVersion.getStoragePath(), e);
             throw e;
         }
     }
-} 
\ No newline at end of file
+
+    private long extractText(Path file, ContentSink sink) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size == 0) {
+                return 0;
+            }
+
+            MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(size, WINDOW_SIZE));
+            DetectedCharset detected = detectCharset(window);
+            logger.debug("Decoding {} as {}", file, detected.charset());
+
+            CharsetDecoder decoder = detected.charset().newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+            CharBuffer chunk = CharBuffer.allocate(CHUNK_SIZE);
+            long windowStart = 0;
+            window.position(detected.bomLength());
+            long written = 0;
+
+            while (true) {
+                boolean lastWindow = windowStart + window.limit() >= size;
+                CoderResult result;
+                do {
+                    result = decoder.decode(window, chunk, lastWindow);
+                    if (result.isError()) {
+                        result.throwException();
+                    }
+                    if (result.isOverflow() || chunk.position() > 0) {
+                        written = emit(chunk, sink, written);
+                        if (written >= maxChars) {
+                            logger.warn("Extracted text of {} was cut off at {} characters", file, maxChars);
+                            return written;
+                        }
+                    }
+                } while (result.isOverflow());
+
+                if (lastWindow) {
+                    break;
+                }
+                // An incomplete character at the end of the window is decoded with the next one
+                windowStart += window.position();
+                window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, Math.min(size - windowStart, WINDOW_SIZE));
+            }
+
+            while (decoder.flush(chunk).isOverflow()) {
+                written = emit(chunk, sink, written);
+            }
+            return emit(chunk, sink, written);
+        }
+    }
+
+    private long emit(CharBuffer chunk, ContentSink sink, long written) throws IOException {
+        chunk.flip();
+        int count = (int) Math.min(chunk.remaining(), maxChars - written);
+        if (count > 0) {
+            sink.append(chunk.subSequence(0, count).toString());
+        }
+        chunk.clear();
+        return written + count;
+    }
+
+    /**
+     * Charset of a file and the length of its byte order mark.
+     */
+    record DetectedCharset(Charset charset, int bomLength) {
+    }
+
+    /**
+     * Detects the charset of a text from the start of its content.
+     *
+     * @param content The content, read from position 0 without moving the buffer's position
+     * @return The detected charset
+     */
+    static DetectedCharset detectCharset(ByteBuffer content) {
+        ByteBuffer sample = content.duplicate();
+        sample.position(0);
+        sample.limit(Math.min(content.limit(), SAMPLE_SIZE));
+
+        int b0 = sample.remaining() > 0 ? sample.get(0) & 0xFF : -1;
+        int b1 = sample.remaining() > 1 ? sample.get(1) & 0xFF : -1;
+        int b2 = sample.remaining() > 2 ? sample.get(2) & 0xFF : -1;
+        if (b0 == 0xEF && b1 == 0xBB && b2 == 0xBF) {
+            return new DetectedCharset(StandardCharsets.UTF_8, 3);
+        }
+        if (b0 == 0xFE && b1 == 0xFF) {
+            return new DetectedCharset(StandardCharsets.UTF_16BE, 2);
+        }
+        if (b0 == 0xFF && b1 == 0xFE) {
+            return new DetectedCharset(StandardCharsets.UTF_16LE, 2);
+        }
+
+        // Text in UTF-16 without a byte order mark has a zero byte in most ASCII characters
+        int evenZeros = 0;
+        int oddZeros = 0;
+        for (int i = 0; i < sample.limit(); i++) {
+            if (sample.get(i) == 0) {
+                if (i % 2 == 0) {
+                    evenZeros++;
+                } else {
+                    oddZeros++;
+                }
+            }
+        }
+        int pairs = sample.limit() / 2;
+        if (pairs > 0 && evenZeros > pairs * 0.3 && oddZeros < pairs * 0.05) {
+            return new DetectedCharset(StandardCharsets.UTF_16BE, 0);
+        }
+        if (pairs > 0 && oddZeros > pairs * 0.3 && evenZeros < pairs * 0.05) {
+            return new DetectedCharset(StandardCharsets.UTF_16LE, 0);
+        }
+
+        if (isUtf8(sample, sample.limit() < content.limit())) {
+            return new DetectedCharset(StandardCharsets.UTF_8, 0);
+        }
+        return new DetectedCharset(WINDOWS_1258, 0);
+    }
+
+    private static boolean isUtf8(ByteBuffer sample, boolean truncated) {
+        CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPORT)
+                .onUnmappableCharacter(CodingErrorAction.REPORT);
+        CharBuffer out = CharBuffer.allocate(sample.remaining());
+        try {
+            // A character cut off at the end of a truncated sample is not an error
+            CoderResult result = decoder.decode(sample.duplicate(), out, !truncated);
+            if (result.isError()) {
+                result.throwException();
+            }
+            return true;
+        } catch (CharacterCodingException e) {
+            return false;
+        }
+    }
+}
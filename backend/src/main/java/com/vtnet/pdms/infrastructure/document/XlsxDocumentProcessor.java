@@ -0,0 +1,174 @@
+package com.vtnet.pdms.infrastructure.document;
+
+import com.vtnet.pdms.domain.model.DocumentVersion;
+import com.vtnet.pdms.domain.service.ContentSink;
+import com.vtnet.pdms.domain.service.DocumentProcessor;
+import com.vtnet.pdms.infrastructure.document.OoxmlStreaming.TextBuffer;
+import com.vtnet.pdms.infrastructure.storage.DocumentVersionStore;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler.SheetContentsHandler;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.xml.sax.SAXException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.Set;
+
+/**
+ * Implementation of DocumentProcessor for XLSX spreadsheets.
+ * <p>
+ * Sheets are read with the XSSF event model: each sheet is parsed with SAX and every row is
+ * emitted as one line of tab-separated formatted cell values, preceded by the sheet name.
+ * Only the shared strings table is held in memory; row data never is.
+ */
+@Component
+public class XlsxDocumentProcessor implements DocumentProcessor {
+
+    private static final Logger logger = LoggerFactory.getLogger(XlsxDocumentProcessor.class);
+    private static final String[] SUPPORTED_MIME_TYPES = {
+            "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet",
+            "application/vnd.ms-excel.sheet.macroenabled.12"
+    };
+
+    private final DocumentVersionStore documentVersionStore;
+
+    /**
+     * Constructor with dependency injection.
+     *
+     * @param documentVersionStore Store for document version content
+     */
+    @Autowired
+    public XlsxDocumentProcessor(DocumentVersionStore documentVersionStore) {
+        this.documentVersionStore = documentVersionStore;
+    }
+
+    @Override
+    public boolean canProcess(String mimeType) {
+        if (mimeType == null) {
+            return false;
+        }
+
+        for (String supportedType : SUPPORTED_MIME_TYPES) {
+            if (supportedType.equalsIgnoreCase(mimeType)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    @Override
+    public Set<String> getSupportedMimeTypes() {
+        return Set.of(SUPPORTED_MIME_TYPES);
+    }
+
+    @Override
+    public String extractContent(DocumentVersion documentVersion) throws IOException {
+        StringBuilder text = new StringBuilder();
+        extractContent(documentVersion, text::append);
+        return text.toString();
+    }
+
+    @Override
+    public void extractContent(DocumentVersion documentVersion, ContentSink sink) throws IOException {
+        if (documentVersion == null || documentVersion.getStoragePath() == null) {
+            throw new IllegalArgumentException("Document version or storage path is null");
+        }
+
+        logger.info("Extracting content from XLSX document: {}", documentVersion.getStoragePath());
+
+        try {
+            OPCPackage pkg = OoxmlStreaming.open(documentVersionStore.getPath(documentVersion));
+            try {
+                long length = extractText(pkg, sink);
+                logger.debug("Extracted {} characters from XLSX document", length);
+            } finally {
+                // Read-only packages are released with revert; close would try to save them
+                pkg.revert();
+            }
+        } catch (IOException e) {
+            logger.error("Failed to extract content from XLSX document: {}", documentVersion.getStoragePath(), e);
+            throw e;
+        }
+    }
+
+    private static long extractText(OPCPackage pkg, ContentSink sink) throws IOException {
+        XSSFReader reader;
+        ReadOnlySharedStringsTable sharedStrings;
+        StylesTable styles;
+        Iterator<InputStream> sheets;
+        try {
+            reader = new XSSFReader(pkg);
+            sharedStrings = new ReadOnlySharedStringsTable(pkg, false);
+            styles = reader.getStylesTable();
+            sheets = reader.getSheetsData();
+        } catch (OpenXML4JException | SAXException e) {
+            throw new IOException("Invalid XLSX workbook: " + e.getMessage(), e);
+        }
+
+        TextBuffer text = new TextBuffer(sink);
+        DataFormatter formatter = new DataFormatter();
+        while (sheets.hasNext()) {
+            try (InputStream sheet = sheets.next()) {
+                if (sheets instanceof XSSFReader.SheetIterator sheetIterator) {
+                    text.endLine();
+                    text.append(sheetIterator.getSheetName());
+                    text.append('\n');
+                }
+                OoxmlStreaming.parse(sheet, new XSSFSheetXMLHandler(styles, sharedStrings,
+                        new RowTextHandler(text), formatter, false));
+            }
+        }
+        text.flush();
+        return text.length();
+    }
+
+    /**
+     * Writes each row as one line of tab-separated cell values.
+     */
+    private static final class RowTextHandler implements SheetContentsHandler {
+        private final TextBuffer text;
+        private boolean firstCell;
+
+        RowTextHandler(TextBuffer text) {
+            this.text = text;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            firstCell = true;
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            if (!firstCell) {
+                text.append('\n');
+            }
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            if (!firstCell) {
+                text.append('\t');
+            }
+            firstCell = false;
+            text.append(formattedValue);
+        }
+
+        @Override
+        public void headerFooter(String value, boolean isHeader, String tagName) {
+            // Print headers and footers carry no document content
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.vtnet.pdms.infrastructure.search;
+
+import com.vtnet.pdms.application.mapper.ReindexJobMapper;
+import com.vtnet.pdms.application.service.DocumentIndexingQueue;
+import com.vtnet.pdms.application.service.SearchIndexServiceImpl;
+import com.vtnet.pdms.domain.repository.DocumentChunkRepository;
+import com.vtnet.pdms.domain.repository.DocumentChunkRepository.FullTextMatchView;
+import com.vtnet.pdms.domain.repository.ReindexJobRepository;
+import com.vtnet.pdms.infrastructure.document.DocumentProcessorRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.InvalidDataAccessResourceUsageException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Search index over the document_chunks table that matches chunks with the MySQL InnoDB full-text
+ * index of migration V13, for deployments without a dedicated search engine.
+ * <p>
+ * The index uses the ngram parser, so it works for Vietnamese text without word segmentation.
+ * Indexing, removal and re-index jobs are the same as for the chunk search; only matching differs.
+ * Documents are ranked by the relevance of their best matching chunk. Requires MySQL.
+ */
+@Service
+@Transactional
+@ConditionalOnProperty(name = "search.engine", havingValue = "mysql")
+public class MySqlFullTextSearchIndexService extends SearchIndexServiceImpl {
+
+    /**
+     * Maximum length of a query; every n-gram of the query is looked up in the index
+     */
+    static final int MAX_QUERY_LENGTH = 1000;
+
+    /**
+     * Prefix operators of the MySQL boolean full-text syntax
+     */
+    private static final String BOOLEAN_OPERATORS = "+-~<>";
+
+    private final DocumentChunkRepository documentChunkRepository;
+
+    /**
+     * Constructor with dependency injection.
+     *
+     * @param documentChunkRepository Repository for document chunk operations
+     * @param reindexJobRepository Repository for re-index jobs
+     * @param reindexJobMapper Mapper for re-index job entity-DTO conversion
+     * @param documentIndexingQueue Queue of document versions waiting to be indexed
+     * @param documentProcessorRegistry Registry keeping the extraction counters
+     */
+    @Autowired
+    public MySqlFullTextSearchIndexService(
+            DocumentChunkRepository documentChunkRepository,
+            ReindexJobRepository reindexJobRepository,
+            ReindexJobMapper reindexJobMapper,
+            DocumentIndexingQueue documentIndexingQueue,
+            DocumentProcessorRegistry documentProcessorRegistry) {
+        super(documentChunkRepository, reindexJobRepository, reindexJobMapper, documentIndexingQueue,
+                documentProcessorRegistry);
+        this.documentChunkRepository = documentChunkRepository;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> search(String query, Long projectId, int maxResults) {
+        if (maxResults <= 0) {
+            return List.of();
+        }
+        return search(query, projectId, SearchMode.NATURAL_LANGUAGE, PageRequest.of(0, maxResults)).getContent();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The score is the MySQL relevance of the document's best matching chunk.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Page<Map<String, Object>> search(String query, Long projectId, SearchMode mode, Pageable pageable) {
+        if (query == null || query.isBlank()) {
+            return Page.empty(pageable);
+        }
+        String trimmed = query.trim();
+        if (trimmed.length() > MAX_QUERY_LENGTH) {
+            throw new IllegalArgumentException("Search query must not be longer than " + MAX_QUERY_LENGTH + " characters");
+        }
+
+        // The queries order by relevance; a sort would be appended after their ORDER BY
+        Pageable page = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+        Page<FullTextMatchView> matches;
+        if (mode == SearchMode.BOOLEAN) {
+            validateBooleanQuery(trimmed);
+            try {
+                matches = documentChunkRepository.searchFullTextBoolean(trimmed, projectId, page);
+            } catch (InvalidDataAccessResourceUsageException e) {
+                // MySQL reports boolean syntax errors the validation misses as SQL syntax errors
+                throw new IllegalArgumentException("Search query is not valid boolean syntax", e);
+            }
+        } else {
+            matches = documentChunkRepository.searchFullTextNaturalLanguage(trimmed, projectId, page);
+        }
+        return matches.map(match -> {
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("documentId", match.getDocumentId());
+            result.put("documentName", match.getDocumentName());
+            result.put("documentVersionId", match.getDocumentVersionId());
+            result.put("score", match.getScore());
+            result.put("matchCount", match.getMatchCount());
+            return result;
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected String getEngineName() {
+        return "mysql";
+    }
+
+    /**
+     * Rejects boolean queries that MySQL would silently misread: an unclosed phrase swallows the
+     * rest of the query, and unbalanced parentheses change which terms are required. Operators
+     * that MySQL cannot parse are rejected too: an operator must be followed by a term, a group or
+     * a phrase, so a trailing or doubled operator such as "+" or "+-" is an error, as is an empty
+     * group or a truncation "*" without a term before it.
+     */
+    private static void validateBooleanQuery(String query) {
+        boolean inPhrase = false;
+        int depth = 0;
+        for (int i = 0; i < query.length(); i++) {
+            char c = query.charAt(i);
+            char previous = i > 0 ? query.charAt(i - 1) : ' ';
+            char next = i + 1 < query.length() ? query.charAt(i + 1) : ' ';
+            if (c == '"') {
+                inPhrase = !inPhrase;
+            } else if (inPhrase) {
+                continue;
+            } else if (c == '(') {
+                if (query.substring(i + 1).stripLeading().startsWith(")")) {
+                    throw new IllegalArgumentException("Search query has an empty group");
+                }
+                depth++;
+            } else if (c == ')' && --depth < 0) {
+                break;
+            } else if (BOOLEAN_OPERATORS.indexOf(c) >= 0 && startsTerm(previous) && (Character.isWhitespace(next)
+                    || BOOLEAN_OPERATORS.indexOf(next) >= 0 || next == ')' || next == '*')) {
+                throw new IllegalArgumentException("Search query has an operator '" + c + "' without a term after it");
+            } else if (c == '*' && startsTerm(previous)) {
+                throw new IllegalArgumentException("Search query has a '*' without a term before it");
+            }
+        }
+        if (inPhrase) {
+            throw new IllegalArgumentException("Search query has an unclosed phrase");
+        }
+        if (depth != 0) {
+            throw new IllegalArgumentException("Search query has unbalanced parentheses");
+        }
+    }
+
+    /**
+     * Whether a term can start after the given character, so that an operator there applies to
+     * the next term rather than being part of a word such as "e-mail".
+     */
+    private static boolean startsTerm(char previous) {
+        return Character.isWhitespace(previous) || previous == '(' || BOOLEAN_OPERATORS.indexOf(previous) >= 0;
+    }
+}
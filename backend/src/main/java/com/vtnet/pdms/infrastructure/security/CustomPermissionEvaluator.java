@@ -6,6 +6,7 @@ import com.vtnet.pdms.domain.model.Project;
 import com.vtnet.pdms.domain.model.User;
 import com.vtnet.pdms.domain.repository.DocumentRepository;
 import com.vtnet.pdms.domain.repository.FolderRepository;
+import com.vtnet.pdms.domain.repository.ProjectMemberRepository;
 import com.vtnet.pdms.domain.repository.ProjectRepository;
 import com.vtnet.pdms.domain.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -26,6 +27,7 @@ public class CustomPermissionEvaluator implements PermissionEvaluator {
     private final ProjectRepository projectRepository;
     private final FolderRepository folderRepository;
     private final DocumentRepository documentRepository;
+    private final ProjectMemberRepository projectMemberRepository;
     private final SecurityUtils securityUtils;
 
     /**
@@ -35,6 +37,7 @@ public class CustomPermissionEvaluator implements PermissionEvaluator {
      * @param projectRepository Repository for project operations
      * @param folderRepository Repository for folder operations
      * @param documentRepository Repository for document operations
+     * @param projectMemberRepository Repository for project membership operations
      * @param securityUtils Security utilities
      */
     @Autowired
@@ -43,11 +46,13 @@ public class CustomPermissionEvaluator implements PermissionEvaluator {
             ProjectRepository projectRepository,
             FolderRepository folderRepository,
             DocumentRepository documentRepository,
+            ProjectMemberRepository projectMemberRepository,
             SecurityUtils securityUtils) {
         this.userRepository = userRepository;
         this.projectRepository = projectRepository;
         this.folderRepository = folderRepository;
         this.documentRepository = documentRepository;
+        this.projectMemberRepository = projectMemberRepository;
         this.securityUtils = securityUtils;
     }
 
@@ -185,12 +190,11 @@ public class CustomPermissionEvaluator implements PermissionEvaluator {
             return true;
         }
         
-        // Check if user is a member of the project
-        User currentUser = securityUtils.getCurrentUser();
+        // Check if user is a member of the project; the lookup is served from the query cache
+        Long currentUserId = securityUtils.getCurrentUserId();
 
-        if (currentUser != null) {
-            boolean isMember = targetProject.getMembers().stream()
-                    .anyMatch(member -> member.getUser().getId().equals(currentUser.getId()));
+        if (currentUserId != null) {
+            boolean isMember = projectMemberRepository.existsByProjectIdAndUserId(targetProject.getId(), currentUserId);
             
             if (isMember) {
                 // Project managers can read and write
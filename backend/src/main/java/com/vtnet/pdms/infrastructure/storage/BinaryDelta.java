@@ -0,0 +1,319 @@
+package com.vtnet.pdms.infrastructure.storage;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Binary delta encoding between two files, in the style of rsync.
+ * <p>
+ * The base file is split into fixed-size blocks indexed by a rolling checksum. The target file is
+ * scanned byte by byte; windows whose checksum matches a base block are verified and extended, then
+ * emitted as COPY instructions, and everything else is emitted as literal ADD instructions. The size
+ * of a delta is therefore proportional to the edited bytes, not to the file size.
+ * <p>
+ * Format: magic, base length, target length, instructions, END, CRC32 of the target.
+ */
+public final class BinaryDelta {
+
+    private static final long MAGIC = 0x50444D53444C5431L; // "PDMSDLT1"
+    private static final byte OP_END = 0;
+    private static final byte OP_COPY = 1;
+    private static final byte OP_ADD = 2;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_PROBES = 32;
+
+    private BinaryDelta() {
+    }
+
+    /**
+     * Writes the delta that turns {@code base} into {@code target}.
+     *
+     * @param base The base file
+     * @param target The target file
+     * @param blockSize The size of the matched blocks
+     * @param out The stream the delta is written to
+     * @return The number of target bytes covered by COPY instructions
+     * @throws IOException If an I/O error occurs or a file is larger than 2 GB
+     */
+    public static long encode(Path base, Path target, int blockSize, OutputStream out) throws IOException {
+        if (blockSize < 16) {
+            throw new IllegalArgumentException("Block size must be at least 16 bytes");
+        }
+
+        try (FileChannel baseChannel = FileChannel.open(base, StandardOpenOption.READ);
+             FileChannel targetChannel = FileChannel.open(target, StandardOpenOption.READ)) {
+            ByteBuffer baseBytes = map(baseChannel);
+            ByteBuffer targetBytes = map(targetChannel);
+            DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out, BUFFER_SIZE));
+
+            data.writeLong(MAGIC);
+            data.writeLong(baseBytes.limit());
+            data.writeLong(targetBytes.limit());
+
+            long copied = new Encoder(baseBytes, targetBytes, blockSize, data).run();
+
+            CRC32 crc = new CRC32();
+            crc.update(targetBytes.duplicate());
+            data.writeByte(OP_END);
+            data.writeLong(crc.getValue());
+            data.flush();
+            return copied;
+        }
+    }
+
+    /**
+     * Applies a delta to {@code base} and writes the result to {@code target}.
+     *
+     * @param base The base file the delta was computed against
+     * @param delta The delta stream
+     * @param target The file to write the reconstructed content to
+     * @throws IOException If an I/O error occurs or the delta does not match the base
+     */
+    public static void apply(Path base, InputStream delta, Path target) throws IOException {
+        DataInputStream data = new DataInputStream(new BufferedInputStream(delta, BUFFER_SIZE));
+        if (data.readLong() != MAGIC) {
+            throw new IOException("Not a binary delta");
+        }
+        long baseLength = data.readLong();
+        long targetLength = data.readLong();
+
+        CRC32 crc = new CRC32();
+        byte[] buffer = new byte[BUFFER_SIZE];
+        try (FileChannel baseChannel = FileChannel.open(base, StandardOpenOption.READ);
+             OutputStream out = new BufferedOutputStream(Files.newOutputStream(target), BUFFER_SIZE)) {
+            if (baseChannel.size() != baseLength) {
+                throw new IOException("Delta base length " + baseLength + " does not match " + baseChannel.size());
+            }
+
+            long written = 0;
+            byte op;
+            while ((op = data.readByte()) != OP_END) {
+                if (op == OP_COPY) {
+                    long position = data.readLong();
+                    int remaining = data.readInt();
+                    while (remaining > 0) {
+                        ByteBuffer chunk = ByteBuffer.wrap(buffer, 0, Math.min(remaining, buffer.length));
+                        while (chunk.hasRemaining()) {
+                            int read = baseChannel.read(chunk, position + chunk.position());
+                            if (read < 0) {
+                                throw new EOFException("Delta copies past the end of the base");
+                            }
+                        }
+                        out.write(buffer, 0, chunk.limit());
+                        crc.update(buffer, 0, chunk.limit());
+                        position += chunk.limit();
+                        remaining -= chunk.limit();
+                        written += chunk.limit();
+                    }
+                } else if (op == OP_ADD) {
+                    int remaining = data.readInt();
+                    while (remaining > 0) {
+                        int length = Math.min(remaining, buffer.length);
+                        data.readFully(buffer, 0, length);
+                        out.write(buffer, 0, length);
+                        crc.update(buffer, 0, length);
+                        remaining -= length;
+                        written += length;
+                    }
+                } else {
+                    throw new IOException("Corrupt delta: unknown instruction " + op);
+                }
+            }
+
+            if (written != targetLength || data.readLong() != crc.getValue()) {
+                throw new IOException("Corrupt delta: reconstructed content does not match the checksum");
+            }
+        }
+    }
+
+    private static ByteBuffer map(FileChannel channel) throws IOException {
+        long size = channel.size();
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Files larger than 2 GB are not supported for delta encoding");
+        }
+        if (size == 0) {
+            return ByteBuffer.allocate(0);
+        }
+        return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+    }
+
+    /**
+     * Single pass of the rsync matching algorithm over the target.
+     */
+    private static final class Encoder {
+
+        private final ByteBuffer base;
+        private final ByteBuffer target;
+        private final int blockSize;
+        private final DataOutputStream out;
+        private final Map<Integer, Integer> firstBlockByChecksum = new HashMap<>();
+        private final int[] nextBlock;
+
+        private long pendingCopyPosition = -1;
+        private int pendingCopyLength;
+        private long copied;
+
+        Encoder(ByteBuffer base, ByteBuffer target, int blockSize, DataOutputStream out) {
+            this.base = base;
+            this.target = target;
+            this.blockSize = blockSize;
+            this.out = out;
+
+            int blocks = base.limit() / blockSize;
+            this.nextBlock = new int[blocks];
+            Arrays.fill(nextBlock, -1);
+            // Index in reverse so that each chain lists blocks in ascending order
+            for (int block = blocks - 1; block >= 0; block--) {
+                int checksum = checksum(base, block * blockSize, blockSize);
+                Integer previous = firstBlockByChecksum.put(checksum, block);
+                if (previous != null) {
+                    nextBlock[block] = previous;
+                }
+            }
+        }
+
+        long run() throws IOException {
+            int length = target.limit();
+            int literalStart = 0;
+            int position = 0;
+
+            if (firstBlockByChecksum.isEmpty() || length < blockSize) {
+                emitAdd(0, length);
+                flushCopy();
+                return copied;
+            }
+
+            int a = 0;
+            int b = 0;
+            boolean fresh = true;
+            while (position + blockSize <= length) {
+                if (fresh) {
+                    a = 0;
+                    b = 0;
+                    for (int i = 0; i < blockSize; i++) {
+                        int x = target.get(position + i) & 0xFF;
+                        a += x;
+                        b += (blockSize - i) * x;
+                    }
+                    fresh = false;
+                }
+
+                int match = findMatch(packed(a, b), position);
+                if (match >= 0) {
+                    emitAdd(literalStart, position - literalStart);
+                    int matchLength = extend(match * blockSize, position);
+                    emitCopy(match * (long) blockSize, matchLength);
+                    position += matchLength;
+                    literalStart = position;
+                    fresh = true;
+                    continue;
+                }
+
+                if (position + blockSize == length) {
+                    break;
+                }
+                int outgoing = target.get(position) & 0xFF;
+                int incoming = target.get(position + blockSize) & 0xFF;
+                a += incoming - outgoing;
+                b += a - blockSize * outgoing;
+                position++;
+            }
+
+            emitAdd(literalStart, length - literalStart);
+            flushCopy();
+            return copied;
+        }
+
+        private int findMatch(int checksum, int position) {
+            Integer block = firstBlockByChecksum.get(checksum);
+            // Bound the probes so highly repetitive bases cannot make the scan quadratic
+            for (int probes = 0; block != null && probes < MAX_PROBES; probes++) {
+                if (base.slice(block * blockSize, blockSize).equals(target.slice(position, blockSize))) {
+                    return block;
+                }
+                block = nextBlock[block] >= 0 ? nextBlock[block] : null;
+            }
+            return -1;
+        }
+
+        /**
+         * Extends a verified block match forward as long as base and target keep agreeing.
+         */
+        private int extend(int basePosition, int targetPosition) {
+            int length = blockSize;
+            int maxLength = Math.min(base.limit() - basePosition, target.limit() - targetPosition);
+            while (length < maxLength && base.get(basePosition + length) == target.get(targetPosition + length)) {
+                length++;
+            }
+            return length;
+        }
+
+        private void emitCopy(long position, int length) throws IOException {
+            copied += length;
+            if (pendingCopyPosition >= 0 && pendingCopyPosition + pendingCopyLength == position
+                    && (long) pendingCopyLength + length <= Integer.MAX_VALUE) {
+                pendingCopyLength += length;
+                return;
+            }
+            flushCopy();
+            pendingCopyPosition = position;
+            pendingCopyLength = length;
+        }
+
+        private void flushCopy() throws IOException {
+            if (pendingCopyPosition >= 0) {
+                out.writeByte(OP_COPY);
+                out.writeLong(pendingCopyPosition);
+                out.writeInt(pendingCopyLength);
+                pendingCopyPosition = -1;
+            }
+        }
+
+        private void emitAdd(int start, int length) throws IOException {
+            if (length <= 0) {
+                return;
+            }
+            flushCopy();
+            out.writeByte(OP_ADD);
+            out.writeInt(length);
+            byte[] buffer = new byte[Math.min(length, BUFFER_SIZE)];
+            int offset = 0;
+            while (offset < length) {
+                int chunk = Math.min(buffer.length, length - offset);
+                target.get(start + offset, buffer, 0, chunk);
+                out.write(buffer, 0, chunk);
+                offset += chunk;
+            }
+        }
+
+        private static int checksum(ByteBuffer bytes, int offset, int length) {
+            int a = 0;
+            int b = 0;
+            for (int i = 0; i < length; i++) {
+                int x = bytes.get(offset + i) & 0xFF;
+                a += x;
+                b += (length - i) * x;
+            }
+            return packed(a, b);
+        }
+
+        private static int packed(int a, int b) {
+            return (a & 0xFFFF) | (b << 16);
+        }
+    }
+}
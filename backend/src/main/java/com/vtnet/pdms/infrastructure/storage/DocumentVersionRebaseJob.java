@@ -0,0 +1,88 @@
+package com.vtnet.pdms.infrastructure.storage;
+
+import com.vtnet.pdms.domain.model.DocumentVersion;
+import com.vtnet.pdms.domain.repository.DocumentVersionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Background job that keeps version storage compact.
+ * <p>
+ * New versions are always written as full files, so uploads never pay for delta encoding. This job
+ * later re-encodes superseded versions as deltas against their predecessors, and turns deltas back
+ * into full files when their chain is longer than the configured maximum.
+ */
+@Component
+@ConditionalOnProperty(name = "storage.delta.enabled", havingValue = "true")
+public class DocumentVersionRebaseJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(DocumentVersionRebaseJob.class);
+
+    private final DocumentVersionStore documentVersionStore;
+    private final DocumentVersionRepository documentVersionRepository;
+    private final int batchSize;
+
+    /**
+     * Constructor with dependency injection.
+     *
+     * @param documentVersionStore Store for document version content
+     * @param documentVersionRepository Repository for document version operations
+     * @param batchSize Maximum number of versions handled per run
+     */
+    @Autowired
+    public DocumentVersionRebaseJob(
+            DocumentVersionStore documentVersionStore,
+            DocumentVersionRepository documentVersionRepository,
+            @Value("${storage.delta.batch-size:100}") int batchSize) {
+        this.documentVersionStore = documentVersionStore;
+        this.documentVersionRepository = documentVersionRepository;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Rebases over-long chains, then compacts superseded full versions.
+     */
+    @Scheduled(fixedDelayString = "${storage.delta.rebase-interval:PT10M}",
+               initialDelayString = "${storage.delta.rebase-initial-delay:PT1M}")
+    public void run() {
+        int rebased = 0;
+        List<Long> rebaseCandidates = documentVersionRepository.findRebaseCandidateIds(
+                DocumentVersion.STORAGE_FORMAT_DELTA, documentVersionStore.getMaxChainLength(),
+                PageRequest.of(0, batchSize));
+        for (Long versionId : rebaseCandidates) {
+            try {
+                if (documentVersionStore.rebase(versionId)) {
+                    rebased++;
+                }
+            } catch (Exception e) {
+                logger.error("Failed to rebase document version {}", versionId, e);
+            }
+        }
+
+        int compacted = 0;
+        List<Long> compactionCandidates = documentVersionRepository.findCompactionCandidateIds(
+                DocumentVersion.STORAGE_FORMAT_FULL, PageRequest.of(0, batchSize));
+        for (Long versionId : compactionCandidates) {
+            try {
+                if (documentVersionStore.compact(versionId)) {
+                    compacted++;
+                }
+            } catch (Exception e) {
+                logger.error("Failed to compact document version {}", versionId, e);
+            }
+        }
+
+        if (rebased > 0 || compacted > 0) {
+            logger.info("Version storage job rebased {} and compacted {} of {} candidate versions",
+                    rebased, compacted, rebaseCandidates.size() + compactionCandidates.size());
+        }
+    }
+}
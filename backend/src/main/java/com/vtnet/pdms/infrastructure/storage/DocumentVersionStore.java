@@ -0,0 +1,368 @@
+package com.vtnet.pdms.infrastructure.storage;
+
+import com.vtnet.pdms.domain.exception.ResourceNotFoundException;
+import com.vtnet.pdms.domain.model.DocumentVersion;
+import com.vtnet.pdms.domain.repository.DocumentVersionRepository;
+import com.vtnet.pdms.domain.repository.DocumentVersionRepository.StoragePathView;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Reads and writes the stored content of document versions.
+ * <p>
+ * A version is stored either as a full file or as a binary delta against the previous version.
+ * Delta chains are bounded by {@code storage.delta.max-chain-length}: a version that would exceed it
+ * stays a full snapshot. Reconstructed versions are kept in a local disk cache.
+ * <p>
+ * Copied documents share the stored files of the originals, so a file is only deleted once no
+ * version references its path any more.
+ */
+@Service
+public class DocumentVersionStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(DocumentVersionStore.class);
+    private static final String DELTA_SUFFIX = ".vdelta";
+
+    private final StorageService storageService;
+    private final DocumentVersionRepository documentVersionRepository;
+    private final LocalFileCache cache;
+    private final int maxChainLength;
+    private final int blockSize;
+    private final double maxDeltaRatio;
+
+    /**
+     * Constructor with dependency injection.
+     *
+     * @param storageService Service for file storage operations
+     * @param documentVersionRepository Repository for document version operations
+     * @param maxChainLength Maximum number of deltas between a version and its full snapshot
+     * @param blockSize Block size used to match content between versions
+     * @param maxDeltaRatio Deltas larger than this fraction of the full file are not kept
+     * @param cacheLocation Directory of the reconstructed version cache
+     * @param cacheMaxSize Maximum size of the reconstructed version cache
+     * @throws IOException If the cache directory cannot be created
+     */
+    @Autowired
+    public DocumentVersionStore(
+            StorageService storageService,
+            DocumentVersionRepository documentVersionRepository,
+            @Value("${storage.delta.max-chain-length:10}") int maxChainLength,
+            @Value("${storage.delta.block-size:2KB}") DataSize blockSize,
+            @Value("${storage.delta.max-delta-ratio:0.5}") double maxDeltaRatio,
+            @Value("${storage.delta.cache.location:${java.io.tmpdir}/pdms-version-cache}") String cacheLocation,
+            @Value("${storage.delta.cache.max-size:512MB}") DataSize cacheMaxSize) throws IOException {
+        this.storageService = storageService;
+        this.documentVersionRepository = documentVersionRepository;
+        this.maxChainLength = maxChainLength;
+        this.blockSize = (int) blockSize.toBytes();
+        this.maxDeltaRatio = maxDeltaRatio;
+        this.cache = new LocalFileCache(Paths.get(cacheLocation), cacheMaxSize.toBytes());
+    }
+
+    /**
+     * Loads the content of a version as a resource, reconstructing it if it is stored as a delta.
+     *
+     * @param version The document version
+     * @return The content as a resource
+     */
+    public Resource loadAsResource(DocumentVersion version) {
+        if (!version.isDelta()) {
+            return storageService.loadAsResource(version.getStoragePath());
+        }
+        try {
+            return cache.getResource(cacheKey(version), target -> reconstruct(version, target));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not reconstruct document version " + version.getId(), e);
+        }
+    }
+
+    /**
+     * Returns a local file holding the content of a version.
+     *
+     * @param version The document version
+     * @return The path of the content
+     */
+    public Path getPath(DocumentVersion version) {
+        if (!version.isDelta()) {
+            return storageService.getPath(version.getStoragePath());
+        }
+        try {
+            return cache.getOrLoad(cacheKey(version), target -> reconstruct(version, target));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not reconstruct document version " + version.getId(), e);
+        }
+    }
+
+    /**
+     * Returns a local file holding the content of a version, looking the version up by ID.
+     *
+     * @param versionId The document version ID
+     * @return The path of the content
+     */
+    public Path getPathById(Long versionId) {
+        return getPath(findVersion(versionId));
+    }
+
+    /**
+     * Deletes the stored content of a deleted version, unless another version still references it.
+     *
+     * @param version The document version
+     * @return true if the file was deleted or is still in use, false otherwise
+     */
+    public boolean delete(DocumentVersion version) {
+        cache.invalidate(cacheKey(version));
+        if (documentVersionRepository.existsByStoragePath(version.getStoragePath())) {
+            logger.debug("Keeping file still referenced by another version: {}", version.getStoragePath());
+            return true;
+        }
+        return storageService.delete(version.getStoragePath());
+    }
+
+    /**
+     * Deletes the stored content of deleted versions that no remaining version references, checking
+     * the references of the whole batch with one query.
+     *
+     * @param files The IDs and storage paths of the deleted versions
+     * @return Number of deleted files
+     */
+    public int deleteUnreferenced(List<StoragePathView> files) {
+        Set<String> paths = new HashSet<>();
+        for (StoragePathView file : files) {
+            cache.invalidate(cacheKey(file.getId()));
+            paths.add(file.getStoragePath());
+        }
+        if (paths.isEmpty()) {
+            return 0;
+        }
+        paths.removeAll(documentVersionRepository.findReferencedStoragePaths(paths));
+
+        int deleted = 0;
+        for (String path : paths) {
+            if (storageService.delete(path)) {
+                deleted++;
+            } else {
+                logger.warn("Failed to delete document file: {}", path);
+            }
+        }
+        return deleted;
+    }
+
+    /**
+     * Re-encodes a full version as a delta against its predecessor, if the chain stays within the
+     * configured length and the delta is small enough to be worth keeping.
+     * The full file is deleted once the transaction commits.
+     *
+     * @param versionId The document version ID
+     * @return true if the version is now stored as a delta
+     * @throws IOException If an I/O error occurs
+     */
+    @Transactional(rollbackFor = IOException.class)
+    public boolean compact(Long versionId) throws IOException {
+        DocumentVersion version = findVersion(versionId);
+        if (version.isDelta() || version.getCompactedAt() != null) {
+            return false;
+        }
+
+        DocumentVersion base = documentVersionRepository
+                .findByDocumentIdAndVersionNumber(version.getDocument().getId(), version.getVersionNumber() - 1)
+                .orElse(null);
+        if (base != null && !base.isDelta() && base.getCompactedAt() == null) {
+            // The predecessor may still become a delta, which would change this version's chain depth
+            return false;
+        }
+
+        version.setCompactedAt(LocalDateTime.now());
+        if (base == null || base.getChainDepth() + 1 > maxChainLength) {
+            // Keep a periodic full snapshot
+            return false;
+        }
+
+        Path fullFile = storageService.getPath(version.getStoragePath());
+        Path baseFile = getPath(base);
+        if (Files.size(fullFile) > Integer.MAX_VALUE || Files.size(baseFile) > Integer.MAX_VALUE) {
+            return false;
+        }
+
+        Path deltaFile = Files.createTempFile("pdms-delta-", ".tmp");
+        try {
+            try (OutputStream outputStream = Files.newOutputStream(deltaFile)) {
+                BinaryDelta.encode(baseFile, fullFile, blockSize, outputStream);
+            }
+            long fullSize = Files.size(fullFile);
+            long deltaSize = Files.size(deltaFile);
+            if (deltaSize > fullSize * maxDeltaRatio) {
+                logger.debug("Keeping version {} as a full file: delta of {} bytes for {} bytes",
+                        versionId, deltaSize, fullSize);
+                return false;
+            }
+
+            // Keep the content at hand for the next version in the chain
+            cache.getOrLoad(cacheKey(version),
+                    target -> Files.copy(fullFile, target, StandardCopyOption.REPLACE_EXISTING));
+
+            String fullPath = version.getStoragePath();
+            String deltaPath;
+            try (InputStream inputStream = Files.newInputStream(deltaFile)) {
+                deltaPath = storageService.store(inputStream, fullPath + DELTA_SUFFIX).toString();
+            }
+
+            version.setStorageFormat(DocumentVersion.STORAGE_FORMAT_DELTA);
+            version.setStoragePath(deltaPath);
+            version.setBaseVersion(base);
+            version.setChainDepth(base.getChainDepth() + 1);
+            replaceAfterCommit(fullPath, deltaPath);
+
+            logger.info("Stored version {} as a delta of {} bytes ({} bytes full, chain depth {})",
+                    versionId, deltaSize, fullSize, version.getChainDepth());
+            return true;
+        } finally {
+            Files.deleteIfExists(deltaFile);
+        }
+    }
+
+    /**
+     * Stores a delta version as a full file again, shortening the chains of the versions built on it.
+     * Used when a chain is longer than the configured maximum, for example after lowering it.
+     * The delta file is deleted once the transaction commits.
+     *
+     * @param versionId The document version ID
+     * @return true if the version was rebased
+     * @throws IOException If an I/O error occurs
+     */
+    @Transactional(rollbackFor = IOException.class)
+    public boolean rebase(Long versionId) throws IOException {
+        DocumentVersion version = findVersion(versionId);
+        if (!version.isDelta() || version.getChainDepth() <= maxChainLength) {
+            return false;
+        }
+
+        String deltaPath = version.getStoragePath();
+        String fullKey = deltaPath.endsWith(DELTA_SUFFIX)
+                ? deltaPath.substring(0, deltaPath.length() - DELTA_SUFFIX.length())
+                : deltaPath + ".full";
+        String fullPath;
+        try (InputStream inputStream = Files.newInputStream(getPath(version))) {
+            fullPath = storageService.store(inputStream, fullKey).toString();
+        }
+
+        int previousDepth = version.getChainDepth();
+        version.setStorageFormat(DocumentVersion.STORAGE_FORMAT_FULL);
+        version.setStoragePath(fullPath);
+        version.setBaseVersion(null);
+        version.setChainDepth(0);
+        replaceAfterCommit(deltaPath, fullPath);
+
+        // Versions stored as deltas on top of this one now have shorter chains
+        List<DocumentVersion> dependents = documentVersionRepository.findByBaseVersionId(version.getId());
+        while (!dependents.isEmpty()) {
+            DocumentVersion dependent = dependents.get(0);
+            dependent.setChainDepth(dependent.getChainDepth() - previousDepth);
+            dependents = documentVersionRepository.findByBaseVersionId(dependent.getId());
+        }
+
+        logger.info("Rebased version {} from chain depth {} to a full file", versionId, previousDepth);
+        return true;
+    }
+
+    /**
+     * Returns the maximum number of deltas between a version and its full snapshot.
+     *
+     * @return The maximum chain length
+     */
+    public int getMaxChainLength() {
+        return maxChainLength;
+    }
+
+    /**
+     * Applies the chain of deltas leading to a version, starting from the nearest full snapshot
+     * or already reconstructed version.
+     */
+    private void reconstruct(DocumentVersion version, Path target) throws IOException {
+        Deque<DocumentVersion> deltas = new ArrayDeque<>();
+        Path base = null;
+        DocumentVersion current = version;
+        while (base == null) {
+            deltas.push(current);
+            DocumentVersion baseVersion = findVersion(current.getBaseVersion().getId());
+            if (!baseVersion.isDelta()) {
+                base = storageService.getPath(baseVersion.getStoragePath());
+            } else {
+                base = cache.get(cacheKey(baseVersion));
+                current = baseVersion;
+            }
+        }
+
+        Path intermediate = null;
+        try {
+            while (!deltas.isEmpty()) {
+                DocumentVersion delta = deltas.pop();
+                Path output = deltas.isEmpty() ? target : Files.createTempFile(target.getParent(), "delta-", ".tmp");
+                try (InputStream inputStream = storageService.loadAsResource(delta.getStoragePath()).getInputStream()) {
+                    BinaryDelta.apply(base, inputStream, output);
+                }
+                if (intermediate != null) {
+                    Files.deleteIfExists(intermediate);
+                }
+                intermediate = output == target ? null : output;
+                base = output;
+            }
+        } finally {
+            if (intermediate != null) {
+                Files.deleteIfExists(intermediate);
+            }
+        }
+        logger.debug("Reconstructed version {} at chain depth {}", version.getId(), version.getChainDepth());
+    }
+
+    private void replaceAfterCommit(String oldPath, String newPath) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                String obsolete = status == STATUS_COMMITTED ? oldPath : newPath;
+                if (documentVersionRepository.existsByStoragePath(obsolete)) {
+                    // Still the file of a copied document
+                    return;
+                }
+                if (!storageService.delete(obsolete)) {
+                    logger.warn("Failed to delete replaced version file: {}", obsolete);
+                }
+            }
+        });
+    }
+
+    private DocumentVersion findVersion(Long id) {
+        return documentVersionRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("DocumentVersion", "id", id));
+    }
+
+    private static String cacheKey(DocumentVersion version) {
+        return cacheKey(version.getId());
+    }
+
+    private static String cacheKey(Long versionId) {
+        return "versions/" + versionId;
+    }
+}
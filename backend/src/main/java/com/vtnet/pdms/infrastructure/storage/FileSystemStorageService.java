@@ -1,6 +1,7 @@
 package com.vtnet.pdms.infrastructure.storage;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.UrlResource;
 import org.springframework.stereotype.Service;
@@ -8,16 +9,36 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.net.MalformedURLException;
+import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.UUID;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Implementation of StorageService that stores files in the file system.
+ * This is the default backend, used unless {@code storage.type} selects another one.
  */
 @Service
+@ConditionalOnProperty(name = "storage.type", havingValue = "filesystem", matchIfMissing = true)
 public class FileSystemStorageService implements StorageService {
 
     private final Path rootLocation;
@@ -33,36 +54,7 @@ public class FileSystemStorageService implements StorageService {
             throw new IllegalArgumentException("Failed to store empty file");
         }
         
-        String cleanFilename = StringUtils.cleanPath(filename);
-        if (cleanFilename.contains("..")) {
-            // Security check to prevent directory traversal attacks
-            throw new IllegalArgumentException("Cannot store file with relative path outside current directory");
-        }
-        
-        // Check if the filename contains a path
-        Path destinationFile;
-        if (cleanFilename.contains("/")) {
-            // Extract the directory path and ensure it exists
-            String dirPath = cleanFilename.substring(0, cleanFilename.lastIndexOf("/"));
-            Path dirLocation = this.rootLocation.resolve(dirPath).normalize().toAbsolutePath();
-            
-            // Create directories if they don't exist
-            if (!Files.exists(dirLocation)) {
-                Files.createDirectories(dirLocation);
-            }
-            
-            // Resolve the full path for the file
-            destinationFile = this.rootLocation.resolve(cleanFilename).normalize().toAbsolutePath();
-        } else {
-            // Generate a unique filename to prevent overwriting existing files
-            String uniqueFilename = UUID.randomUUID() + "-" + cleanFilename;
-            destinationFile = this.rootLocation.resolve(uniqueFilename).normalize().toAbsolutePath();
-        }
-        
-        // Ensure the destination is within the storage location
-        if (!destinationFile.startsWith(this.rootLocation.toAbsolutePath())) {
-            throw new IllegalArgumentException("Cannot store file outside current directory");
-        }
+        Path destinationFile = resolveDestination(filename);
         
         // Copy the file to the destination
         Files.copy(file.getInputStream(), destinationFile, StandardCopyOption.REPLACE_EXISTING);
@@ -70,6 +62,13 @@ public class FileSystemStorageService implements StorageService {
         return destinationFile;
     }
 
+    @Override
+    public Path store(InputStream inputStream, String filename) throws IOException {
+        Path destinationFile = resolveDestination(filename);
+        Files.copy(inputStream, destinationFile, StandardCopyOption.REPLACE_EXISTING);
+        return destinationFile;
+    }
+
     @Override
     public Resource loadAsResource(String filename) {
         try {
@@ -122,4 +121,207 @@ public class FileSystemStorageService implements StorageService {
         
         return directoryPath;
     }
-} 
\ No newline at end of file
+
+    @Override
+    public List<StoredFile> list(String prefix) throws IOException {
+        Path root = this.rootLocation.toAbsolutePath().normalize();
+        Path directory = resolveExisting(prefix);
+        List<StoredFile> files = new ArrayList<>();
+        if (!Files.isDirectory(directory)) {
+            return files;
+        }
+        Files.walkFileTree(directory, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
+                if (attributes.isRegularFile()) {
+                    files.add(new StoredFile(toSlashPath(root.relativize(file)), attributes.size(),
+                            attributes.lastModifiedTime().toInstant()));
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        return files;
+    }
+
+    @Override
+    public Stream<StoredFile> listInOrder(String prefix) throws IOException {
+        Path directory = resolveExisting(prefix);
+        if (!Files.isDirectory(directory)) {
+            return Stream.empty();
+        }
+        SortedFileIterator iterator = new SortedFileIterator(directory);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator,
+                Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    @Override
+    public List<String> listDirectories(String prefix) throws IOException {
+        Path directory = resolveExisting(prefix);
+        List<String> names = new ArrayList<>();
+        if (!Files.isDirectory(directory)) {
+            return names;
+        }
+        try (Stream<Path> children = Files.list(directory)) {
+            children.filter(Files::isDirectory).forEach(child -> names.add(child.getFileName().toString()));
+        }
+        return names;
+    }
+
+    @Override
+    public void move(String source, String target) throws IOException {
+        Path sourceFile = resolveExisting(source);
+        Path targetFile = resolveDestination(target);
+        Files.move(sourceFile, targetFile, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Files stored by this service are recorded with their absolute path, so paths under the
+     * root location are made relative to it.
+     */
+    @Override
+    public String toRelativePath(String path) {
+        Path root = this.rootLocation.toAbsolutePath().normalize();
+        Path file = Paths.get(path);
+        if (file.isAbsolute()) {
+            Path normalized = file.normalize();
+            if (normalized.startsWith(root)) {
+                return toSlashPath(root.relativize(normalized));
+            }
+            return toSlashPath(normalized);
+        }
+        return StringUtils.cleanPath(path);
+    }
+
+    @Override
+    public String toStoredPath(String relativePath) {
+        String path = this.rootLocation.resolve(StringUtils.cleanPath(relativePath)).normalize().toAbsolutePath()
+                .toString();
+        return relativePath.endsWith("/") ? path + "/" : path;
+    }
+
+    /**
+     * Resolves a path that must stay within the storage location.
+     */
+    private Path resolveExisting(String filename) {
+        String cleanPath = StringUtils.cleanPath(filename);
+        if (cleanPath.contains("..")) {
+            // Security check to prevent directory traversal attacks
+            throw new IllegalArgumentException("Cannot access path outside current directory");
+        }
+        return this.rootLocation.resolve(cleanPath).normalize().toAbsolutePath();
+    }
+
+    private static String toSlashPath(Path path) {
+        return path.toString().replace('\\', '/');
+    }
+
+    /**
+     * Resolves the destination of a stored file, creating its parent directories.
+     */
+    private Path resolveDestination(String filename) throws IOException {
+        String cleanFilename = StringUtils.cleanPath(filename);
+        if (cleanFilename.contains("..")) {
+            // Security check to prevent directory traversal attacks
+            throw new IllegalArgumentException("Cannot store file with relative path outside current directory");
+        }
+        
+        // Check if the filename contains a path
+        Path destinationFile;
+        if (cleanFilename.contains("/")) {
+            // Extract the directory path and ensure it exists
+            String dirPath = cleanFilename.substring(0, cleanFilename.lastIndexOf("/"));
+            Path dirLocation = this.rootLocation.resolve(dirPath).normalize().toAbsolutePath();
+            
+            // Create directories if they don't exist
+            if (!Files.exists(dirLocation)) {
+                Files.createDirectories(dirLocation);
+            }
+            
+            // Resolve the full path for the file
+            destinationFile = this.rootLocation.resolve(cleanFilename).normalize().toAbsolutePath();
+        } else {
+            // Generate a unique filename to prevent overwriting existing files
+            String uniqueFilename = UUID.randomUUID() + "-" + cleanFilename;
+            destinationFile = this.rootLocation.resolve(uniqueFilename).normalize().toAbsolutePath();
+        }
+        
+        // Ensure the destination is within the storage location
+        if (!destinationFile.startsWith(this.rootLocation.toAbsolutePath())) {
+            throw new IllegalArgumentException("Cannot store file outside current directory");
+        }
+        
+        return destinationFile;
+    }
+
+    /**
+     * Walks a directory tree depth first, reading one directory at a time and returning its files
+     * in {@link StoredFile#PATH_ORDER}. A directory is ordered by its name followed by '/', so that
+     * "a/b.txt" comes before "a/b/c.txt" exactly as in a sorted list of full paths.
+     */
+    private class SortedFileIterator implements Iterator<StoredFile> {
+        private final Path root = rootLocation.toAbsolutePath().normalize();
+        private final Deque<Iterator<Entry>> directories = new ArrayDeque<>();
+        private StoredFile next;
+
+        SortedFileIterator(Path directory) throws IOException {
+            enter(directory);
+        }
+
+        @Override
+        public boolean hasNext() {
+            try {
+                while (next == null && !directories.isEmpty()) {
+                    Iterator<Entry> entries = directories.peek();
+                    if (!entries.hasNext()) {
+                        directories.pop();
+                        continue;
+                    }
+                    Entry entry = entries.next();
+                    if (entry.attributes().isDirectory()) {
+                        enter(entry.path());
+                    } else if (entry.attributes().isRegularFile()) {
+                        next = new StoredFile(toSlashPath(root.relativize(entry.path())), entry.attributes().size(),
+                                entry.attributes().lastModifiedTime().toInstant());
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return next != null;
+        }
+
+        @Override
+        public StoredFile next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            StoredFile file = next;
+            next = null;
+            return file;
+        }
+
+        private void enter(Path directory) throws IOException {
+            List<Entry> entries = new ArrayList<>();
+            try (Stream<Path> children = Files.list(directory)) {
+                for (Path child : (Iterable<Path>) children::iterator) {
+                    BasicFileAttributes attributes;
+                    try {
+                        attributes = Files.readAttributes(child, BasicFileAttributes.class);
+                    } catch (NoSuchFileException e) {
+                        // Deleted while listing
+                        continue;
+                    }
+                    String name = child.getFileName().toString();
+                    entries.add(new Entry(attributes.isDirectory() ? name + "/" : name, child, attributes));
+                }
+            } catch (NoSuchFileException e) {
+                return;
+            }
+            entries.sort(Comparator.comparing(Entry::sortKey, StoredFile.PATH_ORDER));
+            directories.push(entries.iterator());
+        }
+    }
+
+    private record Entry(String sortKey, Path path, BasicFileAttributes attributes) {
+    }
+}
@@ -0,0 +1,424 @@
+package com.vtnet.pdms.infrastructure.storage;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.util.StringUtils;
+
+import java.io.Closeable;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Size-bounded, least-recently-used cache of files on the local disk.
+ * Used to keep hot objects from remote or reconstructed storage close to the node.
+ * Concurrent requests for the same key share a single load.
+ * <p>
+ * Files are kept in a subdirectory of the configured directory that carries a marker file, and
+ * only that subdirectory is cleared at startup, so a misconfigured directory is never wiped.
+ * Entries in use are not evicted: a {@link Lease} holds an entry until it is closed, and a path
+ * handed out by {@link #getOrLoad} holds it for the lease duration, since the caller has nothing
+ * to close. The cache may go over its size while every entry is in use. An entry invalidated while
+ * in use is moved aside and deleted once it is no longer used.
+ */
+public class LocalFileCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocalFileCache.class);
+
+    static final String ENTRIES_DIRECTORY = "entries";
+    static final String MARKER_FILE = ".local-file-cache";
+
+    /**
+     * How long an entry handed out as a plain path is kept from eviction
+     */
+    static final Duration DEFAULT_LEASE_DURATION = Duration.ofMinutes(10);
+
+    /**
+     * Callback that writes the content for a cache key into the given file.
+     */
+    @FunctionalInterface
+    public interface Loader {
+
+        /**
+         * Writes the content into the target file.
+         *
+         * @param target The file to write to
+         * @throws IOException If an I/O error occurs
+         */
+        void load(Path target) throws IOException;
+    }
+
+    private final Path directory;
+    private final long maxBytes;
+    private final long leaseNanos;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final List<Entry> retired = new ArrayList<>();
+    private final Map<String, CompletableFuture<Void>> inFlight = new ConcurrentHashMap<>();
+    private long currentBytes;
+
+    /**
+     * Creates a cache in the given directory with the default lease duration.
+     *
+     * @param directory The cache directory
+     * @param maxBytes The maximum total size of cached files in bytes
+     * @throws IOException If the directory cannot be prepared
+     */
+    public LocalFileCache(Path directory, long maxBytes) throws IOException {
+        this(directory, maxBytes, DEFAULT_LEASE_DURATION);
+    }
+
+    /**
+     * Creates a cache in the given directory. Files left by a previous cache in the directory are
+     * discarded; anything else in it is left alone.
+     *
+     * @param directory The cache directory
+     * @param maxBytes The maximum total size of cached files in bytes
+     * @param leaseDuration How long an entry handed out as a plain path is kept from eviction
+     * @throws IOException If the directory cannot be prepared, or holds an entries directory that
+     *                     was not created by a cache
+     */
+    public LocalFileCache(Path directory, long maxBytes, Duration leaseDuration) throws IOException {
+        this.directory = directory.toAbsolutePath().normalize().resolve(ENTRIES_DIRECTORY);
+        this.maxBytes = maxBytes;
+        this.leaseNanos = leaseDuration.toNanos();
+
+        if (Files.exists(this.directory)) {
+            if (!Files.exists(this.directory.resolve(MARKER_FILE))) {
+                throw new IOException("Refusing to use " + this.directory
+                        + " as a file cache: it exists and was not created by a file cache");
+            }
+            FileSystemUtils.deleteRecursively(this.directory);
+        }
+        Files.createDirectories(this.directory);
+        Files.createFile(this.directory.resolve(MARKER_FILE));
+    }
+
+    /**
+     * Returns the cached file for a key, loading it with the given loader on a miss. The file is
+     * kept for at least the lease duration.
+     *
+     * @param key The cache key
+     * @param loader The loader used on a cache miss
+     * @return The path of the cached file
+     * @throws IOException If the loader fails
+     */
+    public Path getOrLoad(String key, Loader loader) throws IOException {
+        try (Lease lease = acquire(key, loader)) {
+            extend(lease.entry);
+            return lease.getPath();
+        }
+    }
+
+    /**
+     * Returns a lease on the cached file for a key, loading it with the given loader on a miss.
+     * The file is not evicted until the lease is closed.
+     *
+     * @param key The cache key
+     * @param loader The loader used on a cache miss
+     * @return The lease; must be closed
+     * @throws IOException If the loader fails
+     */
+    public Lease acquire(String key, Loader loader) throws IOException {
+        while (true) {
+            Lease lease = tryAcquire(key);
+            if (lease != null) {
+                return lease;
+            }
+
+            CompletableFuture<Void> future = new CompletableFuture<>();
+            CompletableFuture<Void> existing = inFlight.putIfAbsent(key, future);
+            if (existing != null) {
+                // Take the lease once the other load is done; it may be gone again by then
+                await(existing);
+                continue;
+            }
+
+            try {
+                Path tempFile = Files.createTempFile(directory, "load-", ".tmp");
+                try {
+                    loader.load(tempFile);
+                    Lease loaded = putAndAcquire(key, tempFile);
+                    future.complete(null);
+                    return loaded;
+                } finally {
+                    Files.deleteIfExists(tempFile);
+                }
+            } catch (IOException | RuntimeException | Error e) {
+                future.completeExceptionally(e);
+                throw e;
+            } finally {
+                inFlight.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Returns the cached file for a key as a resource. Each stream opened from the resource holds
+     * a lease until it is closed, reloading the file if it was evicted in the meantime.
+     *
+     * @param key The cache key
+     * @param loader The loader used on a cache miss
+     * @return The resource
+     * @throws IOException If the loader fails
+     */
+    public Resource getResource(String key, Loader loader) throws IOException {
+        return new FileSystemResource(getOrLoad(key, loader)) {
+            @Override
+            public InputStream getInputStream() throws IOException {
+                Lease lease = acquire(key, loader);
+                try {
+                    return new FilterInputStream(Files.newInputStream(lease.getPath())) {
+                        @Override
+                        public void close() throws IOException {
+                            try {
+                                super.close();
+                            } finally {
+                                lease.close();
+                            }
+                        }
+                    };
+                } catch (IOException | RuntimeException e) {
+                    lease.close();
+                    throw e;
+                }
+            }
+        };
+    }
+
+    /**
+     * Returns the cached file for a key. The file is kept for at least the lease duration.
+     *
+     * @param key The cache key
+     * @return The path of the cached file, or null if the key is not cached
+     */
+    public synchronized Path get(String key) {
+        Lease lease = tryAcquire(key);
+        if (lease == null) {
+            return null;
+        }
+        extend(lease.entry);
+        lease.close();
+        return lease.getPath();
+    }
+
+    /**
+     * Removes a key from the cache. The file is deleted once it is no longer in use.
+     *
+     * @param key The cache key
+     */
+    public synchronized void invalidate(String key) {
+        Entry entry = entries.remove(key);
+        if (entry != null) {
+            retire(entry);
+        }
+    }
+
+    /**
+     * Returns the total size of the cached files.
+     *
+     * @return The size in bytes
+     */
+    public synchronized long getCurrentBytes() {
+        return currentBytes;
+    }
+
+    private synchronized Lease tryAcquire(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (!Files.exists(entry.path)) {
+            entries.remove(key);
+            currentBytes -= entry.size;
+            return null;
+        }
+        entry.references++;
+        return new Lease(entry);
+    }
+
+    private synchronized Lease putAndAcquire(String key, Path source) throws IOException {
+        Entry previous = entries.remove(key);
+        if (previous != null) {
+            retire(previous);
+        }
+
+        Path target = resolve(key);
+        Files.createDirectories(target.getParent());
+        Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        Entry entry = new Entry(target, Files.size(target));
+        entry.references++;
+        entries.put(key, entry);
+        currentBytes += entry.size;
+        evict();
+        return new Lease(entry);
+    }
+
+    private synchronized void extend(Entry entry) {
+        entry.leasedUntil = System.nanoTime() + leaseNanos;
+    }
+
+    private synchronized void release(Entry entry) {
+        entry.references--;
+        evict();
+    }
+
+    /**
+     * Stops counting an entry that is no longer under its key. A file still in use is moved aside,
+     * so a new file can be loaded under the key, and deleted when it is no longer used.
+     */
+    private void retire(Entry entry) {
+        currentBytes -= entry.size;
+        if (!entry.isInUse(System.nanoTime())) {
+            deleteQuietly(entry.path);
+            return;
+        }
+        try {
+            Path moved = directory.resolve("retired-" + UUID.randomUUID() + ".tmp");
+            Files.move(entry.path, moved, StandardCopyOption.ATOMIC_MOVE);
+            entry.path = moved;
+            retired.add(entry);
+        } catch (IOException e) {
+            logger.warn("Failed to move aside cached file {} in use: {}", entry.path, e.getMessage());
+        }
+    }
+
+    /**
+     * Deletes retired files no longer in use, then evicts least recently used entries not in use
+     * until the cache fits its size.
+     */
+    private void evict() {
+        long now = System.nanoTime();
+        retired.removeIf(entry -> {
+            if (entry.isInUse(now)) {
+                return false;
+            }
+            deleteQuietly(entry.path);
+            return true;
+        });
+
+        Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        while (currentBytes > maxBytes && iterator.hasNext()) {
+            Map.Entry<String, Entry> eldest = iterator.next();
+            if (eldest.getValue().isInUse(now)) {
+                continue;
+            }
+            iterator.remove();
+            currentBytes -= eldest.getValue().size;
+            deleteQuietly(eldest.getValue().path);
+            logger.debug("Evicted {} from local file cache", eldest.getKey());
+        }
+    }
+
+    private Path resolve(String key) {
+        String cleanKey = StringUtils.cleanPath(key);
+        if (cleanKey.contains("..")) {
+            throw new IllegalArgumentException("Cannot cache file with relative path outside cache directory");
+        }
+        while (cleanKey.startsWith("/")) {
+            cleanKey = cleanKey.substring(1);
+        }
+        Path path = directory.resolve(cleanKey).normalize();
+        if (path.equals(directory.resolve(MARKER_FILE))) {
+            throw new IllegalArgumentException("Cannot cache file under reserved name " + MARKER_FILE);
+        }
+        return path;
+    }
+
+    private static void await(CompletableFuture<Void> future) throws IOException {
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for cached file", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException ioException) {
+                throw ioException;
+            }
+            if (cause instanceof UncheckedIOException uncheckedIOException) {
+                throw uncheckedIOException.getCause();
+            }
+            throw new IOException("Failed to load cached file", cause);
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            logger.warn("Failed to delete cached file {}: {}", path, e.getMessage());
+        }
+    }
+
+    /**
+     * A cached file and its use.
+     */
+    private static final class Entry {
+        private Path path;
+        private final long size;
+        private int references;
+        private long leasedUntil;
+
+        private Entry(Path path, long size) {
+            this.path = path;
+            this.size = size;
+            this.leasedUntil = System.nanoTime();
+        }
+
+        private boolean isInUse(long now) {
+            return references > 0 || leasedUntil - now > 0;
+        }
+    }
+
+    /**
+     * Use of a cached file, which keeps it from being evicted until closed.
+     */
+    public final class Lease implements Closeable {
+
+        private final Entry entry;
+        private boolean closed;
+
+        private Lease(Entry entry) {
+            this.entry = entry;
+        }
+
+        /**
+         * Returns the path of the cached file, which changes if the entry is invalidated.
+         *
+         * @return The path
+         */
+        public Path getPath() {
+            synchronized (LocalFileCache.this) {
+                return entry.path;
+            }
+        }
+
+        @Override
+        public void close() {
+            synchronized (LocalFileCache.this) {
+                if (!closed) {
+                    closed = true;
+                    release(entry);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.vtnet.pdms.infrastructure.storage;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a storage reconciliation run. Counters are updated from the scanning threads,
+ * so all mutators are synchronized.
+ */
+public class ReconciliationReport {
+
+    /**
+     * Maximum number of paths listed per category; the counters are always complete
+     */
+    public static final int MAX_LISTED_PATHS = 100;
+
+    private final boolean dryRun;
+    private final LocalDateTime startedAt = LocalDateTime.now();
+    private LocalDateTime finishedAt;
+    private int partitionsScanned;
+    private long filesScanned;
+    private long referencedPaths;
+    private long recentFilesSkipped;
+    private long unrecognizedFiles;
+    private long orphanCount;
+    private long missingCount;
+    private long quarantinedCount;
+    private long purgedCount;
+    private long failedCount;
+    private String abortReason;
+    private final List<String> orphans = new ArrayList<>();
+    private final List<String> missing = new ArrayList<>();
+
+    public ReconciliationReport(boolean dryRun) {
+        this.dryRun = dryRun;
+    }
+
+    synchronized void partitionScanned(int files, int references, int recentFiles, int unrecognized) {
+        partitionsScanned++;
+        filesScanned += files;
+        referencedPaths += references;
+        recentFilesSkipped += recentFiles;
+        unrecognizedFiles += unrecognized;
+    }
+
+    synchronized void addOrphan(String path) {
+        orphanCount++;
+        if (orphans.size() < MAX_LISTED_PATHS) {
+            orphans.add(path);
+        }
+    }
+
+    synchronized void addMissing(String path) {
+        missingCount++;
+        if (missing.size() < MAX_LISTED_PATHS) {
+            missing.add(path);
+        }
+    }
+
+    synchronized void quarantined() {
+        quarantinedCount++;
+    }
+
+    synchronized void purged() {
+        purgedCount++;
+    }
+
+    synchronized void failed() {
+        failedCount++;
+    }
+
+    synchronized void abort(String reason) {
+        abortReason = reason;
+    }
+
+    synchronized void finish() {
+        finishedAt = LocalDateTime.now();
+    }
+
+    // Getters
+    public boolean isDryRun() {
+        return dryRun;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public synchronized LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public synchronized int getPartitionsScanned() {
+        return partitionsScanned;
+    }
+
+    public synchronized long getFilesScanned() {
+        return filesScanned;
+    }
+
+    public synchronized long getReferencedPaths() {
+        return referencedPaths;
+    }
+
+    public synchronized long getRecentFilesSkipped() {
+        return recentFilesSkipped;
+    }
+
+    public synchronized long getUnrecognizedFiles() {
+        return unrecognizedFiles;
+    }
+
+    /**
+     * Returns the number of files that could have been orphans: unreferenced files are counted
+     * unless they are recent or outside the document layout.
+     *
+     * @return The number of candidate files
+     */
+    public synchronized long getCandidateFiles() {
+        return filesScanned - recentFilesSkipped - unrecognizedFiles;
+    }
+
+    /**
+     * Returns the fraction of the candidate files that are orphans.
+     *
+     * @return The orphan ratio, 0 if there are no candidates
+     */
+    public synchronized double getOrphanRatio() {
+        long candidates = getCandidateFiles();
+        return candidates == 0 ? 0 : (double) orphanCount / candidates;
+    }
+
+    public synchronized boolean isAborted() {
+        return abortReason != null;
+    }
+
+    public synchronized String getAbortReason() {
+        return abortReason;
+    }
+
+    public synchronized long getOrphanCount() {
+        return orphanCount;
+    }
+
+    public synchronized long getMissingCount() {
+        return missingCount;
+    }
+
+    public synchronized long getQuarantinedCount() {
+        return quarantinedCount;
+    }
+
+    public synchronized long getPurgedCount() {
+        return purgedCount;
+    }
+
+    public synchronized long getFailedCount() {
+        return failedCount;
+    }
+
+    public synchronized List<String> getOrphans() {
+        return new ArrayList<>(orphans);
+    }
+
+    public synchronized List<String> getMissing() {
+        return new ArrayList<>(missing);
+    }
+}
@@ -0,0 +1,445 @@
+package com.vtnet.pdms.infrastructure.storage;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
+import software.amazon.awssdk.services.s3.model.CommonPrefix;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CopyObjectRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
+import software.amazon.awssdk.services.s3.model.S3Object;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Implementation of StorageService backed by an S3-compatible object store.
+ * Large files are uploaded as parallel multipart parts and downloaded with parallel ranged GETs.
+ * Objects are written once per key, so downloaded objects are served from a local disk cache.
+ */
+@Service
+@ConditionalOnProperty(name = "storage.type", havingValue = "s3")
+public class S3StorageService implements StorageService {
+
+    private static final Logger logger = LoggerFactory.getLogger(S3StorageService.class);
+
+    private final S3Client s3Client;
+    private final String bucket;
+    private final long multipartThreshold;
+    private final long partSize;
+    private final int transferConcurrency;
+    private final ExecutorService transferExecutor;
+    private final LocalFileCache cache;
+
+    /**
+     * Constructor with dependency injection.
+     *
+     * @param s3Client Client for the object store
+     * @param bucket The bucket holding the documents
+     * @param multipartThreshold Files at least this large are uploaded in parts
+     * @param partSize Size of each multipart part and of each ranged GET
+     * @param transferConcurrency Maximum number of parts transferred at the same time
+     * @param cacheLocation Directory of the local disk cache
+     * @param cacheMaxSize Maximum size of the local disk cache
+     * @throws IOException If the cache directory cannot be created
+     */
+    @Autowired
+    public S3StorageService(
+            S3Client s3Client,
+            @Value("${storage.s3.bucket}") String bucket,
+            @Value("${storage.s3.multipart-threshold:16MB}") DataSize multipartThreshold,
+            @Value("${storage.s3.part-size:8MB}") DataSize partSize,
+            @Value("${storage.s3.transfer-concurrency:4}") int transferConcurrency,
+            @Value("${storage.s3.cache.location:${java.io.tmpdir}/pdms-s3-cache}") String cacheLocation,
+            @Value("${storage.s3.cache.max-size:1GB}") DataSize cacheMaxSize) throws IOException {
+        this.s3Client = s3Client;
+        this.bucket = bucket;
+        this.multipartThreshold = multipartThreshold.toBytes();
+        this.partSize = partSize.toBytes();
+        this.transferConcurrency = Math.max(1, transferConcurrency);
+        this.cache = new LocalFileCache(Paths.get(cacheLocation), cacheMaxSize.toBytes());
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.transferExecutor = Executors.newFixedThreadPool(this.transferConcurrency, runnable -> {
+            Thread thread = new Thread(runnable, "s3-transfer-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public Path store(MultipartFile file, String filename) throws IOException {
+        if (file.isEmpty()) {
+            throw new IllegalArgumentException("Failed to store empty file");
+        }
+
+        String key = uniqueKey(filename);
+        try (InputStream inputStream = file.getInputStream()) {
+            if (file.getSize() >= multipartThreshold) {
+                uploadMultipart(key, inputStream);
+            } else {
+                s3Client.putObject(
+                        PutObjectRequest.builder().bucket(bucket).key(key).contentType(file.getContentType()).build(),
+                        RequestBody.fromInputStream(inputStream, file.getSize()));
+            }
+        }
+        cache.invalidate(key);
+
+        return Paths.get(key);
+    }
+
+    /**
+     * Stores a stream of unknown length. Content below the multipart threshold is buffered and sent
+     * with a single PUT; anything larger continues as a multipart upload.
+     */
+    @Override
+    public Path store(InputStream inputStream, String filename) throws IOException {
+        String key = uniqueKey(filename);
+        byte[] head = inputStream.readNBytes((int) Math.min(multipartThreshold, Integer.MAX_VALUE - 8));
+        if (head.length < multipartThreshold) {
+            s3Client.putObject(PutObjectRequest.builder().bucket(bucket).key(key).build(), RequestBody.fromBytes(head));
+        } else {
+            uploadMultipart(key, new SequenceInputStream(new ByteArrayInputStream(head), inputStream));
+        }
+        cache.invalidate(key);
+
+        return Paths.get(key);
+    }
+
+    @Override
+    public Resource loadAsResource(String filename) {
+        try {
+            String key = toKey(filename);
+            return cache.getResource(key, target -> download(key, target));
+        } catch (IOException | S3Exception e) {
+            throw new RuntimeException("Could not read file: " + filename, e);
+        }
+    }
+
+    @Override
+    public boolean delete(String filename) {
+        String key = toKey(filename);
+        cache.invalidate(key);
+        try {
+            s3Client.deleteObject(DeleteObjectRequest.builder().bucket(bucket).key(key).build());
+            return true;
+        } catch (S3Exception e) {
+            logger.warn("Failed to delete object {}: {}", key, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Returns the path of a local copy of the object, downloading it into the cache if needed.
+     *
+     * @param filename The object key
+     * @return The path of the cached copy
+     */
+    @Override
+    public Path getPath(String filename) {
+        try {
+            return download(toKey(filename));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read file: " + filename, e);
+        }
+    }
+
+    /**
+     * Object stores have no directories, so this only validates the path.
+     *
+     * @param relativePath The path relative to the bucket root
+     * @return The normalized path
+     */
+    @Override
+    public Path createDirectory(String relativePath) {
+        String cleanPath = StringUtils.cleanPath(relativePath);
+        if (cleanPath.contains("..")) {
+            // Security check to prevent directory traversal attacks
+            throw new IllegalArgumentException("Cannot create directory with relative path outside current directory");
+        }
+        return Paths.get(cleanPath);
+    }
+
+    @Override
+    public List<StoredFile> list(String prefix) {
+        List<StoredFile> files = new ArrayList<>();
+        ListObjectsV2Request request = ListObjectsV2Request.builder().bucket(bucket).prefix(toPrefix(prefix)).build();
+        for (S3Object object : s3Client.listObjectsV2Paginator(request).contents()) {
+            files.add(new StoredFile(object.key(), object.size(), object.lastModified()));
+        }
+        return files;
+    }
+
+    /**
+     * Object stores list keys in ascending UTF-8 byte order, one page at a time.
+     */
+    @Override
+    public Stream<StoredFile> listInOrder(String prefix) {
+        ListObjectsV2Request request = ListObjectsV2Request.builder().bucket(bucket).prefix(toPrefix(prefix)).build();
+        return s3Client.listObjectsV2Paginator(request).contents().stream()
+                .map(object -> new StoredFile(object.key(), object.size(), object.lastModified()));
+    }
+
+    @Override
+    public List<String> listDirectories(String prefix) {
+        String directoryPrefix = toPrefix(prefix);
+        List<String> names = new ArrayList<>();
+        ListObjectsV2Request request = ListObjectsV2Request.builder()
+                .bucket(bucket).prefix(directoryPrefix).delimiter("/").build();
+        for (ListObjectsV2Response page : s3Client.listObjectsV2Paginator(request)) {
+            for (CommonPrefix commonPrefix : page.commonPrefixes()) {
+                String name = commonPrefix.prefix().substring(directoryPrefix.length());
+                names.add(name.endsWith("/") ? name.substring(0, name.length() - 1) : name);
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Copies the object to its new key and deletes the original; object stores have no rename.
+     */
+    @Override
+    public void move(String source, String target) throws IOException {
+        String sourceKey = toKey(source);
+        String targetKey = toKey(target);
+        try {
+            s3Client.copyObject(CopyObjectRequest.builder()
+                    .sourceBucket(bucket).sourceKey(sourceKey)
+                    .destinationBucket(bucket).destinationKey(targetKey)
+                    .build());
+            s3Client.deleteObject(DeleteObjectRequest.builder().bucket(bucket).key(sourceKey).build());
+        } catch (S3Exception e) {
+            throw new IOException("Could not move " + sourceKey + " to " + targetKey, e);
+        }
+        cache.invalidate(sourceKey);
+        cache.invalidate(targetKey);
+    }
+
+    @Override
+    public String toRelativePath(String path) {
+        return toKey(path);
+    }
+
+    @Override
+    public String toStoredPath(String relativePath) {
+        String key = toKey(relativePath);
+        return relativePath.endsWith("/") && !key.endsWith("/") ? key + "/" : key;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        transferExecutor.shutdownNow();
+    }
+
+    /**
+     * Uploads a stream as a multipart upload. Parts are read sequentially and uploaded in parallel,
+     * with at most {@code transferConcurrency} parts buffered in memory at any time.
+     */
+    private void uploadMultipart(String key, InputStream inputStream) throws IOException {
+        String uploadId = s3Client.createMultipartUpload(
+                CreateMultipartUploadRequest.builder().bucket(bucket).key(key).build()).uploadId();
+
+        Semaphore permits = new Semaphore(transferConcurrency);
+        List<CompletableFuture<CompletedPart>> parts = new ArrayList<>();
+        try {
+            int partNumber = 1;
+            byte[] buffer;
+            while ((buffer = inputStream.readNBytes((int) partSize)).length > 0) {
+                acquire(permits);
+                final int currentPart = partNumber++;
+                final byte[] partBytes = buffer;
+                parts.add(CompletableFuture.supplyAsync(() -> {
+                    try {
+                        String eTag = s3Client.uploadPart(
+                                UploadPartRequest.builder()
+                                        .bucket(bucket)
+                                        .key(key)
+                                        .uploadId(uploadId)
+                                        .partNumber(currentPart)
+                                        .contentLength((long) partBytes.length)
+                                        .build(),
+                                RequestBody.fromBytes(partBytes)).eTag();
+                        return CompletedPart.builder().partNumber(currentPart).eTag(eTag).build();
+                    } finally {
+                        permits.release();
+                    }
+                }, transferExecutor));
+            }
+
+            List<CompletedPart> completedParts = new ArrayList<>();
+            for (CompletableFuture<CompletedPart> part : parts) {
+                completedParts.add(join(part));
+            }
+            completedParts.sort(Comparator.comparing(CompletedPart::partNumber));
+
+            s3Client.completeMultipartUpload(CompleteMultipartUploadRequest.builder()
+                    .bucket(bucket)
+                    .key(key)
+                    .uploadId(uploadId)
+                    .multipartUpload(CompletedMultipartUpload.builder().parts(completedParts).build())
+                    .build());
+            logger.debug("Uploaded {} in {} parts", key, completedParts.size());
+        } catch (IOException | RuntimeException e) {
+            parts.forEach(part -> part.cancel(true));
+            try {
+                s3Client.abortMultipartUpload(AbortMultipartUploadRequest.builder()
+                        .bucket(bucket).key(key).uploadId(uploadId).build());
+            } catch (S3Exception abortException) {
+                logger.warn("Failed to abort multipart upload {} for {}", uploadId, key, abortException);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the path of the cached copy of an object, downloading it if needed.
+     */
+    private Path download(String key) throws IOException {
+        return cache.getOrLoad(key, target -> download(key, target));
+    }
+
+    /**
+     * Downloads an object into a file. Objects larger than one part are fetched with parallel
+     * ranged GETs written straight to their offset in the file.
+     */
+    private void download(String key, Path target) throws IOException {
+        long size = s3Client.headObject(HeadObjectRequest.builder().bucket(bucket).key(key).build())
+                .contentLength();
+
+        try (FileChannel channel = FileChannel.open(target, StandardOpenOption.WRITE)) {
+            if (size <= partSize) {
+                writeRange(key, null, channel, 0);
+                return;
+            }
+
+            List<CompletableFuture<Void>> ranges = new ArrayList<>();
+            for (long start = 0; start < size; start += partSize) {
+                final long rangeStart = start;
+                final long rangeEnd = Math.min(start + partSize, size) - 1;
+                ranges.add(CompletableFuture.runAsync(() -> {
+                    try {
+                        writeRange(key, "bytes=" + rangeStart + "-" + rangeEnd, channel, rangeStart);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }, transferExecutor));
+            }
+            for (CompletableFuture<Void> range : ranges) {
+                join(range);
+            }
+        }
+    }
+
+    private void writeRange(String key, String range, FileChannel channel, long position) throws IOException {
+        GetObjectRequest.Builder request = GetObjectRequest.builder().bucket(bucket).key(key);
+        if (range != null) {
+            request.range(range);
+        }
+
+        byte[] buffer = new byte[64 * 1024];
+        try (ResponseInputStream<GetObjectResponse> inputStream = s3Client.getObject(request.build())) {
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                ByteBuffer byteBuffer = ByteBuffer.wrap(buffer, 0, read);
+                while (byteBuffer.hasRemaining()) {
+                    position += channel.write(byteBuffer, position);
+                }
+            }
+        }
+    }
+
+    private static String uniqueKey(String filename) {
+        String key = toKey(filename);
+        if (!key.contains("/")) {
+            // Generate a unique key to prevent overwriting existing objects
+            key = UUID.randomUUID() + "-" + key;
+        }
+        return key;
+    }
+
+    private static String toKey(String filename) {
+        String cleanFilename = StringUtils.cleanPath(filename);
+        if (cleanFilename.contains("..")) {
+            // Security check to prevent directory traversal attacks
+            throw new IllegalArgumentException("Cannot store file with relative path outside current directory");
+        }
+        while (cleanFilename.startsWith("/")) {
+            cleanFilename = cleanFilename.substring(1);
+        }
+        return cleanFilename;
+    }
+
+    private static String toPrefix(String prefix) {
+        String key = toKey(prefix);
+        return key.isEmpty() || key.endsWith("/") ? key : key + "/";
+    }
+
+    private static void acquire(Semaphore permits) throws IOException {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for a transfer slot", e);
+        }
+    }
+
+    private static <T> T join(CompletableFuture<T> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted during transfer", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof UncheckedIOException uncheckedIOException) {
+                throw uncheckedIOException.getCause();
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IOException("Transfer failed", cause);
+        }
+    }
+}
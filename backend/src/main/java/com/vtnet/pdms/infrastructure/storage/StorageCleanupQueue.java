@@ -0,0 +1,105 @@
+package com.vtnet.pdms.infrastructure.storage;
+
+import com.vtnet.pdms.domain.repository.DocumentVersionRepository.StoragePathView;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Deletes the stored files of bulk-deleted document versions on a background thread, so that
+ * deleting a large folder tree does not wait for storage.
+ * <p>
+ * Files queued inside a transaction are only deleted once it commits, so a rollback cannot lose
+ * them. Files still referenced by a copied document are kept. Files that cannot be deleted, for
+ * example after a restart, are left to the storage reconciler.
+ */
+@Component
+public class StorageCleanupQueue {
+
+    private static final Logger logger = LoggerFactory.getLogger(StorageCleanupQueue.class);
+
+    private final DocumentVersionStore documentVersionStore;
+    private final StorageService storageService;
+    private final int batchSize;
+    private final ExecutorService executor;
+
+    /**
+     * Constructor with dependency injection.
+     *
+     * @param documentVersionStore Store for document version content
+     * @param storageService Service for file storage operations
+     * @param batchSize Number of files whose references are checked per query
+     */
+    @Autowired
+    public StorageCleanupQueue(
+            DocumentVersionStore documentVersionStore,
+            StorageService storageService,
+            @Value("${storage.cleanup.batch-size:500}") int batchSize) {
+        this.documentVersionStore = documentVersionStore;
+        this.storageService = storageService;
+        this.batchSize = Math.max(1, batchSize);
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "storage-cleanup");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Queues the files of deleted versions, and then the directories that held them, for deletion.
+     * Directories are only removed if they are empty.
+     *
+     * @param files The IDs and storage paths of the deleted versions
+     * @param directories The storage directories to remove
+     */
+    public void enqueue(List<StoragePathView> files, List<String> directories) {
+        if (files.isEmpty() && directories.isEmpty()) {
+            return;
+        }
+        List<StoragePathView> queuedFiles = new ArrayList<>(files);
+        List<String> queuedDirectories = new ArrayList<>(directories);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    executor.execute(() -> cleanUp(queuedFiles, queuedDirectories));
+                }
+            });
+        } else {
+            executor.execute(() -> cleanUp(queuedFiles, queuedDirectories));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    void cleanUp(List<StoragePathView> files, List<String> directories) {
+        int deleted = 0;
+        try {
+            for (int from = 0; from < files.size(); from += batchSize) {
+                deleted += documentVersionStore.deleteUnreferenced(files.subList(from, Math.min(from + batchSize, files.size())));
+            }
+            for (String directory : directories) {
+                if (!storageService.delete(directory)) {
+                    logger.debug("Storage directory was not removed: {}", directory);
+                }
+            }
+        } catch (RuntimeException e) {
+            logger.error("Storage cleanup stopped after {} of {} files", deleted, files.size(), e);
+            return;
+        }
+        logger.info("Deleted {} of {} files of deleted document versions", deleted, files.size());
+    }
+}
@@ -0,0 +1,46 @@
+package com.vtnet.pdms.infrastructure.storage;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Background job that periodically reconciles storage with the database.
+ */
+@Component
+@ConditionalOnProperty(name = "storage.reconcile.enabled", havingValue = "true")
+public class StorageReconcileJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(StorageReconcileJob.class);
+
+    private final StorageReconciler storageReconciler;
+    private final boolean dryRun;
+
+    /**
+     * Constructor with dependency injection.
+     *
+     * @param storageReconciler Reconciler for storage and database
+     * @param dryRun If true, scheduled runs only report orphans
+     */
+    @Autowired
+    public StorageReconcileJob(
+            StorageReconciler storageReconciler,
+            @Value("${storage.reconcile.dry-run:false}") boolean dryRun) {
+        this.storageReconciler = storageReconciler;
+        this.dryRun = dryRun;
+    }
+
+    @Scheduled(fixedDelayString = "${storage.reconcile.interval:PT24H}",
+               initialDelayString = "${storage.reconcile.initial-delay:PT15M}")
+    public void run() {
+        try {
+            storageReconciler.reconcile(dryRun);
+        } catch (Exception e) {
+            logger.error("Storage reconciliation failed", e);
+        }
+    }
+}
@@ -0,0 +1,420 @@
+package com.vtnet.pdms.infrastructure.storage;
+
+import com.vtnet.pdms.domain.repository.DocumentVersionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Finds files in storage that no document version references (orphans) and references whose
+ * file is gone (missing).
+ * <p>
+ * Storage is partitioned by project directory and the partitions are scanned in parallel. For each
+ * partition the storage listing and the version storage paths under it are both streamed in path
+ * order, the latter in keyset batches, and merge-joined, so neither side is held in memory. Orphans
+ * are first moved to a dated quarantine directory and only deleted once the quarantine retention
+ * has passed; missing files are reported but never touched. Files younger than the minimum age are
+ * ignored, since uploads and imports write the file before the transaction that references it
+ * commits, and so are files outside the layout documents are stored in, which the application did
+ * not write.
+ * <p>
+ * Every run first scans without moving anything. If more than the configured fraction of the
+ * scanned files would be orphans, which is what a wrong storage location or database looks like,
+ * the run is aborted; otherwise the partitions are scanned again and the orphans quarantined.
+ */
+@Service
+public class StorageReconciler {
+
+    private static final Logger logger = LoggerFactory.getLogger(StorageReconciler.class);
+
+    static final String PROJECTS_PREFIX = "projects";
+    static final String QUARANTINE_PREFIX = "quarantine";
+
+    /**
+     * Layout of stored document files: projects/{projectId}/{folderId}/{file}
+     */
+    private static final Pattern DOCUMENT_PATH = Pattern.compile(PROJECTS_PREFIX + "/\\d+/\\d+/.+");
+
+    private final StorageService storageService;
+    private final DocumentVersionRepository documentVersionRepository;
+    private final int parallelism;
+    private final int batchSize;
+    private final Duration minAge;
+    private final Duration quarantineRetention;
+    private final int maxOperationsPerSecond;
+    private final int maxQuarantinedPerRun;
+    private final double maxOrphanRatio;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    /**
+     * Constructor with dependency injection.
+     *
+     * @param storageService Service for file storage operations
+     * @param documentVersionRepository Repository for document version operations
+     * @param parallelism Number of project partitions scanned at the same time
+     * @param batchSize Number of storage paths read from the database per query
+     * @param minAge Files younger than this are never treated as orphans
+     * @param quarantineRetention How long orphans stay in quarantine before they are deleted
+     * @param maxOperationsPerSecond Maximum number of moves and deletes per second, 0 for no limit
+     * @param maxQuarantinedPerRun Maximum number of orphans quarantined in one run
+     * @param maxOrphanRatio Maximum fraction of the scanned files that may be orphans before a run is aborted
+     */
+    @Autowired
+    public StorageReconciler(
+            StorageService storageService,
+            DocumentVersionRepository documentVersionRepository,
+            @Value("${storage.reconcile.parallelism:4}") int parallelism,
+            @Value("${storage.reconcile.batch-size:1000}") int batchSize,
+            @Value("${storage.reconcile.min-age:PT1H}") Duration minAge,
+            @Value("${storage.reconcile.quarantine-retention:P7D}") Duration quarantineRetention,
+            @Value("${storage.reconcile.max-operations-per-second:50}") int maxOperationsPerSecond,
+            @Value("${storage.reconcile.max-quarantined-per-run:10000}") int maxQuarantinedPerRun,
+            @Value("${storage.reconcile.max-orphan-ratio:0.25}") double maxOrphanRatio) {
+        this.storageService = storageService;
+        this.documentVersionRepository = documentVersionRepository;
+        this.parallelism = Math.max(1, parallelism);
+        this.batchSize = batchSize;
+        this.minAge = minAge;
+        this.quarantineRetention = quarantineRetention;
+        this.maxOperationsPerSecond = maxOperationsPerSecond;
+        this.maxQuarantinedPerRun = maxQuarantinedPerRun;
+        this.maxOrphanRatio = maxOrphanRatio;
+    }
+
+    /**
+     * Reconciles storage with the database.
+     *
+     * @param dryRun If true, only report what would be quarantined and purged
+     * @return The reconciliation report
+     * @throws IOException If storage cannot be listed
+     * @throws IllegalStateException If a reconciliation is already running
+     */
+    public ReconciliationReport reconcile(boolean dryRun) throws IOException {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("A storage reconciliation is already running");
+        }
+        try {
+            Instant cutoff = Instant.now().minus(minAge);
+            List<String> partitions = storageService.listDirectories(PROJECTS_PREFIX);
+
+            // The first pass only counts, so a run that would quarantine too much touches nothing
+            ReconciliationReport report = new ReconciliationReport(dryRun);
+            Run survey = new Run(report, cutoff, false);
+            scanPartitions(partitions, survey);
+            if (report.getOrphanRatio() > maxOrphanRatio) {
+                report.abort(String.format("%d of %d files would be orphans, more than the maximum ratio of %s",
+                        report.getOrphanCount(), report.getCandidateFiles(), maxOrphanRatio));
+                logger.error("Storage reconciliation aborted: {}", report.getAbortReason());
+            } else if (dryRun) {
+                purgeQuarantine(survey);
+            } else {
+                report = new ReconciliationReport(false);
+                Run run = new Run(report, cutoff, true);
+                scanPartitions(partitions, run);
+                purgeQuarantine(run);
+            }
+
+            report.finish();
+            logger.info("Storage reconciliation{} scanned {} files in {} partitions: {} orphans ({} quarantined), "
+                            + "{} missing, {} unrecognized, {} purged, {} failures",
+                    dryRun ? " (dry run)" : "", report.getFilesScanned(), report.getPartitionsScanned(),
+                    report.getOrphanCount(), report.getQuarantinedCount(), report.getMissingCount(),
+                    report.getUnrecognizedFiles(), report.getPurgedCount(), report.getFailedCount());
+            return report;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private void scanPartitions(List<String> partitions, Run run) throws IOException {
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, Math.max(1, partitions.size())),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "storage-reconcile-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        try {
+            List<Future<?>> scans = new ArrayList<>();
+            for (String partition : partitions) {
+                scans.add(executor.submit(() -> {
+                    reconcilePartition(partition, run);
+                    return null;
+                }));
+            }
+            for (int i = 0; i < scans.size(); i++) {
+                try {
+                    scans.get(i).get();
+                } catch (ExecutionException e) {
+                    logger.error("Failed to reconcile storage partition {}", partitions.get(i), e.getCause());
+                    run.report.failed();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while reconciling storage");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void reconcilePartition(String partition, Run run) throws IOException {
+        String prefix = PROJECTS_PREFIX + "/" + partition + "/";
+        ReferencedPaths referenced = new ReferencedPaths(prefix);
+
+        int scannedFiles = 0;
+        int references = 0;
+        int recentFiles = 0;
+        int unrecognizedFiles = 0;
+        try (Stream<StoredFile> listing = storageService.listInOrder(prefix)) {
+            Iterator<StoredFile> files = listing.iterator();
+            StoredFile file = files.hasNext() ? files.next() : null;
+            String reference = referenced.next();
+            while (file != null || reference != null) {
+                int comparison = file == null ? 1
+                        : reference == null ? -1
+                        : StoredFile.PATH_ORDER.compare(file.path(), reference);
+                if (comparison <= 0) {
+                    scannedFiles++;
+                    if (comparison == 0) {
+                        references++;
+                        reference = referenced.next();
+                    } else if (!DOCUMENT_PATH.matcher(file.path()).matches()) {
+                        unrecognizedFiles++;
+                    } else if (file.lastModified().isAfter(run.cutoff)) {
+                        recentFiles++;
+                    } else {
+                        quarantine(file.path(), run);
+                    }
+                    file = files.hasNext() ? files.next() : null;
+                } else {
+                    references++;
+                    logger.warn("Stored file of a document version is missing: {}", reference);
+                    run.report.addMissing(reference);
+                    reference = referenced.next();
+                }
+            }
+        }
+        run.report.partitionScanned(scannedFiles, references, recentFiles, unrecognizedFiles);
+    }
+
+    private void quarantine(String path, Run run) {
+        run.report.addOrphan(path);
+        if (!run.apply || run.quarantined.incrementAndGet() > maxQuarantinedPerRun) {
+            return;
+        }
+        String target = QUARANTINE_PREFIX + "/" + LocalDate.now() + "/" + encodeQuarantineName(path);
+        try {
+            run.acquire();
+            storageService.move(path, target);
+            run.report.quarantined();
+            logger.info("Quarantined orphan file {} as {}", path, target);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Failed to quarantine orphan file {}: {}", path, e.getMessage());
+            run.report.failed();
+        }
+    }
+
+    /**
+     * Deletes quarantined files whose quarantine day is older than the retention.
+     */
+    private void purgeQuarantine(Run run) throws IOException {
+        Instant expiry = Instant.now().minus(quarantineRetention);
+        for (String day : storageService.listDirectories(QUARANTINE_PREFIX)) {
+            LocalDate date;
+            try {
+                date = LocalDate.parse(day);
+            } catch (DateTimeParseException e) {
+                logger.warn("Ignoring unexpected quarantine directory: {}", day);
+                continue;
+            }
+            if (!date.plusDays(1).atStartOfDay(ZoneId.systemDefault()).toInstant().isBefore(expiry)) {
+                continue;
+            }
+
+            String directory = QUARANTINE_PREFIX + "/" + day;
+            for (StoredFile file : storageService.list(directory)) {
+                if (!run.apply) {
+                    continue;
+                }
+                run.acquire();
+                if (storageService.delete(file.path())) {
+                    run.report.purged();
+                } else {
+                    logger.warn("Failed to purge quarantined file: {}", file.path());
+                    run.report.failed();
+                }
+            }
+            if (run.apply) {
+                // Removes the day directory on file system storage; a no-op on object stores
+                storageService.delete(directory);
+            }
+        }
+    }
+
+    /**
+     * Flattens a path into a single file name, so a quarantine day is one directory that can be
+     * removed once it is empty. The original path is recovered by URL-decoding the name.
+     */
+    static String encodeQuarantineName(String path) {
+        return path.replace("%", "%25").replace("/", "%2F");
+    }
+
+    /**
+     * Escapes a path prefix for a LIKE pattern with '!' as the escape character.
+     */
+    static String toLikePrefix(String prefix) {
+        return prefix.replace("!", "!!").replace("%", "!%").replace("_", "!_") + "%";
+    }
+
+    /**
+     * Storage paths that document versions reference under a partition prefix, relative to the root
+     * and in path order. Versions may record a path in its stored form or relative to the root, so
+     * both forms are read in keyset batches and merged.
+     */
+    private class ReferencedPaths {
+        private final List<PathBatches> sources = new ArrayList<>();
+        private String last;
+
+        ReferencedPaths(String prefix) {
+            sources.add(new PathBatches(prefix));
+            String storedPrefix = storageService.toStoredPath(prefix);
+            if (!storedPrefix.equals(prefix)) {
+                sources.add(new PathBatches(storedPrefix));
+            }
+        }
+
+        /**
+         * Returns the next distinct referenced path, or null once all have been read.
+         */
+        String next() {
+            while (true) {
+                PathBatches first = null;
+                for (PathBatches source : sources) {
+                    if (source.peek() != null
+                            && (first == null || StoredFile.PATH_ORDER.compare(source.peek(), first.peek()) < 0)) {
+                        first = source;
+                    }
+                }
+                if (first == null) {
+                    return null;
+                }
+                String path = first.take();
+                if (!path.equals(last)) {
+                    last = path;
+                    return path;
+                }
+            }
+        }
+    }
+
+    /**
+     * The storage paths with one prefix, read from the database one batch at a time.
+     */
+    private class PathBatches {
+        private final String pattern;
+        private String afterPath = "";
+        private Iterator<String> batch = Collections.emptyIterator();
+        private boolean exhausted;
+        private String head;
+
+        PathBatches(String prefix) {
+            this.pattern = toLikePrefix(prefix);
+        }
+
+        String peek() {
+            if (head == null && (batch.hasNext() || fetch())) {
+                head = storageService.toRelativePath(batch.next());
+            }
+            return head;
+        }
+
+        String take() {
+            String path = peek();
+            head = null;
+            return path;
+        }
+
+        private boolean fetch() {
+            if (exhausted) {
+                return false;
+            }
+            List<String> paths = documentVersionRepository.findStoragePathsAfter(pattern, afterPath,
+                    PageRequest.of(0, batchSize));
+            exhausted = paths.size() < batchSize;
+            if (paths.isEmpty()) {
+                return false;
+            }
+            afterPath = paths.get(paths.size() - 1);
+            batch = paths.iterator();
+            return true;
+        }
+    }
+
+    /**
+     * State of one pass over the partitions, shared by the partition scans.
+     */
+    private class Run {
+        private final ReconciliationReport report;
+        private final Instant cutoff;
+        private final boolean apply;
+        private final AtomicLong quarantined = new AtomicLong();
+        private final long intervalNanos = maxOperationsPerSecond > 0 ? TimeUnit.SECONDS.toNanos(1) / maxOperationsPerSecond : 0;
+        private long nextOperation = System.nanoTime();
+
+        Run(ReconciliationReport report, Instant cutoff, boolean apply) {
+            this.report = report;
+            this.cutoff = cutoff;
+            this.apply = apply;
+        }
+
+        /**
+         * Waits for the next I/O slot under the operations-per-second limit.
+         */
+        void acquire() throws InterruptedIOException {
+            if (intervalNanos == 0) {
+                return;
+            }
+            long wait;
+            synchronized (this) {
+                long now = System.nanoTime();
+                nextOperation = Math.max(nextOperation, now);
+                wait = nextOperation - now;
+                nextOperation += intervalNanos;
+            }
+            if (wait > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(wait);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted while waiting for an I/O slot");
+                }
+            }
+        }
+    }
+}
@@ -4,7 +4,10 @@ import org.springframework.core.io.Resource;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Service interface for handling file storage operations.
@@ -21,6 +24,17 @@ public interface StorageService {
      */
     Path store(MultipartFile file, String filename) throws IOException;
 
+    /**
+     * Store the content of a stream with a specific filename.
+     * The stream is read to the end but not closed.
+     *
+     * @param inputStream The content to store
+     * @param filename The name to use for the stored file
+     * @return The path where the file was stored
+     * @throws IOException If an I/O error occurs
+     */
+    Path store(InputStream inputStream, String filename) throws IOException;
+
     /**
      * Load a file as a resource.
      *
@@ -53,4 +67,59 @@ public interface StorageService {
      * @throws IOException If an I/O error occurs
      */
     Path createDirectory(String relativePath) throws IOException;
-} 
\ No newline at end of file
+
+    /**
+     * List the files stored under a prefix, including those in nested directories.
+     *
+     * @param prefix The directory prefix relative to the root location
+     * @return The stored files, in no particular order
+     * @throws IOException If an I/O error occurs
+     */
+    List<StoredFile> list(String prefix) throws IOException;
+
+    /**
+     * List the files stored under a prefix in {@link StoredFile#PATH_ORDER}, reading the listing
+     * lazily so it is never held in memory as a whole. The stream must be closed.
+     *
+     * @param prefix The directory prefix relative to the root location
+     * @return The stored files, in path order
+     * @throws IOException If an I/O error occurs
+     */
+    Stream<StoredFile> listInOrder(String prefix) throws IOException;
+
+    /**
+     * List the names of the directories directly under a prefix.
+     *
+     * @param prefix The directory prefix relative to the root location
+     * @return The directory names
+     * @throws IOException If an I/O error occurs
+     */
+    List<String> listDirectories(String prefix) throws IOException;
+
+    /**
+     * Move a file to a new name, replacing any file already stored under that name.
+     *
+     * @param source The name of the file to move
+     * @param target The new name of the file
+     * @throws IOException If an I/O error occurs
+     */
+    void move(String source, String target) throws IOException;
+
+    /**
+     * Convert a path returned by {@code store} into the name relative to the root location,
+     * as used by {@link #list(String)}.
+     *
+     * @param path The stored path
+     * @return The relative name, with '/' separators
+     */
+    String toRelativePath(String path);
+
+    /**
+     * Convert a name relative to the root location into the form {@code store} records for it;
+     * the inverse of {@link #toRelativePath(String)}. A trailing slash is kept.
+     *
+     * @param relativePath The relative name, with '/' separators
+     * @return The stored form of the name
+     */
+    String toStoredPath(String relativePath);
+}
@@ -0,0 +1,35 @@
+package com.vtnet.pdms.infrastructure.storage;
+
+import java.time.Instant;
+import java.util.Comparator;
+
+/**
+ * A file found in storage by a listing.
+ *
+ * @param path The path relative to the storage root, with '/' separators
+ * @param size The size in bytes
+ * @param lastModified The time the file was last written
+ */
+public record StoredFile(String path, long size, Instant lastModified) {
+
+    /**
+     * Order of paths in sorted listings: by Unicode code point, which is also the byte order of
+     * their UTF-8 encoding used by object stores and binary database collations.
+     */
+    public static final Comparator<String> PATH_ORDER = StoredFile::comparePaths;
+
+    private static int comparePaths(String first, String second) {
+        int i = 0;
+        int j = 0;
+        while (i < first.length() && j < second.length()) {
+            int a = first.codePointAt(i);
+            int b = second.codePointAt(j);
+            if (a != b) {
+                return Integer.compare(a, b);
+            }
+            i += Character.charCount(a);
+            j += Character.charCount(b);
+        }
+        return Integer.compare(first.length() - i, second.length() - j);
+    }
+}
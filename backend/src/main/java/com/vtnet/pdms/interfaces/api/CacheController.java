@@ -0,0 +1,85 @@
+package com.vtnet.pdms.interfaces.api;
+
+import com.vtnet.pdms.infrastructure.cache.CacheStatisticsCollector;
+import com.vtnet.pdms.infrastructure.cache.CacheStatisticsReport;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller for second-level cache monitoring.
+ */
+@RestController
+@RequestMapping("/api/cache")
+@Tag(name = "Cache", description = "Cache monitoring APIs")
+@SecurityRequirement(name = "bearerAuth")
+public class CacheController {
+
+    private final CacheStatisticsCollector cacheStatisticsCollector;
+
+    /**
+     * Constructor with dependency injection.
+     *
+     * @param cacheStatisticsCollector Collector of cache statistics
+     */
+    @Autowired
+    public CacheController(CacheStatisticsCollector cacheStatisticsCollector) {
+        this.cacheStatisticsCollector = cacheStatisticsCollector;
+    }
+
+    /**
+     * GET /api/cache/statistics : Get the cache hit and miss counts.
+     *
+     * @return The cache statistics
+     */
+    @GetMapping("/statistics")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    @Operation(
+        summary = "Get cache statistics",
+        description = "Get the hits, misses and puts of the second-level and query caches since the last reset, "
+                + "in total and per region. Requires ADMIN role.",
+        responses = {
+            @ApiResponse(
+                responseCode = "200",
+                description = "Cache statistics",
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = CacheStatisticsReport.class))
+            ),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - requires ADMIN role")
+        }
+    )
+    public ResponseEntity<CacheStatisticsReport> getStatistics() {
+        return ResponseEntity.ok(cacheStatisticsCollector.collect());
+    }
+
+    /**
+     * DELETE /api/cache/statistics : Reset the cache statistics.
+     *
+     * @return Empty response
+     */
+    @DeleteMapping("/statistics")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    @Operation(
+        summary = "Reset cache statistics",
+        description = "Reset the cache counters, for example before a load test. Cached data is kept. Requires ADMIN role.",
+        responses = {
+            @ApiResponse(responseCode = "204", description = "Statistics reset"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - requires ADMIN role")
+        }
+    )
+    public ResponseEntity<Void> resetStatistics() {
+        cacheStatisticsCollector.reset();
+        return ResponseEntity.noContent().build();
+    }
+}
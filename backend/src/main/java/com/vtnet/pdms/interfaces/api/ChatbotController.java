@@ -12,10 +12,12 @@ import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -90,12 +92,16 @@ public class ChatbotController {
      *
      * @param projectId The project ID
      * @param limit The maximum number of messages to retrieve (optional)
+     * @param before Only messages sent before this time are retrieved (optional)
+     * @param beforeId Messages sent at exactly that time are also retrieved if their ID is below this (optional)
      * @return The chat history
      */
     @GetMapping("/projects/{projectId}/chat/history")
     @Operation(
         summary = "Get chat history for a project",
-        description = "Get the conversation history for a specific project",
+        description = "Get the conversation history for a specific project, newest first. Without 'before' only "
+                + "recent messages are returned; pass the sent time and ID of the oldest message received as "
+                + "'before' and 'beforeId' to page back through older and archived history",
         responses = {
             @ApiResponse(
                 responseCode = "200",
@@ -110,10 +116,14 @@ public class ChatbotController {
     @PreAuthorize("@customPermissionEvaluator.hasProjectAccess(#projectId)")
     public ResponseEntity<List<Map<String, Object>>> getProjectChatHistory(
             @PathVariable Long projectId,
-            @RequestParam(required = false, defaultValue = "20") int limit) {
+            @RequestParam(required = false, defaultValue = "20") int limit,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime before,
+            @RequestParam(required = false) Long beforeId) {
         
         Long userId = securityUtils.getCurrentUserId();
-        List<Map<String, Object>> history = chatbotService.getConversationHistory(projectId, userId, limit);
+        List<Map<String, Object>> history = before != null
+                ? chatbotService.getConversationHistory(projectId, userId, limit, before, beforeId)
+                : chatbotService.getConversationHistory(projectId, userId, limit);
         
         return ResponseEntity.ok(history);
     }
@@ -152,12 +162,16 @@ public class ChatbotController {
      * GET /api/chat/history : Get global chat history.
      *
      * @param limit The maximum number of messages to retrieve (optional)
+     * @param before Only messages sent before this time are retrieved (optional)
+     * @param beforeId Messages sent at exactly that time are also retrieved if their ID is below this (optional)
      * @return The chat history
      */
     @GetMapping("/chat/history")
     @Operation(
         summary = "Get global chat history",
-        description = "Get the conversation history for global questions (Director role required)",
+        description = "Get the conversation history for global questions, newest first. Without 'before' only recent "
+                + "messages are returned; pass the sent time and ID of the oldest message received as 'before' and "
+                + "'beforeId' to page back through older and archived history (Director role required)",
         responses = {
             @ApiResponse(
                 responseCode = "200",
@@ -170,10 +184,14 @@ public class ChatbotController {
     )
     @PreAuthorize("hasRole('ROLE_DIRECTOR')")
     public ResponseEntity<List<Map<String, Object>>> getGlobalChatHistory(
-            @RequestParam(required = false, defaultValue = "20") int limit) {
+            @RequestParam(required = false, defaultValue = "20") int limit,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime before,
+            @RequestParam(required = false) Long beforeId) {
         
         Long userId = securityUtils.getCurrentUserId();
-        List<Map<String, Object>> history = chatbotService.getGlobalConversationHistory(userId, limit);
+        List<Map<String, Object>> history = before != null
+                ? chatbotService.getGlobalConversationHistory(userId, limit, before, beforeId)
+                : chatbotService.getGlobalConversationHistory(userId, limit);
         
         return ResponseEntity.ok(history);
     }
@@ -0,0 +1,69 @@
+package com.vtnet.pdms.interfaces.api;
+
+import com.vtnet.pdms.infrastructure.datasource.DataSourceRoutingReport;
+import com.vtnet.pdms.infrastructure.datasource.ReadWriteRoutingDataSource;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller for database connection monitoring.
+ */
+@RestController
+@RequestMapping("/api/datasource")
+@Tag(name = "Data Source", description = "Database connection monitoring APIs")
+@SecurityRequirement(name = "bearerAuth")
+public class DataSourceController {
+
+    private final ObjectProvider<ReadWriteRoutingDataSource> routingDataSource;
+
+    /**
+     * Constructor with dependency injection.
+     *
+     * @param routingDataSource Data source routing reads to replicas, if replicas are enabled
+     */
+    @Autowired
+    public DataSourceController(ObjectProvider<ReadWriteRoutingDataSource> routingDataSource) {
+        this.routingDataSource = routingDataSource;
+    }
+
+    /**
+     * GET /api/datasource/statistics : Get the routing and connection pool statistics.
+     *
+     * @return The statistics, or 404 if read replicas are not enabled
+     */
+    @GetMapping("/statistics")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    @Operation(
+        summary = "Get data source statistics",
+        description = "Get the health, replication lag and connection counts of the primary and each read replica, "
+                + "and how many reads went to the primary because of recent writes or failover. Requires ADMIN role.",
+        responses = {
+            @ApiResponse(
+                responseCode = "200",
+                description = "Data source statistics",
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = DataSourceRoutingReport.class))
+            ),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - requires ADMIN role"),
+            @ApiResponse(responseCode = "404", description = "Read replicas are not enabled")
+        }
+    )
+    public ResponseEntity<DataSourceRoutingReport> getStatistics() {
+        ReadWriteRoutingDataSource dataSource = routingDataSource.getIfAvailable();
+        if (dataSource == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(dataSource.getStatistics());
+    }
+}
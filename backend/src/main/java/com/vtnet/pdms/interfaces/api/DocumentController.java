@@ -1,9 +1,15 @@
 package com.vtnet.pdms.interfaces.api;
 
+import com.vtnet.pdms.application.dto.DocumentArchiveDTO;
 import com.vtnet.pdms.application.dto.DocumentDTO;
+import com.vtnet.pdms.application.dto.DocumentImportReportDTO;
+import com.vtnet.pdms.application.dto.DocumentListQueryDTO;
+import com.vtnet.pdms.application.dto.DocumentPageDTO;
 import com.vtnet.pdms.application.dto.DocumentUploadDTO;
 import com.vtnet.pdms.application.mapper.DocumentMapper;
+import com.vtnet.pdms.application.service.DocumentImportService;
 import com.vtnet.pdms.domain.model.Document;
+import com.vtnet.pdms.domain.service.DocumentArchiveService;
 import com.vtnet.pdms.domain.service.DocumentService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -11,16 +17,21 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
-import java.util.List;
+import java.nio.charset.StandardCharsets;
 
 /**
  * REST controller for managing documents.
@@ -32,72 +43,89 @@ import java.util.List;
 public class DocumentController {
 
     private final DocumentService documentService;
+    private final DocumentImportService documentImportService;
+    private final DocumentArchiveService documentArchiveService;
     private final DocumentMapper documentMapper;
 
     /**
      * Constructor with dependency injection.
      *
      * @param documentService Service for document operations
+     * @param documentImportService Service for bulk document import
+     * @param documentArchiveService Service for archive export
      * @param documentMapper Mapper for document entity-DTO conversion
      */
     @Autowired
-    public DocumentController(DocumentService documentService, DocumentMapper documentMapper) {
+    public DocumentController(
+            DocumentService documentService,
+            DocumentImportService documentImportService,
+            DocumentArchiveService documentArchiveService,
+            DocumentMapper documentMapper) {
         this.documentService = documentService;
+        this.documentImportService = documentImportService;
+        this.documentArchiveService = documentArchiveService;
         this.documentMapper = documentMapper;
     }
 
     /**
-     * GET /api/projects/{id}/documents : Get all documents for a project.
+     * GET /api/projects/{id}/documents : Get a page of the documents of a project.
      *
      * @param projectId The project ID
-     * @return List of documents
+     * @param query The filters, sort order and page of the listing
+     * @return Page of documents with the cursor of the next page
      */
     @GetMapping("/projects/{projectId}/documents")
     @Operation(
-        summary = "Get all documents for a project",
-        description = "Get all documents for a project across all folders",
+        summary = "Get documents for a project",
+        description = "Get a page of the documents of a project across all folders, sorted by name, creation time "
+                + "or size and filtered by folder subtree, MIME type, creator and creation time. Pass the nextCursor "
+                + "of a page as the cursor to get the next page, with the same sort order.",
         responses = {
             @ApiResponse(
                 responseCode = "200",
                 description = "Successful operation",
-                content = @Content(mediaType = "application/json", schema = @Schema(implementation = DocumentDTO.class))
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = DocumentPageDTO.class))
             ),
+            @ApiResponse(responseCode = "400", description = "Invalid filter or cursor"),
             @ApiResponse(responseCode = "401", description = "Unauthorized"),
             @ApiResponse(responseCode = "403", description = "Forbidden"),
             @ApiResponse(responseCode = "404", description = "Project not found")
         }
     )
-    public ResponseEntity<List<DocumentDTO>> getProjectDocuments(@PathVariable Long projectId) {
-        List<Document> documents = documentService.getProjectDocuments(projectId);
-        List<DocumentDTO> documentDTOs = documentMapper.toDtoList(documents);
-        return ResponseEntity.ok(documentDTOs);
+    public ResponseEntity<DocumentPageDTO> getProjectDocuments(
+            @PathVariable Long projectId,
+            @Valid @ParameterObject DocumentListQueryDTO query) {
+        return ResponseEntity.ok(documentService.getProjectDocuments(projectId, query));
     }
 
     /**
-     * GET /api/folders/{id}/documents : Get all documents for a folder.
+     * GET /api/folders/{id}/documents : Get a page of the documents of a folder.
      *
      * @param folderId The folder ID
-     * @return List of documents
+     * @param query The filters, sort order and page of the listing
+     * @return Page of documents with the cursor of the next page
      */
     @GetMapping("/folders/{folderId}/documents")
     @Operation(
-        summary = "Get all documents for a folder",
-        description = "Get all documents for a specified folder",
+        summary = "Get documents for a folder",
+        description = "Get a page of the documents of a folder, and of its subfolders if includeSubfolders is set, "
+                + "with the same sorting, filters and cursors as the project listing",
         responses = {
             @ApiResponse(
                 responseCode = "200",
                 description = "Successful operation",
-                content = @Content(mediaType = "application/json", schema = @Schema(implementation = DocumentDTO.class))
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = DocumentPageDTO.class))
             ),
+            @ApiResponse(responseCode = "400", description = "Invalid filter or cursor"),
             @ApiResponse(responseCode = "401", description = "Unauthorized"),
             @ApiResponse(responseCode = "403", description = "Forbidden"),
             @ApiResponse(responseCode = "404", description = "Folder not found")
         }
     )
-    public ResponseEntity<List<DocumentDTO>> getFolderDocuments(@PathVariable Long folderId) {
-        List<Document> documents = documentService.getFolderDocuments(folderId);
-        List<DocumentDTO> documentDTOs = documentMapper.toDtoList(documents);
-        return ResponseEntity.ok(documentDTOs);
+    public ResponseEntity<DocumentPageDTO> getFolderDocuments(
+            @PathVariable Long folderId,
+            @Valid @ParameterObject DocumentListQueryDTO query) {
+        return ResponseEntity.ok(documentService.getFolderDocuments(folderId, query));
     }
 
     /**
@@ -165,6 +193,119 @@ public class DocumentController {
         return ResponseEntity.status(HttpStatus.CREATED).body(documentDTO);
     }
 
+    /**
+     * POST /api/projects/{projectId}/documents/import : Import a ZIP archive of documents.
+     * The archive is sent as the raw request body and read as a stream, so the multipart size
+     * limits do not apply; the size of each extracted file and of the whole archive is limited by
+     * the import settings instead.
+     *
+     * @param projectId The project ID
+     * @param folderId The folder to import into (optional, defaults to the project root)
+     * @param request The HTTP request carrying the archive
+     * @return The per-entry import report
+     * @throws IOException If the archive cannot be read
+     */
+    @PostMapping(value = "/projects/{projectId}/documents/import", consumes = {"application/zip", MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    @Operation(
+        summary = "Import a ZIP archive of documents",
+        description = "Import every file of a ZIP archive as a document, creating folders for the archive's "
+                + "directories. Files whose name is already taken in their folder are skipped",
+        responses = {
+            @ApiResponse(
+                responseCode = "200",
+                description = "Import finished",
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = DocumentImportReportDTO.class))
+            ),
+            @ApiResponse(responseCode = "400", description = "Invalid input"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden"),
+            @ApiResponse(responseCode = "404", description = "Project or folder not found")
+        }
+    )
+    public ResponseEntity<DocumentImportReportDTO> importDocuments(
+            @PathVariable Long projectId,
+            @RequestParam(value = "folderId", required = false) Long folderId,
+            HttpServletRequest request) throws IOException {
+        DocumentImportReportDTO report = documentImportService.importArchive(projectId, folderId, request.getInputStream());
+        return ResponseEntity.ok(report);
+    }
+
+    /**
+     * GET /api/folders/{id}/archive : Download a folder and its subfolders as a ZIP archive.
+     *
+     * @param folderId The folder ID
+     * @return The archive, streamed to the client
+     */
+    @GetMapping("/folders/{folderId}/archive")
+    @Operation(
+        summary = "Download a folder as a ZIP archive",
+        description = "Download the latest version of every document in a folder and its subfolders as a ZIP archive",
+        responses = {
+            @ApiResponse(responseCode = "200", description = "Successful operation", content = @Content(mediaType = "application/zip")),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden"),
+            @ApiResponse(responseCode = "404", description = "Folder not found")
+        }
+    )
+    public ResponseEntity<StreamingResponseBody> downloadFolderArchive(@PathVariable Long folderId) {
+        DocumentArchiveDTO archive = documentArchiveService.prepareFolderArchive(folderId);
+        return archiveResponse(archive);
+    }
+
+    /**
+     * GET /api/projects/{id}/archive : Download all folders of a project as a ZIP archive.
+     *
+     * @param projectId The project ID
+     * @return The archive, streamed to the client
+     */
+    @GetMapping("/projects/{projectId}/archive")
+    @Operation(
+        summary = "Download a project as a ZIP archive",
+        description = "Download the latest version of every document in a project as a ZIP archive",
+        responses = {
+            @ApiResponse(responseCode = "200", description = "Successful operation", content = @Content(mediaType = "application/zip")),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden"),
+            @ApiResponse(responseCode = "404", description = "Project not found")
+        }
+    )
+    public ResponseEntity<StreamingResponseBody> downloadProjectArchive(@PathVariable Long projectId) {
+        DocumentArchiveDTO archive = documentArchiveService.prepareProjectArchive(projectId);
+        return archiveResponse(archive);
+    }
+
+    /**
+     * POST /api/documents/{id}/versions : Upload a new version of a document.
+     *
+     * @param id The document ID
+     * @param file The file to upload
+     * @return The updated document
+     * @throws IOException If an I/O error occurs
+     */
+    @PostMapping(value = "/documents/{id}/versions", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(
+        summary = "Upload a new document version",
+        description = "Upload a new version of an existing document",
+        responses = {
+            @ApiResponse(
+                responseCode = "201",
+                description = "Version created",
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = DocumentDTO.class))
+            ),
+            @ApiResponse(responseCode = "400", description = "Invalid input"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden"),
+            @ApiResponse(responseCode = "404", description = "Document not found")
+        }
+    )
+    public ResponseEntity<DocumentDTO> uploadNewVersion(
+            @PathVariable Long id,
+            @RequestParam("file") MultipartFile file) throws IOException {
+        Document document = documentService.uploadNewVersion(id, file);
+        DocumentDTO documentDTO = documentMapper.toDto(document);
+        return ResponseEntity.status(HttpStatus.CREATED).body(documentDTO);
+    }
+
     /**
      * DELETE /api/documents/{id} : Delete a document by ID.
      *
@@ -187,4 +328,15 @@ public class DocumentController {
         documentService.deleteDocument(id);
         return ResponseEntity.noContent().build();
     }
-} 
\ No newline at end of file
+
+    private ResponseEntity<StreamingResponseBody> archiveResponse(DocumentArchiveDTO archive) {
+        StreamingResponseBody body = outputStream -> documentArchiveService.writeArchive(archive, outputStream);
+        ContentDisposition disposition = ContentDisposition.attachment()
+                .filename(archive.getFilename(), StandardCharsets.UTF_8)
+                .build();
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, disposition.toString())
+                .contentType(MediaType.parseMediaType("application/zip"))
+                .body(body);
+    }
+}
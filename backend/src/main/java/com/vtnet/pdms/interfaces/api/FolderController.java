@@ -1,7 +1,10 @@
 package com.vtnet.pdms.interfaces.api;
 
+import com.vtnet.pdms.application.dto.FolderCopyDTO;
 import com.vtnet.pdms.application.dto.FolderDTO;
 import com.vtnet.pdms.application.dto.FolderCreateDTO;
+import com.vtnet.pdms.application.dto.FolderMoveDTO;
+import com.vtnet.pdms.application.dto.FolderTreeDTO;
 import com.vtnet.pdms.application.mapper.FolderMapper;
 import com.vtnet.pdms.domain.model.Folder;
 import com.vtnet.pdms.domain.service.FolderService;
@@ -70,6 +73,38 @@ public class FolderController {
         return ResponseEntity.ok(folderDTOs);
     }
 
+    /**
+     * GET /api/projects/{id}/folders/tree : Get the folder tree of a project.
+     *
+     * @param projectId The project ID
+     * @param folderId The root of the subtree; the whole project if omitted
+     * @param depth The number of levels below the root to include; all levels if omitted
+     * @return The root folders of the tree with their subfolders
+     */
+    @GetMapping("/projects/{projectId}/folders/tree")
+    @Operation(
+        summary = "Get the folder tree of a project",
+        description = "Get all folders of a project, or the subtree below a folder to a given depth, nested "
+                + "with the number and total size of the documents in each folder, in a single call",
+        responses = {
+            @ApiResponse(
+                responseCode = "200",
+                description = "Successful operation",
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = FolderTreeDTO.class))
+            ),
+            @ApiResponse(responseCode = "400", description = "Invalid depth"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden"),
+            @ApiResponse(responseCode = "404", description = "Folder not found in the project")
+        }
+    )
+    public ResponseEntity<List<FolderTreeDTO>> getFolderTree(
+            @PathVariable Long projectId,
+            @RequestParam(value = "folderId", required = false) Long folderId,
+            @RequestParam(value = "depth", required = false) Integer depth) {
+        return ResponseEntity.ok(folderService.getFolderTree(projectId, folderId, depth));
+    }
+
     /**
      * GET /api/folders/{id}/subfolders : Get all subfolders for a folder.
      *
@@ -156,17 +191,78 @@ public class FolderController {
         return ResponseEntity.status(HttpStatus.CREATED).body(folderDTO);
     }
 
+    /**
+     * PUT /api/folders/{id}/parent : Move a folder to another parent.
+     *
+     * @param id The folder ID
+     * @param folderMoveDTO The new parent folder
+     * @return The moved folder
+     */
+    @PutMapping("/folders/{id}/parent")
+    @Operation(
+        summary = "Move a folder",
+        description = "Move a folder, with its subfolders and documents, to another parent folder in the same "
+                + "project, or to the project root if no parent is given",
+        responses = {
+            @ApiResponse(
+                responseCode = "200",
+                description = "Folder moved successfully",
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = FolderDTO.class))
+            ),
+            @ApiResponse(responseCode = "400", description = "Invalid move"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden"),
+            @ApiResponse(responseCode = "404", description = "Folder not found")
+        }
+    )
+    public ResponseEntity<FolderDTO> moveFolder(@PathVariable Long id, @RequestBody FolderMoveDTO folderMoveDTO) {
+        Folder folder = folderService.moveFolder(id, folderMoveDTO.getParentFolderId());
+        return ResponseEntity.ok(folderMapper.toDto(folder));
+    }
+
+    /**
+     * POST /api/folders/{id}/copy : Copy a folder to another parent.
+     *
+     * @param id The folder ID
+     * @param folderCopyDTO The parent folder and name of the copy
+     * @return The copy of the folder
+     */
+    @PostMapping("/folders/{id}/copy")
+    @Operation(
+        summary = "Copy a folder",
+        description = "Copy a folder, with its subfolders and documents, to another parent folder in the same "
+                + "project, or to the project root if no parent is given. The copied documents share the stored "
+                + "files of the originals.",
+        responses = {
+            @ApiResponse(
+                responseCode = "201",
+                description = "Folder copied successfully",
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = FolderDTO.class))
+            ),
+            @ApiResponse(responseCode = "400", description = "Invalid copy"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden"),
+            @ApiResponse(responseCode = "404", description = "Folder not found")
+        }
+    )
+    public ResponseEntity<FolderDTO> copyFolder(@PathVariable Long id, @Valid @RequestBody FolderCopyDTO folderCopyDTO) {
+        Folder folder = folderService.copyFolder(id, folderCopyDTO.getParentFolderId(), folderCopyDTO.getName());
+        return ResponseEntity.status(HttpStatus.CREATED).body(folderMapper.toDto(folder));
+    }
+
     /**
      * DELETE /api/folders/{id} : Delete a folder by ID.
      *
      * @param id The folder ID
+     * @param recursive Whether to delete the folder's subfolders and documents as well
      * @return No content
      */
     @DeleteMapping("/folders/{id}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     @Operation(
         summary = "Delete a folder by ID",
-        description = "Delete a folder by its ID. The folder must be empty. Requires PROJECT_MANAGER role.",
+        description = "Delete a folder by its ID. The folder must be empty unless recursive is set, in which case "
+                + "its subfolders and documents are deleted with it. Requires PROJECT_MANAGER role.",
         responses = {
             @ApiResponse(responseCode = "204", description = "Folder deleted successfully"),
             @ApiResponse(responseCode = "400", description = "Bad request - folder is not empty"),
@@ -175,7 +271,13 @@ public class FolderController {
             @ApiResponse(responseCode = "404", description = "Folder not found")
         }
     )
-    public ResponseEntity<Void> deleteFolder(@PathVariable Long id) {
+    public ResponseEntity<Void> deleteFolder(
+            @PathVariable Long id,
+            @RequestParam(value = "recursive", defaultValue = "false") boolean recursive) {
+        if (recursive) {
+            folderService.deleteFolderTree(id);
+            return ResponseEntity.noContent().build();
+        }
         try {
             folderService.deleteFolder(id);
             return ResponseEntity.noContent().build();
@@ -0,0 +1,257 @@
+package com.vtnet.pdms.interfaces.api;
+
+import com.vtnet.pdms.application.dto.ReindexJobDTO;
+import com.vtnet.pdms.domain.service.ReindexJobService;
+import com.vtnet.pdms.domain.service.SearchIndexService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * REST controller for document search, search index maintenance and re-index jobs.
+ */
+@RestController
+@RequestMapping("/api/search-index")
+@Tag(name = "Search Index", description = "Search index maintenance APIs")
+@SecurityRequirement(name = "bearerAuth")
+public class SearchIndexController {
+
+    private final SearchIndexService searchIndexService;
+    private final ReindexJobService reindexJobService;
+
+    /**
+     * Constructor with dependency injection.
+     *
+     * @param searchIndexService Service for search index operations
+     * @param reindexJobService Service for re-index jobs
+     */
+    @Autowired
+    public SearchIndexController(SearchIndexService searchIndexService, ReindexJobService reindexJobService) {
+        this.searchIndexService = searchIndexService;
+        this.reindexJobService = reindexJobService;
+    }
+
+    /**
+     * GET /api/search-index/search : Search the content of documents.
+     *
+     * @param query The search query
+     * @param projectId The project to search; all projects if omitted
+     * @param mode How the query is interpreted
+     * @param pageable Pagination information
+     * @return Page of matching documents, best first
+     */
+    @GetMapping("/search")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN') or (#projectId != null and @customPermissionEvaluator.hasProjectAccess(#projectId))")
+    @Operation(
+        summary = "Search document content",
+        description = "Search the latest version of documents for a query, with relevance scores. Boolean mode "
+                + "supports +required, -excluded and \"quoted phrases\" and requires the mysql search engine. "
+                + "Results are ordered by relevance and cannot be sorted. Searching all projects requires ADMIN role.",
+        responses = {
+            @ApiResponse(responseCode = "200", description = "Page of matching documents"),
+            @ApiResponse(responseCode = "400", description = "Invalid query, unsupported mode or a sort"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - no access to the project")
+        }
+    )
+    public ResponseEntity<Page<Map<String, Object>>> search(
+            @Parameter(description = "Search query") @RequestParam("query") String query,
+            @Parameter(description = "Project ID") @RequestParam(value = "projectId", required = false) Long projectId,
+            @Parameter(description = "Query mode")
+            @RequestParam(value = "mode", defaultValue = "NATURAL_LANGUAGE") SearchIndexService.SearchMode mode,
+            @PageableDefault(size = 20) Pageable pageable) {
+        if (pageable.getSort().isSorted()) {
+            throw new IllegalArgumentException("Search results are ordered by relevance and cannot be sorted");
+        }
+        return ResponseEntity.ok(searchIndexService.search(query, projectId, mode, pageable));
+    }
+
+    /**
+     * GET /api/search-index/status : Get the status of the search index.
+     *
+     * @return Chunk counts and the progress of re-index jobs
+     */
+    @GetMapping("/status")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    @Operation(
+        summary = "Get search index status",
+        description = "Get chunk counts, the indexing queue length, the progress and estimated time remaining "
+                + "of re-index jobs and the extraction counters of each document processor. Requires ADMIN role.",
+        responses = {
+            @ApiResponse(responseCode = "200", description = "Index status"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - requires ADMIN role")
+        }
+    )
+    public ResponseEntity<Map<String, Object>> getIndexStatus() {
+        return ResponseEntity.ok(searchIndexService.getIndexStatus());
+    }
+
+    /**
+     * POST /api/search-index/reindex-jobs : Start a background re-index.
+     *
+     * @param projectId The project to re-index; all projects if omitted
+     * @param documentsPerSecond Maximum number of versions re-indexed per second
+     * @param tokensPerMinute Maximum number of chunk tokens indexed per minute
+     * @return The queued job
+     */
+    @PostMapping("/reindex-jobs")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    @Operation(
+        summary = "Start a re-index job",
+        description = "Re-index the latest version of every document in a project, or in all projects, in the "
+                + "background. Omitted rate limits use the configured defaults; 0 disables a limit. Requires ADMIN role.",
+        responses = {
+            @ApiResponse(
+                responseCode = "202",
+                description = "Job queued",
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = ReindexJobDTO.class))
+            ),
+            @ApiResponse(responseCode = "400", description = "Invalid rate limit"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - requires ADMIN role"),
+            @ApiResponse(responseCode = "404", description = "Project not found")
+        }
+    )
+    public ResponseEntity<ReindexJobDTO> startReindex(
+            @Parameter(description = "Project ID") @RequestParam(value = "projectId", required = false) Long projectId,
+            @Parameter(description = "Maximum versions per second")
+            @RequestParam(value = "documentsPerSecond", required = false) Double documentsPerSecond,
+            @Parameter(description = "Maximum chunk tokens per minute")
+            @RequestParam(value = "tokensPerMinute", required = false) Long tokensPerMinute) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(reindexJobService.startReindex(projectId, documentsPerSecond, tokensPerMinute));
+    }
+
+    /**
+     * GET /api/search-index/reindex-jobs : Get the most recent re-index jobs.
+     *
+     * @param limit Maximum number of jobs
+     * @return List of jobs, newest first
+     */
+    @GetMapping("/reindex-jobs")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    @Operation(
+        summary = "List re-index jobs",
+        description = "Get the most recent re-index jobs with their progress. Requires ADMIN role.",
+        responses = {
+            @ApiResponse(responseCode = "200", description = "List of jobs"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - requires ADMIN role")
+        }
+    )
+    public ResponseEntity<List<ReindexJobDTO>> getRecentJobs(
+            @RequestParam(value = "limit", defaultValue = "20") int limit) {
+        return ResponseEntity.ok(reindexJobService.getRecentJobs(limit));
+    }
+
+    /**
+     * GET /api/search-index/reindex-jobs/{id} : Get a re-index job.
+     *
+     * @param id The job ID
+     * @return The job with its progress
+     */
+    @GetMapping("/reindex-jobs/{id}")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    @Operation(
+        summary = "Get a re-index job",
+        description = "Get a re-index job with its progress and estimated time remaining. Requires ADMIN role.",
+        responses = {
+            @ApiResponse(
+                responseCode = "200",
+                description = "The job",
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = ReindexJobDTO.class))
+            ),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - requires ADMIN role"),
+            @ApiResponse(responseCode = "404", description = "Job not found")
+        }
+    )
+    public ResponseEntity<ReindexJobDTO> getJob(@PathVariable Long id) {
+        return ResponseEntity.ok(reindexJobService.getJob(id));
+    }
+
+    /**
+     * POST /api/search-index/reindex-jobs/{id}/pause : Pause a re-index job.
+     *
+     * @param id The job ID
+     * @return The paused job
+     */
+    @PostMapping("/reindex-jobs/{id}/pause")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    @Operation(
+        summary = "Pause a re-index job",
+        description = "Pause a queued or running job. A running job stops after the version it is indexing. "
+                + "Requires ADMIN role.",
+        responses = {
+            @ApiResponse(responseCode = "200", description = "Job paused"),
+            @ApiResponse(responseCode = "400", description = "Job cannot be paused"),
+            @ApiResponse(responseCode = "404", description = "Job not found")
+        }
+    )
+    public ResponseEntity<ReindexJobDTO> pauseJob(@PathVariable Long id) {
+        return ResponseEntity.ok(reindexJobService.pauseJob(id));
+    }
+
+    /**
+     * POST /api/search-index/reindex-jobs/{id}/resume : Resume a paused re-index job.
+     *
+     * @param id The job ID
+     * @return The queued job
+     */
+    @PostMapping("/reindex-jobs/{id}/resume")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    @Operation(
+        summary = "Resume a re-index job",
+        description = "Resume a paused job from its checkpoint. Requires ADMIN role.",
+        responses = {
+            @ApiResponse(responseCode = "200", description = "Job queued"),
+            @ApiResponse(responseCode = "400", description = "Job is not paused"),
+            @ApiResponse(responseCode = "404", description = "Job not found")
+        }
+    )
+    public ResponseEntity<ReindexJobDTO> resumeJob(@PathVariable Long id) {
+        return ResponseEntity.ok(reindexJobService.resumeJob(id));
+    }
+
+    /**
+     * POST /api/search-index/reindex-jobs/{id}/cancel : Cancel a re-index job.
+     *
+     * @param id The job ID
+     * @return The cancelled job
+     */
+    @PostMapping("/reindex-jobs/{id}/cancel")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    @Operation(
+        summary = "Cancel a re-index job",
+        description = "Cancel a job that has not finished. Versions already re-indexed are kept. Requires ADMIN role.",
+        responses = {
+            @ApiResponse(responseCode = "200", description = "Job cancelled"),
+            @ApiResponse(responseCode = "400", description = "Job has already finished"),
+            @ApiResponse(responseCode = "404", description = "Job not found")
+        }
+    )
+    public ResponseEntity<ReindexJobDTO> cancelJob(@PathVariable Long id) {
+        return ResponseEntity.ok(reindexJobService.cancelJob(id));
+    }
+}
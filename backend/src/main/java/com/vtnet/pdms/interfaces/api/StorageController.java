@@ -0,0 +1,70 @@
+package com.vtnet.pdms.interfaces.api;
+
+import com.vtnet.pdms.infrastructure.storage.ReconciliationReport;
+import com.vtnet.pdms.infrastructure.storage.StorageReconciler;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+
+/**
+ * REST controller for storage maintenance.
+ */
+@RestController
+@RequestMapping("/api/storage")
+@Tag(name = "Storage", description = "Storage maintenance APIs")
+@SecurityRequirement(name = "bearerAuth")
+public class StorageController {
+
+    private final StorageReconciler storageReconciler;
+
+    /**
+     * Constructor with dependency injection.
+     *
+     * @param storageReconciler Reconciler for storage and database
+     */
+    @Autowired
+    public StorageController(StorageReconciler storageReconciler) {
+        this.storageReconciler = storageReconciler;
+    }
+
+    /**
+     * POST /api/storage/reconcile : Reconcile storage with the database.
+     *
+     * @param dryRun If true (the default), only report orphans and missing files
+     * @return The reconciliation report
+     * @throws IOException If storage cannot be listed
+     */
+    @PostMapping("/reconcile")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    @Operation(
+        summary = "Reconcile storage with the database",
+        description = "Find stored files no document version references and versions whose file is missing. "
+                + "Unless dryRun is false, nothing is moved or deleted. A run in which too large a share of the "
+                + "files would be orphans is aborted without changes. Requires ADMIN role.",
+        responses = {
+            @ApiResponse(
+                responseCode = "200",
+                description = "Reconciliation finished",
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = ReconciliationReport.class))
+            ),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - requires ADMIN role")
+        }
+    )
+    public ResponseEntity<ReconciliationReport> reconcile(
+            @RequestParam(value = "dryRun", defaultValue = "true") boolean dryRun) throws IOException {
+        return ResponseEntity.ok(storageReconciler.reconcile(dryRun));
+    }
+}
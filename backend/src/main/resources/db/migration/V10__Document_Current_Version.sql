@@ -0,0 +1,12 @@
+-- Pointer from each document to its latest version, so latest-version lookups are a single join
+-- instead of a MAX(version_number) subquery per document
+ALTER TABLE documents
+    ADD COLUMN current_version_id BIGINT NULL,
+    ADD CONSTRAINT fk_document_current_version FOREIGN KEY (current_version_id)
+        REFERENCES document_versions(id) ON DELETE SET NULL;
+
+UPDATE documents d
+JOIN (SELECT document_id, MAX(version_number) AS version_number
+      FROM document_versions GROUP BY document_id) latest ON latest.document_id = d.id
+JOIN document_versions v ON v.document_id = latest.document_id AND v.version_number = latest.version_number
+SET d.current_version_id = v.id;
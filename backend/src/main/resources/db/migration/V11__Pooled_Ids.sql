@@ -0,0 +1,16 @@
+-- Ids of high-volume tables are allocated by Hibernate's pooled table generator in blocks of 50,
+-- so their inserts can be batched. next_val is the highest id of the next block to hand out;
+-- it starts a block above the current maximum.
+CREATE TABLE id_generators (
+    name VARCHAR(64) NOT NULL PRIMARY KEY,
+    next_val BIGINT NOT NULL
+);
+
+INSERT INTO id_generators (name, next_val)
+SELECT 'document_versions', COALESCE(MAX(id), 0) + 51 FROM document_versions;
+
+INSERT INTO id_generators (name, next_val)
+SELECT 'chatbot_messages', COALESCE(MAX(id), 0) + 51 FROM chatbot_messages;
+
+INSERT INTO id_generators (name, next_val)
+SELECT 'chatbot_references', COALESCE(MAX(id), 0) + 51 FROM chatbot_references;
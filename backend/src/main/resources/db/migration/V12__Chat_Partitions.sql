@@ -0,0 +1,84 @@
+-- Chat messages and their references are range-partitioned by month of sent_at, so history
+-- queries bounded by sent_at only read recent partitions and whole months can be archived and
+-- dropped at once. Partitions are named pYYYYMM; pmax catches rows beyond the last month, and
+-- ChatPartitionManager splits new months off it ahead of time.
+--
+-- MySQL requires the partitioning column in every unique key and does not allow foreign keys on
+-- partitioned tables. References therefore carry the sent_at of their message, and rows are
+-- cleaned up by the application: references with their document, messages of deleted
+-- conversations when their month is archived.
+
+ALTER TABLE chatbot_references
+    DROP FOREIGN KEY chatbot_references_ibfk_1,
+    DROP FOREIGN KEY chatbot_references_ibfk_2;
+
+ALTER TABLE chatbot_messages
+    DROP FOREIGN KEY chatbot_messages_ibfk_1;
+
+ALTER TABLE chatbot_messages
+    MODIFY id BIGINT NOT NULL,
+    MODIFY sent_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    DROP PRIMARY KEY,
+    ADD PRIMARY KEY (id, sent_at),
+    DROP INDEX idx_message_conversation,
+    ADD INDEX idx_message_conversation_sent (conversation_id, sent_at);
+
+ALTER TABLE chatbot_references
+    MODIFY id BIGINT NOT NULL,
+    ADD COLUMN sent_at DATETIME NULL;
+
+UPDATE chatbot_references r
+JOIN chatbot_messages m ON m.id = r.message_id
+SET r.sent_at = m.sent_at;
+
+DELETE FROM chatbot_references WHERE sent_at IS NULL;
+
+ALTER TABLE chatbot_references
+    MODIFY sent_at DATETIME NOT NULL,
+    DROP PRIMARY KEY,
+    ADD PRIMARY KEY (id, sent_at);
+
+-- Per-project retention of chat history in days; NULL uses chat.retention.default-days
+ALTER TABLE projects ADD COLUMN chat_retention_days INT NULL;
+
+-- Archived months of chat history, one compressed file per month and project (NULL for
+-- global conversations)
+CREATE TABLE chat_archives (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    archive_month DATE NOT NULL,
+    project_id BIGINT NULL,
+    storage_path VARCHAR(255) NOT NULL,
+    message_count INT NOT NULL,
+    archived_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    UNIQUE KEY uk_chat_archive_month_project (archive_month, project_id),
+    INDEX idx_chat_archive_project (project_id, archive_month)
+);
+
+-- One partition per month from the oldest message to two months ahead
+SET SESSION group_concat_max_len = 1000000;
+
+SET @chat_partitions = (
+    WITH RECURSIVE months (month_start) AS (
+        SELECT CAST(DATE_FORMAT(COALESCE(MIN(sent_at), CURRENT_DATE), '%Y-%m-01') AS DATE) FROM chatbot_messages
+        UNION ALL
+        SELECT month_start + INTERVAL 1 MONTH FROM months
+        WHERE month_start < CAST(DATE_FORMAT(CURRENT_DATE, '%Y-%m-01') AS DATE) + INTERVAL 2 MONTH
+    )
+    SELECT GROUP_CONCAT(
+               CONCAT('PARTITION p', DATE_FORMAT(month_start, '%Y%m'),
+                      ' VALUES LESS THAN (''', DATE_FORMAT(month_start + INTERVAL 1 MONTH, '%Y-%m-%d'), ''')')
+               ORDER BY month_start SEPARATOR ', ')
+    FROM months
+);
+
+SET @chat_ddl = CONCAT('ALTER TABLE chatbot_messages PARTITION BY RANGE COLUMNS (sent_at) (',
+                       @chat_partitions, ', PARTITION pmax VALUES LESS THAN (MAXVALUE))');
+PREPARE chat_stmt FROM @chat_ddl;
+EXECUTE chat_stmt;
+DEALLOCATE PREPARE chat_stmt;
+
+SET @chat_ddl = CONCAT('ALTER TABLE chatbot_references PARTITION BY RANGE COLUMNS (sent_at) (',
+                       @chat_partitions, ', PARTITION pmax VALUES LESS THAN (MAXVALUE))');
+PREPARE chat_stmt FROM @chat_ddl;
+EXECUTE chat_stmt;
+DEALLOCATE PREPARE chat_stmt;
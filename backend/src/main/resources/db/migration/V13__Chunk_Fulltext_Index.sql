@@ -0,0 +1,5 @@
+-- Full-text index over the chunk text for the MySQL search engine (search.engine=mysql).
+-- The ngram parser splits text into overlapping character n-grams (ngram_token_size, default 2),
+-- so words in Vietnamese and other languages are matched without a word list or stemming.
+ALTER TABLE document_chunks
+    ADD FULLTEXT INDEX ft_document_chunk_content (content) WITH PARSER ngram;
@@ -0,0 +1,5 @@
+-- Indexes for keyset pages of document listings sorted by creation time or size. InnoDB appends
+-- the primary key to secondary indexes, so each covers the (sort value, id) keyset within a folder.
+-- Listings sorted by name use uk_document_name_folder.
+CREATE INDEX idx_document_folder_created ON documents (folder_id, created_at);
+CREATE INDEX idx_document_folder_size ON documents (folder_id, size);
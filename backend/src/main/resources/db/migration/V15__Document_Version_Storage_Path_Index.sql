@@ -0,0 +1,6 @@
+-- Storage paths are compared byte for byte, like the file systems and object stores they name,
+-- and indexed so the storage reconciler can read them in path order by prefix range. The index
+-- also serves the reference checks made before a stored file is deleted.
+ALTER TABLE document_versions
+    MODIFY storage_path VARCHAR(512) CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_bin NOT NULL;
+CREATE INDEX idx_document_version_storage_path ON document_versions (storage_path);
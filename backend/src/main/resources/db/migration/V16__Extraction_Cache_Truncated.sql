@@ -0,0 +1,4 @@
+-- Marks cached text that the extraction workers cut off at their maximum length, so that it is
+-- extracted again once the limit is raised instead of being reused as the whole document
+ALTER TABLE extraction_cache
+    ADD COLUMN truncated BOOLEAN NOT NULL DEFAULT FALSE;
@@ -0,0 +1,16 @@
+-- Project of each document, copied from its folder, so listings of a whole project are read in
+-- order from an index as single-folder listings are with the indexes of V14. Folders only move
+-- within their project and documents never change folder, so the copy does not go stale.
+ALTER TABLE documents ADD COLUMN project_id BIGINT NULL;
+
+UPDATE documents d
+JOIN folders f ON f.id = d.folder_id
+SET d.project_id = f.project_id;
+
+ALTER TABLE documents
+    MODIFY project_id BIGINT NOT NULL,
+    ADD CONSTRAINT fk_document_project FOREIGN KEY (project_id) REFERENCES projects(id) ON DELETE CASCADE;
+
+CREATE INDEX idx_document_project_name ON documents (project_id, name);
+CREATE INDEX idx_document_project_created ON documents (project_id, created_at);
+CREATE INDEX idx_document_project_size ON documents (project_id, size);
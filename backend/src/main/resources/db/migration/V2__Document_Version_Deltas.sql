@@ -0,0 +1,9 @@
+-- Delta-compressed storage of document versions
+ALTER TABLE document_versions
+    ADD COLUMN storage_format VARCHAR(10) NOT NULL DEFAULT 'FULL',
+    ADD COLUMN base_version_id BIGINT NULL,
+    ADD COLUMN chain_depth INT NOT NULL DEFAULT 0,
+    ADD COLUMN compacted_at TIMESTAMP NULL,
+    ADD CONSTRAINT fk_document_version_base FOREIGN KEY (base_version_id) REFERENCES document_versions(id) ON DELETE SET NULL,
+    ADD INDEX idx_document_version_compaction (storage_format, compacted_at),
+    ADD INDEX idx_document_version_chain (storage_format, chain_depth);
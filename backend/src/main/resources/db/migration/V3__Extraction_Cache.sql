@@ -0,0 +1,16 @@
+-- SHA-256 of the stored bytes of each version, filled in when the version is first indexed
+ALTER TABLE document_versions
+    ADD COLUMN content_hash CHAR(64) NULL,
+    ADD INDEX idx_document_version_content_hash (content_hash);
+
+-- Text extracted by a document processor, keyed by content hash and processor version
+CREATE TABLE extraction_cache (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    content_hash CHAR(64) NOT NULL,
+    processor_id VARCHAR(100) NOT NULL,
+    processor_version INT NOT NULL,
+    compressed_text LONGBLOB NOT NULL,
+    text_length BIGINT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    UNIQUE KEY uk_extraction_cache_key (content_hash, processor_id, processor_version)
+);
@@ -0,0 +1,29 @@
+-- Extracted text moves out of document_content into a compressed blob that is loaded only on demand.
+-- Blobs use the format of MySQL's COMPRESS(): a 4-byte little-endian length followed by a zlib stream.
+CREATE TABLE document_content_blobs (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    compressed_text LONGBLOB NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+ALTER TABLE document_content
+    ADD COLUMN text_blob_id BIGINT NULL,
+    ADD COLUMN text_length BIGINT NULL,
+    ADD COLUMN text_hash CHAR(64) NULL;
+
+-- Existing rows keep their id as the blob id
+INSERT INTO document_content_blobs (id, compressed_text)
+SELECT id, COMPRESS(content_text)
+FROM document_content
+WHERE content_text IS NOT NULL;
+
+UPDATE document_content
+SET text_blob_id = id,
+    text_length = CHAR_LENGTH(content_text),
+    text_hash = SHA2(content_text, 256)
+WHERE content_text IS NOT NULL;
+
+ALTER TABLE document_content
+    DROP COLUMN content_text,
+    ADD CONSTRAINT fk_document_content_text_blob FOREIGN KEY (text_blob_id) REFERENCES document_content_blobs(id),
+    ADD UNIQUE KEY uk_document_content_text_blob (text_blob_id);
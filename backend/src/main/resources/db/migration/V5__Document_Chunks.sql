@@ -0,0 +1,17 @@
+-- Sentence-aligned chunks of the extracted text of each document version, used for retrieval
+-- and citations. Offsets are character positions in the extracted text.
+CREATE TABLE document_chunks (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    document_version_id BIGINT NOT NULL,
+    ordinal INT NOT NULL,
+    start_offset BIGINT NOT NULL,
+    end_offset BIGINT NOT NULL,
+    page_number INT NOT NULL,
+    content_hash CHAR(64) NOT NULL,
+    token_count INT NOT NULL,
+    content MEDIUMTEXT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (document_version_id) REFERENCES document_versions(id) ON DELETE CASCADE,
+    UNIQUE KEY uk_document_chunk_ordinal (document_version_id, ordinal),
+    INDEX idx_document_chunk_hash (content_hash)
+);
@@ -0,0 +1,6 @@
+-- Embedding of each chunk as little-endian float32 values, with the model that produced it.
+-- Chunks whose text is unchanged from the previous version copy the embedding instead of
+-- requesting a new one.
+ALTER TABLE document_chunks
+    ADD COLUMN embedding BLOB NULL,
+    ADD COLUMN embedding_model VARCHAR(100) NULL;
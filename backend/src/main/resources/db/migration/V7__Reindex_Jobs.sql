@@ -0,0 +1,24 @@
+-- Background re-index jobs. last_version_id is the checkpoint: versions are processed in ID order,
+-- so a job resumed after a pause or a restart continues after the last processed version.
+CREATE TABLE reindex_jobs (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    project_id BIGINT NULL,
+    status VARCHAR(20) NOT NULL,
+    last_version_id BIGINT NOT NULL DEFAULT 0,
+    total_versions BIGINT NOT NULL,
+    processed_versions BIGINT NOT NULL DEFAULT 0,
+    failed_versions BIGINT NOT NULL DEFAULT 0,
+    processed_tokens BIGINT NOT NULL DEFAULT 0,
+    running_millis BIGINT NOT NULL DEFAULT 0,
+    documents_per_second DOUBLE NULL,
+    tokens_per_minute BIGINT NULL,
+    error_message VARCHAR(1000) NULL,
+    created_by BIGINT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    started_at TIMESTAMP NULL,
+    updated_at TIMESTAMP NULL,
+    finished_at TIMESTAMP NULL,
+    FOREIGN KEY (project_id) REFERENCES projects(id) ON DELETE CASCADE,
+    FOREIGN KEY (created_by) REFERENCES users(id) ON DELETE SET NULL,
+    INDEX idx_reindex_job_status (status)
+);
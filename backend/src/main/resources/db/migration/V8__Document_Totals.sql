@@ -0,0 +1,23 @@
+-- Number and total size of documents per project and per folder (documents directly in the folder),
+-- kept up to date on upload, new version and delete so project lists do not count documents.
+ALTER TABLE projects
+    ADD COLUMN document_count BIGINT NOT NULL DEFAULT 0,
+    ADD COLUMN total_bytes BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE folders
+    ADD COLUMN document_count BIGINT NOT NULL DEFAULT 0,
+    ADD COLUMN total_bytes BIGINT NOT NULL DEFAULT 0;
+
+UPDATE folders f
+    JOIN (SELECT folder_id, COUNT(*) AS document_count, SUM(size) AS total_bytes
+          FROM documents GROUP BY folder_id) t ON t.folder_id = f.id
+SET f.document_count = t.document_count,
+    f.total_bytes = t.total_bytes;
+
+-- updated_at is assigned explicitly so ON UPDATE CURRENT_TIMESTAMP leaves it unchanged
+UPDATE projects p
+    JOIN (SELECT project_id, SUM(document_count) AS document_count, SUM(total_bytes) AS total_bytes
+          FROM folders GROUP BY project_id) t ON t.project_id = p.id
+SET p.document_count = t.document_count,
+    p.total_bytes = t.total_bytes,
+    p.updated_at = p.updated_at;
@@ -0,0 +1,21 @@
+-- One row per folder and each of its ancestors, including the folder itself at depth 0, so a
+-- subtree can be read, moved or deleted with single statements.
+CREATE TABLE folder_closure (
+    ancestor_id BIGINT NOT NULL,
+    descendant_id BIGINT NOT NULL,
+    depth INT NOT NULL,
+    PRIMARY KEY (ancestor_id, descendant_id),
+    FOREIGN KEY (ancestor_id) REFERENCES folders(id) ON DELETE CASCADE,
+    FOREIGN KEY (descendant_id) REFERENCES folders(id) ON DELETE CASCADE,
+    INDEX idx_folder_closure_descendant (descendant_id)
+);
+
+INSERT INTO folder_closure (ancestor_id, descendant_id, depth)
+WITH RECURSIVE paths (ancestor_id, descendant_id, depth) AS (
+    SELECT id, id, 0 FROM folders
+    UNION ALL
+    SELECT p.ancestor_id, f.id, p.depth + 1
+    FROM paths p
+    JOIN folders f ON f.parent_folder_id = p.descendant_id
+)
+SELECT ancestor_id, descendant_id, depth FROM paths;
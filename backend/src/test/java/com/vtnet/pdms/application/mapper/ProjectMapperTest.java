@@ -8,6 +8,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
@@ -57,6 +58,18 @@ class ProjectMapperTest {
         assertThat(dto.getCreatedAt()).isEqualTo(testProject.getCreatedAt());
     }
 
+    @Test
+    void toListDto_shouldMapDocumentCountOfProject() {
+        // Given
+        ReflectionTestUtils.setField(testProject, "documentCount", 7L);
+
+        // When
+        ProjectListDTO dto = projectMapper.toListDto(testProject);
+
+        // Then
+        assertThat(dto.getDocumentCount()).isEqualTo(7);
+    }
+
     @Test
     void toListDto_withDocumentCount_shouldMapProjectToDtoWithCount() {
         // Given
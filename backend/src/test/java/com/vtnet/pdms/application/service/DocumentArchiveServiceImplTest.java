@@ -0,0 +1,179 @@
+package com.vtnet.pdms.application.service;
+
+import com.vtnet.pdms.application.dto.DocumentArchiveDTO;
+import com.vtnet.pdms.domain.model.Folder;
+import com.vtnet.pdms.domain.model.Project;
+import com.vtnet.pdms.domain.repository.DocumentVersionRepository;
+import com.vtnet.pdms.domain.repository.DocumentVersionRepository.ArchiveFileView;
+import com.vtnet.pdms.domain.repository.FolderClosureRepository;
+import com.vtnet.pdms.domain.repository.FolderClosureRepository.FolderTreeView;
+import com.vtnet.pdms.domain.service.FolderService;
+import com.vtnet.pdms.domain.service.ProjectService;
+import com.vtnet.pdms.infrastructure.storage.DocumentVersionStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DocumentArchiveServiceImplTest {
+
+    @Mock
+    private FolderClosureRepository folderClosureRepository;
+
+    @Mock
+    private DocumentVersionRepository documentVersionRepository;
+
+    @Mock
+    private FolderService folderService;
+
+    @Mock
+    private ProjectService projectService;
+
+    @Mock
+    private DocumentVersionStore documentVersionStore;
+
+    @InjectMocks
+    private DocumentArchiveServiceImpl documentArchiveService;
+
+    @TempDir
+    Path tempDir;
+
+    private final ProjectionFactory projectionFactory = new SpelAwareProxyProjectionFactory();
+    private Project project;
+    private Folder drafts;
+
+    @BeforeEach
+    void setUp() {
+        project = new Project();
+        project.setId(1L);
+        project.setName("Apollo");
+
+        Folder specs = new Folder(project, "Specs", null);
+        specs.setId(10L);
+        drafts = new Folder(project, specs, "Drafts", null);
+        drafts.setId(11L);
+    }
+
+    @Test
+    void prepareProjectArchive_shouldWalkFolderTreeAndNumberDuplicateNames() throws IOException {
+        when(folderClosureRepository.findProjectTree(1L, Integer.MAX_VALUE)).thenReturn(List.of(
+                folder(10L, null, "Specs"), folder(12L, null, "Empty"), folder(11L, 10L, "Drafts")));
+        when(documentVersionRepository.findLatestArchiveFilesByProjectId(1L)).thenReturn(List.of(
+                file(100L, 10L, "readme.txt", "text/plain"),
+                file(101L, 10L, "Drafts", "text/plain"),
+                file(102L, 11L, "plan.pdf", "application/pdf")));
+        when(projectService.getProjectById(1L)).thenReturn(project);
+
+        DocumentArchiveDTO archive = documentArchiveService.prepareProjectArchive(1L);
+
+        assertThat(archive.getFilename()).isEqualTo("Apollo.zip");
+        assertThat(archive.getEntries()).extracting(DocumentArchiveDTO.EntryDTO::getPath).containsExactly(
+                "Empty/",
+                "Specs/",
+                "Specs/Drafts",
+                "Specs/readme.txt",
+                "Specs/Drafts (2)/",
+                "Specs/Drafts (2)/plan.pdf");
+    }
+
+    @Test
+    void writeArchive_shouldStoreCompressedFormatsAndDeflateOthers() throws IOException {
+        exportDrafts(file(100L, 11L, "notes.txt", "text/plain"), file(101L, 11L, "plan.pdf", "application/pdf"));
+        when(documentVersionStore.getPathById(100L)).thenReturn(write("notes.txt", "hello ".repeat(1000)));
+        when(documentVersionStore.getPathById(101L)).thenReturn(write("plan.pdf", "%PDF-1.7 content"));
+
+        DocumentArchiveDTO archive = documentArchiveService.prepareFolderArchive(11L);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        documentArchiveService.writeArchive(archive, output);
+
+        Map<String, Integer> methods = new HashMap<>();
+        List<String> contents = new ArrayList<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(output.toByteArray()))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                methods.put(entry.getName(), entry.getMethod());
+                contents.add(new String(zip.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+
+        assertThat(archive.getFilename()).isEqualTo("Drafts.zip");
+        assertThat(methods).containsEntry("Drafts/notes.txt", ZipEntry.DEFLATED)
+                .containsEntry("Drafts/plan.pdf", ZipEntry.STORED)
+                .containsKey("Drafts/");
+        assertThat(contents).contains("hello ".repeat(1000), "%PDF-1.7 content");
+    }
+
+    @Test
+    void writeArchive_missingFile_shouldBeLeftOut() throws IOException {
+        exportDrafts(file(100L, 11L, "gone.txt", "text/plain"));
+        when(documentVersionStore.getPathById(100L)).thenReturn(tempDir.resolve("gone.txt"));
+
+        DocumentArchiveDTO archive = documentArchiveService.prepareFolderArchive(11L);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        documentArchiveService.writeArchive(archive, output);
+
+        List<String> names = new ArrayList<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(output.toByteArray()))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                names.add(entry.getName());
+            }
+        }
+        assertThat(names).containsExactly("Drafts/");
+    }
+
+    /**
+     * Stubs the folder export of the Drafts subtree, which has no subfolders.
+     */
+    private void exportDrafts(ArchiveFileView... files) {
+        when(folderService.getFolderById(11L)).thenReturn(drafts);
+        when(folderClosureRepository.findSubtree(1L, 11L, Integer.MAX_VALUE))
+                .thenReturn(List.of(folder(11L, 10L, "Drafts")));
+        when(documentVersionRepository.findLatestArchiveFilesBySubtree(11L)).thenReturn(List.of(files));
+    }
+
+    private FolderTreeView folder(Long id, Long parentFolderId, String name) {
+        Map<String, Object> values = new HashMap<>();
+        values.put("id", id);
+        values.put("parentFolderId", parentFolderId);
+        values.put("name", name);
+        return projectionFactory.createProjection(FolderTreeView.class, values);
+    }
+
+    private ArchiveFileView file(Long versionId, Long folderId, String name, String mimeType) {
+        Map<String, Object> values = new HashMap<>();
+        values.put("id", versionId);
+        values.put("folderId", folderId);
+        values.put("name", name);
+        values.put("mimeType", mimeType);
+        values.put("createdAt", LocalDateTime.of(2025, 1, 1, 12, 0));
+        return projectionFactory.createProjection(ArchiveFileView.class, values);
+    }
+
+    private Path write(String name, String content) throws IOException {
+        return Files.writeString(tempDir.resolve(name), content);
+    }
+}
@@ -0,0 +1,302 @@
+package com.vtnet.pdms.application.service;
+
+import com.vtnet.pdms.application.dto.DocumentImportReportDTO;
+import com.vtnet.pdms.domain.model.Document;
+import com.vtnet.pdms.domain.model.DocumentVersion;
+import com.vtnet.pdms.domain.model.Folder;
+import com.vtnet.pdms.domain.model.Project;
+import com.vtnet.pdms.domain.model.User;
+import com.vtnet.pdms.domain.repository.DocumentRepository;
+import com.vtnet.pdms.domain.repository.FolderClosureRepository;
+import com.vtnet.pdms.domain.repository.FolderRepository;
+import com.vtnet.pdms.domain.repository.ProjectRepository;
+import com.vtnet.pdms.domain.repository.UserRepository;
+import com.vtnet.pdms.domain.service.FolderService;
+import com.vtnet.pdms.domain.service.ProjectService;
+import com.vtnet.pdms.infrastructure.security.SecurityUtils;
+import com.vtnet.pdms.infrastructure.storage.StorageService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DocumentImportServiceImplTest {
+
+    private static final Long PROJECT_ID = 1L;
+    private static final Long BASE_FOLDER_ID = 10L;
+
+    @Mock
+    private DocumentRepository documentRepository;
+
+    @Mock
+    private FolderRepository folderRepository;
+
+    @Mock
+    private FolderClosureRepository folderClosureRepository;
+
+    @Mock
+    private ProjectRepository projectRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private FolderService folderService;
+
+    @Mock
+    private ProjectService projectService;
+
+    @Mock
+    private StorageService storageService;
+
+    @Mock
+    private DocumentIndexingQueue documentIndexingQueue;
+
+    @Mock
+    private SecurityUtils securityUtils;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private DocumentImportServiceImpl documentImportService;
+    private final AtomicLong ids = new AtomicLong(100);
+    private final List<String> storedContents = new ArrayList<>();
+    private final List<Document> savedDocuments = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        documentImportService = newService(DataSize.ofMegabytes(1), DataSize.ofMegabytes(10));
+
+        Project project = new Project();
+        project.setId(PROJECT_ID);
+        User user = new User();
+        user.setId(5L);
+
+        lenient().when(projectService.getProjectById(PROJECT_ID)).thenReturn(project);
+        lenient().when(securityUtils.getCurrentUserId()).thenReturn(5L);
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        lenient().when(projectRepository.getReferenceById(PROJECT_ID)).thenReturn(project);
+        lenient().when(userRepository.getReferenceById(5L)).thenReturn(user);
+        lenient().when(folderRepository.getReferenceById(anyLong())).thenAnswer(invocation -> {
+            Folder folder = new Folder();
+            folder.setId(invocation.getArgument(0));
+            return folder;
+        });
+        lenient().when(folderRepository.save(any(Folder.class))).thenAnswer(invocation -> {
+            Folder folder = invocation.getArgument(0);
+            folder.setId(ids.incrementAndGet());
+            return folder;
+        });
+        lenient().when(documentRepository.save(any(Document.class))).thenAnswer(invocation -> {
+            Document document = invocation.getArgument(0);
+            document.setId(ids.incrementAndGet());
+            savedDocuments.add(document);
+            for (DocumentVersion version : document.getVersions()) {
+                version.setId(ids.incrementAndGet());
+            }
+            return document;
+        });
+        lenient().when(storageService.store(any(InputStream.class), anyString())).thenAnswer(invocation -> {
+            InputStream inputStream = invocation.getArgument(0);
+            storedContents.add(new String(inputStream.readAllBytes(), StandardCharsets.UTF_8));
+            return Paths.get(invocation.<String>getArgument(1));
+        });
+
+        Folder baseFolder = new Folder();
+        baseFolder.setId(BASE_FOLDER_ID);
+        baseFolder.setProject(project);
+        lenient().when(folderService.getFolderById(BASE_FOLDER_ID)).thenReturn(baseFolder);
+    }
+
+    @Test
+    void importArchive_shouldMirrorDirectoriesAndImportFiles() throws IOException {
+        byte[] archive = zip(
+                "docs/", null,
+                "docs/a.txt", "alpha",
+                "docs/specs/b.txt", "bravo",
+                "root.txt", "root",
+                ".DS_Store", "junk",
+                "__MACOSX/docs/._a.txt", "junk");
+
+        DocumentImportReportDTO report = documentImportService.importArchive(
+                PROJECT_ID, BASE_FOLDER_ID, new ByteArrayInputStream(archive));
+
+        assertThat(report.getImportedCount()).isEqualTo(3);
+        assertThat(report.getSkippedCount()).isEqualTo(2);
+        assertThat(report.getFailedCount()).isZero();
+        assertThat(report.getFoldersCreated()).isEqualTo(2);
+        assertThat(storedContents).containsExactly("alpha", "bravo", "root");
+        assertThat(report.getEntries())
+                .filteredOn(entry -> DocumentImportReportDTO.STATUS_IMPORTED.equals(entry.getStatus()))
+                .allSatisfy(entry -> assertThat(entry.getDocumentId()).isNotNull());
+
+        // The "docs" folder is looked up once and then served from the path cache
+        verify(folderRepository, times(1)).findByProjectIdAndParentFolderIdAndName(PROJECT_ID, BASE_FOLDER_ID, "docs");
+        verify(documentRepository, times(3)).save(any(Document.class));
+
+        // Two batches of at most two documents, each queued for indexing
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<Long>> queued = ArgumentCaptor.forClass(Collection.class);
+        verify(documentIndexingQueue, times(2)).enqueue(queued.capture());
+        assertThat(queued.getAllValues()).extracting(Collection::size).containsExactly(2, 1);
+    }
+
+    @Test
+    void importArchive_withoutTargetFolder_shouldSkipRootLevelFiles() throws IOException {
+        Folder existing = new Folder();
+        existing.setId(42L);
+        when(folderRepository.findByProjectIdAndParentFolderIsNullAndName(PROJECT_ID, "reports"))
+                .thenReturn(Optional.of(existing));
+
+        byte[] archive = zip("loose.txt", "loose", "reports/q1.txt", "q1");
+
+        DocumentImportReportDTO report = documentImportService.importArchive(
+                PROJECT_ID, null, new ByteArrayInputStream(archive));
+
+        assertThat(report.getImportedCount()).isEqualTo(1);
+        assertThat(report.getSkippedCount()).isEqualTo(1);
+        assertThat(report.getFoldersCreated()).isZero();
+        assertThat(report.getEntries().get(1).getFolderId()).isEqualTo(42L);
+    }
+
+    @Test
+    void importArchive_pathTraversal_shouldFailEntry() throws IOException {
+        byte[] archive = zip("../evil.txt", "evil", "ok.txt", "ok");
+
+        DocumentImportReportDTO report = documentImportService.importArchive(
+                PROJECT_ID, BASE_FOLDER_ID, new ByteArrayInputStream(archive));
+
+        assertThat(report.getFailedCount()).isEqualTo(1);
+        assertThat(report.getImportedCount()).isEqualTo(1);
+        assertThat(storedContents).containsExactly("ok");
+    }
+
+    @Test
+    void importArchive_batchFailure_shouldMarkBatchFailedAndRemoveFiles() throws IOException {
+        when(documentRepository.save(any(Document.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0))
+                .thenThrow(new IllegalStateException("constraint violation"))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        byte[] archive = zip("a.txt", "a", "b.txt", "b", "c.txt", "c");
+
+        DocumentImportReportDTO report = documentImportService.importArchive(
+                PROJECT_ID, BASE_FOLDER_ID, new ByteArrayInputStream(archive));
+
+        assertThat(report.getFailedCount()).isEqualTo(2);
+        assertThat(report.getImportedCount()).isEqualTo(1);
+        assertThat(report.getEntries()).extracting(DocumentImportReportDTO.EntryDTO::getPath)
+                .containsExactly("a.txt", "b.txt", "c.txt");
+        verify(storageService, times(2)).delete(anyString());
+        verify(transactionManager, times(1)).rollback(any());
+        verify(documentIndexingQueue, times(1)).enqueue(any());
+    }
+
+    @Test
+    void importArchive_highlyCompressibleEntry_shouldFailEntryAndDeleteItsPartialFile() throws IOException {
+        documentImportService = newService(DataSize.ofKilobytes(64), DataSize.ofMegabytes(10));
+        byte[] archive = zip("bomb.txt", "0".repeat(1024 * 1024), "ok.txt", "ok");
+        assertThat(archive.length).isLessThan(8 * 1024);
+
+        DocumentImportReportDTO report = documentImportService.importArchive(
+                PROJECT_ID, BASE_FOLDER_ID, new ByteArrayInputStream(archive));
+
+        assertThat(report.getEntries()).extracting(DocumentImportReportDTO.EntryDTO::getPath,
+                        DocumentImportReportDTO.EntryDTO::getStatus)
+                .containsExactly(tuple("bomb.txt", DocumentImportReportDTO.STATUS_FAILED),
+                        tuple("ok.txt", DocumentImportReportDTO.STATUS_IMPORTED));
+        ArgumentCaptor<String> stored = ArgumentCaptor.forClass(String.class);
+        verify(storageService, times(2)).store(any(InputStream.class), stored.capture());
+        verify(storageService).delete(stored.getAllValues().get(0));
+        assertThat(savedDocuments).extracting(Document::getName).containsExactly("ok.txt");
+    }
+
+    @Test
+    void importArchive_overTotalSize_shouldStopImport() throws IOException {
+        documentImportService = newService(DataSize.ofKilobytes(64), DataSize.ofKilobytes(100));
+        String content = "x".repeat(60 * 1024);
+        byte[] archive = zip("a.txt", content, "b.txt", content, "c.txt", "c");
+
+        DocumentImportReportDTO report = documentImportService.importArchive(
+                PROJECT_ID, BASE_FOLDER_ID, new ByteArrayInputStream(archive));
+
+        assertThat(report.getEntries()).extracting(DocumentImportReportDTO.EntryDTO::getPath,
+                        DocumentImportReportDTO.EntryDTO::getStatus)
+                .containsExactly(tuple("a.txt", DocumentImportReportDTO.STATUS_IMPORTED),
+                        tuple("b.txt", DocumentImportReportDTO.STATUS_FAILED));
+        assertThat(report.getEntries().get(0).getDocumentId()).isNotNull();
+        verify(storageService, times(1)).delete(anyString());
+        verify(documentIndexingQueue, times(1)).enqueue(any());
+    }
+
+    @Test
+    void importArchive_nameCollision_shouldSkipEntryWithoutFailingItsBatch() throws IOException {
+        when(documentRepository.existsByFolderIdAndName(anyLong(), anyString())).thenAnswer(invocation ->
+                "existing.txt".equals(invocation.getArgument(1)) || savedDocuments.stream().anyMatch(document ->
+                        document.getFolder().getId().equals(invocation.getArgument(0))
+                                && document.getName().equals(invocation.getArgument(1))));
+
+        byte[] archive = zip("existing.txt", "old", "a.txt", "a", "/a.txt", "again", "b.txt", "b");
+
+        DocumentImportReportDTO report = documentImportService.importArchive(
+                PROJECT_ID, BASE_FOLDER_ID, new ByteArrayInputStream(archive));
+
+        assertThat(report.getEntries()).extracting(DocumentImportReportDTO.EntryDTO::getStatus)
+                .containsExactly(DocumentImportReportDTO.STATUS_SKIPPED, DocumentImportReportDTO.STATUS_IMPORTED,
+                        DocumentImportReportDTO.STATUS_SKIPPED, DocumentImportReportDTO.STATUS_IMPORTED);
+        assertThat(storedContents).containsExactly("a", "b");
+        verify(storageService, never()).delete(anyString());
+        verify(transactionManager, never()).rollback(any());
+    }
+
+    private DocumentImportServiceImpl newService(DataSize maxEntrySize, DataSize maxTotalSize) {
+        return new DocumentImportServiceImpl(documentRepository, folderRepository, folderClosureRepository,
+                projectRepository, userRepository, folderService, projectService, storageService,
+                documentIndexingQueue, securityUtils, transactionManager, 2, 100, maxEntrySize, maxTotalSize);
+    }
+
+    private static byte[] zip(String... namesAndContents) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(bytes)) {
+            for (int i = 0; i < namesAndContents.length; i += 2) {
+                zip.putNextEntry(new ZipEntry(namesAndContents[i]));
+                if (namesAndContents[i + 1] != null) {
+                    zip.write(namesAndContents[i + 1].getBytes(StandardCharsets.UTF_8));
+                }
+                zip.closeEntry();
+            }
+        }
+        return bytes.toByteArray();
+    }
+}
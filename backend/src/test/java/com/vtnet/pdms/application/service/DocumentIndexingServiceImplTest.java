@@ -0,0 +1,237 @@
+package com.vtnet.pdms.application.service;
+
+import com.vtnet.pdms.domain.model.Document;
+import com.vtnet.pdms.domain.model.DocumentChunk;
+import com.vtnet.pdms.domain.model.DocumentContent;
+import com.vtnet.pdms.domain.model.DocumentVersion;
+import com.vtnet.pdms.domain.repository.DocumentChunkRepository;
+import com.vtnet.pdms.domain.repository.DocumentChunkRepository.ChunkEmbeddingView;
+import com.vtnet.pdms.domain.repository.DocumentChunkRepository.ChunkSummaryView;
+import com.vtnet.pdms.domain.repository.DocumentContentRepository;
+import com.vtnet.pdms.domain.repository.DocumentRepository;
+import com.vtnet.pdms.domain.repository.DocumentVersionRepository;
+import com.vtnet.pdms.domain.service.ContentSink;
+import com.vtnet.pdms.domain.service.DocumentProcessor;
+import com.vtnet.pdms.infrastructure.ai.ChunkEmbedder;
+import com.vtnet.pdms.infrastructure.document.DocumentProcessorRegistry;
+import com.vtnet.pdms.infrastructure.document.ExtractedTextCache;
+import com.vtnet.pdms.infrastructure.document.TextChunker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DocumentIndexingServiceImplTest {
+
+    private static final String MODEL = "test-embedding";
+    private static final String OLD_TEXT = "The slab is poured on Monday. Curing takes seven days. Formwork is removed after.";
+    private static final String NEW_TEXT = "The slab is poured on Monday. Curing takes ten days. Formwork is removed after.";
+
+    @Mock
+    private DocumentContentRepository documentContentRepository;
+
+    @Mock
+    private DocumentVersionRepository documentVersionRepository;
+
+    @Mock
+    private DocumentRepository documentRepository;
+
+    @Mock
+    private DocumentProcessorRegistry documentProcessorRegistry;
+
+    @Mock
+    private ExtractedTextCache extractedTextCache;
+
+    @Mock
+    private DocumentChunkRepository documentChunkRepository;
+
+    @Mock
+    private ChunkEmbedder chunkEmbedder;
+
+    @Mock
+    private DocumentProcessor processor;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    // One sentence per chunk
+    private final TextChunker textChunker = new TextChunker(8, 0);
+    private final List<DocumentChunk> inserted = new ArrayList<>();
+    private final List<List<Long>> deleted = new ArrayList<>();
+    private DocumentIndexingServiceImpl documentIndexingService;
+    private DocumentVersion previousVersion;
+    private DocumentVersion version;
+
+    @BeforeEach
+    void setUp() {
+        documentIndexingService = new DocumentIndexingServiceImpl(documentContentRepository, documentVersionRepository,
+                documentRepository, documentProcessorRegistry, extractedTextCache, documentChunkRepository,
+                textChunker, chunkEmbedder, 2, transactionManager);
+
+        Document document = new Document(null, "spec.pdf", "application/pdf", 100L, null);
+        document.setId(5L);
+        previousVersion = new DocumentVersion(document, 1, "projects/1/5/v1.pdf", 100L, null);
+        previousVersion.setId(50L);
+        version = new DocumentVersion(document, 2, "projects/1/5/v2.pdf", 100L, null);
+        version.setId(51L);
+
+        when(documentProcessorRegistry.findProcessor("application/pdf")).thenReturn(processor);
+        when(chunkEmbedder.getEmbeddingModel()).thenReturn(MODEL);
+        lenient().when(documentVersionRepository.findById(51L)).thenReturn(Optional.of(version));
+        when(documentContentRepository.findByDocumentVersionId(51L)).thenReturn(Optional.empty());
+        when(documentContentRepository.save(any(DocumentContent.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        lenient().when(documentChunkRepository.insertAll(anyList())).thenAnswer(invocation -> {
+            List<DocumentChunk> batch = invocation.getArgument(0);
+            inserted.addAll(batch);
+            return batch.size();
+        });
+        lenient().when(documentChunkRepository.deleteByIdIn(anyList())).thenAnswer(invocation -> {
+            List<Long> ids = invocation.getArgument(0);
+            deleted.add(List.copyOf(ids));
+            return ids.size();
+        });
+    }
+
+    @Test
+    void indexDocumentVersion_newVersion_shouldReuseEmbeddingsOfUnchangedChunks() throws IOException {
+        extracts(NEW_TEXT);
+        when(documentVersionRepository.findByDocumentIdAndVersionNumber(5L, 1)).thenReturn(Optional.of(previousVersion));
+        List<TextChunker.TextChunk> oldChunks = textChunker.chunk(OLD_TEXT);
+        when(documentChunkRepository.findEmbeddingsByDocumentVersionId(50L, MODEL)).thenReturn(List.of(
+                embedding(oldChunks.get(0).hash(), 1f),
+                embedding(oldChunks.get(1).hash(), 2f),
+                embedding(oldChunks.get(2).hash(), 3f)));
+        when(documentChunkRepository.findSummariesByDocumentVersionId(51L)).thenReturn(List.of());
+        when(chunkEmbedder.isEnabled()).thenReturn(true);
+        when(chunkEmbedder.embedPendingChunks(51L)).thenReturn(0L);
+
+        DocumentContent content = documentIndexingService.indexDocumentVersion(version);
+
+        assertThat(inserted).extracting(DocumentChunk::getOrdinal).containsExactly(0, 1, 2);
+        assertThat(DocumentChunk.decodeEmbedding(inserted.get(0).getEmbedding())).containsExactly(1f);
+        assertThat(inserted.get(1).getEmbedding()).isNull();
+        assertThat(DocumentChunk.decodeEmbedding(inserted.get(2).getEmbedding())).containsExactly(3f);
+        assertThat(inserted.get(2).getEmbeddingModel()).isEqualTo(MODEL);
+        assertThat(content.getEmbeddingStatus()).isEqualTo(DocumentContent.EMBEDDING_STATUS_COMPLETED);
+        assertThat(content.getContentText()).isEqualTo(NEW_TEXT);
+        assertThat(content.getTextLength()).isEqualTo(NEW_TEXT.length());
+        // No transaction is open while the text is extracted
+        InOrder inOrder = inOrder(extractedTextCache, transactionManager);
+        inOrder.verify(extractedTextCache).extract(eq(version), eq(processor), any());
+        inOrder.verify(transactionManager).getTransaction(any());
+    }
+
+    @Test
+    void indexDocumentVersion_embeddingDisabled_shouldMarkEmbeddingSkipped() throws IOException {
+        extracts(NEW_TEXT);
+        when(documentVersionRepository.findByDocumentIdAndVersionNumber(5L, 1)).thenReturn(Optional.empty());
+        when(documentChunkRepository.findEmbeddingsByDocumentVersionId(51L, MODEL)).thenReturn(List.of());
+        when(documentChunkRepository.findSummariesByDocumentVersionId(51L)).thenReturn(List.of());
+
+        DocumentContent content = documentIndexingService.indexDocumentVersion(version);
+
+        assertThat(content.getEmbeddingStatus()).isEqualTo(DocumentContent.EMBEDDING_STATUS_SKIPPED);
+        verify(chunkEmbedder, never()).embedPendingChunks(any());
+    }
+
+    @Test
+    void indexDocumentVersion_reindex_shouldOnlyRewriteChangedChunks() throws IOException {
+        extracts(NEW_TEXT);
+        when(documentVersionRepository.findByDocumentIdAndVersionNumber(5L, 1)).thenReturn(Optional.empty());
+        when(documentChunkRepository.findEmbeddingsByDocumentVersionId(51L, MODEL)).thenReturn(List.of());
+        List<TextChunker.TextChunk> oldChunks = textChunker.chunk(OLD_TEXT);
+        List<TextChunker.TextChunk> newChunks = textChunker.chunk(NEW_TEXT);
+        when(documentChunkRepository.findSummariesByDocumentVersionId(51L)).thenReturn(List.of(
+                summary(100L, oldChunks.get(0)),
+                summary(101L, oldChunks.get(1)),
+                summary(102L, oldChunks.get(2)),
+                summary(103L, new TextChunker.TextChunk(3, 200, 210, 1, "Trailing.", 2, "f".repeat(64)))));
+        when(chunkEmbedder.isEnabled()).thenReturn(true);
+        when(chunkEmbedder.embedPendingChunks(51L)).thenReturn(2L);
+
+        DocumentContent content = documentIndexingService.indexDocumentVersion(version);
+
+        // The first chunk is unchanged; the others moved or changed text
+        assertThat(newChunks.get(0)).isEqualTo(oldChunks.get(0));
+        assertThat(inserted).extracting(DocumentChunk::getOrdinal).containsExactly(1, 2);
+        assertThat(deleted).containsExactly(List.of(101L, 102L), List.of(103L));
+        verify(documentChunkRepository, never()).deleteByDocumentVersionId(any());
+        assertThat(content.getEmbeddingStatus()).isEqualTo(DocumentContent.EMBEDDING_STATUS_PENDING);
+    }
+
+    private void extracts(String text) throws IOException {
+        doAnswer(invocation -> {
+            invocation.<ContentSink>getArgument(2).append(text);
+            return null;
+        }).when(extractedTextCache).extract(eq(version), eq(processor), any());
+    }
+
+    private static ChunkEmbeddingView embedding(String hash, float value) {
+        byte[] bytes = DocumentChunk.encodeEmbedding(new float[] {value});
+        return new ChunkEmbeddingView() {
+            @Override
+            public String getContentHash() {
+                return hash;
+            }
+
+            @Override
+            public byte[] getEmbedding() {
+                return bytes;
+            }
+        };
+    }
+
+    private static ChunkSummaryView summary(Long id, TextChunker.TextChunk chunk) {
+        return new ChunkSummaryView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Integer getOrdinal() {
+                return chunk.ordinal();
+            }
+
+            @Override
+            public Long getStartOffset() {
+                return chunk.startOffset();
+            }
+
+            @Override
+            public Long getEndOffset() {
+                return chunk.endOffset();
+            }
+
+            @Override
+            public Integer getPageNumber() {
+                return chunk.pageNumber();
+            }
+
+            @Override
+            public String getContentHash() {
+                return chunk.hash();
+            }
+        };
+    }
+}
@@ -2,13 +2,14 @@ package com.vtnet.pdms.application.service;
 
 import com.vtnet.pdms.application.dto.ProjectListDTO;
 import com.vtnet.pdms.application.mapper.ProjectMapper;
-import com.vtnet.pdms.domain.model.Document;
 import com.vtnet.pdms.domain.model.Project;
 import com.vtnet.pdms.domain.model.User;
+import com.vtnet.pdms.domain.repository.DocumentContentRepository;
 import com.vtnet.pdms.domain.repository.DocumentRepository;
 import com.vtnet.pdms.domain.repository.ProjectMemberRepository;
 import com.vtnet.pdms.domain.repository.ProjectRepository;
 import com.vtnet.pdms.domain.repository.UserRepository;
+import com.vtnet.pdms.infrastructure.chat.ChatHistoryMaintenance;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -23,7 +24,6 @@ import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.test.context.support.WithMockUser;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -51,6 +51,9 @@ class ProjectServiceImplTest {
     
     @Mock
     private DocumentRepository documentRepository;
+
+    @Mock
+    private DocumentContentRepository documentContentRepository;
     
     @Mock
     private UserRepository userRepository;
@@ -58,6 +61,9 @@ class ProjectServiceImplTest {
     @Mock
     private ProjectMapper projectMapper;
 
+    @Mock
+    private ChatHistoryMaintenance chatHistoryMaintenance;
+
     @InjectMocks
     private ProjectServiceImpl projectService;
 
@@ -161,20 +167,10 @@ class ProjectServiceImplTest {
         // Given
         List<Long> projectIds = List.of(1L, 2L, 3L);
         
-        // Mock document repository responses
-        List<Document> project1Docs = new ArrayList<>();
-        project1Docs.add(new Document());
-        project1Docs.add(new Document());
-        
-        List<Document> project2Docs = new ArrayList<>();
-        project2Docs.add(new Document());
-        
-        List<Document> project3Docs = new ArrayList<>();
-        // Empty list for project 3
-        
-        when(documentRepository.findByProjectId(1L)).thenReturn(project1Docs);
-        when(documentRepository.findByProjectId(2L)).thenReturn(project2Docs);
-        when(documentRepository.findByProjectId(3L)).thenReturn(project3Docs);
+        // Mock the grouped count; projects without documents are not returned
+        when(documentRepository.countByProjectIds(projectIds)).thenReturn(List.of(
+                documentCount(1L, 2L),
+                documentCount(2L, 1L)));
         
         // When
         Map<Long, Integer> result = projectService.getDocumentCountsByProjectIds(projectIds);
@@ -186,10 +182,23 @@ class ProjectServiceImplTest {
         assertThat(result).containsEntry(2L, 1);
         assertThat(result).containsEntry(3L, 0);
         
-        // Verify document repository was called for each project ID
-        verify(documentRepository, times(1)).findByProjectId(1L);
-        verify(documentRepository, times(1)).findByProjectId(2L);
-        verify(documentRepository, times(1)).findByProjectId(3L);
+        // Verify the counts were read with a single query and no documents were loaded
+        verify(documentRepository, times(1)).countByProjectIds(projectIds);
+        verify(documentRepository, never()).findByProjectId(anyLong());
+    }
+
+    private static DocumentRepository.ProjectDocumentCountView documentCount(Long projectId, Long count) {
+        return new DocumentRepository.ProjectDocumentCountView() {
+            @Override
+            public Long getProjectId() {
+                return projectId;
+            }
+
+            @Override
+            public Long getDocumentCount() {
+                return count;
+            }
+        };
     }
     
     @Test
@@ -198,12 +207,16 @@ class ProjectServiceImplTest {
         // Given
         Long projectId = 1L;
         when(projectRepository.findById(projectId)).thenReturn(Optional.of(testProject));
+        when(documentContentRepository.findTextBlobIdsByProjectId(projectId)).thenReturn(List.of(7L, 8L));
         
         // When
         projectService.deleteProject(projectId);
         
         // Then
         verify(projectMemberRepository, times(1)).deleteByProjectId(projectId);
+        verify(documentContentRepository).deleteByProjectId(projectId);
+        verify(documentContentRepository).deleteTextBlobsByIdIn(List.of(7L, 8L));
+        verify(chatHistoryMaintenance).deleteProjectHistory(projectId);
         verify(projectRepository, times(1)).delete(testProject);
     }
     
@@ -0,0 +1,115 @@
+package com.vtnet.pdms.application.service;
+
+import com.vtnet.pdms.domain.model.DocumentContent;
+import com.vtnet.pdms.domain.model.ReindexJob;
+import com.vtnet.pdms.domain.repository.DocumentChunkRepository;
+import com.vtnet.pdms.domain.repository.DocumentVersionRepository;
+import com.vtnet.pdms.domain.repository.ReindexJobRepository;
+import com.vtnet.pdms.domain.service.DocumentIndexingService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReindexJobRunnerTest {
+
+    @Mock
+    private ReindexJobRepository reindexJobRepository;
+
+    @Mock
+    private DocumentVersionRepository documentVersionRepository;
+
+    @Mock
+    private DocumentChunkRepository documentChunkRepository;
+
+    @Mock
+    private DocumentIndexingService documentIndexingService;
+
+    @Test
+    void run_shouldIndexFromCheckpointAndComplete() {
+        ReindexJobRunner runner = newRunner();
+        ReindexJob job = job();
+        job.setLastVersionId(10L);
+        job.setProcessedVersions(3L);
+        when(reindexJobRepository.updateStatus(eq(1L), any(), eq(ReindexJob.STATUS_RUNNING), any(LocalDateTime.class)))
+                .thenReturn(1);
+        when(reindexJobRepository.findStatusById(1L)).thenReturn(ReindexJob.STATUS_RUNNING);
+        when(documentVersionRepository.findLatestVersionIdsAfter(isNull(), eq(10L), any(Pageable.class)))
+                .thenReturn(List.of(11L, 12L));
+        when(documentVersionRepository.findLatestVersionIdsAfter(isNull(), eq(12L), any(Pageable.class)))
+                .thenReturn(List.of());
+        when(documentIndexingService.reindexDocumentVersion(11L)).thenReturn(new DocumentContent());
+        when(documentIndexingService.reindexDocumentVersion(12L)).thenThrow(new IllegalStateException("broken"));
+        when(documentChunkRepository.sumTokenCountByDocumentVersionId(11L)).thenReturn(40L);
+
+        runner.run(job);
+
+        verify(reindexJobRepository).updateProgress(eq(1L), eq(11L), eq(4L), eq(0L), eq(40L), anyLong(),
+                any(LocalDateTime.class));
+        verify(reindexJobRepository).updateProgress(eq(1L), eq(12L), eq(5L), eq(1L), eq(40L), anyLong(),
+                any(LocalDateTime.class));
+        verify(reindexJobRepository).finish(eq(1L), eq(ReindexJob.STATUS_COMPLETED), isNull(), any(LocalDateTime.class));
+    }
+
+    @Test
+    void run_paused_shouldStopWithoutFinishing() {
+        ReindexJobRunner runner = newRunner();
+        when(reindexJobRepository.updateStatus(eq(1L), any(), eq(ReindexJob.STATUS_RUNNING), any(LocalDateTime.class)))
+                .thenReturn(1);
+        when(reindexJobRepository.findStatusById(1L)).thenReturn(ReindexJob.STATUS_PAUSED);
+        when(documentVersionRepository.findLatestVersionIdsAfter(isNull(), eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(11L));
+
+        runner.run(job());
+
+        verify(documentIndexingService, never()).reindexDocumentVersion(any());
+        verify(reindexJobRepository, never()).finish(any(), any(), any(), any());
+    }
+
+    @Test
+    void throttle_shouldPaceDocumentsAndTokens() {
+        AtomicLong now = new AtomicLong();
+        ReindexJobRunner.Throttle throttle = new ReindexJobRunner.Throttle(2.0, 600L, now::get);
+
+        assertThat(throttle.delayNanos()).isZero();
+        throttle.startDocument();
+        assertThat(throttle.delayNanos()).isEqualTo(TimeUnit.MILLISECONDS.toNanos(500));
+
+        // 600 tokens per minute is one token per 100 ms
+        throttle.recordTokens(20);
+        assertThat(throttle.delayNanos()).isEqualTo(TimeUnit.SECONDS.toNanos(2));
+
+        now.set(TimeUnit.SECONDS.toNanos(5));
+        assertThat(throttle.delayNanos()).isNegative();
+        throttle.startDocument();
+        assertThat(throttle.delayNanos()).isEqualTo(TimeUnit.MILLISECONDS.toNanos(500));
+    }
+
+    private ReindexJobRunner newRunner() {
+        return new ReindexJobRunner(reindexJobRepository, documentVersionRepository, documentChunkRepository,
+                documentIndexingService, 100);
+    }
+
+    private static ReindexJob job() {
+        ReindexJob job = new ReindexJob(null, 5L, null, null, 2L);
+        job.setId(1L);
+        job.setStatus(ReindexJob.STATUS_QUEUED);
+        return job;
+    }
+}
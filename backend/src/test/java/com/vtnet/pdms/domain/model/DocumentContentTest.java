@@ -0,0 +1,104 @@
+package com.vtnet.pdms.domain.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.Deflater;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DocumentContentTest {
+
+    @Test
+    void setContentText_shouldStoreCompressedTextWithLengthAndHash() {
+        String text = "Bản vẽ thiết kế tầng 1\n".repeat(1000);
+
+        DocumentContent content = new DocumentContent(null, text);
+
+        assertThat(content.getTextBlob()).isNotNull();
+        assertThat(content.getTextBlob().getCompressedText().length).isLessThan(text.length() / 10);
+        assertThat(content.getTextLength()).isEqualTo(text.length());
+        assertThat(content.getTextHash()).hasSize(64);
+        assertThat(content.getTextBlob().getText()).isEqualTo(text);
+    }
+
+    @Test
+    void getContentText_shouldLoadTextFromBlob() {
+        DocumentContent content = new DocumentContent();
+        content.setTextBlob(new DocumentContentBlob("extracted text"));
+
+        assertThat(content.getContentText()).isEqualTo("extracted text");
+    }
+
+    @Test
+    void setContentText_null_shouldRemoveBlob() {
+        DocumentContent content = new DocumentContent(null, "extracted text");
+
+        content.setContentText(null);
+
+        assertThat(content.getTextBlob()).isNull();
+        assertThat(content.getTextLength()).isNull();
+        assertThat(content.getContentText()).isNull();
+    }
+
+    @Test
+    void setCompressedContentText_shouldMatchTextSetInOnePiece() {
+        String text = "Bản vẽ 😀 tầng 1\n".repeat(500);
+        DocumentContent whole = new DocumentContent(null, text);
+
+        // Pieces split the emoji's surrogate pair
+        DocumentContentBlob.TextWriter writer = new DocumentContentBlob.TextWriter();
+        for (int start = 0; start < text.length(); start += 7) {
+            writer.append(text.substring(start, Math.min(start + 7, text.length())));
+        }
+        DocumentContent streamed = new DocumentContent();
+        streamed.setCompressedContentText(writer);
+
+        assertThat(streamed.getTextLength()).isEqualTo(whole.getTextLength());
+        assertThat(streamed.getTextHash()).isEqualTo(whole.getTextHash());
+        assertThat(DocumentContentBlob.decompress(streamed.getTextBlob().getCompressedText())).isEqualTo(text);
+        assertThat(streamed.getContentText()).isEqualTo(text);
+    }
+
+    @Test
+    void compress_shouldWriteMysqlCompressFormat() {
+        byte[] compressed = DocumentContentBlob.compress("hello");
+
+        // 4-byte little-endian length of the UTF-8 bytes followed by a zlib header
+        assertThat(Arrays.copyOf(compressed, 4)).containsExactly(5, 0, 0, 0);
+        assertThat(compressed[4]).isEqualTo((byte) 0x78);
+        assertThat(DocumentContentBlob.compress("")).isEmpty();
+        assertThat(DocumentContentBlob.decompress(new byte[0])).isEmpty();
+    }
+
+    @Test
+    void decompress_shouldAcceptMysqlTrailingDot() {
+        // MySQL appends '.' after the zlib stream when the text ends with a space
+        byte[] bytes = "ends with space ".getBytes(StandardCharsets.UTF_8);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(bytes.length);
+        out.write(0);
+        out.write(0);
+        out.write(0);
+        Deflater deflater = new Deflater();
+        deflater.setInput(bytes);
+        deflater.finish();
+        byte[] buffer = new byte[256];
+        out.write(buffer, 0, deflater.deflate(buffer));
+        deflater.end();
+        out.write('.');
+
+        assertThat(DocumentContentBlob.decompress(out.toByteArray())).isEqualTo("ends with space ");
+    }
+
+    @Test
+    void decompress_truncated_shouldThrow() {
+        byte[] compressed = DocumentContentBlob.compress("some longer text that compresses");
+
+        assertThatThrownBy(() -> DocumentContentBlob.decompress(Arrays.copyOf(compressed, compressed.length / 2)))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,104 @@
+package com.vtnet.pdms.domain.repository;
+
+import com.vtnet.pdms.domain.model.ChatConversation;
+import com.vtnet.pdms.domain.model.ChatMessage;
+import com.vtnet.pdms.domain.model.User;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Insert throughput of 10k-row batches of an entity with pooled ids, with JDBC batching disabled
+ * (one statement per row, as with IDENTITY ids) and enabled. Not part of the regular test run:
+ * {@code mvn test -Dtest=ChatMessageInsertBenchmark}. Against the in-memory H2 database the gain
+ * is mostly statement overhead; against MySQL each saved statement is also a network round trip.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+class ChatMessageInsertBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChatMessageInsertBenchmark.class);
+
+    private static final int ROWS = 10_000;
+    private static final int FLUSH_INTERVAL = 1_000;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Long conversationId;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setName("Benchmark User");
+        user.setEmail("benchmark@example.com");
+        user.setPasswordHash("password");
+        entityManager.persist(user);
+        ChatConversation conversation = new ChatConversation(user, null);
+        entityManager.persist(conversation);
+        entityManager.flush();
+        conversationId = conversation.getId();
+    }
+
+    @Test
+    void insertMessages_shouldNeedFarFewerStatementsWithBatching() {
+        // Warm up both paths
+        insert(1, FLUSH_INTERVAL);
+        insert(50, FLUSH_INTERVAL);
+
+        Result unbatched = insert(1, ROWS);
+        Result batched = insert(50, ROWS);
+
+        logger.info("{} rows without batching: {} ms, {} statements, {} rows/s",
+                ROWS, unbatched.millis, unbatched.statements, unbatched.rowsPerSecond());
+        logger.info("{} rows with batches of 50: {} ms, {} statements, {} rows/s",
+                ROWS, batched.millis, batched.statements, batched.rowsPerSecond());
+        assertThat(batched.statements * 10).isLessThan(unbatched.statements);
+    }
+
+    private Result insert(int batchSize, int rows) {
+        Session session = entityManager.getEntityManager().unwrap(Session.class);
+        Statistics statistics = session.getSessionFactory().unwrap(SessionFactory.class).getStatistics();
+        session.setJdbcBatchSize(batchSize);
+        statistics.clear();
+
+        long start = System.nanoTime();
+        for (int i = 0; i < rows; i++) {
+            ChatConversation conversation = session.getReference(ChatConversation.class, conversationId);
+            session.persist(new ChatMessage(conversation, ChatMessage.MESSAGE_TYPE_USER, "Message " + i));
+            if ((i + 1) % FLUSH_INTERVAL == 0) {
+                session.flush();
+                session.clear();
+            }
+        }
+        session.flush();
+        session.clear();
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        return new Result(millis, statistics.getPrepareStatementCount());
+    }
+
+    private static final class Result {
+
+        private final long millis;
+        private final long statements;
+
+        private Result(long millis, long statements) {
+            this.millis = millis;
+            this.statements = statements;
+        }
+
+        private long rowsPerSecond() {
+            return millis == 0 ? ROWS : ROWS * 1000L / millis;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.vtnet.pdms.domain.repository;
+
+import com.vtnet.pdms.domain.model.Document;
+import com.vtnet.pdms.domain.model.DocumentChunk;
+import com.vtnet.pdms.domain.model.DocumentVersion;
+import com.vtnet.pdms.domain.model.Folder;
+import com.vtnet.pdms.domain.model.Project;
+import com.vtnet.pdms.domain.model.User;
+import com.vtnet.pdms.domain.repository.DocumentChunkRepository.FullTextMatchView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.dao.InvalidDataAccessResourceUsageException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs the full-text search queries against MySQL with the schema of the migrations, since H2 has
+ * no MATCH ... AGAINST. Skipped when Docker is not available.
+ * <p>
+ * InnoDB only indexes committed rows, so the test data is committed once and shared by the tests.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Testcontainers(disabledWithoutDocker = true)
+class DocumentChunkFullTextSearchTest {
+
+    @Container
+    private static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0");
+
+    private static Long projectId;
+    private static Long foundationsId;
+    private static Long steelId;
+
+    @DynamicPropertySource
+    static void mysqlProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", MYSQL::getJdbcUrl);
+        registry.add("spring.datasource.username", MYSQL::getUsername);
+        registry.add("spring.datasource.password", MYSQL::getPassword);
+        registry.add("spring.datasource.driver-class-name", MYSQL::getDriverClassName);
+        registry.add("spring.jpa.database-platform", () -> "org.hibernate.dialect.MySQLDialect");
+        registry.add("spring.jpa.properties.hibernate.dialect", () -> "org.hibernate.dialect.MySQLDialect");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "none");
+        registry.add("spring.flyway.enabled", () -> "true");
+    }
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DocumentChunkRepository documentChunkRepository;
+
+    @BeforeEach
+    void setUp() {
+        if (projectId != null) {
+            return;
+        }
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            User user = new User();
+            user.setName("Search User");
+            user.setEmail("search@example.com");
+            user.setPasswordHash("password");
+            entityManager.persist(user);
+            Project project = new Project("Search Project", Project.STATUS_ACTIVE, user);
+            entityManager.persist(project);
+            Folder folder = new Folder(project, "Drawings", user);
+            entityManager.persist(folder);
+
+            foundationsId = addDocument(folder, user, "foundations.pdf",
+                    "Concrete piles carry the foundation loads.", "Concrete mix for the pile caps.");
+            steelId = addDocument(folder, user, "steel.pdf",
+                    "Steel frame drawings with concrete floor slabs.");
+            projectId = project.getId();
+        });
+    }
+
+    @Test
+    void searchFullTextNaturalLanguage_shouldRankDocumentsByBestChunk() {
+        Page<FullTextMatchView> matches = documentChunkRepository.searchFullTextNaturalLanguage(
+                "concrete piles", projectId, PageRequest.of(0, 10));
+
+        assertThat(matches.getTotalElements()).isEqualTo(2);
+        assertThat(matches.getContent()).extracting(FullTextMatchView::getDocumentId)
+                .containsExactly(foundationsId, steelId);
+        assertThat(matches.getContent().get(0).getMatchCount()).isEqualTo(2);
+        assertThat(matches.getContent().get(0).getScore()).isGreaterThan(matches.getContent().get(1).getScore());
+    }
+
+    @Test
+    void searchFullTextBoolean_shouldApplyRequiredAndExcludedTerms() {
+        Page<FullTextMatchView> matches = documentChunkRepository.searchFullTextBoolean(
+                "+concrete -steel", projectId, PageRequest.of(0, 10));
+
+        assertThat(matches.getContent()).extracting(FullTextMatchView::getDocumentId).containsExactly(foundationsId);
+        assertThat(documentChunkRepository.searchFullTextBoolean("+concrete", projectId + 1, PageRequest.of(0, 10)))
+                .isEmpty();
+    }
+
+    @Test
+    void searchFullTextBoolean_shouldFailWithSyntaxErrorForTrailingOperator() {
+        assertThatThrownBy(() -> documentChunkRepository.searchFullTextBoolean(
+                "concrete +", projectId, PageRequest.of(0, 10)))
+                .isInstanceOf(InvalidDataAccessResourceUsageException.class);
+    }
+
+    private Long addDocument(Folder folder, User user, String name, String... chunks) {
+        Document document = new Document(folder, name, "application/pdf", 100L, user);
+        entityManager.persist(document);
+        DocumentVersion version = document.addVersion("projects/search/" + name, 100L, user);
+        entityManager.persist(version);
+        for (int i = 0; i < chunks.length; i++) {
+            entityManager.persist(new DocumentChunk(version, i, 0L, (long) chunks[i].length(), 1,
+                    "0".repeat(64), 1, chunks[i]));
+        }
+        return document.getId();
+    }
+}
@@ -0,0 +1,81 @@
+package com.vtnet.pdms.domain.repository;
+
+import com.vtnet.pdms.domain.model.Document;
+import com.vtnet.pdms.domain.model.DocumentChunk;
+import com.vtnet.pdms.domain.model.DocumentVersion;
+import com.vtnet.pdms.domain.model.Folder;
+import com.vtnet.pdms.domain.model.Project;
+import com.vtnet.pdms.domain.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class DocumentChunkRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private DocumentChunkRepository documentChunkRepository;
+
+    private DocumentVersion version;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setName("Test User");
+        user.setEmail("chunks@example.com");
+        user.setPasswordHash("password");
+        entityManager.persist(user);
+
+        Project project = new Project("Test Project", Project.STATUS_ACTIVE, user);
+        entityManager.persist(project);
+        Folder folder = new Folder(project, "Reports", user);
+        entityManager.persist(folder);
+        Document document = new Document(folder, "report.pdf", "application/pdf", 100L, user);
+        entityManager.persist(document);
+        version = new DocumentVersion(document, 1, "projects/1/1/report.pdf", 100L, user);
+        entityManager.persist(version);
+        entityManager.flush();
+    }
+
+    @Test
+    void insertAll_shouldInsertChunksInBatches() {
+        List<DocumentChunk> chunks = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            chunks.add(new DocumentChunk(version, i, i * 100L, i * 100L + 90, 1 + i / 2,
+                    "0".repeat(64), 20, "Chunk " + i));
+        }
+
+        int inserted = documentChunkRepository.insertAll(chunks);
+
+        assertThat(inserted).isEqualTo(5);
+        List<DocumentChunk> stored = documentChunkRepository.findByDocumentVersionIdOrderByOrdinal(version.getId());
+        assertThat(stored).extracting(DocumentChunk::getOrdinal).containsExactly(0, 1, 2, 3, 4);
+        assertThat(stored.get(4).getContent()).isEqualTo("Chunk 4");
+        assertThat(stored.get(4).getPageNumber()).isEqualTo(3);
+        assertThat(stored.get(4).getStartOffset()).isEqualTo(400L);
+    }
+
+    @Test
+    void deleteByDocumentVersionId_shouldRemoveAllChunksOfVersion() {
+        documentChunkRepository.insertAll(List.of(
+                new DocumentChunk(version, 0, 0L, 10L, 1, "0".repeat(64), 2, "First one"),
+                new DocumentChunk(version, 1, 11L, 20L, 1, "1".repeat(64), 2, "Second one")));
+
+        int deleted = documentChunkRepository.deleteByDocumentVersionId(version.getId());
+
+        assertThat(deleted).isEqualTo(2);
+        assertThat(documentChunkRepository.countByDocumentVersionId(version.getId())).isZero();
+    }
+}
@@ -0,0 +1,256 @@
+package com.vtnet.pdms.domain.repository;
+
+import com.vtnet.pdms.application.dto.DocumentDTO;
+import com.vtnet.pdms.domain.model.Document;
+import com.vtnet.pdms.domain.model.DocumentChunk;
+import com.vtnet.pdms.domain.model.DocumentContent;
+import com.vtnet.pdms.domain.model.DocumentContentBlob;
+import com.vtnet.pdms.domain.model.DocumentVersion;
+import com.vtnet.pdms.domain.model.Folder;
+import com.vtnet.pdms.domain.model.Project;
+import com.vtnet.pdms.domain.model.User;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class DocumentRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private DocumentRepository documentRepository;
+
+    @Autowired
+    private DocumentVersionRepository documentVersionRepository;
+
+    @Autowired
+    private DocumentChunkRepository documentChunkRepository;
+
+    @Autowired
+    private DocumentContentRepository documentContentRepository;
+
+    @Autowired
+    private FolderRepository folderRepository;
+
+    @Autowired
+    private FolderClosureRepository folderClosureRepository;
+
+    private User user;
+    private Project project;
+    private Folder source;
+    private Folder target;
+    private DocumentVersion delta;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setName("Test User");
+        user.setEmail("documents@example.com");
+        user.setPasswordHash("password");
+        entityManager.persist(user);
+
+        project = new Project("Test Project", Project.STATUS_ACTIVE, user);
+        entityManager.persist(project);
+        source = new Folder(project, "Source", user);
+        entityManager.persist(source);
+        target = new Folder(project, "Target", user);
+        entityManager.persist(target);
+
+        Document document = new Document(source, "report.pdf", "application/pdf", 120L, user);
+        entityManager.persist(document);
+        DocumentVersion full = document.addVersion("projects/1/1/report.pdf", 100L, user);
+        entityManager.persist(full);
+        delta = document.addVersion("projects/1/1/report_v2.pdf.vdelta", 120L, user);
+        delta.setStorageFormat(DocumentVersion.STORAGE_FORMAT_DELTA);
+        delta.setBaseVersion(full);
+        delta.setChainDepth(1);
+        entityManager.persist(delta);
+        entityManager.persist(new DocumentChunk(delta, 0, 0L, 10L, 1, "0".repeat(64), 2, "First one"));
+        entityManager.flush();
+    }
+
+    @Test
+    void addVersion_shouldMoveCurrentVersionWithoutLoadingHistory() {
+        entityManager.clear();
+        Document document = documentRepository.findByFolderIdAndName(source.getId(), "report.pdf").orElseThrow();
+        assertThat(document.getCurrentVersion().getId()).isEqualTo(delta.getId());
+
+        DocumentVersion added = document.addVersion("projects/1/1/report_v3.pdf", 130L, user);
+        documentRepository.save(document);
+        entityManager.flush();
+
+        assertThat(Hibernate.isInitialized(document.getVersions())).isFalse();
+        assertThat(added.getVersionNumber()).isEqualTo(3);
+        entityManager.clear();
+        Document reloaded = documentRepository.findById(document.getId()).orElseThrow();
+        assertThat(reloaded.getCurrentVersion().getVersionNumber()).isEqualTo(3);
+        assertThat(reloaded.getVersions()).hasSize(3);
+        assertThat(documentVersionRepository.findLatestVersionIdsByFolderIds(List.of(source.getId())))
+                .containsExactly(reloaded.getCurrentVersion().getId());
+    }
+
+    @Test
+    void copyStatements_shouldCopyDocumentsVersionsAndChunksSharingFiles() {
+        assertThat(documentRepository.copyDocuments(source.getId(), target.getId())).isEqualTo(1);
+        assertThat(documentVersionRepository.findMaxChainDepthByFolderId(source.getId())).isEqualTo(1);
+        assertThat(documentVersionRepository.countByFolderId(source.getId())).isEqualTo(2);
+        long firstId = documentVersionRepository.reserveIds(2);
+        assertThat(firstId).isGreaterThan(delta.getId());
+        assertThat(documentVersionRepository.copyVersions(source.getId(), target.getId(), 0, firstId)).isEqualTo(1);
+        assertThat(documentVersionRepository.copyVersions(source.getId(), target.getId(), 1, firstId + 1)).isEqualTo(1);
+        assertThat(documentChunkRepository.copyChunks(source.getId(), target.getId())).isEqualTo(1);
+        assertThat(documentRepository.updateCurrentVersionsByFolderId(target.getId())).isEqualTo(1);
+        entityManager.clear();
+
+        Document copy = documentRepository.findByFolderIdAndName(target.getId(), "report.pdf").orElseThrow();
+        assertThat(copy.getProjectId()).isEqualTo(project.getId());
+        DocumentVersion copiedFull = documentVersionRepository.findByDocumentIdAndVersionNumber(copy.getId(), 1).orElseThrow();
+        DocumentVersion copiedDelta = documentVersionRepository.findByDocumentIdAndVersionNumber(copy.getId(), 2).orElseThrow();
+        assertThat(copiedFull.getStoragePath()).isEqualTo("projects/1/1/report.pdf");
+        assertThat(copiedFull.getId()).isEqualTo(firstId);
+        assertThat(copiedDelta.getBaseVersion().getId()).isEqualTo(copiedFull.getId());
+        assertThat(copiedDelta.getChainDepth()).isEqualTo(1);
+        assertThat(copy.getCurrentVersion().getId()).isEqualTo(copiedDelta.getId());
+        assertThat(documentChunkRepository.findByDocumentVersionIdOrderByOrdinal(copiedDelta.getId()))
+                .extracting(DocumentChunk::getContent).containsExactly("First one");
+        assertThat(documentVersionRepository.findReferencedStoragePaths(List.of("projects/1/1/report.pdf", "gone.pdf")))
+                .containsExactly("projects/1/1/report.pdf");
+    }
+
+    @Test
+    void deleteStatements_shouldDeleteFolderContentsInOneStatementPerTable() {
+        List<Long> folderIds = List.of(source.getId());
+        assertThat(documentVersionRepository.findStoragePathsByFolderIds(folderIds)).hasSize(2);
+
+        documentChunkRepository.deleteByFolderIds(folderIds);
+        documentVersionRepository.clearBaseVersionsByFolderIds(folderIds);
+        assertThat(documentVersionRepository.deleteByFolderIds(folderIds)).isEqualTo(2);
+        assertThat(documentRepository.deleteByFolderIds(folderIds)).isEqualTo(1);
+        folderRepository.clearParentFolders(folderIds);
+        assertThat(folderRepository.deleteByIdIn(folderIds)).isEqualTo(1);
+
+        assertThat(documentVersionRepository.existsByStoragePath("projects/1/1/report.pdf")).isFalse();
+        assertThat(folderRepository.findById(target.getId())).isPresent();
+        assertThat(folderRepository.sumDocumentTotals(List.of(target.getId())).getDocumentCount()).isZero();
+    }
+
+    @Test
+    void findByDocumentIdLatestVersion_shouldReturnContentOfCurrentVersion() {
+        entityManager.persist(new DocumentContent(delta.getBaseVersion(), "First text"));
+        DocumentContent current = new DocumentContent(delta, "Second text");
+        entityManager.persist(current);
+        entityManager.flush();
+
+        assertThat(documentContentRepository.findByDocumentIdLatestVersion(delta.getDocument().getId()))
+                .map(DocumentContent::getId).contains(current.getId());
+    }
+
+    @Test
+    void deleteContentByProjectId_shouldLeaveNoTextBlobsBehind() {
+        DocumentContent content = new DocumentContent(delta, "Extracted text");
+        entityManager.persist(content);
+        entityManager.flush();
+        Long blobId = content.getTextBlob().getId();
+
+        List<Long> textBlobIds = documentContentRepository.findTextBlobIdsByProjectId(project.getId());
+        assertThat(textBlobIds).containsExactly(blobId);
+        assertThat(documentContentRepository.deleteByProjectId(project.getId())).isEqualTo(1);
+        assertThat(documentContentRepository.deleteTextBlobsByIdIn(textBlobIds)).isEqualTo(1);
+        entityManager.clear();
+
+        assertThat(entityManager.find(DocumentContentBlob.class, blobId)).isNull();
+    }
+
+    @Test
+    void findStoragePathsAfter_shouldReadDistinctPathsByPrefixInPathOrder() {
+        // A copied document shares the file of the original
+        Document copy = new Document(target, "report.pdf", "application/pdf", 100L, user);
+        entityManager.persist(copy);
+        entityManager.persist(copy.addVersion("projects/1/1/report.pdf", 100L, user));
+        entityManager.flush();
+
+        assertThat(documentVersionRepository.findStoragePathsAfter("projects/1/%", "", PageRequest.of(0, 1)))
+                .containsExactly("projects/1/1/report.pdf");
+        assertThat(documentVersionRepository.findStoragePathsAfter("projects/1/%", "projects/1/1/report.pdf",
+                PageRequest.of(0, 10))).containsExactly("projects/1/1/report_v2.pdf.vdelta");
+        // '_' is escaped, so it does not match any character
+        assertThat(documentVersionRepository.findStoragePathsAfter("projects/1/1/report!_%", "", PageRequest.of(0, 10)))
+                .containsExactly("projects/1/1/report_v2.pdf.vdelta");
+        assertThat(documentVersionRepository.findStoragePathsAfter("projects/1/1/report!_v1%", "", PageRequest.of(0, 10)))
+                .isEmpty();
+    }
+
+    @Test
+    void findListPage_shouldPageByKeysetWithFilters() {
+        User other = new User();
+        other.setName("Other User");
+        other.setEmail("other-documents@example.com");
+        other.setPasswordHash("password");
+        entityManager.persist(other);
+        Folder sub = new Folder(project, source, "Sub", user);
+        entityManager.persist(sub);
+        entityManager.persist(new Document(source, "notes.txt", "text/plain", 10L, user));
+        Document drawing = new Document(sub, "drawing.pdf", "application/pdf", 300L, other);
+        entityManager.persist(drawing);
+        entityManager.persist(new Document(target, "budget.pdf", "application/pdf", 50L, user));
+        entityManager.flush();
+        drawing.setCreatedAt(LocalDateTime.now().minusDays(10));
+        entityManager.flush();
+        folderClosureRepository.insertFolder(source.getId(), null);
+        folderClosureRepository.insertFolder(sub.getId(), source.getId());
+        folderClosureRepository.insertFolder(target.getId(), null);
+        entityManager.clear();
+
+        DocumentListCriteria criteria = new DocumentListCriteria();
+        criteria.setProjectId(project.getId());
+        criteria.setSort(DocumentListCriteria.Sort.SIZE);
+        criteria.setAscending(false);
+        criteria.setLimit(2);
+        List<DocumentDTO> first = documentRepository.findListPage(criteria);
+        assertThat(first).extracting(DocumentDTO::getName).containsExactly("drawing.pdf", "report.pdf");
+        assertThat(first.get(1)).satisfies(report -> {
+            assertThat(report.getLatestVersionNumber()).isEqualTo(2);
+            assertThat(report.getFolderId()).isEqualTo(source.getId());
+            assertThat(report.getCreatedBy().getName()).isEqualTo("Test User");
+        });
+        criteria.setAfter(first.get(1).getSize(), first.get(1).getId());
+        assertThat(documentRepository.findListPage(criteria)).extracting(DocumentDTO::getName)
+                .containsExactly("budget.pdf", "notes.txt");
+
+        DocumentListCriteria folder = new DocumentListCriteria();
+        folder.setFolderId(source.getId());
+        folder.setLimit(10);
+        assertThat(documentRepository.findListPage(folder)).extracting(DocumentDTO::getName)
+                .containsExactly("notes.txt", "report.pdf");
+        folder.setIncludeSubfolders(true);
+        assertThat(documentRepository.findListPage(folder)).extracting(DocumentDTO::getName)
+                .containsExactly("drawing.pdf", "notes.txt", "report.pdf");
+
+        DocumentListCriteria filtered = new DocumentListCriteria();
+        filtered.setProjectId(project.getId());
+        filtered.setMimeType("application/pdf");
+        filtered.setCreatedFrom(LocalDateTime.now().minusDays(1));
+        filtered.setSort(DocumentListCriteria.Sort.CREATED_AT);
+        filtered.setLimit(10);
+        assertThat(documentRepository.findListPage(filtered)).extracting(DocumentDTO::getName, DocumentDTO::getVersionCount)
+                .containsExactlyInAnyOrder(tuple("report.pdf", 2), tuple("budget.pdf", 0));
+        filtered.setCreatedFrom(null);
+        filtered.setCreatedById(other.getId());
+        assertThat(documentRepository.findListPage(filtered)).extracting(DocumentDTO::getName)
+                .containsExactly("drawing.pdf");
+    }
+}
@@ -0,0 +1,130 @@
+package com.vtnet.pdms.domain.repository;
+
+import com.vtnet.pdms.domain.model.Document;
+import com.vtnet.pdms.domain.model.DocumentVersion;
+import com.vtnet.pdms.domain.model.Folder;
+import com.vtnet.pdms.domain.model.Project;
+import com.vtnet.pdms.domain.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class FolderClosureRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private FolderClosureRepository folderClosureRepository;
+
+    @Autowired
+    private DocumentVersionRepository documentVersionRepository;
+
+    private User user;
+    private Project project;
+    private Folder root;
+    private Folder child;
+    private Folder grandchild;
+    private Folder other;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setName("Test User");
+        user.setEmail("closure@example.com");
+        user.setPasswordHash("password");
+        entityManager.persist(user);
+
+        project = new Project("Test Project", Project.STATUS_ACTIVE, user);
+        entityManager.persist(project);
+        root = createFolder(null, "Root");
+        child = createFolder(root, "Child");
+        grandchild = createFolder(child, "Grandchild");
+        other = createFolder(null, "Other");
+    }
+
+    @Test
+    void insertFolder_shouldLinkFolderToAllAncestors() {
+        assertThat(folderClosureRepository.findAncestorIds(grandchild.getId()))
+                .containsExactlyInAnyOrder(root.getId(), child.getId());
+        assertThat(folderClosureRepository.findSubtreeIds(root.getId()))
+                .containsExactlyInAnyOrder(root.getId(), child.getId(), grandchild.getId());
+        assertThat(folderClosureRepository.existsPath(root.getId(), grandchild.getId())).isTrue();
+        assertThat(folderClosureRepository.existsPath(grandchild.getId(), root.getId())).isFalse();
+    }
+
+    @Test
+    void moveStatements_shouldRelinkWholeSubtree() {
+        // Move Child (with Grandchild) from Root to Other
+        folderClosureRepository.deletePaths(folderClosureRepository.findSubtreeIds(child.getId()),
+                folderClosureRepository.findAncestorIds(child.getId()));
+        folderClosureRepository.insertSubtreePaths(child.getId(), other.getId());
+
+        assertThat(folderClosureRepository.findAncestorIds(grandchild.getId()))
+                .containsExactlyInAnyOrder(other.getId(), child.getId());
+        assertThat(folderClosureRepository.findSubtreeIds(root.getId())).containsExactly(root.getId());
+        assertThat(folderClosureRepository.findSubtree(project.getId(), other.getId(), Integer.MAX_VALUE))
+                .extracting(FolderClosureRepository.FolderTreeView::getDepth)
+                .containsExactly(0, 1, 2);
+    }
+
+    @Test
+    void findProjectTree_shouldReturnFoldersByDepthUpToMaxDepth() {
+        List<FolderClosureRepository.FolderTreeView> tree = folderClosureRepository.findProjectTree(project.getId(), 1);
+
+        assertThat(tree).extracting(FolderClosureRepository.FolderTreeView::getName)
+                .containsExactly("Other", "Root", "Child");
+        assertThat(tree.get(2).getParentFolderId()).isEqualTo(root.getId());
+        assertThat(tree.get(2).getDocumentCount()).isZero();
+    }
+
+    @Test
+    void findLatestArchiveFilesBySubtree_shouldReturnCurrentVersionsBelowFolder() {
+        DocumentVersion latest = createDocument(grandchild, "plan.pdf", 2);
+        DocumentVersion inChild = createDocument(child, "notes.txt", 1);
+        createDocument(other, "elsewhere.txt", 1);
+
+        List<DocumentVersionRepository.ArchiveFileView> files =
+                documentVersionRepository.findLatestArchiveFilesBySubtree(child.getId());
+
+        assertThat(files).extracting(DocumentVersionRepository.ArchiveFileView::getId)
+                .containsExactlyInAnyOrder(latest.getId(), inChild.getId());
+        assertThat(files).filteredOn(file -> file.getId().equals(latest.getId())).singleElement()
+                .satisfies(file -> {
+                    assertThat(file.getFolderId()).isEqualTo(grandchild.getId());
+                    assertThat(file.getName()).isEqualTo("plan.pdf");
+                    assertThat(file.getMimeType()).isEqualTo("application/pdf");
+                });
+        assertThat(documentVersionRepository.findLatestArchiveFilesByProjectId(project.getId())).hasSize(3);
+    }
+
+    private DocumentVersion createDocument(Folder folder, String name, int versions) {
+        Document document = new Document(folder, name, name.endsWith(".pdf") ? "application/pdf" : "text/plain",
+                10L, user);
+        entityManager.persist(document);
+        DocumentVersion version = null;
+        for (int i = 0; i < versions; i++) {
+            version = document.addVersion("projects/1/" + folder.getId() + "/" + name + i, 10L, user);
+            entityManager.persist(version);
+        }
+        entityManager.flush();
+        return version;
+    }
+
+    private Folder createFolder(Folder parent, String name) {
+        Folder folder = parent == null ? new Folder(project, name, user) : new Folder(project, parent, name, user);
+        entityManager.persist(folder);
+        entityManager.flush();
+        folderClosureRepository.insertFolder(folder.getId(), parent != null ? parent.getId() : null);
+        return folder;
+    }
+}
@@ -6,6 +6,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -26,6 +27,9 @@ class ProjectRepositoryTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private TestEntityManager entityManager;
+
     private User testUser;
 
     @BeforeEach
@@ -105,4 +109,20 @@ class ProjectRepositoryTest {
         // Then
         assertThat(allProjects.getContent()).hasSize(4);
     }
-} 
\ No newline at end of file
+
+    @Test
+    void adjustDocumentTotals_shouldAddToCounters() {
+        // Given
+        Project project = projectRepository.findByStatus(Project.STATUS_COMPLETED).get(0);
+
+        // When
+        projectRepository.adjustDocumentTotals(project.getId(), 2, 300);
+        projectRepository.adjustDocumentTotals(project.getId(), -1, -100);
+        entityManager.clear();
+
+        // Then
+        Project reloaded = projectRepository.findById(project.getId()).orElseThrow();
+        assertThat(reloaded.getDocumentCount()).isEqualTo(1L);
+        assertThat(reloaded.getTotalBytes()).isEqualTo(200L);
+    }
+}
@@ -0,0 +1,86 @@
+package com.vtnet.pdms.infrastructure.ai;
+
+import com.vtnet.pdms.domain.model.DocumentChunk;
+import com.vtnet.pdms.domain.repository.DocumentChunkRepository;
+import com.vtnet.pdms.domain.service.OpenAIService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ChunkEmbedderTest {
+
+    private static final String MODEL = "test-embedding";
+
+    @Mock
+    private DocumentChunkRepository documentChunkRepository;
+
+    @Mock
+    private OpenAIService openAIService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void embedPendingChunks_shouldEmbedInBatchesAndCountFailures() {
+        ChunkEmbedder chunkEmbedder = new ChunkEmbedder(documentChunkRepository, openAIService, true, MODEL, 2,
+                transactionManager);
+        DocumentChunk first = chunk(0, "First.");
+        DocumentChunk second = chunk(1, "Second.");
+        DocumentChunk third = chunk(2, "Third.");
+        when(documentChunkRepository.findUnembedded(eq(7L), eq(MODEL), eq(-1), any(Pageable.class)))
+                .thenReturn(List.of(first, second));
+        when(documentChunkRepository.findUnembedded(eq(7L), eq(MODEL), eq(1), any(Pageable.class)))
+                .thenReturn(List.of(third));
+        when(openAIService.createEmbeddings(List.of("First.", "Second.")))
+                .thenReturn(List.of(new float[] {0.5f, -1f}, new float[0]));
+        when(openAIService.createEmbeddings(List.of("Third."))).thenReturn(List.of(new float[] {2f}));
+
+        long remaining = chunkEmbedder.embedPendingChunks(7L);
+
+        assertThat(remaining).isEqualTo(1);
+        assertThat(DocumentChunk.decodeEmbedding(first.getEmbedding())).containsExactly(0.5f, -1f);
+        assertThat(first.getEmbeddingModel()).isEqualTo(MODEL);
+        assertThat(second.getEmbedding()).isNull();
+        assertThat(DocumentChunk.decodeEmbedding(third.getEmbedding())).containsExactly(2f);
+        // One request per batch, each written in a transaction of its own
+        verify(openAIService, times(2)).createEmbeddings(anyList());
+        verify(openAIService, never()).createEmbedding(anyString());
+        verify(documentChunkRepository).updateEmbedding(eq(10L), eq(first.getEmbedding()), eq(MODEL));
+        verify(documentChunkRepository, never()).updateEmbedding(eq(11L), any(), any());
+        verify(documentChunkRepository).updateEmbedding(eq(12L), eq(third.getEmbedding()), eq(MODEL));
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    void embedPendingChunks_disabled_shouldOnlyCountPendingChunks() {
+        ChunkEmbedder chunkEmbedder = new ChunkEmbedder(documentChunkRepository, openAIService, false, MODEL, 2,
+                transactionManager);
+        when(documentChunkRepository.countUnembedded(7L, MODEL)).thenReturn(4L);
+
+        assertThat(chunkEmbedder.embedPendingChunks(7L)).isEqualTo(4);
+        verify(openAIService, never()).createEmbeddings(anyList());
+        assertThat(chunkEmbedder.isEnabled()).isFalse();
+    }
+
+    private static DocumentChunk chunk(int ordinal, String text) {
+        DocumentChunk chunk = new DocumentChunk(null, ordinal, 0L, (long) text.length(), 1, "0".repeat(64), 1, text);
+        chunk.setId(10L + ordinal);
+        return chunk;
+    }
+}
@@ -0,0 +1,63 @@
+package com.vtnet.pdms.infrastructure.cache;
+
+import org.hibernate.cache.spi.access.SoftLock;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExpiringStorageAccessTest {
+
+    @Test
+    void getFromCache_shouldDropExpiredEntries() throws InterruptedException {
+        ExpiringStorageAccess storage = new ExpiringStorageAccess(20, 0);
+        storage.putIntoCache("role", "ADMIN", null);
+        assertThat(storage.getFromCache("role", null)).isEqualTo("ADMIN");
+
+        Thread.sleep(40);
+
+        assertThat(storage.getFromCache("role", null)).isNull();
+        assertThat(storage.size()).isZero();
+    }
+
+    @Test
+    void putIntoCache_shouldMakeRoomWhenFull() {
+        ExpiringStorageAccess storage = new ExpiringStorageAccess(0, 20);
+        for (int i = 0; i < 20; i++) {
+            storage.putIntoCache(i, "value" + i, null);
+        }
+        assertThat(storage.size()).isEqualTo(20);
+
+        storage.putIntoCache("new", "value", null);
+
+        assertThat(storage.size()).isEqualTo(19);
+        assertThat(storage.contains("new")).isTrue();
+    }
+
+    @Test
+    void putIntoCache_shouldReplaceExistingKeyWithoutEvicting() {
+        ExpiringStorageAccess storage = new ExpiringStorageAccess(0, 2);
+        storage.putIntoCache("a", "1", null);
+        storage.putIntoCache("b", "2", null);
+
+        storage.putIntoCache("a", "3", null);
+
+        assertThat(storage.getFromCache("a", null)).isEqualTo("3");
+        assertThat(storage.getFromCache("b", null)).isEqualTo("2");
+    }
+
+    @Test
+    void putIntoCache_shouldNeverEvictOrExpireSoftLocks() throws InterruptedException {
+        ExpiringStorageAccess storage = new ExpiringStorageAccess(20, 10);
+        SoftLock lock = new SoftLock() {
+        };
+        storage.putIntoCache("locked", lock, null);
+        for (int i = 0; i < 20; i++) {
+            storage.putIntoCache(i, "value" + i, null);
+        }
+
+        Thread.sleep(40);
+
+        assertThat(storage.getFromCache("locked", null)).isSameAs(lock);
+        assertThat(storage.getFromCache(19, null)).isNull();
+    }
+}
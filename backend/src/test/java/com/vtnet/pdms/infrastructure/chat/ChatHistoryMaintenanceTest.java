@@ -0,0 +1,241 @@
+package com.vtnet.pdms.infrastructure.chat;
+
+import com.vtnet.pdms.application.service.ChatbotServiceImpl;
+import com.vtnet.pdms.domain.model.ChatArchive;
+import com.vtnet.pdms.domain.model.ChatConversation;
+import com.vtnet.pdms.domain.model.ChatMessage;
+import com.vtnet.pdms.domain.model.Document;
+import com.vtnet.pdms.domain.model.Folder;
+import com.vtnet.pdms.domain.model.Project;
+import com.vtnet.pdms.domain.model.User;
+import com.vtnet.pdms.domain.repository.ChatArchiveRepository;
+import com.vtnet.pdms.domain.repository.ChatConversationRepository;
+import com.vtnet.pdms.domain.repository.ChatMessageRepository;
+import com.vtnet.pdms.domain.repository.ChatReferenceRepository;
+import com.vtnet.pdms.domain.repository.DocumentContentRepository;
+import com.vtnet.pdms.domain.repository.DocumentRepository;
+import com.vtnet.pdms.domain.repository.ProjectRepository;
+import com.vtnet.pdms.domain.repository.UserRepository;
+import com.vtnet.pdms.domain.service.OpenAIService;
+import com.vtnet.pdms.infrastructure.storage.FileSystemStorageService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class ChatHistoryMaintenanceTest {
+
+    @TempDir
+    Path root;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ChatMessageRepository chatMessageRepository;
+
+    @Autowired
+    private ChatReferenceRepository chatReferenceRepository;
+
+    @Autowired
+    private ChatConversationRepository chatConversationRepository;
+
+    @Autowired
+    private ChatArchiveRepository chatArchiveRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private DocumentRepository documentRepository;
+
+    @Autowired
+    private DocumentContentRepository documentContentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private ChatHistoryMaintenance maintenance;
+    private ChatbotServiceImpl chatbotService;
+    private User user;
+    private Project project;
+    private Document document;
+
+    @BeforeEach
+    void setUp() {
+        ChatArchiveStore chatArchiveStore = new ChatArchiveStore(new FileSystemStorageService(root));
+        maintenance = new ChatHistoryMaintenance(chatMessageRepository, chatReferenceRepository,
+                chatArchiveRepository, projectRepository, chatArchiveStore,
+                new ChatPartitionManager(jdbcTemplate, transactionManager), transactionManager, 0, 6, 2, 2);
+        chatbotService = new ChatbotServiceImpl(mock(OpenAIService.class), documentRepository,
+                documentContentRepository, userRepository, chatMessageRepository, chatConversationRepository,
+                chatReferenceRepository, chatArchiveRepository, projectRepository, chatArchiveStore, maintenance, 3);
+
+        user = new User();
+        user.setName("Chat User");
+        user.setEmail("chat@example.com");
+        user.setPasswordHash("password");
+        entityManager.persist(user);
+        project = new Project("Chat Project", Project.STATUS_ACTIVE, user);
+        entityManager.persist(project);
+        Folder folder = new Folder(project, "Reports", user);
+        entityManager.persist(folder);
+        document = new Document(folder, "report.pdf", "application/pdf", 100L, user);
+        entityManager.persist(document);
+
+        ChatConversation conversation = new ChatConversation(user, project);
+        entityManager.persist(conversation);
+        LocalDateTime old = LocalDateTime.now().minusMonths(8);
+        addMessage(conversation, "old question", old);
+        ChatMessage oldAnswer = addMessage(conversation, "old answer", old.plusSeconds(1));
+        entityManager.persist(oldAnswer.addReference(document, 0.9f));
+        addMessage(conversation, "older question", old.minusMonths(1));
+        addMessage(conversation, "recent question", LocalDateTime.now().minusDays(5));
+
+        ChatConversation global = new ChatConversation(user, null);
+        entityManager.persist(global);
+        addMessage(global, "old global question", old);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void archive_shouldMoveOldMonthsToStorageAndKeepThemReadable() throws IOException {
+        int months = maintenance.archive(YearMonth.now().minusMonths(5));
+        entityManager.clear();
+
+        assertThat(months).isGreaterThanOrEqualTo(2);
+        assertThat(chatMessageRepository.findAll()).extracting(ChatMessage::getContent)
+                .containsExactly("recent question");
+        assertThat(chatReferenceRepository.count()).isZero();
+        List<ChatArchive> archives = chatArchiveRepository.findAll();
+        assertThat(archives).extracting(ChatArchive::getProjectId)
+                .containsExactlyInAnyOrder(project.getId(), project.getId(), null);
+        assertThat(archives).allSatisfy(archive -> assertThat(root.resolve(archive.getStoragePath())).exists());
+
+        // Recent history only reads the recent months
+        assertThat(chatbotService.getConversationHistory(project.getId(), user.getId(), 10))
+                .extracting(message -> message.get("content"))
+                .containsExactly("recent question");
+
+        // Older history pages back through the database and the archives
+        List<Map<String, Object>> history = chatbotService.getConversationHistory(
+                project.getId(), user.getId(), 3, LocalDateTime.now(), null);
+        assertThat(history).extracting(message -> message.get("content"))
+                .containsExactly("recent question", "old answer", "old question");
+        assertThat(history.get(1)).containsEntry("archived", true);
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> references = (List<Map<String, Object>>) history.get(1).get("references");
+        assertThat(references).singleElement().satisfies(reference ->
+                assertThat(reference).containsEntry("documentName", "report.pdf"));
+
+        List<Map<String, Object>> nextPage = chatbotService.getConversationHistory(
+                project.getId(), user.getId(), 3, (LocalDateTime) history.get(2).get("sentAt"),
+                (Long) history.get(2).get("id"));
+        assertThat(nextPage).extracting(message -> message.get("content")).containsExactly("older question");
+        assertThat(chatbotService.getGlobalConversationHistory(user.getId(), 10, LocalDateTime.now(), null))
+                .extracting(message -> message.get("content"))
+                .containsExactly("old global question");
+    }
+
+    @Test
+    void applyRetention_shouldDeleteExpiredHistoryOfProjectOnly() throws IOException {
+        maintenance.archive(YearMonth.now().minusMonths(5));
+        Project reloaded = projectRepository.findById(project.getId()).orElseThrow();
+        reloaded.setChatRetentionDays(30);
+        projectRepository.saveAndFlush(reloaded);
+
+        maintenance.applyRetention();
+        entityManager.clear();
+
+        assertThat(chatArchiveRepository.findAll()).extracting(ChatArchive::getProjectId).containsExactly((Long) null);
+        assertThat(chatbotService.getConversationHistory(project.getId(), user.getId(), 10, LocalDateTime.now(), null))
+                .extracting(message -> message.get("content"))
+                .containsExactly("recent question");
+        assertThat(chatbotService.getGlobalConversationHistory(user.getId(), 10, LocalDateTime.now(), null)).hasSize(1);
+    }
+
+    @Test
+    void deleteProjectHistory_shouldDeleteMessagesAndReferencesToTheProjectsDocuments() {
+        ChatConversation global = chatConversationRepository.findFirstByUserIdAndProjectIsNullOrderByLastMessageAtDesc(
+                user.getId()).orElseThrow();
+        ChatMessage globalAnswer = addMessage(global, "global answer", LocalDateTime.now().minusDays(1));
+        entityManager.persist(globalAnswer.addReference(entityManager.find(Document.class, document.getId()), 0.5f));
+        entityManager.flush();
+
+        int deleted = maintenance.deleteProjectHistory(project.getId());
+        entityManager.clear();
+
+        assertThat(deleted).isEqualTo(4);
+        assertThat(chatMessageRepository.findAll()).extracting(ChatMessage::getContent)
+                .containsExactlyInAnyOrder("old global question", "global answer");
+        assertThat(chatReferenceRepository.count()).isZero();
+    }
+
+    @Test
+    void getConversationHistory_shouldSkipReferencesToDeletedDocuments() {
+        jdbcTemplate.update("DELETE FROM documents WHERE id = ?", document.getId());
+
+        List<Map<String, Object>> history = chatbotService.getConversationHistory(
+                project.getId(), user.getId(), 10, LocalDateTime.now(), null);
+
+        assertThat(history).extracting(message -> message.get("content")).contains("old answer");
+        assertThat(history).filteredOn(message -> "old answer".equals(message.get("content")))
+                .singleElement().satisfies(message -> assertThat(message.get("references")).asList().isEmpty());
+    }
+
+    @Test
+    void getConversationHistory_shouldPageThroughMessagesSentInTheSameSecond() {
+        ChatConversation conversation = chatConversationRepository.findAll().stream()
+                .filter(candidate -> candidate.getProject() != null).findFirst().orElseThrow();
+        LocalDateTime sentAt = LocalDateTime.now().minusDays(2).withNano(0);
+        addMessage(conversation, "tied question", sentAt);
+        addMessage(conversation, "tied answer", sentAt);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Object> contents = new ArrayList<>();
+        LocalDateTime before = LocalDateTime.now();
+        Long beforeId = null;
+        for (int i = 0; i < 3; i++) {
+            List<Map<String, Object>> page = chatbotService.getConversationHistory(
+                    project.getId(), user.getId(), 1, before, beforeId);
+            contents.add(page.get(0).get("content"));
+            before = (LocalDateTime) page.get(0).get("sentAt");
+            beforeId = (Long) page.get(0).get("id");
+        }
+
+        assertThat(contents).containsExactly("tied answer", "tied question", "recent question");
+    }
+
+    private ChatMessage addMessage(ChatConversation conversation, String content, LocalDateTime sentAt) {
+        ChatMessage message = conversation.addUserMessage(content);
+        message.setSentAt(sentAt);
+        entityManager.persist(message);
+        return message;
+    }
+}
@@ -0,0 +1,154 @@
+package com.vtnet.pdms.infrastructure.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Routes between two separate in-memory databases, each of which knows its own name.
+ */
+class ReadWriteRoutingDataSourceTest {
+
+    private static final String LAG_QUERY = "SELECT seconds FROM replica_lag";
+    private static final Duration MAX_LAG = Duration.ofSeconds(10);
+    private static final Duration TIMEOUT = Duration.ofSeconds(2);
+
+    private DataSource primary;
+    private DataSource replica;
+    private JdbcTemplate replicaDatabase;
+    private ReadWriteRoutingDataSource routingDataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readTransaction;
+    private TransactionTemplate writeTransaction;
+
+    @BeforeEach
+    void setUp() {
+        primary = createDatabase("primary");
+        replica = createDatabase("replica");
+        replicaDatabase = new JdbcTemplate(replica);
+        replicaDatabase.execute("CREATE TABLE replica_lag (seconds INT)");
+        replicaDatabase.update("INSERT INTO replica_lag VALUES (0)");
+        route(Duration.ofSeconds(5));
+    }
+
+    private void route(Duration readYourWritesWindow) {
+        routingDataSource = new ReadWriteRoutingDataSource(primary,
+                List.of(new ReplicaDataSource("replica-1", replica)), readYourWritesWindow);
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        readTransaction = new TransactionTemplate(transactionManager);
+        readTransaction.setReadOnly(true);
+        writeTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransactions_shouldGoToHealthyReplica() {
+        assertThat(routingDataSource.checkReplicas(LAG_QUERY, MAX_LAG, TIMEOUT)).isEqualTo(1);
+
+        assertThat(read()).isEqualTo("replica");
+        assertThat(write()).isEqualTo("primary");
+        assertThat(jdbcTemplate.queryForObject("SELECT name FROM node", String.class)).isEqualTo("primary");
+        assertThat(routingDataSource.getStatistics().getPools())
+                .extracting(DataSourceRoutingReport.PoolStatistics::getName, DataSourceRoutingReport.PoolStatistics::isHealthy)
+                .contains(tuple("replica-1", true));
+    }
+
+    @Test
+    void readOnlyTransactions_shouldUsePrimaryUntilReplicaIsChecked() {
+        assertThat(read()).isEqualTo("primary");
+        assertThat(routingDataSource.getStatistics().getFailoverReads()).isEqualTo(1);
+    }
+
+    @Test
+    void reads_shouldGoToPrimaryWithinReadYourWritesWindow() {
+        routingDataSource.checkReplicas(LAG_QUERY, MAX_LAG, TIMEOUT);
+        authenticate("alice");
+        write();
+
+        assertThat(read()).isEqualTo("primary");
+        authenticate("bob");
+        assertThat(read()).isEqualTo("replica");
+        assertThat(routingDataSource.getStatistics().getReadYourWritesReads()).isEqualTo(1);
+    }
+
+    @Test
+    void readYourWritesWindow_shouldStartWhenTheWriteCommits() {
+        route(Duration.ofMillis(500));
+        routingDataSource.checkReplicas(LAG_QUERY, MAX_LAG, TIMEOUT);
+        authenticate("alice");
+
+        writeTransaction.executeWithoutResult(status -> {
+            jdbcTemplate.update("UPDATE node SET name = name");
+            sleep(Duration.ofMillis(700));
+        });
+
+        assertThat(read()).isEqualTo("primary");
+    }
+
+    @Test
+    void laggingReplica_shouldFailOverAndReturnOnceCaughtUp() {
+        replicaDatabase.update("UPDATE replica_lag SET seconds = 30");
+        assertThat(routingDataSource.checkReplicas(LAG_QUERY, MAX_LAG, TIMEOUT)).isZero();
+        assertThat(read()).isEqualTo("primary");
+
+        replicaDatabase.update("UPDATE replica_lag SET seconds = 2");
+        assertThat(routingDataSource.checkReplicas(LAG_QUERY, MAX_LAG, TIMEOUT)).isEqualTo(1);
+        assertThat(read()).isEqualTo("replica");
+        assertThat(routingDataSource.getStatistics().getPools().get(1).getLagSeconds()).isEqualTo(2);
+    }
+
+    private String read() {
+        return readTransaction.execute(status -> jdbcTemplate.queryForObject("SELECT name FROM node", String.class));
+    }
+
+    private String write() {
+        return writeTransaction.execute(status -> {
+            jdbcTemplate.update("UPDATE node SET name = name");
+            return jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+        });
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void authenticate(String user) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, List.of()));
+    }
+
+    private static DataSource createDatabase(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE node (name VARCHAR(20))");
+        jdbcTemplate.update("INSERT INTO node VALUES (?)", name);
+        return dataSource;
+    }
+}
@@ -0,0 +1,71 @@
+package com.vtnet.pdms.infrastructure.document;
+
+import com.vtnet.pdms.infrastructure.storage.DocumentVersionStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(MockitoExtension.class)
+class DocumentProcessorRegistryTest {
+
+    @Mock
+    private DocumentVersionStore documentVersionStore;
+
+    private TxtDocumentProcessor txtProcessor;
+    private DocxDocumentProcessor docxProcessor;
+    private TikaDocumentProcessor tikaProcessor;
+    private DocumentProcessorRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        txtProcessor = new TxtDocumentProcessor(documentVersionStore, 1_000_000);
+        docxProcessor = new DocxDocumentProcessor(documentVersionStore);
+        tikaProcessor = new TikaDocumentProcessor(documentVersionStore, 1000);
+        // The fallback is listed first to show that specific processors still take precedence
+        registry = new DocumentProcessorRegistry(List.of(tikaProcessor, txtProcessor, docxProcessor));
+    }
+
+    @Test
+    void findProcessor_shouldPreferRegisteredProcessor() {
+        assertThat(registry.findProcessor("text/plain")).isSameAs(txtProcessor);
+        assertThat(registry.findProcessor("Text/Plain; charset=UTF-8")).isSameAs(txtProcessor);
+        assertThat(registry.findProcessor("application/vnd.openxmlformats-officedocument.wordprocessingml.document"))
+                .isSameAs(docxProcessor);
+    }
+
+    @Test
+    void findProcessor_shouldFallBackToTikaForOtherFormats() {
+        assertThat(registry.findProcessor("application/msword")).isSameAs(tikaProcessor);
+        assertThat(registry.findProcessor("application/rtf")).isSameAs(tikaProcessor);
+        assertThat(registry.findProcessor("text/html")).isSameAs(tikaProcessor);
+        assertThat(registry.findProcessor("application/vnd.oasis.opendocument.text")).isSameAs(tikaProcessor);
+    }
+
+    @Test
+    void findProcessor_unsupportedType_shouldReturnNull() {
+        assertThat(registry.findProcessor("application/x-unknown-format")).isNull();
+        assertThat(registry.findProcessor(null)).isNull();
+    }
+
+    @Test
+    void recordSuccess_shouldAccumulateCountersPerProcessor() {
+        registry.recordSuccess(txtProcessor, 1000, 2_000_000);
+        registry.recordSuccess(txtProcessor, 3000, 2_000_000);
+        registry.recordFailure(txtProcessor, 1_000_000);
+
+        DocumentProcessorRegistry.ProcessorStatistics.Snapshot statistics =
+                registry.getStatistics().get("TxtDocumentProcessor");
+        assertThat(statistics.documents()).isEqualTo(2);
+        assertThat(statistics.failures()).isEqualTo(1);
+        assertThat(statistics.characters()).isEqualTo(4000);
+        assertThat(statistics.elapsedMillis()).isEqualTo(5);
+        assertThat(statistics.charactersPerSecond()).isEqualTo(800_000.0);
+        assertThat(registry.getStatistics().get("DocxDocumentProcessor").documents()).isZero();
+    }
+}
@@ -0,0 +1,56 @@
+package com.vtnet.pdms.infrastructure.document;
+
+import com.vtnet.pdms.domain.model.DocumentVersion;
+import com.vtnet.pdms.infrastructure.storage.DocumentVersionStore;
+import org.apache.poi.wp.usermodel.HeaderFooterType;
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import org.apache.poi.xwpf.usermodel.XWPFRun;
+import org.apache.poi.xwpf.usermodel.XWPFTable;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DocxDocumentProcessorTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Mock
+    private DocumentVersionStore documentVersionStore;
+
+    @Test
+    void extractContent_shouldEmitHeaderParagraphsAndTables() throws IOException {
+        Path file = tempDir.resolve("spec.docx");
+        try (XWPFDocument document = new XWPFDocument(); OutputStream out = Files.newOutputStream(file)) {
+            document.createHeader(HeaderFooterType.DEFAULT).createParagraph().createRun().setText("Confidential");
+            XWPFRun run = document.createParagraph().createRun();
+            run.setText("Scope");
+            run.addTab();
+            run.setText("of work");
+            document.createParagraph().createRun().setText("Second paragraph");
+            XWPFTable table = document.createTable(1, 2);
+            table.getRow(0).getCell(0).setText("Steel");
+            table.getRow(0).getCell(1).setText("12 t");
+            document.write(out);
+        }
+        DocumentVersion version = new DocumentVersion(null, 1, "projects/1/1/spec.docx", 0L, null);
+        when(documentVersionStore.getPath(version)).thenReturn(file);
+
+        String text = new DocxDocumentProcessor(documentVersionStore).extractContent(version);
+
+        assertThat(text).startsWith("Confidential\n");
+        assertThat(text).contains("Scope\tof work\nSecond paragraph\n");
+        assertThat(text).contains("Steel").contains("12 t");
+    }
+}
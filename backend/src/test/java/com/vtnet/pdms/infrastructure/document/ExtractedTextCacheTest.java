@@ -0,0 +1,208 @@
+package com.vtnet.pdms.infrastructure.document;
+
+import com.vtnet.pdms.domain.model.DocumentVersion;
+import com.vtnet.pdms.domain.model.ExtractionCacheEntry;
+import com.vtnet.pdms.domain.repository.ExtractionCacheEntryRepository;
+import com.vtnet.pdms.domain.service.ContentSink;
+import com.vtnet.pdms.domain.service.DocumentProcessor;
+import com.vtnet.pdms.infrastructure.storage.DocumentVersionStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ExtractedTextCacheTest {
+
+    // Precomputed hash; the file is not read when the version already has one
+    private static final String CONTENT_HASH = "0ab7f9bd4d8b3af1f4a0ba8e8a4dba4c8df0b6b91cb9c7e9ac8c6e59d4a3e5a1";
+
+    @TempDir
+    Path tempDir;
+
+    @Mock
+    private ExtractionCacheEntryRepository extractionCacheEntryRepository;
+
+    @Mock
+    private DocumentVersionStore documentVersionStore;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private DocumentProcessor processor;
+
+    private ExtractedTextCache extractedTextCache;
+    private DocumentVersion version;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        ExtractionWorkerPool inProcess = new ExtractionWorkerPool(documentVersionStore, false, 1,
+                Duration.ofMinutes(1), DataSize.ofMegabytes(64), 1000, 10);
+        extractedTextCache = new ExtractedTextCache(extractionCacheEntryRepository, documentVersionStore,
+                inProcess, new DocumentProcessorRegistry(List.of()), transactionManager, true, DataSize.ofKilobytes(1));
+        version = new DocumentVersion(null, 1, "projects/1/1/report.txt", 16L, null);
+        Path file = Files.writeString(tempDir.resolve("report.txt"), "quarterly report");
+        lenient().when(documentVersionStore.getPath(any())).thenReturn(file);
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        lenient().when(processor.getProcessorId()).thenReturn("TxtDocumentProcessor");
+        lenient().when(processor.getProcessorVersion()).thenReturn(1);
+    }
+
+    @Test
+    void extract_miss_shouldRunProcessorAndPersistCompressedResult() throws IOException {
+        when(extractionCacheEntryRepository.findByContentHashAndProcessorIdAndProcessorVersion(anyString(), anyString(), anyInt()))
+                .thenReturn(Optional.empty());
+        extracts("quarterly report");
+
+        String text = extract(version);
+
+        assertThat(text).isEqualTo("quarterly report");
+        assertThat(version.getContentHash()).hasSize(64);
+        ArgumentCaptor<ExtractionCacheEntry> entry = ArgumentCaptor.forClass(ExtractionCacheEntry.class);
+        verify(extractionCacheEntryRepository).save(entry.capture());
+        assertThat(entry.getValue().getContentHash()).isEqualTo(version.getContentHash());
+        assertThat(entry.getValue().getProcessorId()).isEqualTo("TxtDocumentProcessor");
+        assertThat(entry.getValue().getTextLength()).isEqualTo(16L);
+        assertThat(entry.getValue().getCompressedText()).isEqualTo(gzip("quarterly report"));
+        assertThat(entry.getValue().isTruncated()).isFalse();
+    }
+
+    @Test
+    void extract_repeated_shouldServeFromMemoryWithoutParsing() throws IOException {
+        when(extractionCacheEntryRepository.findByContentHashAndProcessorIdAndProcessorVersion(anyString(), anyString(), anyInt()))
+                .thenReturn(Optional.empty());
+        extracts("quarterly report");
+        DocumentVersion duplicate = new DocumentVersion(null, 2, "projects/1/1/copy.txt", 16L, null);
+
+        extract(version);
+        String text = extract(duplicate);
+
+        assertThat(text).isEqualTo("quarterly report");
+        assertThat(duplicate.getContentHash()).isEqualTo(version.getContentHash());
+        verify(processor, times(1)).extractContent(any(DocumentVersion.class), any(ContentSink.class));
+        verify(extractionCacheEntryRepository, times(1))
+                .findByContentHashAndProcessorIdAndProcessorVersion(anyString(), anyString(), anyInt());
+    }
+
+    @Test
+    void extract_persistedHit_shouldNotRunProcessor() throws IOException {
+        version.setContentHash(CONTENT_HASH);
+        when(extractionCacheEntryRepository.findByContentHashAndProcessorIdAndProcessorVersion(CONTENT_HASH, "TxtDocumentProcessor", 1))
+                .thenReturn(Optional.of(new ExtractionCacheEntry(CONTENT_HASH, "TxtDocumentProcessor", 1,
+                        gzip("cached text"), 11L)));
+
+        String text = extract(version);
+
+        assertThat(text).isEqualTo("cached text");
+        verify(processor, never()).extractContent(any(DocumentVersion.class), any(ContentSink.class));
+        verify(documentVersionStore, never()).getPath(any());
+    }
+
+    @Test
+    void extract_entryCutOffBelowLimit_shouldExtractAgainAndReplaceIt() throws IOException {
+        version.setContentHash(CONTENT_HASH);
+        ExtractionCacheEntry cutOff = new ExtractionCacheEntry(CONTENT_HASH, "TxtDocumentProcessor", 1,
+                gzip("quarterly"), 9L);
+        cutOff.setTruncated(true);
+        when(extractionCacheEntryRepository.findByContentHashAndProcessorIdAndProcessorVersion(CONTENT_HASH, "TxtDocumentProcessor", 1))
+                .thenReturn(Optional.of(cutOff));
+        extracts("quarterly report");
+
+        String text = extract(version);
+
+        // Processors running in the application have no output limit
+        assertThat(text).isEqualTo("quarterly report");
+        verify(extractionCacheEntryRepository).save(cutOff);
+        assertThat(cutOff.isTruncated()).isFalse();
+        assertThat(cutOff.getTextLength()).isEqualTo(16L);
+        assertThat(cutOff.getCompressedText()).isEqualTo(gzip("quarterly report"));
+    }
+
+    @Test
+    void extract_memoryTier_shouldEvictLeastRecentlyUsedEntries() throws IOException {
+        when(extractionCacheEntryRepository.findByContentHashAndProcessorIdAndProcessorVersion(anyString(), anyString(), anyInt()))
+                .thenReturn(Optional.empty());
+        extracts("x".repeat(300));
+
+        for (int i = 0; i < 5; i++) {
+            DocumentVersion other = new DocumentVersion(null, i + 1, "projects/1/1/" + i, 300L, null);
+            other.setContentHash(Integer.toString(i));
+            extract(other);
+        }
+
+        assertThat(extractedTextCache.getMemoryBytes()).isLessThanOrEqualTo(1024);
+    }
+
+    @Test
+    void extract_miss_shouldPassTextOnAsItIsExtracted() throws IOException {
+        when(extractionCacheEntryRepository.findByContentHashAndProcessorIdAndProcessorVersion(anyString(), anyString(), anyInt()))
+                .thenReturn(Optional.empty());
+        List<String> received = new ArrayList<>();
+        doAnswer(invocation -> {
+            ContentSink sink = invocation.getArgument(1);
+            sink.append("quarterly ");
+            // The first piece reached the caller before the processor finished
+            assertThat(received).containsExactly("quarterly ");
+            sink.append("report");
+            return null;
+        }).when(processor).extractContent(any(DocumentVersion.class), any(ContentSink.class));
+
+        extractedTextCache.extract(version, processor, received::add);
+
+        assertThat(received).containsExactly("quarterly ", "report");
+        ArgumentCaptor<ExtractionCacheEntry> entry = ArgumentCaptor.forClass(ExtractionCacheEntry.class);
+        verify(extractionCacheEntryRepository).save(entry.capture());
+        assertThat(entry.getValue().getCompressedText()).isEqualTo(gzip("quarterly report"));
+    }
+
+    private String extract(DocumentVersion documentVersion) throws IOException {
+        StringBuilder text = new StringBuilder();
+        extractedTextCache.extract(documentVersion, processor, text::append);
+        return text.toString();
+    }
+
+    private void extracts(String text) throws IOException {
+        doAnswer(invocation -> {
+            invocation.<ContentSink>getArgument(1).append(text);
+            return null;
+        }).when(processor).extractContent(any(DocumentVersion.class), any(ContentSink.class));
+    }
+
+    private static byte[] gzip(String text) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream gzip = new GZIPOutputStream(bytes, 64 * 1024)) {
+            gzip.write(text.getBytes(StandardCharsets.UTF_8));
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,156 @@
+package com.vtnet.pdms.infrastructure.document;
+
+import com.vtnet.pdms.domain.model.DocumentVersion;
+import com.vtnet.pdms.domain.service.DocumentProcessor;
+import com.vtnet.pdms.infrastructure.storage.DocumentVersionStore;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ExtractionWorkerPoolTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Mock
+    private DocumentVersionStore documentVersionStore;
+
+    private ExtractionWorkerPool extractionWorkerPool;
+
+    @AfterEach
+    void tearDown() {
+        if (extractionWorkerPool != null) {
+            extractionWorkerPool.shutdown();
+        }
+    }
+
+    @Test
+    void extract_shouldRunProcessorInWorkerJvm() throws IOException {
+        extractionWorkerPool = new ExtractionWorkerPool(documentVersionStore, true, 1,
+                Duration.ofMinutes(1), DataSize.ofMegabytes(128), 1000, 10);
+        DocumentVersion first = textVersion("minutes.txt", "Site meeting minutes\nAttendees: 4");
+        DocumentVersion second = textVersion("notes.txt", "Second document");
+        TxtDocumentProcessor processor = new TxtDocumentProcessor(documentVersionStore, 1_000_000);
+
+        assertThat(extract(first, processor)).isEqualTo("Site meeting minutes\nAttendees: 4");
+        assertThat(extract(second, processor)).isEqualTo("Second document");
+    }
+
+    @Test
+    void extract_longText_shouldBeCutOffAtOutputLimit() throws IOException {
+        extractionWorkerPool = new ExtractionWorkerPool(documentVersionStore, true, 1,
+                Duration.ofMinutes(1), DataSize.ofMegabytes(128), 50_000, 10);
+        DocumentVersion version = textVersion("large.txt", "0123456789".repeat(20_000));
+
+        StringBuilder text = new StringBuilder();
+        boolean truncated = extractionWorkerPool.extract(version,
+                new TxtDocumentProcessor(documentVersionStore, 1_000_000), text::append);
+
+        assertThat(truncated).isTrue();
+        assertThat(text).hasSize(50_000).startsWith("0123456789");
+        assertThat(extractionWorkerPool.getMaxOutputChars()).isEqualTo(50_000);
+    }
+
+    @Test
+    void extract_failingProcessor_shouldReportErrorAndKeepWorking() throws IOException {
+        extractionWorkerPool = new ExtractionWorkerPool(documentVersionStore, true, 1,
+                Duration.ofMinutes(1), DataSize.ofMegabytes(128), 1000, 10);
+        Path corrupt = Files.writeString(tempDir.resolve("corrupt.pdf"), "not a pdf");
+        DocumentVersion corruptVersion = new DocumentVersion(null, 1, "projects/1/1/corrupt.pdf", 9L, null);
+        when(documentVersionStore.getPath(corruptVersion)).thenReturn(corrupt);
+        PdfDocumentProcessor pdfProcessor = new PdfDocumentProcessor(documentVersionStore, 1, 16);
+        try {
+            assertThatThrownBy(() -> extract(corruptVersion, pdfProcessor))
+                    .isInstanceOf(IOException.class);
+        } finally {
+            pdfProcessor.shutdown();
+        }
+
+        DocumentVersion version = textVersion("ok.txt", "still working");
+        assertThat(extract(version, new TxtDocumentProcessor(documentVersionStore, 1_000_000)))
+                .isEqualTo("still working");
+    }
+
+    @Test
+    void extract_slowDocument_shouldTimeOutAndReplaceWorker() throws IOException {
+        extractionWorkerPool = new ExtractionWorkerPool(documentVersionStore, true, 1,
+                Duration.ofMillis(1), DataSize.ofMegabytes(128), 1_000_000, 10);
+        Path pdf = tempDir.resolve("drawings.pdf");
+        writePdf(pdf, 50);
+        DocumentVersion pdfVersion = new DocumentVersion(null, 1, "projects/1/1/drawings.pdf", 0L, null);
+        when(documentVersionStore.getPath(pdfVersion)).thenReturn(pdf);
+        PdfDocumentProcessor pdfProcessor = new PdfDocumentProcessor(documentVersionStore, 1, 16);
+        try {
+            assertThatThrownBy(() -> extract(pdfVersion, pdfProcessor))
+                    .isInstanceOf(IOException.class)
+                    .hasMessageContaining("timed out");
+        } finally {
+            pdfProcessor.shutdown();
+        }
+    }
+
+    @Test
+    void extract_failingSink_shouldStopJobAndReplaceWorker() throws IOException {
+        extractionWorkerPool = new ExtractionWorkerPool(documentVersionStore, true, 1,
+                Duration.ofMinutes(1), DataSize.ofMegabytes(128), 1_000_000, 10);
+        DocumentVersion version = textVersion("large.txt", "0123456789".repeat(20_000));
+        TxtDocumentProcessor processor = new TxtDocumentProcessor(documentVersionStore, 1_000_000);
+
+        assertThatThrownBy(() -> extractionWorkerPool.extract(version, processor, text -> {
+            throw new IOException("Sink is full");
+        })).isInstanceOf(IOException.class).hasMessage("Sink is full");
+
+        assertThat(extract(textVersion("ok.txt", "still working"), processor)).isEqualTo("still working");
+    }
+
+    private String extract(DocumentVersion version, DocumentProcessor processor) throws IOException {
+        StringBuilder text = new StringBuilder();
+        assertThat(extractionWorkerPool.extract(version, processor, text::append)).isFalse();
+        return text.toString();
+    }
+
+    private DocumentVersion textVersion(String name, String content) throws IOException {
+        Path file = Files.writeString(tempDir.resolve(name), content);
+        DocumentVersion version = new DocumentVersion(null, 1, "projects/1/1/" + name, (long) content.length(), null);
+        version.setId((long) name.hashCode());
+        when(documentVersionStore.getPath(version)).thenReturn(file);
+        return version;
+    }
+
+    private static void writePdf(Path file, int pages) throws IOException {
+        try (PDDocument document = new PDDocument()) {
+            PDType1Font font = new PDType1Font(Standard14Fonts.FontName.HELVETICA);
+            for (int page = 1; page <= pages; page++) {
+                PDPage pdPage = new PDPage();
+                document.addPage(pdPage);
+                try (PDPageContentStream content = new PDPageContentStream(document, pdPage)) {
+                    content.beginText();
+                    content.setFont(font, 12);
+                    content.newLineAtOffset(72, 700);
+                    content.showText("Drawing sheet " + page);
+                    content.endText();
+                }
+            }
+            document.save(file.toFile());
+        }
+    }
+}
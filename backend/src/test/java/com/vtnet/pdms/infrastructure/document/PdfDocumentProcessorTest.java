@@ -0,0 +1,121 @@
+package com.vtnet.pdms.infrastructure.document;
+
+import com.vtnet.pdms.domain.model.DocumentVersion;
+import com.vtnet.pdms.infrastructure.storage.DocumentVersionStore;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PdfDocumentProcessorTest {
+
+    private static final int PAGE_COUNT = 23;
+
+    @TempDir
+    Path tempDir;
+
+    @Mock
+    private DocumentVersionStore documentVersionStore;
+
+    private PdfDocumentProcessor pdfDocumentProcessor;
+    private DocumentVersion version;
+    private Path pdf;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        pdfDocumentProcessor = new PdfDocumentProcessor(documentVersionStore, 3, 4);
+        version = new DocumentVersion(null, 1, "projects/1/1/tender.pdf", 0L, null);
+        pdf = tempDir.resolve("tender.pdf");
+        writePdf(pdf, PAGE_COUNT);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pdfDocumentProcessor.shutdown();
+    }
+
+    @Test
+    void extractContent_shouldMatchSingleThreadedExtraction() throws IOException {
+        when(documentVersionStore.getPath(version)).thenReturn(pdf);
+
+        String text = pdfDocumentProcessor.extractContent(version);
+
+        String expected;
+        try (PDDocument document = Loader.loadPDF(pdf.toFile())) {
+            expected = PdfDocumentProcessor.newStripper().getText(document);
+        }
+        assertThat(text).isEqualTo(expected);
+    }
+
+    @Test
+    void extractContent_withSink_shouldDeliverPageRangesInOrder() throws IOException {
+        when(documentVersionStore.getPath(version)).thenReturn(pdf);
+        List<String> pieces = new ArrayList<>();
+
+        pdfDocumentProcessor.extractContent(version, pieces::add);
+
+        // 23 pages in ranges of 4
+        assertThat(pieces).hasSize(6);
+        assertThat(pieces.get(0)).contains("Page 1 ").contains("Page 4 ").doesNotContain("Page 5 ");
+        assertThat(pieces.get(5)).contains("Page 21 ").contains("Page 23 ");
+        String joined = String.join("", pieces);
+        for (int page = 2; page <= PAGE_COUNT; page++) {
+            assertThat(joined.indexOf("Page " + page + " ")).isGreaterThan(joined.indexOf("Page " + (page - 1) + " "));
+        }
+    }
+
+    @Test
+    void extractContent_failingSink_shouldStopExtraction() throws IOException {
+        when(documentVersionStore.getPath(version)).thenReturn(pdf);
+
+        assertThatThrownBy(() -> pdfDocumentProcessor.extractContent(version, text -> {
+            throw new IOException("sink closed");
+        })).isInstanceOf(IOException.class).hasMessage("sink closed");
+    }
+
+    @Test
+    void extractContent_corruptFile_shouldThrow() throws IOException {
+        Path corrupt = Files.writeString(tempDir.resolve("corrupt.pdf"), "not a pdf");
+        when(documentVersionStore.getPath(version)).thenReturn(corrupt);
+
+        assertThatThrownBy(() -> pdfDocumentProcessor.extractContent(version)).isInstanceOf(IOException.class);
+    }
+
+    private static void writePdf(Path file, int pages) throws IOException {
+        try (PDDocument document = new PDDocument()) {
+            PDType1Font font = new PDType1Font(Standard14Fonts.FontName.HELVETICA);
+            for (int page = 1; page <= pages; page++) {
+                PDPage pdPage = new PDPage();
+                document.addPage(pdPage);
+                try (PDPageContentStream content = new PDPageContentStream(document, pdPage)) {
+                    content.beginText();
+                    content.setFont(font, 12);
+                    content.newLineAtOffset(72, 700);
+                    content.showText("Page " + page + " of the tender documents");
+                    content.endText();
+                }
+            }
+            document.save(file.toFile());
+        }
+    }
+}
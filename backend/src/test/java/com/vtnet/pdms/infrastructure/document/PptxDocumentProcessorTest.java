@@ -0,0 +1,59 @@
+package com.vtnet.pdms.infrastructure.document;
+
+import com.vtnet.pdms.domain.model.DocumentVersion;
+import com.vtnet.pdms.infrastructure.storage.DocumentVersionStore;
+import org.apache.poi.xslf.usermodel.XMLSlideShow;
+import org.apache.poi.xslf.usermodel.XSLFNotes;
+import org.apache.poi.xslf.usermodel.XSLFSlide;
+import org.apache.poi.xslf.usermodel.XSLFTextBox;
+import org.apache.poi.xslf.usermodel.XSLFTextShape;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PptxDocumentProcessorTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Mock
+    private DocumentVersionStore documentVersionStore;
+
+    @Test
+    void extractContent_shouldEmitSlidesInPresentationOrderWithNotes() throws IOException {
+        Path file = tempDir.resolve("kickoff.pptx");
+        try (XMLSlideShow show = new XMLSlideShow(); OutputStream out = Files.newOutputStream(file)) {
+            XSLFSlide first = show.createSlide();
+            XSLFTextBox title = first.createTextBox();
+            title.setText("Project kickoff");
+            XSLFNotes notes = show.getNotesSlide(first);
+            for (XSLFTextShape shape : notes.getPlaceholders()) {
+                shape.setText("Welcome everyone");
+            }
+            XSLFSlide second = show.createSlide();
+            second.createTextBox().setText("Milestones");
+            // Move the second slide to the front; part names no longer match the order
+            show.setSlideOrder(second, 0);
+            show.write(out);
+        }
+        DocumentVersion version = new DocumentVersion(null, 1, "projects/1/1/kickoff.pptx", 0L, null);
+        when(documentVersionStore.getPath(version)).thenReturn(file);
+
+        String text = new PptxDocumentProcessor(documentVersionStore).extractContent(version);
+
+        assertThat(text).startsWith("Milestones\n");
+        assertThat(text).contains("Project kickoff\n");
+        assertThat(text.indexOf("Welcome everyone")).isGreaterThan(text.indexOf("Project kickoff"));
+    }
+}
@@ -0,0 +1,108 @@
+package com.vtnet.pdms.infrastructure.document;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TextChunkerTest {
+
+    private static final String SENTENCE = "Tầng hầm được đổ bê tông vào ngày thứ hai. ";
+
+    @Test
+    void chunk_shouldCutAtSentenceBoundariesWithinTokenLimit() {
+        TextChunker chunker = new TextChunker(30, 0);
+        String text = SENTENCE.repeat(10);
+
+        List<TextChunker.TextChunk> chunks = chunker.chunk(text);
+
+        // Each sentence has 11 tokens, so two fit in a chunk
+        assertThat(chunks).hasSize(5);
+        assertThat(chunks).allSatisfy(chunk -> {
+            assertThat(chunk.tokenCount()).isLessThanOrEqualTo(30);
+            assertThat(chunk.text()).startsWith("Tầng").endsWith("hai.");
+            assertThat(text.substring((int) chunk.startOffset(), (int) chunk.endOffset())).isEqualTo(chunk.text());
+        });
+        assertThat(chunks).extracting(TextChunker.TextChunk::ordinal).containsExactly(0, 1, 2, 3, 4);
+    }
+
+    @Test
+    void chunk_shouldOverlapConsecutiveChunksBySentences() {
+        TextChunker chunker = new TextChunker(35, 12);
+        String text = SENTENCE.repeat(9);
+
+        List<TextChunker.TextChunk> chunks = chunker.chunk(text);
+
+        // Three sentences per chunk, the last of which starts the next chunk
+        assertThat(chunks).hasSize(4);
+        for (int i = 1; i < chunks.size(); i++) {
+            TextChunker.TextChunk previous = chunks.get(i - 1);
+            TextChunker.TextChunk next = chunks.get(i);
+            assertThat(next.startOffset()).isLessThan(previous.endOffset());
+            assertThat(previous.endOffset() - next.startOffset()).isEqualTo(SENTENCE.trim().length());
+        }
+    }
+
+    @Test
+    void chunk_shouldNotSpanPageBreaks() {
+        TextChunker chunker = new TextChunker(100, 20);
+        String text = "First page. Still first.\n\f" + "Second page.\n\f\f" + "Fourth page.";
+
+        List<TextChunker.TextChunk> chunks = chunker.chunk(text);
+
+        assertThat(chunks).extracting(TextChunker.TextChunk::text)
+                .containsExactly("First page. Still first.", "Second page.", "Fourth page.");
+        assertThat(chunks).extracting(TextChunker.TextChunk::pageNumber).containsExactly(1, 2, 4);
+    }
+
+    @Test
+    void chunk_shouldSplitOverlongSentenceBetweenWords() {
+        TextChunker chunker = new TextChunker(10, 0);
+        String text = "word ".repeat(25).trim();
+
+        List<TextChunker.TextChunk> chunks = chunker.chunk(text);
+
+        assertThat(chunks).extracting(TextChunker.TextChunk::tokenCount).containsExactly(10, 10, 5);
+        assertThat(chunks).allSatisfy(chunk -> assertThat(chunk.text()).startsWith("word").endsWith("word"));
+    }
+
+    @Test
+    void open_shouldProduceSameChunksWhenTextArrivesInPieces() throws IOException {
+        TextChunker chunker = new TextChunker(50, 10);
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 2000; i++) {
+            text.append("Sentence number ").append(i).append(" is here.");
+            text.append(i % 7 == 0 ? "\n\n" : " ");
+            if (i % 500 == 499) {
+                text.append('\f');
+            }
+        }
+
+        List<TextChunker.TextChunk> streamed = new ArrayList<>();
+        TextChunker.ChunkingSink sink = chunker.open(streamed::add);
+        for (int i = 0; i < text.length(); i += 1000) {
+            sink.append(text.substring(i, Math.min(text.length(), i + 1000)));
+        }
+        sink.finish();
+
+        assertThat(streamed).isEqualTo(chunker.chunk(text.toString()));
+        assertThat(streamed.get(streamed.size() - 1).pageNumber()).isEqualTo(4);
+    }
+
+    @Test
+    void chunk_shouldHashChunkText() {
+        List<TextChunker.TextChunk> chunks = new TextChunker(100, 0).chunk("Same text.\f Same text.");
+
+        assertThat(chunks).hasSize(2);
+        assertThat(chunks.get(0).hash()).hasSize(64).isEqualTo(chunks.get(1).hash());
+    }
+
+    @Test
+    void constructor_shouldRejectOverlapNotSmallerThanChunk() {
+        assertThatThrownBy(() -> new TextChunker(10, 10)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,75 @@
+package com.vtnet.pdms.infrastructure.document;
+
+import com.vtnet.pdms.domain.model.DocumentVersion;
+import com.vtnet.pdms.infrastructure.storage.DocumentVersionStore;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TikaDocumentProcessorTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Mock
+    private DocumentVersionStore documentVersionStore;
+
+    private final DocumentVersion version = new DocumentVersion(null, 1, "projects/1/1/page.html", 0L, null);
+
+    @Test
+    void extractContent_html_shouldReturnBodyText() throws IOException {
+        Path html = Files.writeString(tempDir.resolve("page.html"),
+                "<html><head><title>Ignored</title><script>var x = 1;</script></head>"
+                        + "<body><h1>Site plan</h1><p>Foundation works start in May.</p></body></html>");
+        when(documentVersionStore.getPath(version)).thenReturn(html);
+
+        String text = new TikaDocumentProcessor(documentVersionStore, 1000).extractContent(version);
+
+        assertThat(text).contains("Site plan").contains("Foundation works start in May.");
+        assertThat(text).doesNotContain("var x").doesNotContain("<p>");
+    }
+
+    @Test
+    void extractContent_rtf_shouldReturnText() throws IOException {
+        Path rtf = Files.writeString(tempDir.resolve("letter.rtf"),
+                "{\\rtf1\\ansi{\\fonttbl\\f0\\fswiss Helvetica;}\\f0\\pard Tender clarification letter\\par}");
+        when(documentVersionStore.getPath(version)).thenReturn(rtf);
+
+        String text = new TikaDocumentProcessor(documentVersionStore, 1000).extractContent(version);
+
+        assertThat(text).contains("Tender clarification letter");
+    }
+
+    @Test
+    void extractContent_longDocument_shouldStopAtCharacterLimit() throws IOException {
+        Path html = Files.writeString(tempDir.resolve("long.html"),
+                "<html><body><p>" + "concrete ".repeat(10_000) + "</p></body></html>");
+        when(documentVersionStore.getPath(version)).thenReturn(html);
+
+        String text = new TikaDocumentProcessor(documentVersionStore, 500).extractContent(version);
+
+        assertThat(text.length()).isLessThanOrEqualTo(500);
+        assertThat(text).startsWith("concrete concrete");
+    }
+
+    @Test
+    void extractContent_failingSink_shouldThrowSinkException() throws IOException {
+        Path html = Files.writeString(tempDir.resolve("page.html"), "<html><body><p>text</p></body></html>");
+        when(documentVersionStore.getPath(version)).thenReturn(html);
+
+        assertThatThrownBy(() -> new TikaDocumentProcessor(documentVersionStore, 1000).extractContent(version, text -> {
+            throw new IOException("sink closed");
+        })).isInstanceOf(IOException.class).hasMessage("sink closed");
+    }
+}
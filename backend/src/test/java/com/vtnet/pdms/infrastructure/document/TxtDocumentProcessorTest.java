@@ -0,0 +1,105 @@
+package com.vtnet.pdms.infrastructure.document;
+
+import com.vtnet.pdms.domain.model.DocumentVersion;
+import com.vtnet.pdms.infrastructure.storage.DocumentVersionStore;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TxtDocumentProcessorTest {
+
+    private static final String VIETNAMESE = "Báo cáo tiến độ thi công tầng hầm, ngày 12/3\n";
+
+    @TempDir
+    Path tempDir;
+
+    @Mock
+    private DocumentVersionStore documentVersionStore;
+
+    private final DocumentVersion version = new DocumentVersion(null, 1, "projects/1/1/log.txt", 0L, null);
+
+    @Test
+    void extractContent_utf8_shouldDecodeVietnameseText() throws IOException {
+        assertThat(extract(VIETNAMESE.getBytes(StandardCharsets.UTF_8), 1000)).isEqualTo(VIETNAMESE);
+    }
+
+    @Test
+    void extractContent_utf8WithBom_shouldSkipBom() throws IOException {
+        byte[] text = VIETNAMESE.getBytes(StandardCharsets.UTF_8);
+        byte[] bytes = new byte[text.length + 3];
+        bytes[0] = (byte) 0xEF;
+        bytes[1] = (byte) 0xBB;
+        bytes[2] = (byte) 0xBF;
+        System.arraycopy(text, 0, bytes, 3, text.length);
+
+        assertThat(extract(bytes, 1000)).isEqualTo(VIETNAMESE);
+    }
+
+    @Test
+    void extractContent_windows1258_shouldBeDetected() throws IOException {
+        Charset windows1258 = Charset.forName("windows-1258");
+        // Windows-1258 composes tone marks, so compare with text that maps one to one
+        String text = "Bản vẽ thi công đã được phê duyệt\n";
+
+        assertThat(extract(text.getBytes(windows1258), 1000)).isEqualTo(new String(text.getBytes(windows1258), windows1258));
+        assertThat(TxtDocumentProcessor.detectCharset(ByteBuffer.wrap(text.getBytes(windows1258))).charset())
+                .isEqualTo(windows1258);
+    }
+
+    @Test
+    void extractContent_utf16_shouldBeDetectedWithAndWithoutBom() throws IOException {
+        assertThat(extract(VIETNAMESE.getBytes(StandardCharsets.UTF_16), 1000)).isEqualTo(VIETNAMESE);
+        assertThat(extract("Site log\nentry 1\n".getBytes(StandardCharsets.UTF_16LE), 1000)).isEqualTo("Site log\nentry 1\n");
+        assertThat(extract("Site log\nentry 1\n".getBytes(StandardCharsets.UTF_16BE), 1000)).isEqualTo("Site log\nentry 1\n");
+    }
+
+    @Test
+    void extractContent_shouldStopAtCharacterLimit() throws IOException {
+        assertThat(extract("0123456789".repeat(1000).getBytes(StandardCharsets.UTF_8), 25)).isEqualTo("0123456789012345678901234");
+    }
+
+    @Test
+    void extractContent_characterAcrossWindowBoundary_shouldBeDecoded() throws IOException {
+        // Three-byte characters do not divide the window size, so one straddles each boundary
+        Path file = tempDir.resolve("large.txt");
+        byte[] block = "ạ".repeat(64 * 1024).getBytes(StandardCharsets.UTF_8);
+        int blocks = TxtDocumentProcessor.WINDOW_SIZE / block.length + 2;
+        try (OutputStream out = Files.newOutputStream(file)) {
+            for (int i = 0; i < blocks; i++) {
+                out.write(block);
+            }
+        }
+        when(documentVersionStore.getPath(version)).thenReturn(file);
+        AtomicLong characters = new AtomicLong();
+        AtomicLong unexpected = new AtomicLong();
+
+        new TxtDocumentProcessor(documentVersionStore, Long.MAX_VALUE).extractContent(version, text -> {
+            characters.addAndGet(text.length());
+            unexpected.addAndGet(text.chars().filter(c -> c != 'ạ').count());
+        });
+
+        assertThat(characters.get()).isEqualTo(64L * 1024 * blocks);
+        assertThat(unexpected.get()).isZero();
+    }
+
+    private String extract(byte[] content, long maxChars) throws IOException {
+        Path file = Files.write(tempDir.resolve("log.txt"), content);
+        when(documentVersionStore.getPath(version)).thenReturn(file);
+        return new TxtDocumentProcessor(documentVersionStore, maxChars).extractContent(version);
+    }
+}
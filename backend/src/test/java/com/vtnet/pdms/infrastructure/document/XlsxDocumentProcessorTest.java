@@ -0,0 +1,95 @@
+package com.vtnet.pdms.infrastructure.document;
+
+import com.vtnet.pdms.domain.model.DocumentVersion;
+import com.vtnet.pdms.infrastructure.storage.DocumentVersionStore;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class XlsxDocumentProcessorTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Mock
+    private DocumentVersionStore documentVersionStore;
+
+    private XlsxDocumentProcessor xlsxDocumentProcessor;
+    private DocumentVersion version;
+
+    @BeforeEach
+    void setUp() {
+        xlsxDocumentProcessor = new XlsxDocumentProcessor(documentVersionStore);
+        version = new DocumentVersion(null, 1, "projects/1/1/boq.xlsx", 0L, null);
+    }
+
+    @Test
+    void canProcess_shouldAcceptSpreadsheetMimeTypes() {
+        assertThat(xlsxDocumentProcessor.canProcess("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet")).isTrue();
+        assertThat(xlsxDocumentProcessor.canProcess("application/pdf")).isFalse();
+        assertThat(xlsxDocumentProcessor.canProcess(null)).isFalse();
+    }
+
+    @Test
+    void extractContent_shouldEmitSheetsAsTabSeparatedRows() throws IOException {
+        Path file = tempDir.resolve("boq.xlsx");
+        try (XSSFWorkbook workbook = new XSSFWorkbook(); OutputStream out = Files.newOutputStream(file)) {
+            Sheet items = workbook.createSheet("Items");
+            Row header = items.createRow(0);
+            header.createCell(0).setCellValue("Item");
+            header.createCell(1).setCellValue("Quantity");
+            Row row = items.createRow(1);
+            row.createCell(0).setCellValue("Concrete");
+            row.createCell(1).setCellValue(42);
+            workbook.createSheet("Notes").createRow(0).createCell(0).setCellValue("Prices exclude VAT");
+            workbook.write(out);
+        }
+        when(documentVersionStore.getPath(version)).thenReturn(file);
+
+        String text = xlsxDocumentProcessor.extractContent(version);
+
+        assertThat(text).isEqualTo("Items\nItem\tQuantity\nConcrete\t42\nNotes\nPrices exclude VAT\n");
+    }
+
+    @Test
+    void extractContent_largeSheet_shouldBeDeliveredInBoundedPieces() throws IOException {
+        Path file = tempDir.resolve("large.xlsx");
+        try (SXSSFWorkbook workbook = new SXSSFWorkbook(100); OutputStream out = Files.newOutputStream(file)) {
+            Sheet sheet = workbook.createSheet("Quantities");
+            for (int i = 0; i < 20000; i++) {
+                Row row = sheet.createRow(i);
+                row.createCell(0).setCellValue("Line item " + i);
+                row.createCell(1).setCellValue(i);
+            }
+            workbook.write(out);
+            workbook.dispose();
+        }
+        when(documentVersionStore.getPath(version)).thenReturn(file);
+        List<String> pieces = new ArrayList<>();
+
+        xlsxDocumentProcessor.extractContent(version, pieces::add);
+
+        assertThat(pieces.size()).isGreaterThan(1);
+        assertThat(pieces).allSatisfy(piece ->
+                assertThat(piece.length()).isLessThan(OoxmlStreaming.FLUSH_THRESHOLD + 100));
+        assertThat(String.join("", pieces)).contains("Line item 19999\t19999\n");
+    }
+}
@@ -0,0 +1,153 @@
+package com.vtnet.pdms.infrastructure.search;
+
+import com.vtnet.pdms.application.mapper.ReindexJobMapper;
+import com.vtnet.pdms.application.service.DocumentIndexingQueue;
+import com.vtnet.pdms.domain.repository.DocumentChunkRepository;
+import com.vtnet.pdms.domain.repository.DocumentChunkRepository.FullTextMatchView;
+import com.vtnet.pdms.domain.repository.ReindexJobRepository;
+import com.vtnet.pdms.domain.service.SearchIndexService.SearchMode;
+import com.vtnet.pdms.infrastructure.document.DocumentProcessorRegistry;
+import com.vtnet.pdms.infrastructure.document.DocumentProcessorRegistry.ProcessorStatistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.InvalidDataAccessResourceUsageException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MySqlFullTextSearchIndexServiceTest {
+
+    @Mock
+    private DocumentChunkRepository documentChunkRepository;
+
+    @Mock
+    private ReindexJobRepository reindexJobRepository;
+
+    @Mock
+    private ReindexJobMapper reindexJobMapper;
+
+    @Mock
+    private DocumentIndexingQueue documentIndexingQueue;
+
+    @Mock
+    private DocumentProcessorRegistry documentProcessorRegistry;
+
+    @InjectMocks
+    private MySqlFullTextSearchIndexService searchIndexService;
+
+    @Test
+    void search_shouldRankDocumentsByFullTextRelevance() {
+        PageRequest pageable = PageRequest.of(1, 10);
+        FullTextMatchView match = mock(FullTextMatchView.class);
+        when(match.getDocumentId()).thenReturn(5L);
+        when(match.getDocumentName()).thenReturn("báo cáo.pdf");
+        when(match.getDocumentVersionId()).thenReturn(8L);
+        when(match.getScore()).thenReturn(2.5);
+        when(match.getMatchCount()).thenReturn(3L);
+        when(documentChunkRepository.searchFullTextNaturalLanguage("thiết kế", 1L, pageable))
+                .thenReturn(new PageImpl<>(List.of(match), pageable, 11));
+
+        Page<Map<String, Object>> results = searchIndexService.search(" thiết kế ", 1L, SearchMode.NATURAL_LANGUAGE, pageable);
+
+        assertThat(results.getTotalElements()).isEqualTo(11);
+        assertThat(results.getContent()).singleElement().satisfies(result -> assertThat(result)
+                .containsEntry("documentId", 5L)
+                .containsEntry("documentVersionId", 8L)
+                .containsEntry("score", 2.5)
+                .containsEntry("matchCount", 3L));
+    }
+
+    @Test
+    void search_shouldUseBooleanModeAndRejectMalformedQueries() {
+        PageRequest pageable = PageRequest.of(0, 20);
+        when(documentChunkRepository.searchFullTextBoolean("+\"bản vẽ\" -nháp", null, pageable))
+                .thenReturn(Page.empty(pageable));
+
+        assertThat(searchIndexService.search("+\"bản vẽ\" -nháp", null, SearchMode.BOOLEAN, pageable)).isEmpty();
+        verify(documentChunkRepository).searchFullTextBoolean("+\"bản vẽ\" -nháp", null, pageable);
+
+        assertThatThrownBy(() -> searchIndexService.search("+\"bản vẽ -nháp", null, SearchMode.BOOLEAN, pageable))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> searchIndexService.search("+(a b", null, SearchMode.BOOLEAN, pageable))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> searchIndexService.search("a) (b", null, SearchMode.BOOLEAN, pageable))
+                .isInstanceOf(IllegalArgumentException.class);
+        for (String invalid : List.of("bản vẽ +", "+-nháp", "a ( ) b", "*vẽ", "a (b -)")) {
+            assertThatThrownBy(() -> searchIndexService.search(invalid, null, SearchMode.BOOLEAN, pageable))
+                    .as(invalid).isInstanceOf(IllegalArgumentException.class);
+        }
+        // Hyphens and truncation within words are not operators
+        when(documentChunkRepository.searchFullTextBoolean("e-mail vẽ*", null, pageable)).thenReturn(Page.empty(pageable));
+        assertThat(searchIndexService.search("e-mail vẽ*", null, SearchMode.BOOLEAN, pageable)).isEmpty();
+    }
+
+    @Test
+    void search_shouldReportBooleanSyntaxErrorsOfMySqlAsInvalidQueries() {
+        PageRequest pageable = PageRequest.of(0, 20);
+        when(documentChunkRepository.searchFullTextBoolean("a @ b", null, pageable))
+                .thenThrow(new InvalidDataAccessResourceUsageException("syntax error, unexpected '@'"));
+
+        assertThatThrownBy(() -> searchIndexService.search("a @ b", null, SearchMode.BOOLEAN, pageable))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void search_shouldIgnoreTheSortOfThePage() {
+        when(documentChunkRepository.searchFullTextNaturalLanguage(anyString(), any(), any()))
+                .thenReturn(Page.empty());
+
+        searchIndexService.search("móng", 1L, SearchMode.NATURAL_LANGUAGE, PageRequest.of(2, 10, Sort.by("name")));
+
+        verify(documentChunkRepository).searchFullTextNaturalLanguage("móng", 1L, PageRequest.of(2, 10));
+    }
+
+    @Test
+    void search_shouldNotQueryForBlankOrOverlongQueries() {
+        PageRequest pageable = PageRequest.of(0, 20);
+
+        assertThat(searchIndexService.search("  ", 1L, SearchMode.NATURAL_LANGUAGE, pageable)).isEmpty();
+        assertThatThrownBy(() -> searchIndexService.search(
+                "x".repeat(MySqlFullTextSearchIndexService.MAX_QUERY_LENGTH + 1), 1L, SearchMode.NATURAL_LANGUAGE, pageable))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(documentChunkRepository);
+    }
+
+    @Test
+    void searchWithMaxResults_shouldReturnFirstPageOfNaturalLanguageSearch() {
+        when(documentChunkRepository.searchFullTextNaturalLanguage(anyString(), any(), any()))
+                .thenReturn(Page.empty());
+
+        assertThat(searchIndexService.search("móng cọc", 2L, 5)).isEmpty();
+        verify(documentChunkRepository).searchFullTextNaturalLanguage("móng cọc", 2L, PageRequest.of(0, 5));
+    }
+
+    @Test
+    void getIndexStatus_shouldReportExtractionCountersPerProcessor() {
+        when(documentProcessorRegistry.getStatistics()).thenReturn(Map.of(
+                "PdfDocumentProcessor", new ProcessorStatistics.Snapshot(4, 1, 20_000, 2_000)));
+
+        Map<String, Object> status = searchIndexService.getIndexStatus();
+
+        assertThat(status).containsEntry("engine", "mysql");
+        assertThat(status.get("extraction")).isEqualTo(Map.of("PdfDocumentProcessor", Map.of(
+                "documents", 4L, "failures", 1L, "characters", 20_000L, "elapsedMillis", 2_000L,
+                "charactersPerSecond", 10_000L)));
+    }
+}
@@ -0,0 +1,108 @@
+package com.vtnet.pdms.infrastructure.storage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BinaryDeltaTest {
+
+    private static final int BLOCK_SIZE = 512;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void encode_smallEditInLargeFile_shouldProduceSmallDelta() throws IOException {
+        byte[] base = randomBytes(1_000_000, 1);
+        byte[] target = base.clone();
+        // Overwrite a "page" in the middle and insert a few bytes near the start, shifting everything after
+        System.arraycopy(randomBytes(4_000, 2), 0, target, 500_000, 4_000);
+        target = insert(target, 1_234, "inserted".getBytes());
+
+        byte[] delta = roundTrip(base, target);
+
+        assertThat(delta.length).isLessThan(10_000);
+    }
+
+    @Test
+    void encode_unrelatedFiles_shouldRoundTrip() throws IOException {
+        byte[] base = randomBytes(50_000, 3);
+        byte[] target = randomBytes(70_000, 4);
+
+        byte[] delta = roundTrip(base, target);
+
+        assertThat(delta.length).isGreaterThan(target.length);
+    }
+
+    @Test
+    void encode_emptyAndShortFiles_shouldRoundTrip() throws IOException {
+        roundTrip(new byte[0], randomBytes(100, 5));
+        roundTrip(randomBytes(100, 6), new byte[0]);
+        roundTrip(randomBytes(10_000, 7), randomBytes(10, 8));
+    }
+
+    @Test
+    void encode_repetitiveContent_shouldRoundTrip() throws IOException {
+        byte[] base = new byte[20_000];
+        byte[] target = new byte[30_000];
+        target[25_000] = 1;
+
+        byte[] delta = roundTrip(base, target);
+
+        assertThat(delta.length).isLessThan(BLOCK_SIZE * 2);
+    }
+
+    @Test
+    void apply_withWrongBase_shouldFail() throws IOException {
+        Path base = write("base", randomBytes(10_000, 9));
+        Path target = write("target", randomBytes(10_000, 10));
+        ByteArrayOutputStream delta = new ByteArrayOutputStream();
+        BinaryDelta.encode(base, target, BLOCK_SIZE, delta);
+
+        Path otherBase = write("other", randomBytes(9_000, 11));
+
+        assertThatThrownBy(() -> BinaryDelta.apply(otherBase, new ByteArrayInputStream(delta.toByteArray()),
+                tempDir.resolve("out")))
+                .isInstanceOf(IOException.class);
+    }
+
+    private byte[] roundTrip(byte[] baseContent, byte[] targetContent) throws IOException {
+        Path base = write("base", baseContent);
+        Path target = write("target", targetContent);
+        Path reconstructed = tempDir.resolve("reconstructed");
+
+        ByteArrayOutputStream delta = new ByteArrayOutputStream();
+        BinaryDelta.encode(base, target, BLOCK_SIZE, delta);
+        BinaryDelta.apply(base, new ByteArrayInputStream(delta.toByteArray()), reconstructed);
+
+        assertThat(Files.readAllBytes(reconstructed)).isEqualTo(targetContent);
+        return delta.toByteArray();
+    }
+
+    private Path write(String name, byte[] content) throws IOException {
+        return Files.write(tempDir.resolve(name), content);
+    }
+
+    private static byte[] insert(byte[] bytes, int position, byte[] insertion) {
+        byte[] result = new byte[bytes.length + insertion.length];
+        System.arraycopy(bytes, 0, result, 0, position);
+        System.arraycopy(insertion, 0, result, position, insertion.length);
+        System.arraycopy(bytes, position, result, position + insertion.length, bytes.length - position);
+        return result;
+    }
+
+    private static byte[] randomBytes(int length, long seed) {
+        byte[] bytes = new byte[length];
+        new Random(seed).nextBytes(bytes);
+        return bytes;
+    }
+}
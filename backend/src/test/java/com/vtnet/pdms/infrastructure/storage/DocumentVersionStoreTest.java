@@ -0,0 +1,212 @@
+package com.vtnet.pdms.infrastructure.storage;
+
+import com.vtnet.pdms.domain.model.Document;
+import com.vtnet.pdms.domain.model.DocumentVersion;
+import com.vtnet.pdms.domain.repository.DocumentVersionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+
+@ExtendWith(MockitoExtension.class)
+class DocumentVersionStoreTest {
+
+    @TempDir
+    Path root;
+
+    @Mock
+    private DocumentVersionRepository documentVersionRepository;
+
+    private FileSystemStorageService storageService;
+    private final Map<Long, DocumentVersion> versions = new LinkedHashMap<>();
+    private final Map<Long, byte[]> contents = new LinkedHashMap<>();
+    private int stores;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        storageService = new FileSystemStorageService(root.resolve("storage"));
+
+        Document document = new Document();
+        document.setId(1L);
+        Random random = new Random(42);
+        byte[] content = new byte[64 * 1024];
+        random.nextBytes(content);
+        for (long id = 1; id <= 3; id++) {
+            // Each version changes a few bytes and appends a little to the previous one
+            content = Arrays.copyOf(content, content.length + 100);
+            for (int i = 0; i < 10; i++) {
+                content[random.nextInt(content.length)] = (byte) random.nextInt();
+            }
+            Path file = storageService.store(new ByteArrayInputStream(content), "projects/1/10/v" + id);
+
+            DocumentVersion version = new DocumentVersion(document, (int) id, file.toString(),
+                    (long) content.length, null);
+            version.setId(id);
+            version.setStorageFormat(DocumentVersion.STORAGE_FORMAT_FULL);
+            version.setChainDepth(0);
+            versions.put(id, version);
+            contents.put(id, content);
+        }
+
+        lenient().when(documentVersionRepository.findById(anyLong()))
+                .thenAnswer(invocation -> Optional.ofNullable(versions.get(invocation.<Long>getArgument(0))));
+        lenient().when(documentVersionRepository.findByDocumentIdAndVersionNumber(anyLong(), any()))
+                .thenAnswer(invocation -> versions.values().stream()
+                        .filter(version -> version.getVersionNumber().equals(invocation.getArgument(1)))
+                        .findFirst());
+        lenient().when(documentVersionRepository.findByBaseVersionId(anyLong()))
+                .thenAnswer(invocation -> versions.values().stream()
+                        .filter(version -> version.getBaseVersion() != null
+                                && version.getBaseVersion().getId().equals(invocation.getArgument(0)))
+                        .toList());
+        lenient().when(documentVersionRepository.existsByStoragePath(anyString()))
+                .thenAnswer(invocation -> versions.values().stream()
+                        .anyMatch(version -> version.getStoragePath().equals(invocation.getArgument(0))));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void compactThenRebase_shouldReadBackEveryVersionByteForByte() throws IOException {
+        DocumentVersionStore store = newStore(10);
+        assertThat(inTransaction(TransactionSynchronization.STATUS_COMMITTED, () -> store.compact(1L))).isFalse();
+        assertThat(inTransaction(TransactionSynchronization.STATUS_COMMITTED, () -> store.compact(2L))).isTrue();
+        assertThat(inTransaction(TransactionSynchronization.STATUS_COMMITTED, () -> store.compact(3L))).isTrue();
+
+        assertThat(versions.get(3L).isDelta()).isTrue();
+        assertThat(versions.get(3L).getChainDepth()).isEqualTo(2);
+        assertThat(storageService.getPath("projects/1/10/v2")).doesNotExist();
+        assertThat(storageService.getPath("projects/1/10/v3")).doesNotExist();
+        assertThat(Files.size(Path.of(versions.get(3L).getStoragePath()))).isLessThan(contents.get(3L).length / 2);
+        // Read through a cold cache so every version is rebuilt from the stored deltas
+        assertContents(newStore(10));
+
+        DocumentVersionStore rebasing = newStore(0);
+        String deltaPath = versions.get(2L).getStoragePath();
+        assertThat(inTransaction(TransactionSynchronization.STATUS_COMMITTED, () -> rebasing.rebase(2L))).isTrue();
+
+        assertThat(versions.get(2L).isDelta()).isFalse();
+        assertThat(versions.get(2L).getChainDepth()).isZero();
+        assertThat(versions.get(3L).getChainDepth()).isEqualTo(1);
+        assertThat(Path.of(deltaPath)).doesNotExist();
+        assertContents(newStore(10));
+    }
+
+    @Test
+    void compact_shouldDeleteNewDeltaAndKeepFullFileOnRollback() throws IOException {
+        DocumentVersionStore store = newStore(10);
+        inTransaction(TransactionSynchronization.STATUS_COMMITTED, () -> store.compact(1L));
+
+        DocumentVersion version = versions.get(2L);
+        String fullPath = version.getStoragePath();
+        assertThat(inTransaction(TransactionSynchronization.STATUS_ROLLED_BACK, () -> store.compact(2L))).isTrue();
+
+        assertThat(Path.of(version.getStoragePath())).doesNotExist();
+        assertThat(Path.of(fullPath)).hasBinaryContent(contents.get(2L));
+        assertThat(versions.get(2L).isDelta()).isFalse();
+    }
+
+    @Test
+    void reconstruct_shouldDeleteIntermediateFilesWhenADeltaIsMissing() throws IOException {
+        DocumentVersionStore store = newStore(10);
+        for (long id = 1; id <= 3; id++) {
+            long versionId = id;
+            inTransaction(TransactionSynchronization.STATUS_COMMITTED, () -> store.compact(versionId));
+        }
+        Files.delete(Path.of(versions.get(3L).getStoragePath()));
+
+        DocumentVersionStore coldStore = newStore(10);
+        assertThatThrownBy(() -> coldStore.getPath(versions.get(3L))).isInstanceOf(RuntimeException.class);
+
+        try (Stream<Path> files = Files.list(root.resolve("cache-" + stores).resolve(LocalFileCache.ENTRIES_DIRECTORY))) {
+            assertThat(files.map(path -> path.getFileName().toString()))
+                    .containsExactly(LocalFileCache.MARKER_FILE);
+        }
+        // The intact part of the chain still reads back
+        assertThat(coldStore.getPath(versions.get(2L))).hasBinaryContent(contents.get(2L));
+    }
+
+    private DocumentVersionStore newStore(int maxChainLength) throws IOException {
+        stores++;
+        return new DocumentVersionStore(storageService, documentVersionRepository, maxChainLength,
+                DataSize.ofKilobytes(2), 0.5, root.resolve("cache-" + stores).toString(), DataSize.ofMegabytes(10));
+    }
+
+    private void assertContents(DocumentVersionStore store) throws IOException {
+        for (Map.Entry<Long, byte[]> entry : contents.entrySet()) {
+            DocumentVersion version = versions.get(entry.getKey());
+            assertThat(store.getPath(version)).hasBinaryContent(entry.getValue());
+            try (var inputStream = store.loadAsResource(version).getInputStream()) {
+                assertThat(inputStream.readAllBytes()).isEqualTo(entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Runs a store operation the way a transaction would, completing its synchronizations with the
+     * given status. A rollback restores the stored state of the versions first, as the database would.
+     */
+    private boolean inTransaction(int status, StoreAction action) throws IOException {
+        Map<Long, DocumentVersion> before = new LinkedHashMap<>();
+        versions.forEach((id, version) -> before.put(id, copy(version)));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            boolean result = action.run();
+            if (status == TransactionSynchronization.STATUS_ROLLED_BACK) {
+                versions.putAll(before);
+            }
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            synchronizations.stream().filter(Objects::nonNull).forEach(sync -> sync.afterCompletion(status));
+            return result;
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static DocumentVersion copy(DocumentVersion version) {
+        DocumentVersion copy = new DocumentVersion(version.getDocument(), version.getVersionNumber(),
+                version.getStoragePath(), version.getSize(), null);
+        copy.setId(version.getId());
+        copy.setStorageFormat(version.getStorageFormat());
+        copy.setBaseVersion(version.getBaseVersion());
+        copy.setChainDepth(version.getChainDepth());
+        copy.setCompactedAt(version.getCompactedAt());
+        return copy;
+    }
+
+    @FunctionalInterface
+    private interface StoreAction {
+        boolean run() throws IOException;
+    }
+}
@@ -0,0 +1,288 @@
+package com.vtnet.pdms.infrastructure.storage;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Minimal in-process stand-in for an S3-compatible object store (MinIO-like), for tests.
+ * Supports path-style bucket and object operations, multipart uploads, ranged GETs and ListObjectsV2.
+ */
+class FakeS3Server implements AutoCloseable {
+
+    private final HttpServer server;
+    private final Set<String> buckets = ConcurrentHashMap.newKeySet();
+    private final Map<String, byte[]> objects = new ConcurrentSkipListMap<>();
+    private final Map<String, Map<Integer, byte[]>> uploads = new ConcurrentHashMap<>();
+    private final AtomicInteger rangedGets = new AtomicInteger();
+    private final AtomicInteger uploadedParts = new AtomicInteger();
+
+    FakeS3Server() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newFixedThreadPool(8));
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    URI endpoint() {
+        return URI.create("http://127.0.0.1:" + server.getAddress().getPort());
+    }
+
+    void createBucket(String bucket) {
+        buckets.add(bucket);
+    }
+
+    byte[] getObject(String bucket, String key) {
+        return objects.get(bucket + "/" + key);
+    }
+
+    int rangedGets() {
+        return rangedGets.get();
+    }
+
+    int uploadedParts() {
+        return uploadedParts.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String path = URLDecoder.decode(exchange.getRequestURI().getRawPath(), StandardCharsets.UTF_8).substring(1);
+            Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+            int slash = path.indexOf('/');
+            String bucket = slash < 0 ? path : path.substring(0, slash);
+            String key = slash < 0 ? "" : path.substring(slash + 1);
+
+            if (key.isEmpty()) {
+                handleBucket(exchange, bucket, query);
+            } else if (!buckets.contains(bucket)) {
+                send(exchange, 404, error("NoSuchBucket"));
+            } else {
+                handleObject(exchange, bucket + "/" + key, query);
+            }
+        } catch (RuntimeException e) {
+            send(exchange, 500, error("InternalError"));
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void handleBucket(HttpExchange exchange, String bucket, Map<String, String> query) throws IOException {
+        switch (exchange.getRequestMethod()) {
+            case "PUT" -> {
+                buckets.add(bucket);
+                send(exchange, 200, new byte[0]);
+            }
+            case "HEAD" -> send(exchange, buckets.contains(bucket) ? 200 : 404, null);
+            case "GET" -> send(exchange, 200, listObjects(bucket, query));
+            default -> send(exchange, 405, error("MethodNotAllowed"));
+        }
+    }
+
+    private void handleObject(HttpExchange exchange, String objectKey, Map<String, String> query) throws IOException {
+        String method = exchange.getRequestMethod();
+        if ("POST".equals(method) && query.containsKey("uploads")) {
+            String uploadId = UUID.randomUUID().toString();
+            uploads.put(uploadId, new TreeMap<>());
+            send(exchange, 200, xml("<InitiateMultipartUploadResult><UploadId>" + uploadId
+                    + "</UploadId></InitiateMultipartUploadResult>"));
+        } else if ("PUT".equals(method) && query.containsKey("uploadId")) {
+            byte[] body = readBody(exchange);
+            Map<Integer, byte[]> parts = uploads.get(query.get("uploadId"));
+            synchronized (parts) {
+                parts.put(Integer.parseInt(query.get("partNumber")), body);
+            }
+            uploadedParts.incrementAndGet();
+            exchange.getResponseHeaders().add("ETag", "\"" + md5(body) + "\"");
+            send(exchange, 200, new byte[0]);
+        } else if ("POST".equals(method) && query.containsKey("uploadId")) {
+            readBody(exchange);
+            Map<Integer, byte[]> parts = uploads.remove(query.get("uploadId"));
+            ByteArrayOutputStream content = new ByteArrayOutputStream();
+            synchronized (parts) {
+                for (byte[] part : parts.values()) {
+                    content.writeBytes(part);
+                }
+            }
+            objects.put(objectKey, content.toByteArray());
+            send(exchange, 200, xml("<CompleteMultipartUploadResult><ETag>\"multipart-" + parts.size()
+                    + "\"</ETag></CompleteMultipartUploadResult>"));
+        } else if ("DELETE".equals(method) && query.containsKey("uploadId")) {
+            uploads.remove(query.get("uploadId"));
+            send(exchange, 204, null);
+        } else if ("PUT".equals(method)) {
+            byte[] body = readBody(exchange);
+            objects.put(objectKey, body);
+            exchange.getResponseHeaders().add("ETag", "\"" + md5(body) + "\"");
+            send(exchange, 200, new byte[0]);
+        } else if ("DELETE".equals(method)) {
+            objects.remove(objectKey);
+            send(exchange, 204, null);
+        } else if ("HEAD".equals(method) || "GET".equals(method)) {
+            getObject(exchange, objectKey, "HEAD".equals(method));
+        } else {
+            send(exchange, 405, error("MethodNotAllowed"));
+        }
+    }
+
+    private void getObject(HttpExchange exchange, String objectKey, boolean headOnly) throws IOException {
+        byte[] content = objects.get(objectKey);
+        if (content == null) {
+            send(exchange, 404, headOnly ? null : error("NoSuchKey"));
+            return;
+        }
+
+        String range = exchange.getRequestHeaders().getFirst("Range");
+        if (headOnly) {
+            exchange.getResponseHeaders().add("ETag", "\"" + md5(content) + "\"");
+            exchange.getResponseHeaders().add("Content-Length", String.valueOf(content.length));
+            exchange.sendResponseHeaders(200, -1);
+        } else if (range != null) {
+            rangedGets.incrementAndGet();
+            String[] bounds = range.substring("bytes=".length()).split("-");
+            int start = Integer.parseInt(bounds[0]);
+            int end = Math.min(Integer.parseInt(bounds[1]), content.length - 1);
+            byte[] slice = new byte[end - start + 1];
+            System.arraycopy(content, start, slice, 0, slice.length);
+            exchange.getResponseHeaders().add("Content-Range", "bytes " + start + "-" + end + "/" + content.length);
+            send(exchange, 206, slice);
+        } else {
+            exchange.getResponseHeaders().add("ETag", "\"" + md5(content) + "\"");
+            send(exchange, 200, content);
+        }
+    }
+
+    private byte[] listObjects(String bucket, Map<String, String> query) {
+        String prefix = bucket + "/" + query.getOrDefault("prefix", "");
+        String startAfter = query.containsKey("continuation-token")
+                ? bucket + "/" + query.get("continuation-token") : null;
+        int maxKeys = Integer.parseInt(query.getOrDefault("max-keys", "1000"));
+
+        StringBuilder contents = new StringBuilder();
+        int count = 0;
+        String lastKey = null;
+        boolean truncated = false;
+        for (Map.Entry<String, byte[]> entry : objects.entrySet()) {
+            String objectKey = entry.getKey();
+            if (!objectKey.startsWith(prefix) || (startAfter != null && objectKey.compareTo(startAfter) <= 0)) {
+                continue;
+            }
+            if (count == maxKeys) {
+                truncated = true;
+                break;
+            }
+            lastKey = objectKey.substring(bucket.length() + 1);
+            contents.append("<Contents><Key>").append(lastKey).append("</Key><Size>")
+                    .append(entry.getValue().length).append("</Size></Contents>");
+            count++;
+        }
+
+        return xml("<ListBucketResult><Name>" + bucket + "</Name><KeyCount>" + count + "</KeyCount>"
+                + "<IsTruncated>" + truncated + "</IsTruncated>"
+                + (truncated ? "<NextContinuationToken>" + lastKey + "</NextContinuationToken>" : "")
+                + contents + "</ListBucketResult>");
+    }
+
+    /**
+     * Reads a request body, decoding the aws-chunked framing the SDK uses for signed streaming uploads.
+     */
+    private static byte[] readBody(HttpExchange exchange) throws IOException {
+        byte[] raw;
+        try (InputStream inputStream = exchange.getRequestBody()) {
+            raw = inputStream.readAllBytes();
+        }
+        String contentSha = exchange.getRequestHeaders().getFirst("x-amz-content-sha256");
+        if (contentSha == null || !contentSha.startsWith("STREAMING-")) {
+            return raw;
+        }
+
+        ByteArrayOutputStream decoded = new ByteArrayOutputStream();
+        int position = 0;
+        while (position < raw.length) {
+            int lineEnd = indexOfCrlf(raw, position);
+            String header = new String(raw, position, lineEnd - position, StandardCharsets.US_ASCII);
+            int size = Integer.parseInt(header.split(";")[0], 16);
+            position = lineEnd + 2;
+            if (size == 0) {
+                break;
+            }
+            decoded.write(raw, position, size);
+            position += size + 2;
+        }
+        return decoded.toByteArray();
+    }
+
+    private static int indexOfCrlf(byte[] bytes, int from) {
+        for (int i = from; i < bytes.length - 1; i++) {
+            if (bytes[i] == '\r' && bytes[i + 1] == '\n') {
+                return i;
+            }
+        }
+        return bytes.length;
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> query = new LinkedHashMap<>();
+        if (rawQuery == null) {
+            return query;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int equals = pair.indexOf('=');
+            String name = URLDecoder.decode(equals < 0 ? pair : pair.substring(0, equals), StandardCharsets.UTF_8);
+            String value = equals < 0 ? "" : URLDecoder.decode(pair.substring(equals + 1), StandardCharsets.UTF_8);
+            query.put(name, value);
+        }
+        return query;
+    }
+
+    private static void send(HttpExchange exchange, int status, byte[] body) throws IOException {
+        if (body == null || body.length == 0) {
+            exchange.sendResponseHeaders(status, -1);
+            return;
+        }
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(body);
+        }
+    }
+
+    private static byte[] error(String code) {
+        return xml("<Error><Code>" + code + "</Code><Message>" + code + "</Message></Error>");
+    }
+
+    private static byte[] xml(String body) {
+        return ("<?xml version=\"1.0\" encoding=\"UTF-8\"?>" + body).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String md5(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("MD5").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.vtnet.pdms.infrastructure.storage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LocalFileCacheTest {
+
+    @TempDir
+    Path root;
+
+    @Test
+    void constructor_shouldOnlyClearDirectoriesCreatedByTheCache() throws IOException {
+        Files.writeString(root.resolve("keep.txt"), "not a cache file");
+        LocalFileCache cache = new LocalFileCache(root, 1000, Duration.ZERO);
+        Path cached = cache.getOrLoad("a", target -> Files.writeString(target, "aaa"));
+
+        new LocalFileCache(root, 1000, Duration.ZERO);
+
+        assertThat(root.resolve("keep.txt")).exists();
+        assertThat(cached).doesNotExist();
+
+        Path foreign = Files.createDirectories(root.resolve("foreign").resolve(LocalFileCache.ENTRIES_DIRECTORY));
+        Files.writeString(foreign.resolve("data.txt"), "someone else's");
+        assertThatThrownBy(() -> new LocalFileCache(root.resolve("foreign"), 1000))
+                .isInstanceOf(IOException.class);
+        assertThat(foreign.resolve("data.txt")).exists();
+    }
+
+    @Test
+    void eviction_shouldSkipEntriesInUse() throws IOException {
+        LocalFileCache cache = new LocalFileCache(root, 10, Duration.ofMinutes(1));
+        LocalFileCache.Lease lease = cache.acquire("a", target -> Files.writeString(target, "aaaaaa"));
+
+        Path b = cache.getOrLoad("b", target -> Files.writeString(target, "bbbbbb"));
+
+        // Over the limit, but both entries are in use
+        assertThat(lease.getPath()).exists();
+        assertThat(b).exists();
+        assertThat(cache.getCurrentBytes()).isEqualTo(12);
+
+        lease.close();
+        assertThat(cache.get("a")).isNull();
+        assertThat(b).exists();
+    }
+
+    @Test
+    void timeLease_shouldKeepHandedOutPathsFromEvictionUntilItEnds() throws IOException {
+        LocalFileCache leased = new LocalFileCache(root.resolve("leased"), 10, Duration.ofMinutes(1));
+        Path a = leased.getOrLoad("a", target -> Files.writeString(target, "aaaaaa"));
+        leased.getOrLoad("b", target -> Files.writeString(target, "bbbbbb"));
+        assertThat(a).exists();
+
+        LocalFileCache unleased = new LocalFileCache(root.resolve("unleased"), 10, Duration.ZERO);
+        Path c = unleased.getOrLoad("c", target -> Files.writeString(target, "cccccc"));
+        unleased.getOrLoad("d", target -> Files.writeString(target, "dddddd"));
+        assertThat(c).doesNotExist();
+    }
+
+    @Test
+    void invalidate_shouldDeleteFileInUseOnlyOnceReleased() throws IOException {
+        LocalFileCache cache = new LocalFileCache(root, 1000, Duration.ZERO);
+        LocalFileCache.Loader loader = target -> Files.writeString(target, "old");
+
+        try (InputStream inputStream = cache.getResource("a", loader).getInputStream()) {
+            cache.invalidate("a");
+            Path reloaded = cache.getOrLoad("a", target -> Files.writeString(target, "new"));
+            assertThat(reloaded).hasContent("new");
+            assertThat(new String(inputStream.readAllBytes())).isEqualTo("old");
+        }
+
+        try (var files = Files.list(root.resolve(LocalFileCache.ENTRIES_DIRECTORY))) {
+            assertThat(files.map(path -> path.getFileName().toString()))
+                    .containsExactlyInAnyOrder("a", LocalFileCache.MARKER_FILE);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.vtnet.pdms.infrastructure.storage;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.util.unit.DataSize;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3Configuration;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class S3StorageServiceTest {
+
+    private static final String BUCKET = "pdms-test";
+
+    @TempDir
+    Path cacheDirectory;
+
+    private FakeS3Server fakeS3;
+    private S3Client s3Client;
+    private S3StorageService storageService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        fakeS3 = new FakeS3Server();
+        fakeS3.createBucket(BUCKET);
+
+        s3Client = S3Client.builder()
+                .endpointOverride(fakeS3.endpoint())
+                .region(Region.US_EAST_1)
+                .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create("test", "test")))
+                .httpClientBuilder(ApacheHttpClient.builder())
+                .serviceConfiguration(S3Configuration.builder().pathStyleAccessEnabled(true).build())
+                .build();
+
+        storageService = new S3StorageService(
+                s3Client,
+                BUCKET,
+                DataSize.ofKilobytes(64),
+                DataSize.ofKilobytes(16),
+                3,
+                cacheDirectory.toString(),
+                DataSize.ofMegabytes(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        storageService.shutdown();
+        s3Client.close();
+        fakeS3.close();
+    }
+
+    @Test
+    void store_smallFile_shouldUploadWithSinglePut() throws Exception {
+        byte[] content = randomBytes(10_000);
+        MockMultipartFile file = new MockMultipartFile("file", "small.txt", "text/plain", content);
+
+        Path stored = storageService.store(file, "projects/1/2/3_small.txt");
+
+        assertThat(stored.toString()).isEqualTo("projects/1/2/3_small.txt");
+        assertThat(fakeS3.getObject(BUCKET, "projects/1/2/3_small.txt")).isEqualTo(content);
+        assertThat(fakeS3.uploadedParts()).isZero();
+    }
+
+    @Test
+    void store_largeFile_shouldUploadInParallelParts() throws Exception {
+        byte[] content = randomBytes(150_000);
+        MockMultipartFile file = new MockMultipartFile("file", "large.pdf", "application/pdf", content);
+
+        storageService.store(file, "projects/1/2/4_large.pdf");
+
+        assertThat(fakeS3.getObject(BUCKET, "projects/1/2/4_large.pdf")).isEqualTo(content);
+        assertThat(fakeS3.uploadedParts()).isEqualTo(10);
+    }
+
+    @Test
+    void loadAsResource_largeObject_shouldUseRangedGetsAndCache() throws Exception {
+        byte[] content = randomBytes(100_000);
+        storageService.store(new MockMultipartFile("file", "large.pdf", "application/pdf", content),
+                "projects/1/2/5_large.pdf");
+
+        try (InputStream inputStream = storageService.loadAsResource("projects/1/2/5_large.pdf").getInputStream()) {
+            assertThat(inputStream.readAllBytes()).isEqualTo(content);
+        }
+        int rangedGets = fakeS3.rangedGets();
+        assertThat(rangedGets).isEqualTo(7);
+
+        Path cached = storageService.getPath("projects/1/2/5_large.pdf");
+        assertThat(Files.readAllBytes(cached)).isEqualTo(content);
+        assertThat(fakeS3.rangedGets()).isEqualTo(rangedGets);
+    }
+
+    @Test
+    void delete_shouldRemoveObjectAndCachedCopy() throws Exception {
+        byte[] content = randomBytes(1_000);
+        storageService.store(new MockMultipartFile("file", "a.txt", "text/plain", content), "projects/1/2/6_a.txt");
+        Path cached = storageService.getPath("projects/1/2/6_a.txt");
+
+        assertThat(storageService.delete("projects/1/2/6_a.txt")).isTrue();
+
+        assertThat(fakeS3.getObject(BUCKET, "projects/1/2/6_a.txt")).isNull();
+        assertThat(cached).doesNotExist();
+        assertThatThrownBy(() -> storageService.loadAsResource("projects/1/2/6_a.txt"))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("Could not read file");
+    }
+
+    @Test
+    void store_pathTraversal_shouldBeRejected() {
+        MockMultipartFile file = new MockMultipartFile("file", "a.txt", "text/plain", new byte[] {1});
+
+        assertThatThrownBy(() -> storageService.store(file, "projects/../../etc/passwd"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static byte[] randomBytes(int length) {
+        byte[] bytes = new byte[length];
+        new Random(length).nextBytes(bytes);
+        return bytes;
+    }
+}
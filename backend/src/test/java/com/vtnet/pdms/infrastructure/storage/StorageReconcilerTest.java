@@ -0,0 +1,141 @@
+package com.vtnet.pdms.infrastructure.storage;
+
+import com.vtnet.pdms.domain.repository.DocumentVersionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+
+@ExtendWith(MockitoExtension.class)
+class StorageReconcilerTest {
+
+    @TempDir
+    Path root;
+
+    @Mock
+    private DocumentVersionRepository documentVersionRepository;
+
+    private FileSystemStorageService storageService;
+    private StorageReconciler storageReconciler;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        storageService = new FileSystemStorageService(root);
+        storageReconciler = reconciler(0.5);
+
+        Instant old = Instant.now().minus(Duration.ofDays(2));
+        Path referenced = write("projects/1/10/a.txt", old);
+        write("projects/1/10/b.txt", old);
+        write("projects/1/10/orphan.txt", old);
+        write("projects/1/10/upload-in-progress.txt", Instant.now());
+        write("projects/legacy/junk.txt", old);
+
+        // Versions are recorded with the absolute path returned by the file system backend
+        List<String> storagePaths = List.of(
+                referenced.toString(),
+                "projects/1/10/b.txt",
+                root.resolve("projects/1/10/missing.txt").toString());
+        lenient().when(documentVersionRepository.findStoragePathsAfter(anyString(), anyString(), any())).thenAnswer(invocation -> {
+            String prefix = invocation.<String>getArgument(0).replaceAll("!(.)", "$1").replaceAll("%$", "");
+            String afterPath = invocation.getArgument(1);
+            Pageable pageable = invocation.getArgument(2);
+            return storagePaths.stream()
+                    .filter(path -> path.startsWith(prefix) && path.compareTo(afterPath) > 0)
+                    .sorted()
+                    .limit(pageable.getPageSize())
+                    .toList();
+        });
+    }
+
+    @Test
+    void reconcile_dryRun_shouldReportOrphansAndMissingFilesWithoutMovingAnything() throws IOException {
+        ReconciliationReport report = storageReconciler.reconcile(true);
+
+        assertThat(report.getPartitionsScanned()).isEqualTo(2);
+        assertThat(report.getFilesScanned()).isEqualTo(5);
+        assertThat(report.getReferencedPaths()).isEqualTo(3);
+        assertThat(report.getRecentFilesSkipped()).isEqualTo(1);
+        assertThat(report.getUnrecognizedFiles()).isEqualTo(1);
+        assertThat(report.getOrphans()).containsExactly("projects/1/10/orphan.txt");
+        assertThat(report.getMissing()).containsExactly("projects/1/10/missing.txt");
+        assertThat(report.getQuarantinedCount()).isZero();
+        assertThat(root.resolve("projects/1/10/orphan.txt")).exists();
+    }
+
+    @Test
+    void reconcile_shouldQuarantineOrphansAndPurgeExpiredQuarantine() throws IOException {
+        write("quarantine/2000-01-01/projects%2F2%2Fold.txt", Instant.now());
+
+        ReconciliationReport report = storageReconciler.reconcile(false);
+
+        String today = LocalDate.now().toString();
+        assertThat(report.getQuarantinedCount()).isEqualTo(1);
+        assertThat(report.getPurgedCount()).isEqualTo(1);
+        assertThat(root.resolve("projects/1/10/orphan.txt")).doesNotExist();
+        assertThat(root.resolve("quarantine/" + today + "/projects%2F1%2F10%2Forphan.txt")).exists();
+        assertThat(root.resolve("quarantine/2000-01-01")).doesNotExist();
+        assertThat(root.resolve("projects/1/10/a.txt")).exists();
+        assertThat(root.resolve("projects/1/10/upload-in-progress.txt")).exists();
+        assertThat(root.resolve("projects/legacy/junk.txt")).exists();
+    }
+
+    @Test
+    void reconcile_shouldAbortWithoutTouchingStorageWhenTooManyFilesAreOrphans() throws IOException {
+        write("quarantine/2000-01-01/projects%2F2%2Fold.txt", Instant.now());
+
+        ReconciliationReport report = reconciler(0.2).reconcile(false);
+
+        assertThat(report.isAborted()).isTrue();
+        assertThat(report.getOrphanRatio()).isEqualTo(1.0 / 3);
+        assertThat(report.getQuarantinedCount()).isZero();
+        assertThat(report.getPurgedCount()).isZero();
+        assertThat(root.resolve("projects/1/10/orphan.txt")).exists();
+        assertThat(root.resolve("quarantine/2000-01-01")).exists();
+    }
+
+    @Test
+    void listInOrder_shouldReturnFilesInPathOrder() throws IOException {
+        write("projects/1/10.txt", Instant.now());
+        write("projects/1/10/a b.txt", Instant.now());
+
+        try (var files = storageService.listInOrder("projects/1")) {
+            assertThat(files.map(StoredFile::path)).containsExactly(
+                    "projects/1/10.txt",
+                    "projects/1/10/a b.txt",
+                    "projects/1/10/a.txt",
+                    "projects/1/10/b.txt",
+                    "projects/1/10/orphan.txt",
+                    "projects/1/10/upload-in-progress.txt");
+        }
+    }
+
+    private StorageReconciler reconciler(double maxOrphanRatio) {
+        return new StorageReconciler(storageService, documentVersionRepository,
+                2, 2, Duration.ofHours(1), Duration.ofDays(7), 0, 100, maxOrphanRatio);
+    }
+
+    private Path write(String path, Instant lastModified) throws IOException {
+        Path file = root.resolve(path);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, path);
+        Files.setLastModifiedTime(file, FileTime.from(lastModified));
+        return file;
+    }
+}
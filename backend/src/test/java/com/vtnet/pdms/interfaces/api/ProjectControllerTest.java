@@ -2,6 +2,8 @@ package com.vtnet.pdms.interfaces.api;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.vtnet.pdms.application.dto.ProjectListDTO;
+import com.vtnet.pdms.application.mapper.ProjectMapper;
+import com.vtnet.pdms.application.mapper.ProjectMapperImpl;
 import com.vtnet.pdms.domain.model.Project;
 import com.vtnet.pdms.domain.service.ProjectService;
 import org.junit.jupiter.api.BeforeEach;
@@ -9,6 +11,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
@@ -17,6 +20,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
 import org.springframework.http.MediaType;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
@@ -43,6 +47,9 @@ class ProjectControllerTest {
     @Mock
     private ProjectService projectService;
 
+    @Spy
+    private ProjectMapper projectMapper = new ProjectMapperImpl();
+
     @InjectMocks
     private ProjectController projectController;
 
@@ -121,6 +128,24 @@ class ProjectControllerTest {
                 .andExpect(jsonPath("$.content[0].name").value(testProjectDto.getName()));
     }
     
+    @Test
+    void getProjectById_shouldReturnDocumentCountOfProject() throws Exception {
+        // Given
+        Project project = new Project();
+        project.setId(1L);
+        project.setName("Test Project");
+        project.setStatus(Project.STATUS_ACTIVE);
+        ReflectionTestUtils.setField(project, "documentCount", 12L);
+        when(projectService.getProjectById(1L)).thenReturn(project);
+
+        // When/Then
+        mockMvc.perform(get("/projects/1")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(1))
+                .andExpect(jsonPath("$.documentCount").value(12));
+    }
+
     @Test
     void deleteProject_shouldDeleteProjectAndReturnNoContent() throws Exception {
         // Given
@@ -2,23 +2,49 @@ import { DocumentDTO } from '../types/document';
 import axiosInstance from './axios';
 
 /**
- * Get all documents for a project
- * @param projectId The project ID
- * @returns Promise with list of documents
+ * Page of a document listing, with the cursor of the next page
+ */
+export interface DocumentPage {
+  documents: DocumentDTO[];
+  nextCursor: string | null;
+}
+
+/**
+ * Number of documents requested per page; further pages are loaded on request
+ */
+const DOCUMENT_PAGE_SIZE = 50;
+
+/**
+ * Load one page of a document listing
+ * @param url The listing URL
+ * @param cursor The cursor of the page, or none for the first page
+ * @returns Promise with the page of documents
  */
-export const getProjectDocuments = async (projectId: number): Promise<DocumentDTO[]> => {
-  const response = await axiosInstance.get<DocumentDTO[]>(`/api/projects/${projectId}/documents`);
+const getDocumentPage = async (url: string, cursor?: string | null): Promise<DocumentPage> => {
+  const response = await axiosInstance.get<DocumentPage>(url, {
+    params: { limit: DOCUMENT_PAGE_SIZE, ...(cursor ? { cursor } : {}) }
+  });
   return response.data;
 };
 
 /**
- * Get all documents for a folder
+ * Get a page of the documents of a project
+ * @param projectId The project ID
+ * @param cursor The cursor of the page, or none for the first page
+ * @returns Promise with the page of documents
+ */
+export const getProjectDocuments = async (projectId: number, cursor?: string | null): Promise<DocumentPage> => {
+  return getDocumentPage(`/api/projects/${projectId}/documents`, cursor);
+};
+
+/**
+ * Get a page of the documents of a folder
  * @param folderId The folder ID
- * @returns Promise with list of documents
+ * @param cursor The cursor of the page, or none for the first page
+ * @returns Promise with the page of documents
  */
-export const getFolderDocuments = async (folderId: number): Promise<DocumentDTO[]> => {
-  const response = await axiosInstance.get<DocumentDTO[]>(`/api/folders/${folderId}/documents`);
-  return response.data;
+export const getFolderDocuments = async (folderId: number, cursor?: string | null): Promise<DocumentPage> => {
+  return getDocumentPage(`/api/folders/${folderId}/documents`, cursor);
 };
 
 /**
@@ -211,7 +211,7 @@ const ProjectDetailsPage: React.FC = () => {
           </div>
           <div className="meta-item">
             <i className="fas fa-file-alt"></i>
-            <span>{documents.length} documents</span>
+            <span>{project.documentCount} documents</span>
           </div>
         </div>
       </div>
@@ -2,7 +2,7 @@ import React, { useEffect, useState } from 'react';
 import { useParams, useNavigate } from 'react-router-dom';
 import { useAppDispatch, useAppSelector } from '../redux/store';
 import { fetchProjectById } from '../redux/slices/projectSlice';
-import { fetchFolderDocuments, fetchProjectDocuments } from '../redux/slices/documentSlice';
+import { fetchFolderDocuments, fetchMoreDocuments, fetchProjectDocuments } from '../redux/slices/documentSlice';
 import { fetchFolderById, fetchProjectRootFolders, fetchSubfolders } from '../redux/slices/folderSlice';
 import { FolderTree, DocumentList, Breadcrumbs, DocumentUpload, CreateFolderDialog } from '../components/documents';
 import { DocumentDTO } from '../types/document';
@@ -18,7 +18,7 @@ const ProjectDocumentsPage: React.FC = () => {
   const dispatch = useAppDispatch();
   
   const { selectedProject } = useAppSelector((state) => state.projects);
-  const { documents, loading: documentsLoading } = useAppSelector((state) => state.documents);
+  const { documents, nextCursor, loading: documentsLoading, loadingMore } = useAppSelector((state) => state.documents);
   const { user } = useAppSelector((state) => state.auth);
   const [currentFolder, setCurrentFolder] = useState<FolderDTO | null>(null);
   const [selectedDocument, setSelectedDocument] = useState<DocumentDTO | null>(null);
@@ -75,6 +75,18 @@ const ProjectDocumentsPage: React.FC = () => {
     setSelectedDocument(null);
   };
 
+  // Load the next page of the current listing
+  const handleLoadMore = () => {
+    if (!nextCursor || !projectId) {
+      return;
+    }
+    if (currentFolder) {
+      dispatch(fetchMoreDocuments({ folderId: currentFolder.id, cursor: nextCursor }));
+    } else {
+      dispatch(fetchMoreDocuments({ projectId: parseInt(projectId), cursor: nextCursor }));
+    }
+  };
+
   // Handle upload complete
   const handleUploadComplete = () => {
     // Refresh documents list
@@ -212,11 +224,24 @@ const ProjectDocumentsPage: React.FC = () => {
                   )}
                 </div>
               ) : (
-                <DocumentList
-                  onDocumentSelect={handleDocumentSelect}
-                  selectedDocumentId={selectedDocument?.id}
-                  isProjectManager={isProjectManager}
-                />
+                <>
+                  <DocumentList
+                    onDocumentSelect={handleDocumentSelect}
+                    selectedDocumentId={selectedDocument?.id}
+                    isProjectManager={isProjectManager}
+                  />
+                  {nextCursor && (
+                    <div className="load-more">
+                      <button
+                        className="fluent-button outline"
+                        onClick={handleLoadMore}
+                        disabled={loadingMore}
+                      >
+                        {loadingMore ? 'Loading...' : 'Load more'}
+                      </button>
+                    </div>
+                  )}
+                </>
               )}
             </div>
           </div>
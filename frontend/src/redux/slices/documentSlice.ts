@@ -1,12 +1,15 @@
 import { createSlice, createAsyncThunk, PayloadAction } from '@reduxjs/toolkit';
 import { DocumentDTO } from '../../types/document';
 import * as documentApi from '../../api/documentApi';
+import { DocumentPage } from '../../api/documentApi';
 
 // Define the state interface
 interface DocumentState {
   documents: DocumentDTO[];
+  nextCursor: string | null;
   currentDocument: DocumentDTO | null;
   loading: boolean;
+  loadingMore: boolean;
   uploading: boolean;
   error: string | null;
   uploadSuccess: boolean;
@@ -15,8 +18,10 @@ interface DocumentState {
 // Initial state
 const initialState: DocumentState = {
   documents: [],
+  nextCursor: null,
   currentDocument: null,
   loading: false,
+  loadingMore: false,
   uploading: false,
   error: null,
   uploadSuccess: false
@@ -45,6 +50,22 @@ export const fetchFolderDocuments = createAsyncThunk(
   }
 );
 
+export const fetchMoreDocuments = createAsyncThunk(
+  'documents/fetchMoreDocuments',
+  async (
+    { projectId, folderId, cursor }: { projectId?: number; folderId?: number; cursor: string },
+    { rejectWithValue }
+  ) => {
+    try {
+      return folderId !== undefined
+        ? await documentApi.getFolderDocuments(folderId, cursor)
+        : await documentApi.getProjectDocuments(projectId!, cursor);
+    } catch (error: any) {
+      return rejectWithValue(error.response?.data?.message || 'Failed to fetch more documents');
+    }
+  }
+);
+
 export const fetchDocumentById = createAsyncThunk(
   'documents/fetchDocumentById',
   async (documentId: number, { rejectWithValue }) => {
@@ -101,6 +122,7 @@ const documentSlice = createSlice({
   reducers: {
     clearDocuments: (state) => {
       state.documents = [];
+      state.nextCursor = null;
     },
     clearCurrentDocument: (state) => {
       state.currentDocument = null;
@@ -117,9 +139,10 @@ const documentSlice = createSlice({
       state.loading = true;
       state.error = null;
     });
-    builder.addCase(fetchProjectDocuments.fulfilled, (state, action: PayloadAction<DocumentDTO[]>) => {
+    builder.addCase(fetchProjectDocuments.fulfilled, (state, action: PayloadAction<DocumentPage>) => {
       state.loading = false;
-      state.documents = action.payload;
+      state.documents = action.payload.documents;
+      state.nextCursor = action.payload.nextCursor;
     });
     builder.addCase(fetchProjectDocuments.rejected, (state, action) => {
       state.loading = false;
@@ -131,15 +154,31 @@ const documentSlice = createSlice({
       state.loading = true;
       state.error = null;
     });
-    builder.addCase(fetchFolderDocuments.fulfilled, (state, action: PayloadAction<DocumentDTO[]>) => {
+    builder.addCase(fetchFolderDocuments.fulfilled, (state, action: PayloadAction<DocumentPage>) => {
       state.loading = false;
-      state.documents = action.payload;
+      state.documents = action.payload.documents;
+      state.nextCursor = action.payload.nextCursor;
     });
     builder.addCase(fetchFolderDocuments.rejected, (state, action) => {
       state.loading = false;
       state.error = action.payload as string;
     });
 
+    // fetchMoreDocuments
+    builder.addCase(fetchMoreDocuments.pending, (state) => {
+      state.loadingMore = true;
+      state.error = null;
+    });
+    builder.addCase(fetchMoreDocuments.fulfilled, (state, action: PayloadAction<DocumentPage>) => {
+      state.loadingMore = false;
+      state.documents = [...state.documents, ...action.payload.documents];
+      state.nextCursor = action.payload.nextCursor;
+    });
+    builder.addCase(fetchMoreDocuments.rejected, (state, action) => {
+      state.loadingMore = false;
+      state.error = action.payload as string;
+    });
+
     // fetchDocumentById
     builder.addCase(fetchDocumentById.pending, (state) => {
       state.loading = true;
@@ -162,6 +201,7 @@ const documentSlice = createSlice({
     builder.addCase(searchDocuments.fulfilled, (state, action: PayloadAction<DocumentDTO[]>) => {
       state.loading = false;
       state.documents = action.payload;
+      state.nextCursor = null;
     });
     builder.addCase(searchDocuments.rejected, (state, action) => {
       state.loading = false;